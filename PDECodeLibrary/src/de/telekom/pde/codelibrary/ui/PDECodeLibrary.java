@@ -11,6 +11,9 @@ package de.telekom.pde.codelibrary.ui;
 import android.content.Context;
 import android.util.Log;
 
+import de.telekom.pde.codelibrary.ui.color.PDEColor;
+import de.telekom.pde.codelibrary.ui.helpers.PDETypeface;
+
 
 //----------------------------------------------------------------------------------------------------------------------
 //  PDECodeLibrary
@@ -83,8 +86,24 @@ public final class PDECodeLibrary {
      *
      * This function must be called inside the onCreate() function of derived Application class
      * before the UI is started.
+     * The library fonts are loaded on first use.
      */
     public boolean libraryInit(Context context) {
+        return libraryInit(context, false);
+    }
+
+
+    /**
+     * @brief Library initialization with optional font preloading.
+     *
+     * This function must be called inside the onCreate() function of derived Application class
+     * before the UI is started.
+     *
+     * @param context the context (the application context is taken from it)
+     * @param preloadFonts true - start loading the library fonts on a background thread right now, so the first
+     *                     inflation usually doesn't have to load them. false - fonts are loaded on first use.
+     */
+    public boolean libraryInit(Context context, boolean preloadFonts) {
         //security
         if (context == null) {
             return false;
@@ -100,6 +119,14 @@ public final class PDECodeLibrary {
         // remember successful initialization
         PDECodeLibraryInitialized = true;
 
+        // resolve the color palette once, so symbolic colors never need a resource lookup by name
+        PDEColor.preloadColorPalette(mApplicationContext);
+
+        // load the fonts in the background if wanted
+        if (preloadFonts) {
+            PDETypeface.preloadFonts();
+        }
+
         //debug
         if (DEBUG_SHOW_LOGS) {
             Log.d(LOG_TAG, "PDECodeLibrary.libraryInit: successfully initialized");
@@ -166,8 +193,17 @@ public final class PDECodeLibrary {
      */
     @Deprecated
     public void setDarkStyle(boolean dark) {
+        // any change?
+        if (dark == PDECodeLibraryDarkStyle) {
+            return;
+        }
+
         // remember
         PDECodeLibraryDarkStyle = dark;
+
+        // the resolved style dependent colors are no longer valid
+        PDEColor.clearColorCache();
+        PDEColor.preloadColorPalette(mApplicationContext);
     }
 
 
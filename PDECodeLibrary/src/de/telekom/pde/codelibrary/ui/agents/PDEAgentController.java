@@ -12,16 +12,16 @@ package de.telekom.pde.codelibrary.ui.agents;
 //----------------------------------------------------------------------------------------------------------------------
 
 
-import android.text.TextUtils;
 import android.util.Log;
 
-import de.telekom.pde.codelibrary.ui.animation.PDEAnimationGroup;
-import de.telekom.pde.codelibrary.ui.animation.PDEAnimationRoot;
-import de.telekom.pde.codelibrary.ui.animation.PDELinearAnimation;
+import de.telekom.pde.codelibrary.ui.animation.PDELinearAnimationEngine;
+import de.telekom.pde.codelibrary.ui.animation.PDELinearAnimationHandle;
+import de.telekom.pde.codelibrary.ui.events.PDEEventRecycler;
 import de.telekom.pde.codelibrary.ui.events.PDEEventSource;
 import de.telekom.pde.codelibrary.ui.events.PDEIEventSource;
 import de.telekom.pde.codelibrary.ui.events.PDEIEventSourceDelegate;
 import de.telekom.pde.codelibrary.ui.timing.PDEFrameTiming;
+import de.telekom.pde.codelibrary.ui.timing.PDEIFrameTimingListener;
 
 import java.util.LinkedList;
 
@@ -36,7 +36,8 @@ import java.util.LinkedList;
  * It's not certain that this will stay this way - eventually it will make more sense to
  * build specialized agent behaviours.
  */
-public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDelegate {
+public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDelegate, PDEIFrameTimingListener,
+                                           PDELinearAnimationEngine.Listener {
 
 //----------------------------------------------------------------------------------------------------------------------
 //  Configuration
@@ -199,16 +200,15 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
     private int mAgentState;
     private boolean mInputCheckScheduled;
 
-    // UI animations
-    private PDEAnimationGroup mAnimations;
-    private PDELinearAnimation mFocusAnimation;
-    private PDELinearAnimation mHighlightAnimation;
-    private PDELinearAnimation mFocusAndHighlightAnimation;
-    private PDELinearAnimation mPressAnimation;
-    private PDELinearAnimation mDownAnimation;
-    private PDELinearAnimation mInteractionAnimation;
-    private PDELinearAnimation mStateAnimation;
-    private PDELinearAnimation mVisualEnabledAnimation;
+    // UI animations (animated by the shared linear animation engine, changes are reported once per frame)
+    private PDELinearAnimationHandle mFocusAnimation;
+    private PDELinearAnimationHandle mHighlightAnimation;
+    private PDELinearAnimationHandle mFocusAndHighlightAnimation;
+    private PDELinearAnimationHandle mPressAnimation;
+    private PDELinearAnimationHandle mDownAnimation;
+    private PDELinearAnimationHandle mInteractionAnimation;
+    private PDELinearAnimationHandle mStateAnimation;
+    private PDELinearAnimationHandle mVisualEnabledAnimation;
 
 
     /**
@@ -237,6 +237,12 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
 
     // our own timing
     private boolean mTiming;
+    private boolean mTimingLinked;
+
+    // visibility of the controlled view; while not visible, we're suspended (no animations, no own timing)
+    private boolean mViewAttached;
+    private boolean mViewVisible;
+    private boolean mSuspended;
 
     /**
      * @brief Time it takes the agent to change main states.
@@ -248,6 +254,17 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
      */
     private PDEEventSource mEventSource;
 
+    /**
+     * @brief Reused state events (sent on every animation frame). Listeners must not keep them.
+     */
+    private final PDEEventRecycler<PDEEventAgentControllerState> mStateEvents =
+            new PDEEventRecycler<PDEEventAgentControllerState>() {
+                @Override
+                protected PDEEventAgentControllerState createEvent() {
+                    return new PDEEventAgentControllerState();
+                }
+            };
+
     /**
      * @brief Input enabled. Has no effect on the looks of the agent. Visual disablement is a different entity.
      */
@@ -486,6 +503,10 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
         mAgentAnimationCombinedFocusAndHighlight = 0.0;
         mAgentAnimationCombinedInteraction = 0.0;
         mTiming = false;
+        mTimingLinked = false;
+        mViewAttached = true;
+        mViewVisible = true;
+        mSuspended = false;
         mInputEnabled = true;
         mVisualEnabled = true;
 
@@ -497,26 +518,15 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
 
         // init substructures
         mPendingActions = new LinkedList<Object>();
-        mAnimations = new PDEAnimationGroup();
-        mAnimations.setDidChangeTarget(this, "changed");
-        PDEAnimationRoot.addSubAnimationStatic(mAnimations);
-        mFocusAnimation = new PDELinearAnimation();
-        mAnimations.addSubAnimation(mFocusAnimation);
-        mHighlightAnimation = new PDELinearAnimation();
-        mAnimations.addSubAnimation(mHighlightAnimation);
-        mFocusAndHighlightAnimation = new PDELinearAnimation();
-        mAnimations.addSubAnimation(mFocusAndHighlightAnimation);
-        mPressAnimation = new PDELinearAnimation();
-        mAnimations.addSubAnimation(mPressAnimation);
-        mDownAnimation = new PDELinearAnimation();
-        mAnimations.addSubAnimation(mDownAnimation);
-        mInteractionAnimation = new PDELinearAnimation();
-        mAnimations.addSubAnimation(mInteractionAnimation);
-        mStateAnimation = new PDELinearAnimation();
-        mAnimations.addSubAnimation(mStateAnimation);
-        mVisualEnabledAnimation = new PDELinearAnimation();
+        mFocusAnimation = new PDELinearAnimationHandle(this);
+        mHighlightAnimation = new PDELinearAnimationHandle(this);
+        mFocusAndHighlightAnimation = new PDELinearAnimationHandle(this);
+        mPressAnimation = new PDELinearAnimationHandle(this);
+        mDownAnimation = new PDELinearAnimationHandle(this);
+        mInteractionAnimation = new PDELinearAnimationHandle(this);
+        mStateAnimation = new PDELinearAnimationHandle(this);
+        mVisualEnabledAnimation = new PDELinearAnimationHandle(this);
         mVisualEnabledAnimation.setValueImmediate(1.0);
-        mAnimations.addSubAnimation(mVisualEnabledAnimation);
 
         // create DTEventSender instance
         mEventSource = new PDEEventSource();
@@ -532,7 +542,7 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
      */
     public void setState(String state) {
         // any change?
-        if (TextUtils.equals(mState, state)) return;
+        if (mState == null ? state == null : mState.equals(state)) return;
 
         // remember
         mState = state;
@@ -797,6 +807,7 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
         event = createStateEvent();
         event.setType(PDE_AGENT_CONTROLLER_EVENT_ANIMATION_INITIALIZE);
         getEventSource().sendEvent(event, listener);
+        mStateEvents.recycle(event);
 
         if (mOutsideActiveBracket) {
             // send
@@ -1383,6 +1394,7 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
             event = createStateEvent();
             event.setType(PDE_AGENT_CONTROLLER_EVENT_ANIMATION_BEGIN_STATE_CHANGE);
             getEventSource().sendEvent(event);
+            mStateEvents.recycle(event);
             // start the animation
             mStateAnimation.goToValueWithDurationForDistance(1.0, mStateChangeTime, 1.0);
         }
@@ -1508,6 +1520,7 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
             event = createStateEvent();
             event.setType(PDE_AGENT_CONTROLLER_EVENT_ANIMATION_DID_CHANGE);
             getEventSource().sendEvent(event);
+            mStateEvents.recycle(event);
         }
 
         // is the state animation done?
@@ -1524,6 +1537,7 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
             event = createStateEvent();
             event.setType(PDE_AGENT_CONTROLLER_EVENT_ANIMATION_END_STATE_CHANGE);
             getEventSource().sendEvent(event);
+            mStateEvents.recycle(event);
             // check if we need to start the next animation immediately
             if (!mState.equals(mCurrentState)) {
                 // set the next state (no need to reset the animation, it's been already cleared before)
@@ -1532,6 +1546,7 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
                 event = createStateEvent();
                 event.setType(PDE_AGENT_CONTROLLER_EVENT_ANIMATION_BEGIN_STATE_CHANGE);
                 getEventSource().sendEvent(event);
+                mStateEvents.recycle(event);
                 // start the animation
                 mStateAnimation.goToValueWithDurationForDistance(1.0, mStateChangeTime, 1.0);
             }
@@ -1554,13 +1569,31 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
         mTiming = timing;
 
         // and perform action
-        if (mTiming) {
+        updateTimingLink();
+    }
+
+
+    /**
+     * @brief Link to / unlink from the global timing (we're only timed if timing is on and we're not suspended).
+     */
+    private void updateTimingLink() {
+        boolean linked;
+
+        // any change?
+        linked = mTiming && !mSuspended;
+        if (linked == mTimingLinked) return;
+
+        // remember
+        mTimingLinked = linked;
+
+        // and perform action
+        if (mTimingLinked) {
             // debug
             if (DEBUG_TIMING) {
                 Log.d(LOG_TAG, "Starting secondary timing");
             }
             // link to global timing
-            PDEFrameTiming.getInstance().addListener(this, "time");
+            PDEFrameTiming.getInstance().addListener(this);
         } else {
             // unlink from global timing
             PDEFrameTiming.getInstance().removeListener(this);
@@ -1572,6 +1605,77 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
     }
 
 
+    // visibility
+
+
+    /**
+     * @brief Tell the controller whether its view is attached to a window.
+     *
+     * Detached controllers are suspended (see setSuspended()). New controllers start attached; views which are not
+     * attached yet should tell them right after creating them.
+     */
+    public void setViewAttached(boolean attached) {
+        // any change?
+        if (mViewAttached == attached) return;
+
+        // remember
+        mViewAttached = attached;
+
+        // and update
+        setSuspended(!mViewAttached || !mViewVisible);
+    }
+
+
+    /**
+     * @brief Tell the controller whether the window of its view is visible.
+     *
+     * Controllers of invisible windows are suspended (see setSuspended()).
+     */
+    public void setViewVisible(boolean visible) {
+        // any change?
+        if (mViewVisible == visible) return;
+
+        // remember
+        mViewVisible = visible;
+
+        // and update
+        setSuspended(!mViewAttached || !mViewVisible);
+    }
+
+
+    /**
+     * @brief Suspend or resume the controller.
+     *
+     * A suspended controller doesn't take part in the frame timing: running animations are finished immediately,
+     * new animations jump to their targets and timed states are not timed. When resumed, the controller catches up
+     * with the time passed meanwhile (timed states which are due are left) and goes on as usual.
+     */
+    public void setSuspended(boolean suspended) {
+        // any change?
+        if (mSuspended == suspended) return;
+
+        // remember
+        mSuspended = suspended;
+
+        // suspend or resume animations and timing
+        PDELinearAnimationEngine.getSharedInstance().setListenerSuspended(this, mSuspended);
+        updateTimingLink();
+
+        // when resuming, catch up
+        if (!mSuspended) {
+            changed();
+        }
+    }
+
+
+    /**
+     * @brief Check if the controller is suspended.
+     */
+    public boolean isSuspended() {
+        return mSuspended;
+    }
+
+
     /**
      * @brief Timing function called when manually timed, or when something in the animations changed.
      *
@@ -1608,24 +1712,36 @@ public class PDEAgentController implements PDEIEventSource, PDEIEventSourceDeleg
     /**
      * @brief timing function
      *
-     *  Originally we wanted to have a time() method and a time(Long) method. But this seems to make problems
-     *  with java reflection. So now the originally time() method is called changed(),
-     *  the other one stays as time(Long). For now it simply calls the other one ( changed() ).
+     *  Called by the global frame timing while auto-timing is on. The manual timing function is called changed(),
+     *  this one simply calls it.
      */
-    @SuppressWarnings("unused")
-    public void time(Long time) {
+    @Override
+    public void onFrame(long frameTimeMillis) {
+        changed();
+    }
+
+
+    /**
+     * @brief Animation change function
+     *
+     *  Called by the linear animation engine after a frame in which our animations changed; simply calls changed().
+     */
+    @Override
+    public void linearAnimationsDidChange() {
         changed();
     }
 
 
     /**
      * @brief Event data helper.
+     *
+     * The event is taken from the recycler; give it back with mStateEvents.recycle() after sending.
      */
     PDEEventAgentControllerState createStateEvent() {
         PDEEventAgentControllerState event;
 
-        // create event
-        event = new PDEEventAgentControllerState();
+        // get a (reused) event
+        event = mStateEvents.obtain();
 
         // fill in data
         event.setCurrentState(mCurrentState);
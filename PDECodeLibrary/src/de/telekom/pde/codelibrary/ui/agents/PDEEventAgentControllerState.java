@@ -69,6 +69,25 @@ public class PDEEventAgentControllerState extends PDEEvent {
     protected double mAgentAnimationCombinedInteraction;
 
 
+    /**
+     * @brief Reset the event (including the state data) for reuse.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        mCurrentState = null;
+        mNextState = null;
+        mStateAnimationProgress = 0.0;
+        mAgentAnimationVisualEnabled = 0.0;
+        mAgentAnimationFocus = 0.0;
+        mAgentAnimationHighlight = 0.0;
+        mAgentAnimationPress = 0.0;
+        mAgentAnimationDown = 0.0;
+        mAgentAnimationCombinedFocusAndHighlight = 0.0;
+        mAgentAnimationCombinedInteraction = 0.0;
+    }
+
+
     public void setCurrentState(String currentState){
         mCurrentState = currentState;
     }
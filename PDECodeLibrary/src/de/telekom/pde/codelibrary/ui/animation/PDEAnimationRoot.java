@@ -16,6 +16,7 @@ package de.telekom.pde.codelibrary.ui.animation;
 
 
 import de.telekom.pde.codelibrary.ui.timing.PDEFrameTiming;
+import de.telekom.pde.codelibrary.ui.timing.PDEIFrameTimingListener;
 
 /**
  * @brief The root animation.
@@ -25,7 +26,7 @@ import de.telekom.pde.codelibrary.ui.timing.PDEFrameTiming;
  * The static function members all link to the root singleton.
  */
 
-public class PDEAnimationRoot extends PDEAnimationGroup {
+public class PDEAnimationRoot extends PDEAnimationGroup implements PDEIFrameTimingListener {
 
     /**
      * @brief Global tag for log outputs.
@@ -151,7 +152,7 @@ public class PDEAnimationRoot extends PDEAnimationGroup {
         // action
         if (mRunningRegisteredWithParent) {
             // add to global frame timing
-            PDEFrameTiming.getInstance().addListener(this, "frameTiming");
+            PDEFrameTiming.getInstance().addListener(this);
         } else {
             // we're not running any more, but we might have pending change (only register ourselves if we're not
             // currently processing an animation, in which case change management will be called anyway)
@@ -200,8 +201,8 @@ public class PDEAnimationRoot extends PDEAnimationGroup {
      * If we're timed, propagate the new time throughout the animation system. Treat as parentTimeDidChange, we
      * also want to call our animate function (probably no overloaded) and want to notify any listeners of the change
      */
-    @SuppressWarnings("unused")
-    public void frameTiming(Long time) {
+    @Override
+    public void onFrame(long frameTimeMillis) {
         // simply use the parentTimeDidChange function, this will do the rest
         parentTimeDidChange();
     }
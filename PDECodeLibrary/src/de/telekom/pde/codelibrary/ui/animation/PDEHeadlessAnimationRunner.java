@@ -0,0 +1,169 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.animation;
+
+
+import de.telekom.pde.codelibrary.ui.timing.PDEFrameTiming;
+import de.telekom.pde.codelibrary.ui.timing.PDEFrameTimingManual;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEHeadlessAnimationRunner
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Steps the animation tree on a virtual clock as fast as possible.
+ *
+ * Meant for repeatable benchmarks and regression tests of animation code (agent controllers, usage bars, sliders...)
+ * without a display. Every frame advances the virtual clock by the frame interval and runs everything attached to
+ * the frame timing, including PDEAnimationRoot.
+ *
+ * The runner must be created before anything uses the frame timing (see PDEFrameTiming.setInstance()).
+ */
+public class PDEHeadlessAnimationRunner {
+
+    // default frame interval (60 frames per second)
+    private final static long DEFAULT_FRAME_INTERVAL = 16;
+
+    // the virtual clock
+    private final PDEFrameTimingManual mTiming;
+
+    // time per frame
+    private long mFrameInterval;
+
+    // statistics of the last run
+    private int mLastFrameCount;
+    private long mLastRunNanos;
+
+
+    /**
+     * @brief Constructor; installs a new virtual clock with the default frame interval.
+     */
+    public PDEHeadlessAnimationRunner() {
+        this(new PDEFrameTimingManual(), DEFAULT_FRAME_INTERVAL);
+        PDEFrameTiming.setInstance(mTiming);
+    }
+
+
+    /**
+     * @brief Constructor; uses an already installed virtual clock.
+     *
+     * @param timing The virtual clock (must be installed with PDEFrameTiming.setInstance()).
+     * @param frameInterval Milliseconds per frame.
+     */
+    public PDEHeadlessAnimationRunner(PDEFrameTimingManual timing, long frameInterval) {
+        mTiming = timing;
+        mFrameInterval = frameInterval;
+        mLastFrameCount = 0;
+        mLastRunNanos = 0;
+    }
+
+
+    /**
+     * @brief Get the virtual clock.
+     */
+    public PDEFrameTimingManual getTiming() {
+        return mTiming;
+    }
+
+
+    /**
+     * @brief Get the time per frame in milliseconds.
+     */
+    public long getFrameInterval() {
+        return mFrameInterval;
+    }
+
+
+    /**
+     * @brief Set the time per frame in milliseconds.
+     */
+    public void setFrameInterval(long frameInterval) {
+        mFrameInterval = frameInterval;
+    }
+
+
+    /**
+     * @brief Run a single frame.
+     */
+    public void step() {
+        mTiming.advanceFrame(mFrameInterval);
+    }
+
+
+    /**
+     * @brief Run a number of frames as fast as possible.
+     *
+     * @param frames Number of frames to run.
+     * @return Average wall clock time per frame in nanoseconds.
+     */
+    public long runFrames(int frames) {
+        long start;
+        int i;
+
+        // run
+        start = System.nanoTime();
+        for (i = 0; i < frames; i++) {
+            mTiming.advanceFrame(mFrameInterval);
+        }
+
+        // remember
+        mLastRunNanos = System.nanoTime() - start;
+        mLastFrameCount = frames;
+
+        return getLastNanosPerFrame();
+    }
+
+
+    /**
+     * @brief Run frames until nothing is animating anymore (or the limit is reached).
+     *
+     * @param maxFrames Maximum number of frames to run.
+     * @return Number of frames run.
+     */
+    public int runUntilIdle(int maxFrames) {
+        long start;
+        int frames;
+
+        // run
+        start = System.nanoTime();
+        frames = 0;
+        while (frames < maxFrames && mTiming.hasPendingWork()) {
+            mTiming.advanceFrame(mFrameInterval);
+            frames++;
+        }
+
+        // remember
+        mLastRunNanos = System.nanoTime() - start;
+        mLastFrameCount = frames;
+
+        return frames;
+    }
+
+
+    /**
+     * @brief Wall clock time of the last run in nanoseconds.
+     */
+    public long getLastRunNanos() {
+        return mLastRunNanos;
+    }
+
+
+    /**
+     * @brief Average wall clock time per frame of the last run in nanoseconds.
+     */
+    public long getLastNanosPerFrame() {
+        // security
+        if (mLastFrameCount == 0) {
+            return 0;
+        }
+
+        return mLastRunNanos / mLastFrameCount;
+    }
+}
@@ -0,0 +1,614 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.animation;
+
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDELinearAnimationEngine
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Engine mode for linear animations: all animations in primitive arrays, advanced in one loop per frame.
+ *
+ * Every PDELinearAnimation is a node of the animation tree; on every frame the tree is walked through linked lists
+ * and weak references, and every animation does its own time and change management. For many small animations
+ * (e.g. the agent animations of all buttons and list items) this pointer chasing costs more than the animation
+ * itself.
+ *
+ * The engine is a single animation linked into the tree. It stores the state of all its linear animations in
+ * slots of primitive arrays (value, start value, target, speed, start time, duration) and keeps a compact list of
+ * the running slots. On every frame it advances all running slots in one tight loop. PDELinearAnimationHandle
+ * objects are thin handles onto these slots and offer the PDELinearAnimation API.
+ *
+ * Change management is done per listener instead of per animation: after the loop, every listener with at least
+ * one changed (or finished) animation is notified once. Changes done outside of the frame loop (e.g. setting a value
+ * immediately) are notified on the next frame. Listeners are only weakly referenced; slots of listeners which are
+ * gone are reclaimed automatically.
+ *
+ * Listeners which are not visible (e.g. their view is detached) can be suspended: their running animations jump to
+ * their targets and new animations are finished immediately, so they don't take part in the frame loop.
+ *
+ * The engine times on its own timebase (milliseconds, like all animations). The shared engine is linked into
+ * PDEAnimationRoot. Must be used from the UI thread only.
+ */
+public class PDELinearAnimationEngine extends PDEAnimation {
+
+    /**
+     * @brief Global tag for log outputs.
+     */
+    @SuppressWarnings("unused")
+    private final static String LOG_TAG = PDELinearAnimationEngine.class.getName();
+
+    // initial storage size
+    private final static int INITIAL_CAPACITY = 64;
+
+
+    /**
+     * @brief Listener for changes of the engine's animations.
+     */
+    public interface Listener {
+        /**
+         * @brief Called after a frame in which at least one of the listener's animations changed or finished.
+         */
+        void linearAnimationsDidChange();
+    }
+
+
+    // the shared engine
+    private static PDELinearAnimationEngine mSharedInstance = null;
+
+    // slot data
+    private double[] mValues;
+    private double[] mStartValues;
+    private double[] mTargets;
+    private double[] mSpeeds;
+    private long[] mStartTimes;
+    private long[] mDurations;
+    private long[] mDoneTimes;
+    // owner of the slot, -1 for free slots
+    private int[] mSlotOwners;
+    // position of the slot in the running list, -1 if not running
+    private int[] mRunningPositions;
+    private int mSlotCount;
+
+    // free slots
+    private int[] mFreeSlots;
+    private int mFreeSlotCount;
+
+    // running slots (compact)
+    private int[] mRunningSlots;
+    private int mRunningCount;
+
+    // owners (listeners)
+    private WeakReference<?>[] mOwnerListeners;
+    private int[] mOwnerSlotCounts;
+    private boolean[] mOwnerPending;
+    private boolean[] mOwnerSuspended;
+    private int mOwnerCount;
+    private final WeakHashMap<Listener, Integer> mOwnerIds;
+    private int[] mFreeOwners;
+    private int mFreeOwnerCount;
+
+    // owners to be notified (double buffered, notifications may cause new changes)
+    private int[] mPendingOwners;
+    private int mPendingCount;
+    private int[] mNotifyOwners;
+
+
+//----- init -----------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Constructor. The engine still has to be linked into the animation tree.
+     */
+    public PDELinearAnimationEngine() {
+        mValues = new double[INITIAL_CAPACITY];
+        mStartValues = new double[INITIAL_CAPACITY];
+        mTargets = new double[INITIAL_CAPACITY];
+        mSpeeds = new double[INITIAL_CAPACITY];
+        mStartTimes = new long[INITIAL_CAPACITY];
+        mDurations = new long[INITIAL_CAPACITY];
+        mDoneTimes = new long[INITIAL_CAPACITY];
+        mSlotOwners = new int[INITIAL_CAPACITY];
+        mRunningPositions = new int[INITIAL_CAPACITY];
+        mSlotCount = 0;
+        mFreeSlots = new int[INITIAL_CAPACITY];
+        mFreeSlotCount = 0;
+        mRunningSlots = new int[INITIAL_CAPACITY];
+        mRunningCount = 0;
+
+        mOwnerListeners = new WeakReference<?>[INITIAL_CAPACITY];
+        mOwnerSlotCounts = new int[INITIAL_CAPACITY];
+        mOwnerPending = new boolean[INITIAL_CAPACITY];
+        mOwnerSuspended = new boolean[INITIAL_CAPACITY];
+        mOwnerCount = 0;
+        mOwnerIds = new WeakHashMap<Listener, Integer>();
+        mFreeOwners = new int[INITIAL_CAPACITY];
+        mFreeOwnerCount = 0;
+        mPendingOwners = new int[INITIAL_CAPACITY];
+        mPendingCount = 0;
+        mNotifyOwners = new int[INITIAL_CAPACITY];
+    }
+
+
+    /**
+     * @brief Get the shared engine (linked into PDEAnimationRoot).
+     */
+    public static PDELinearAnimationEngine getSharedInstance() {
+        if (mSharedInstance == null) {
+            mSharedInstance = new PDELinearAnimationEngine();
+            PDEAnimationRoot.addSubAnimationStatic(mSharedInstance, true);
+        }
+        return mSharedInstance;
+    }
+
+
+//----- frame loop -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Advance all running slots, then notify the listeners.
+     */
+    @Override
+    public void animate() {
+        double value, start, target;
+        long time, elapsed, duration;
+        int i, slot;
+
+        // one time for all
+        time = getTime();
+
+        // advance all running slots
+        for (i = 0; i < mRunningCount; i++) {
+            slot = mRunningSlots[i];
+            duration = mDurations[slot];
+            elapsed = time - mStartTimes[slot];
+            // time could be negative (if parent time changes) -> don't get over the boundary
+            if (elapsed < 0) elapsed = 0;
+
+            // done?
+            if (elapsed >= duration) {
+                // set to target, remember when we were done and remove from running list (the last one moves here)
+                mValues[slot] = mTargets[slot];
+                mDoneTimes[slot] = time;
+                removeRunning(slot);
+                i--;
+                // stopping is always a change
+                markOwnerPending(mSlotOwners[slot]);
+                continue;
+            }
+
+            // interpolate and limit (avoid rounding errors)
+            start = mStartValues[slot];
+            target = mTargets[slot];
+            value = start + (target - start) * ((double) elapsed / duration);
+            if (start < target) {
+                if (value < start) value = start;
+                if (value > target) value = target;
+            } else {
+                if (value > start) value = start;
+                if (value < target) value = target;
+            }
+
+            // changed?
+            if (value != mValues[slot]) {
+                mValues[slot] = value;
+                markOwnerPending(mSlotOwners[slot]);
+            }
+        }
+
+        // notify
+        notifyPendingOwners();
+
+        // keep running while animating or while there are changes to deliver
+        setRunning(mRunningCount > 0 || mPendingCount > 0);
+    }
+
+
+    /**
+     * @brief Notify all pending owners once.
+     */
+    private void notifyPendingOwners() {
+        int[] notifyOwners;
+        int i, count, owner;
+        Object listener;
+
+        // anything to do?
+        if (mPendingCount == 0) return;
+
+        // swap buffers; notifications may cause new changes which are delivered on the next frame
+        notifyOwners = mPendingOwners;
+        count = mPendingCount;
+        mPendingOwners = mNotifyOwners;
+        mNotifyOwners = notifyOwners;
+        mPendingCount = 0;
+        for (i = 0; i < count; i++) {
+            mOwnerPending[notifyOwners[i]] = false;
+        }
+
+        // notify
+        for (i = 0; i < count; i++) {
+            owner = notifyOwners[i];
+            listener = (mOwnerListeners[owner] != null) ? mOwnerListeners[owner].get() : null;
+            if (listener != null) {
+                ((Listener) listener).linearAnimationsDidChange();
+            } else {
+                // owner is gone -> reclaim its slots
+                releaseOwnerSlots(owner);
+            }
+        }
+    }
+
+
+//----- slots ----------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get a new slot (not running, value 0) for the listener.
+     */
+    int allocateSlot(Listener listener) {
+        Integer ownerId;
+        int slot, owner;
+
+        // get the owner
+        ownerId = mOwnerIds.get(listener);
+        if (ownerId != null) {
+            owner = ownerId;
+        } else {
+            owner = allocateOwner(listener);
+            mOwnerIds.put(listener, owner);
+        }
+
+        // get a slot; reclaim slots of vanished owners before growing
+        if (mFreeSlotCount == 0 && mSlotCount == mValues.length) sweepOwners();
+        if (mFreeSlotCount > 0) {
+            slot = mFreeSlots[--mFreeSlotCount];
+        } else {
+            if (mSlotCount == mValues.length) growSlots();
+            slot = mSlotCount++;
+        }
+
+        // init
+        mValues[slot] = 0.0;
+        mStartValues[slot] = 0.0;
+        mTargets[slot] = 0.0;
+        mSpeeds[slot] = 0.0;
+        mStartTimes[slot] = 0;
+        mDurations[slot] = 0;
+        mDoneTimes[slot] = getTime();
+        mSlotOwners[slot] = owner;
+        mRunningPositions[slot] = -1;
+        mOwnerSlotCounts[owner]++;
+
+        return slot;
+    }
+
+
+    /**
+     * @brief Give back a slot.
+     */
+    void releaseSlot(int slot) {
+        int owner;
+
+        // already free?
+        owner = mSlotOwners[slot];
+        if (owner < 0) return;
+
+        // stop and free
+        if (mRunningPositions[slot] >= 0) removeRunning(slot);
+        mSlotOwners[slot] = -1;
+        if (mFreeSlotCount == mFreeSlots.length) mFreeSlots = grow(mFreeSlots);
+        mFreeSlots[mFreeSlotCount++] = slot;
+
+        // free the owner with its last slot
+        mOwnerSlotCounts[owner]--;
+        if (mOwnerSlotCounts[owner] == 0) releaseOwner(owner);
+    }
+
+
+    /**
+     * @brief Start animating a slot from its current value.
+     */
+    void startSlot(int slot, double target, long duration, double speed) {
+        // suspended owners don't animate
+        if (mOwnerSuspended[mSlotOwners[slot]]) {
+            setSlotImmediate(slot, target);
+            return;
+        }
+
+        // remember
+        mStartValues[slot] = mValues[slot];
+        mTargets[slot] = target;
+        mDurations[slot] = duration;
+        mSpeeds[slot] = speed;
+        mStartTimes[slot] = getTime();
+
+        // add to running list
+        if (mRunningPositions[slot] < 0) {
+            if (mRunningCount == mRunningSlots.length) mRunningSlots = grow(mRunningSlots);
+            mRunningPositions[slot] = mRunningCount;
+            mRunningSlots[mRunningCount++] = slot;
+        }
+
+        // make sure we're timed
+        setRunning(true);
+    }
+
+
+    /**
+     * @brief Set a slot to a value immediately, stop it.
+     */
+    void setSlotImmediate(int slot, double value) {
+        // change?
+        if (value != mValues[slot] || mRunningPositions[slot] >= 0) markOwnerPending(mSlotOwners[slot]);
+
+        // set to safe parameters
+        mValues[slot] = value;
+        mStartValues[slot] = value;
+        mTargets[slot] = value;
+        mDurations[slot] = 0;
+        mSpeeds[slot] = 0.0;
+        mDoneTimes[slot] = getTime();
+
+        // stop
+        if (mRunningPositions[slot] >= 0) removeRunning(slot);
+
+        // deliver the change on the next frame
+        if (mPendingCount > 0) setRunning(true);
+    }
+
+
+    // slot accessors
+    double getSlotValue(int slot) {
+        return mValues[slot];
+    }
+
+    double getSlotTarget(int slot) {
+        return mTargets[slot];
+    }
+
+    long getSlotDuration(int slot) {
+        return mDurations[slot];
+    }
+
+    double getSlotSpeed(int slot) {
+        return mSpeeds[slot];
+    }
+
+    void setSlotSpeed(int slot, double speed) {
+        mSpeeds[slot] = speed;
+    }
+
+    boolean isSlotRunning(int slot) {
+        return mRunningPositions[slot] >= 0;
+    }
+
+    long getSlotElapsedTime(int slot) {
+        return getTime() - mStartTimes[slot];
+    }
+
+    long getSlotTimeSinceDone(int slot) {
+        return getTime() - mDoneTimes[slot];
+    }
+
+
+//----- suspension -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Suspend or resume all animations of a listener.
+     *
+     * Suspending finishes the listener's running animations immediately (the listener is notified on the next frame);
+     * while suspended, all animations it starts are finished immediately.
+     */
+    public void setListenerSuspended(Listener listener, boolean suspended) {
+        Integer ownerId;
+        int owner, i, slot;
+
+        // known?
+        ownerId = mOwnerIds.get(listener);
+        if (ownerId == null) return;
+        owner = ownerId;
+
+        // any change?
+        if (mOwnerSuspended[owner] == suspended) return;
+
+        // remember
+        mOwnerSuspended[owner] = suspended;
+
+        // finish running animations (backwards, finished slots are removed from the running list)
+        if (suspended) {
+            for (i = mRunningCount - 1; i >= 0; i--) {
+                slot = mRunningSlots[i];
+                if (mSlotOwners[slot] == owner) setSlotImmediate(slot, mTargets[slot]);
+            }
+        }
+    }
+
+
+//----- statistics -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Number of allocated animations.
+     */
+    public int getAnimationCount() {
+        return mSlotCount - mFreeSlotCount;
+    }
+
+
+    /**
+     * @brief Number of running animations.
+     */
+    public int getRunningAnimationCount() {
+        return mRunningCount;
+    }
+
+
+//----- helpers --------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Remove a slot from the running list (the last running slot takes its place).
+     */
+    private void removeRunning(int slot) {
+        int position, last;
+
+        position = mRunningPositions[slot];
+        last = mRunningSlots[--mRunningCount];
+        mRunningSlots[position] = last;
+        mRunningPositions[last] = position;
+        mRunningPositions[slot] = -1;
+    }
+
+
+    /**
+     * @brief Remember an owner for notification.
+     */
+    private void markOwnerPending(int owner) {
+        // security, already pending?
+        if (owner < 0 || mOwnerPending[owner]) return;
+
+        // remember
+        mOwnerPending[owner] = true;
+        if (mPendingCount == mPendingOwners.length) mPendingOwners = grow(mPendingOwners);
+        mPendingOwners[mPendingCount++] = owner;
+        if (mNotifyOwners.length < mPendingOwners.length) mNotifyOwners = new int[mPendingOwners.length];
+    }
+
+
+    /**
+     * @brief Get a new owner id for a listener.
+     */
+    private int allocateOwner(Listener listener) {
+        int owner;
+
+        // reuse or grow
+        if (mFreeOwnerCount > 0) {
+            owner = mFreeOwners[--mFreeOwnerCount];
+        } else {
+            if (mOwnerCount == mOwnerListeners.length) growOwners();
+            owner = mOwnerCount++;
+        }
+
+        // init
+        mOwnerListeners[owner] = new WeakReference<Listener>(listener);
+        mOwnerSlotCounts[owner] = 0;
+        mOwnerPending[owner] = false;
+        mOwnerSuspended[owner] = false;
+
+        return owner;
+    }
+
+
+    /**
+     * @brief Free an owner id (it has no slots anymore).
+     */
+    private void releaseOwner(int owner) {
+        Object listener;
+
+        // forget the lookup
+        listener = (mOwnerListeners[owner] != null) ? mOwnerListeners[owner].get() : null;
+        if (listener != null) mOwnerIds.remove(listener);
+
+        // a pending notification for a free owner is simply dropped
+        mOwnerListeners[owner] = null;
+        if (mFreeOwnerCount == mFreeOwners.length) mFreeOwners = grow(mFreeOwners);
+        mFreeOwners[mFreeOwnerCount++] = owner;
+    }
+
+
+    /**
+     * @brief Release all slots of an owner (whose listener is gone).
+     */
+    private void releaseOwnerSlots(int owner) {
+        int slot;
+
+        for (slot = 0; slot < mSlotCount && mOwnerSlotCounts[owner] > 0; slot++) {
+            if (mSlotOwners[slot] == owner) releaseSlot(slot);
+        }
+    }
+
+
+    /**
+     * @brief Reclaim the slots of all owners whose listeners are gone.
+     */
+    private void sweepOwners() {
+        int owner;
+
+        for (owner = 0; owner < mOwnerCount; owner++) {
+            if (mOwnerListeners[owner] != null && mOwnerListeners[owner].get() == null) {
+                releaseOwnerSlots(owner);
+            }
+        }
+    }
+
+
+    /**
+     * @brief Double the slot storage.
+     */
+    private void growSlots() {
+        int capacity = mValues.length * 2;
+
+        mValues = copyOf(mValues, capacity);
+        mStartValues = copyOf(mStartValues, capacity);
+        mTargets = copyOf(mTargets, capacity);
+        mSpeeds = copyOf(mSpeeds, capacity);
+        mStartTimes = copyOf(mStartTimes, capacity);
+        mDurations = copyOf(mDurations, capacity);
+        mDoneTimes = copyOf(mDoneTimes, capacity);
+        mSlotOwners = grow(mSlotOwners);
+        mRunningPositions = grow(mRunningPositions);
+    }
+
+
+    /**
+     * @brief Double the owner storage.
+     */
+    private void growOwners() {
+        WeakReference<?>[] listeners;
+        boolean[] pending, suspended;
+        int capacity = mOwnerListeners.length * 2;
+
+        listeners = new WeakReference<?>[capacity];
+        System.arraycopy(mOwnerListeners, 0, listeners, 0, mOwnerCount);
+        mOwnerListeners = listeners;
+        pending = new boolean[capacity];
+        System.arraycopy(mOwnerPending, 0, pending, 0, mOwnerCount);
+        mOwnerPending = pending;
+        suspended = new boolean[capacity];
+        System.arraycopy(mOwnerSuspended, 0, suspended, 0, mOwnerCount);
+        mOwnerSuspended = suspended;
+        mOwnerSlotCounts = grow(mOwnerSlotCounts);
+    }
+
+
+    // array helpers (Arrays.copyOf needs API level 9, kept explicit for all types)
+    private static int[] grow(int[] array) {
+        int[] result = new int[array.length * 2];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+
+    private static double[] copyOf(double[] array, int capacity) {
+        double[] result = new double[capacity];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+
+    private static long[] copyOf(long[] array, int capacity) {
+        long[] result = new long[capacity];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+}
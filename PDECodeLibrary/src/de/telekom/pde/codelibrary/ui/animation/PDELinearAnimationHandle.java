@@ -0,0 +1,290 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.animation;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDELinearAnimationHandle
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Linear animation living in a PDELinearAnimationEngine.
+ *
+ * Offers the same control functions as PDELinearAnimation, but the state is kept in a slot of the engine and
+ * animated by the engine's frame loop. Changes are reported to the listener given on creation (once per frame for
+ * all of its animations).
+ *
+ * The slot is given back with release(), or automatically when the listener is gone.
+ */
+public class PDELinearAnimationHandle {
+
+    // engine and slot
+    private final PDELinearAnimationEngine mEngine;
+    private int mSlot;
+
+
+    /**
+     * @brief Constructor; creates the animation in the shared engine.
+     */
+    public PDELinearAnimationHandle(PDELinearAnimationEngine.Listener listener) {
+        this(PDELinearAnimationEngine.getSharedInstance(), listener);
+    }
+
+
+    /**
+     * @brief Constructor; creates the animation in the given engine.
+     */
+    public PDELinearAnimationHandle(PDELinearAnimationEngine engine, PDELinearAnimationEngine.Listener listener) {
+        mEngine = engine;
+        mSlot = engine.allocateSlot(listener);
+    }
+
+
+    /**
+     * @brief Give back the slot; the handle must not be used afterwards.
+     */
+    public void release() {
+        // security
+        if (mSlot < 0) return;
+
+        mEngine.releaseSlot(mSlot);
+        mSlot = -1;
+    }
+
+
+    /**
+     * @brief Getter for current value of animation.
+     */
+    public double getValue() {
+        return mEngine.getSlotValue(mSlot);
+    }
+
+
+    /**
+     * @brief Getter of target value.
+     */
+    public double getTarget() {
+        return mEngine.getSlotTarget(mSlot);
+    }
+
+
+    /**
+     * @brief Getter for duration.
+     */
+    public long getDuration() {
+        return mEngine.getSlotDuration(mSlot);
+    }
+
+
+    /**
+     * @brief Getter for speed of animation (units/millisecond).
+     */
+    public double getSpeed() {
+        return mEngine.getSlotSpeed(mSlot);
+    }
+
+
+    /**
+     * @brief Is the animation running?
+     */
+    public boolean isRunning() {
+        return mEngine.isSlotRunning(mSlot);
+    }
+
+
+    /**
+     * @brief Directly set the value.
+     *
+     * This stops any running animations.
+     */
+    public void setValueImmediate(double value) {
+        // check for change; if we're stable, do nothing. The time we reached the finished state must not change in
+        // this case
+        if (!isRunning() && value == getValue()) {
+            return;
+        }
+
+        // set and stop
+        mEngine.setSlotImmediate(mSlot, value);
+    }
+
+
+    /**
+     * @brief Stop the animation immediately.
+     *
+     * Just sets to the current value and stops running
+     */
+    @SuppressWarnings("unused")
+    public void stopAnimation() {
+        // are we running?
+        if (!isRunning()) {
+            return;
+        }
+
+        // set the current output value immediately, this stops.
+        setValueImmediate(getValue());
+    }
+
+
+    /**
+     * @brief Go to the value in the specified time.
+     *
+     * Animation is always performed starting with the current value, and using the specified duration,
+     * even if there's nothing to animate - there's no check for value changes.
+     */
+    public void goToValueWithDuration(double target, long duration) {
+        // special case; no duration
+        if (duration == 0) {
+            // no animation: directly set the target value
+            setValueImmediate(target);
+            // and stop here
+            return;
+        }
+
+        // start from the current value
+        mEngine.startSlot(mSlot, target, duration, Math.abs(target - getValue()) / duration);
+    }
+
+
+    /**
+     * @brief Go to the specified value by using the defined speed.
+     *        Speed is measured in units/millisecond.
+     */
+    public void goToValueWithSpeed(double target, double speed) {
+        double dist;
+        long duration;
+
+        // safety: zero speed doesn't do anything.
+        if (speed == 0.0) {
+            // stop animation: set the current value
+            setValueImmediate(getValue());
+            // and stop here
+            return;
+        }
+
+        // if we don't need to move, just stop immediately
+        if (target == getValue()) {
+            // no animation: directly set the target value
+            setValueImmediate(target);
+            // and stop here
+            return;
+        }
+
+        // if the target and speed do not change, do not change anything
+        if (target == getTarget() && Math.abs(speed) == getSpeed()) {
+            // just stop
+            return;
+        }
+
+        // calculate distance
+        dist = Math.abs(target - getValue());
+
+        // calculate the time
+        duration = Math.round(dist / Math.abs(speed));
+
+        // and go there
+        goToValueWithDuration(target, duration);
+
+        // override the speed again - avoid rounding errors
+        mEngine.setSlotSpeed(mSlot, Math.abs(speed));
+    }
+
+
+    /**
+     * @brief Go to the specified value by using a specified time for moving a specified distance.
+     *
+     * See PDELinearAnimation.goToValueWithDurationForDistance().
+     */
+    public void goToValueWithDurationForDistance(double target, long duration, double distance) {
+        // safety: zero duration sets immediately
+        if (duration == 0) {
+            // stop animation: set the current value
+            setValueImmediate(target);
+            // and stop here
+            return;
+        }
+
+        // use the speed function, calculating the speed
+        goToValueWithSpeed(target, Math.abs(distance) / duration);
+    }
+
+
+    /**
+     * @brief Go to the specified value by using a specified time for moving a specified distance. If the distance to move
+     *        is greater than the time, use the time to go there.
+     *
+     * See PDELinearAnimation.goToValueWithDurationLimitedAtDistance().
+     */
+    public void goToValueWithDurationLimitedAtDistance(double target, long duration, double distance) {
+        // safety: zero duration sets immediately
+        if (duration == 0) {
+            // stop animation: set the current value
+            setValueImmediate(target);
+            // and stop here
+            return;
+        }
+
+        // if we don't need to move, just stop immediately
+        if (target == getValue()) {
+            // no animation: directly set the target value
+            setValueImmediate(target);
+            // and stop here
+            return;
+        }
+
+        // what should we do?
+        if (Math.abs(target - getValue()) >= Math.abs(distance)) {
+            // we're over or at the maximum distance -> use the allowed time
+            goToValueWithDuration(target, duration);
+        } else {
+            // use the speed version
+            goToValueWithDurationForDistance(target, duration, distance);
+        }
+    }
+
+
+    /**
+     * @brief Get the remaining duration of the animation.
+     *
+     * If the animation is stopped, the remaining duration is zero.
+     */
+    public long getRemainingDuration() {
+        long remaining;
+
+        // zero if we're not running
+        if (!isRunning()) {
+            return 0;
+        }
+
+        // calculate, no negative values
+        remaining = getDuration() - mEngine.getSlotElapsedTime(mSlot);
+        if (remaining < 0) {
+            return 0;
+        }
+
+        // done
+        return remaining;
+    }
+
+
+    /**
+     * @brief Get the time that has elapsed since the animation was done.
+     *
+     * If we're still running, the time will be negative meaning the animation will be done sometime
+     * in the future.
+     */
+    public long getTimeSinceDone() {
+        // If we're running, return negative remaining duration
+        if (isRunning()) {
+            return -getRemainingDuration();
+        }
+
+        return mEngine.getSlotTimeSinceDone(mSlot);
+    }
+}
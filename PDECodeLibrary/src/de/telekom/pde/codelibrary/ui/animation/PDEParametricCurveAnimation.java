@@ -43,6 +43,19 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
     private final static String LOG_TAG = PDEParametricCurveAnimation.class.getName();
     private final static boolean DEBUG_SHOW = false;
 
+    // number of intervals of the easing tables (error of the linear interpolation is below 1e-4 of the distance)
+    private final static int EASING_TABLE_INTERVALS = 128;
+
+    // binomial coefficients up to the highest curve degree (for converting bezier curves to power basis)
+    private final static double[][] BINOMIALS = {
+            {1.0},
+            {1.0, 1.0},
+            {1.0, 2.0, 1.0},
+            {1.0, 3.0, 3.0, 1.0},
+            {1.0, 4.0, 6.0, 4.0, 1.0},
+            {1.0, 5.0, 10.0, 10.0, 5.0, 1.0}
+    };
+
 
     public enum PDEParametricCurveAnimationMode {
         ModeLinear,
@@ -66,6 +79,19 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
     }
 
 
+    /**
+     * @brief How the curve is set up and evaluated.
+     *
+     * EvaluationExact calculates the curve for every segment. EvaluationTable uses precalculated, sampled curves
+     * (linearly interpolated) for segments starting at rest, which avoids the curve set-up; segments continuing a
+     * movement are still calculated exactly.
+     */
+    public enum PDEParametricCurveAnimationEvaluation {
+        EvaluationExact,
+        EvaluationTable
+    }
+
+
     /**
      * @brief Overshooting control. Does not allow overshoot if a curve is freshly started (this is for
      * completeness only. Under normal circumstances does nothing, since there are no functions
@@ -119,6 +145,56 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
     protected double mTargetAcceleration;
     // bezier values for easier calculations
     protected double[] mBezierControl;
+    // the same curve in power basis (value = sum of mCurveCoefficients[k] * u^k for normalized time u), calculated
+    // once per segment so every frame only needs a Horner evaluation. The second half of the curve is evaluated
+    // backwards from the end (q = 1 - u), so start and end values, speeds and accelerations stay exact.
+    protected double[] mCurveCoefficients;
+    protected double[] mCurveEndCoefficients;
+    protected int mCurveDegree;
+
+    // where the curve was evaluated last (speed, acceleration and its derivative are calculated from there on demand)
+    private double mEvaluatedPosition;
+    private double mEvaluatedDuration;
+    private boolean mCurveEvaluated;
+    private boolean mDerivativesValid;
+
+    // sampled curve of the current segment (null if the curve is evaluated exactly); in this case the bezier
+    // helper values above are not calculated
+    private EasingTable mEasingTable;
+
+    // easing tables shared by all animations (index see getEasingTable()), created on first use
+    private static final EasingTable[] mEasingTables = new EasingTable[PDEParametricCurveAnimationMode.values().length
+                                                                       * PDEParametricCurveAnimationEase.values().length
+                                                                       * PDEParametricCurveAnimationEase.values().length
+                                                                       * 4];
+
+
+    /**
+     * @brief Sampled curve from 0 to 1 (in normalized time 0..1) with its derivatives.
+     */
+    private static class EasingTable {
+        final double[] mValues = new double[EASING_TABLE_INTERVALS + 1];
+        final double[] mSpeeds = new double[EASING_TABLE_INTERVALS + 1];
+        final double[] mAccelerations = new double[EASING_TABLE_INTERVALS + 1];
+        final double[] mAccelerationDerivatives = new double[EASING_TABLE_INTERVALS + 1];
+
+        /**
+         * @brief Linear interpolation of the samples.
+         */
+        static double lookup(double[] samples, double u) {
+            double position;
+            int i;
+
+            // find interval (the end is exact)
+            position = u * EASING_TABLE_INTERVALS;
+            i = (int) position;
+            if (i >= EASING_TABLE_INTERVALS) return samples[EASING_TABLE_INTERVALS];
+            if (i < 0) return samples[0];
+
+            // interpolate
+            return samples[i] + (samples[i + 1] - samples[i]) * (position - i);
+        }
+    }
 
     protected boolean mLimitedStart;
     protected boolean mLimitedEnd;
@@ -130,6 +206,7 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
     protected double mValue;
     protected double mTarget;
     protected long mDuration; // == m_moveDuration
+    // speed, acceleration and derivative are calculated lazily (see ensureDerivatives())
     protected double mSpeed;
     protected double mAcceleration;
     protected double mAccelerationDerivative;
@@ -145,6 +222,7 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
     protected int mFlags;
     protected PDEParametricCurveAnimationEase mEaseInType;
     protected PDEParametricCurveAnimationEase mEaseOutType;
+    protected PDEParametricCurveAnimationEvaluation mEvaluation;
 
 
     /**
@@ -173,6 +251,9 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
         mSpeed = 0.0;
 
         mBezierControl = new double[6];
+        mCurveCoefficients = new double[6];
+        mCurveEndCoefficients = new double[6];
+        mCurveDegree = 0;
 
 
         mTargetSpeed = 0.0;
@@ -188,6 +269,11 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
         mSpeed = 0.0;
         mAcceleration = 0.0;
         mAccelerationDerivative = 0.0;
+        mEvaluatedPosition = 0.0;
+        mEvaluatedDuration = 0.0;
+        mCurveEvaluated = false;
+        mDerivativesValid = true;
+        mEasingTable = null;
 
         // default configuration
         mCurveMode = PDEParametricCurveAnimationMode.ModeB5;
@@ -198,6 +284,7 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
         mTimeExponent = 2.0;
         mEaseInType = PDEParametricCurveAnimationEase.EaseSoft;
         mEaseOutType = PDEParametricCurveAnimationEase.EaseSoft;
+        mEvaluation = PDEParametricCurveAnimationEvaluation.EvaluationExact;
         mTurnAroundFactor = 0.25;
     }
 
@@ -252,6 +339,19 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
     }
 
 
+    public PDEParametricCurveAnimationEvaluation getEvaluation() {
+        return mEvaluation;
+    }
+
+
+    /**
+     * @brief Select exact or table-driven curves; takes effect with the next segment.
+     */
+    public void setEvaluation(PDEParametricCurveAnimationEvaluation evaluation) {
+        this.mEvaluation = evaluation;
+    }
+
+
     public int getFlags() {
         return mFlags;
     }
@@ -375,16 +475,19 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
 
 
     public double getSpeed() {
+        ensureDerivatives();
         return mSpeed;
     }
 
 
     public double getAcceleration() {
+        ensureDerivatives();
         return mAcceleration;
     }
 
 
     public double getAccelerationDerivative() {
+        ensureDerivatives();
         return mAccelerationDerivative;
     }
 
@@ -406,6 +509,9 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
             return;
         }
 
+        // keep the current acceleration (it's calculated from the current segment)
+        ensureDerivatives();
+
         // set to safe parameters
         mStartValue = value;
         mTarget = value;
@@ -452,6 +558,8 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
             return;
         }
 
+        // the current speed and acceleration are needed below
+        ensureDerivatives();
 
         // get overshoot mode (depends on current animation => use speed, not the actual old block,
         // since we might be in a previous overshooting range and might have already turned around)
@@ -481,15 +589,25 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
         mTarget = target;
         mDuration = duration;
 
-        // calculate start/stop speed and acceleration depending on easing type.
-        calculateEasing();
+        // starting at rest, the curve's shape only depends on the configuration -> use the sampled curve if wanted
+        if (mEvaluation == PDEParametricCurveAnimationEvaluation.EvaluationTable
+            && mSpeed == 0.0 && mAcceleration == 0.0) {
+            mEasingTable = getEasingTable(mCurveMode, mEaseInType, mEaseOutType, limitStart, limitEnd);
+            mCurveEvaluated = false;
+        } else {
+            // calculate start/stop speed and acceleration depending on easing type.
+            calculateEasing();
+
+            // calculate bezier curve values
+            bezierInit();
 
-        // calculate bezier curve values
-        bezierInit();
+            // apply flags (limitation). Special case when we're continuing in the
+            // same direction (we might need an additional start-limit here)
+            bezierLimitedStart(limitStart, limitEnd);
 
-        // apply flags (limitation). Special case when we're continuing in the
-        // same direction (we might need an additional start-limit here)
-        bezierLimitedStart(limitStart, limitEnd);
+            // convert for fast evaluation
+            curveInit();
+        }
 
 
         // start animation by resetting the timebase to zero and activating
@@ -521,6 +639,9 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
             return;
         }
 
+        // the current speed is needed below
+        ensureDerivatives();
+
         // calculate time depending on timing mode
         switch (mTimeMode) {
             case TimeModeConstant:
@@ -673,6 +794,9 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
      * @brief Setter with change management.
      */
     protected void setSpeed(double speed) {
+        // get the lazily calculated value first (so it doesn't overwrite the new one later)
+        ensureDerivatives();
+
         // any change?
         if (speed == mSpeed) return;
 
@@ -688,6 +812,9 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
      * @brief Setter with change management.
      */
     protected void setAcceleration(double acceleration) {
+        // get the lazily calculated value first (so it doesn't overwrite the new one later)
+        ensureDerivatives();
+
         // any change?
         if (acceleration == mAcceleration) return;
 
@@ -703,6 +830,9 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
      * @brief Setter with change management.
      */
     protected void setAccelerationDerivative(double accelerationDerivative) {
+        // get the lazily calculated value first (so it doesn't overwrite the new one later)
+        ensureDerivatives();
+
         // any change?
         if (accelerationDerivative == mAccelerationDerivative) return;
 
@@ -756,6 +886,7 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
             mBoundsEnd = mValue;
             mLimitedStart = false;
             mLimitedEnd = false;
+            curveInit();
 
             // stop timing
             setTime(0);
@@ -768,10 +899,8 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
             // finished?
             // directly take end value to avoid rounding errors
             setValue(mTarget);
-            // always calc speed and acceleration (they might have gone through limiting)
-            setSpeed(bezierSpeedAtTime(time));
-            setAcceleration(bezierAccelerationAtTime(time));
-            setAccelerationDerivative(bezierAccelerationDerivativeAtTime(time));
+            // always keep speed and acceleration at the end (they might have gone through limiting)
+            setEvaluatedPosition(1.0);
             // reset active, but keep timing for one frame (this keeps current speed and current acceleration
             // for readout; which is useful when displaying debugging curves - or immediately stitching animations.
             // start and end values are also kept for turnaround decisions; duration is reset as a signal that
@@ -781,11 +910,9 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
             // animation will run one more time and then finish
 
         } else {
-            // calculate all values
+            // calculate the value; speed and acceleration only when asked for
             setValue(bezierValueAtTime(time));
-            setSpeed(bezierSpeedAtTime(time));
-            setAcceleration(bezierAccelerationAtTime(time));
-            setAccelerationDerivative(bezierAccelerationDerivativeAtTime(time));
+            setEvaluatedPosition((double) time / (double) mDuration);
         }
     }
 
@@ -794,44 +921,10 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
      * @brief Internal. Bezier curve calculation.
      */
     protected double bezierValueAtTime(long time) {
-        double q, u, x;
+        double x;
 
-        // limit value
-        if (time < 0) time = 0;
-        if (time > (double) mDuration) time = mDuration;
-
-        // unified values (range 0-1)
-        u = (double) time / (double) mDuration;
-        q = 1 - u;
-
-        // mode?
-        switch (mCurveMode) {
-            case ModeLinear:
-                // Linear
-                x = q * mBezierControl[0]
-                    + u * mBezierControl[1];
-                break;
-            case ModeB3:
-                // Bezier3
-                x = q * q * q * mBezierControl[0]
-                    + 3.0 * u * q * q * mBezierControl[1]
-                    + 3.0 * u * u * q * mBezierControl[2]
-                    + u * u * u * mBezierControl[3];
-                break;
-            case ModeB5:
-                // Bezier5
-                x = q * q * q * q * q * mBezierControl[0]
-                    + 5.0 * u * q * q * q * q * mBezierControl[1]
-                    + 10.0 * u * u * q * q * q * mBezierControl[2]
-                    + 10.0 * u * u * u * q * q * mBezierControl[3]
-                    + 5.0 * u * u * u * u * q * mBezierControl[4]
-                    + u * u * u * u * u * mBezierControl[5];
-                break;
-            default:
-                Log.d(LOG_TAG, "PDEParametricCurveAnimation in bezierValueAtTime unimplemented curveMode value");
-                x = 0;
-                break;
-        }
+        // evaluate power basis
+        x = curveValueAt(normalizedTime(time));
 
         if (DEBUG_SHOW) {
             Log.d(LOG_TAG, "bezierValueAtTime(" + time + ") = " + x);
@@ -846,141 +939,142 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
      * @brief Internal. Bezier curve calculation.
      */
     protected double bezierSpeedAtTime(long time) {
-        double vx, q, u;
+        // normalize speed to duration
+        return curveDerivativeAt(normalizedTime(time), 1) / mDuration;
+    }
+
 
+    /**
+     * @brief Internal. Bezier curve calculation.
+     */
+    protected double bezierAccelerationAtTime(long time) {
+        // normalize acceleration to duration
+        return curveDerivativeAt(normalizedTime(time), 2) / Math.pow(mDuration, 2.0);
+    }
+
+
+    /**
+     * @brief Internal. Limit time to the current segment and unify it (range 0-1).
+     */
+    private double normalizedTime(long time) {
         // limit time
         if (time < 0) time = 0;
         if (time > mDuration) time = mDuration;
 
-        // unified values (range 0-1)
-        u = (double) time / (double) mDuration;
-        q = 1 - u;
+        // unified value
+        return (double) time / (double) mDuration;
+    }
 
-        // mode?
-        switch (mCurveMode) {
-            case ModeLinear:
-                // speed linear
-                vx = mBezierControl[1] - mBezierControl[0];
-                break;
-            case ModeB3:
-                // speed b3
-                vx = -3.0 * q * q * mBezierControl[0]
-                     + 3.0 * (-2.0 * u + q) * q * mBezierControl[1]
-                     + 3.0 * (-u + 2.0 * q) * u * mBezierControl[2]
-                     + 3.0 * u * u * mBezierControl[3];
-                break;
-            case ModeB5:
-                // speed b5
-                vx = -5.0 * q * q * q * q * mBezierControl[0]
-                     + 5.0 * (-4.0 * u + q) * q * q * q * mBezierControl[1]
-                     + 10.0 * (-3.0 * u + 2.0 * q) * u * q * q * mBezierControl[2]
-                     + 10.0 * (-2.0 * u + 3.0 * q) * u * u * q * mBezierControl[3]
-                     + 5.0 * (-u + 4.0 * q) * u * u * u * mBezierControl[4]
-                     + 5.0 * u * u * u * u * mBezierControl[5];
-                break;
-            default:
-                Log.d(LOG_TAG, "PDEParametricCurveAnimation in bezierSpeedAtTime unimplemented curveMode value");
-                vx = 0;
-                break;
+
+    /**
+     * @brief Internal. Evaluate the power basis curve (Horner).
+     */
+    private double curveValueAt(double u) {
+        // sampled curve?
+        if (mEasingTable != null) {
+            return mStartValue + (mTarget - mStartValue) * EasingTable.lookup(mEasingTable.mValues, u);
         }
 
-        // normalize speed to duration
-        return vx / mDuration;
+        // evaluate from the nearer end
+        if (u <= 0.5) {
+            return hornerDerivative(mCurveCoefficients, u, 0);
+        } else {
+            return hornerDerivative(mCurveEndCoefficients, 1.0 - u, 0);
+        }
     }
 
 
     /**
-     * @brief Internal. Bezier curve calculation.
+     * @brief Internal. Evaluate a derivative (by normalized time) of the power basis curve (Horner).
+     *
+     * @param order 1 for speed, 2 for acceleration, 3 for the acceleration derivative.
      */
-    protected double bezierAccelerationAtTime(long time) {
-        double ax, q, u;
+    private double curveDerivativeAt(double u, int order) {
+        double x;
+
+        // sampled curve?
+        if (mEasingTable != null) {
+            switch (order) {
+                case 1:
+                    x = EasingTable.lookup(mEasingTable.mSpeeds, u);
+                    break;
+                case 2:
+                    x = EasingTable.lookup(mEasingTable.mAccelerations, u);
+                    break;
+                default:
+                    x = EasingTable.lookup(mEasingTable.mAccelerationDerivatives, u);
+                    break;
+            }
+            return (mTarget - mStartValue) * x;
+        }
 
-        // limit time
-        if (time < 0.0) time = 0;
-        if (time > mDuration) time = mDuration;
+        // evaluate from the nearer end (backwards, odd derivatives change their sign)
+        if (u <= 0.5) {
+            return hornerDerivative(mCurveCoefficients, u, order);
+        } else {
+            x = hornerDerivative(mCurveEndCoefficients, 1.0 - u, order);
+            return ((order & 1) == 0) ? x : -x;
+        }
+    }
 
-        // unified values (range 0-1)
-        u = (double) time / (double) mDuration;
-        q = 1 - u;
 
-        // mode?
-        switch (mCurveMode) {
-            case ModeLinear:
-                // no acceleration
-                ax = 0.0;
-                break;
-            case ModeB3:
-                // acceleration b3
-                ax = 6.0 * q * mBezierControl[0]
-                     + 3.0 * (u - 2.0 * q) * 2.0 * mBezierControl[1]
-                     + 3.0 * (-2.0 * u + q) * 2.0 * mBezierControl[2]
-                     + 6.0 * u * mBezierControl[3];
-                break;
-            case ModeB5:
-                // acceleration b5
-                ax = 20.0 * q * q * q * mBezierControl[0]
-                     + 5.0 * (3.0 * u - 2.0 * q) * 4.0 * q * q * mBezierControl[1]
-                     + 10.0 * (3.0 * u * u - 6.0 * u * q + q * q) * 2.0 * q * mBezierControl[2]
-                     + 10.0 * (u * u - 6.0 * u * q + 3.0 * q * q) * 2.0 * u * mBezierControl[3]
-                     + 5.0 * (-2.0 * u + 3.0 * q) * 4.0 * u * u * mBezierControl[4]
-                     + 20.0 * u * u * u * mBezierControl[5];
-                break;
-            default:
-                Log.d(LOG_TAG, "PDEParametricCurveAnimation in bezierAccelerationAtTime unimplemented curveMode value");
-                ax = 0;
-                break;
+    /**
+     * @brief Internal. Horner evaluation of a derivative of the current power basis polynomial.
+     */
+    private double hornerDerivative(double[] coefficients, double u, int order) {
+        double x;
+        int k, factor, j;
+
+        x = 0.0;
+        for (k = mCurveDegree; k >= order; k--) {
+            // k! / (k - order)!
+            factor = 1;
+            for (j = 0; j < order; j++) {
+                factor *= k - j;
+            }
+            x = x * u + factor * coefficients[k];
         }
 
-        // normalize acceleration to duration
-        return ax / Math.pow(mDuration, 2.0);
+        return x;
     }
 
 
     /**
-     * @brief Internal. Bezier curve calculation.
+     * @brief Internal. Remember where the curve was evaluated; speed and acceleration are calculated on demand.
      */
-    private double bezierAccelerationDerivativeAtTime(long time) {
-        double dax, q, u;
+    private void setEvaluatedPosition(double position) {
+        // any change? (the derivatives are not known yet, so every move on the curve counts as change)
+        if (mCurveEvaluated && position == mEvaluatedPosition && mEvaluatedDuration == mDuration) return;
 
-        // limit time
-        if (time < 0) time = 0;
-        if (time > mDuration) time = mDuration;
+        // remember
+        mEvaluatedPosition = position;
+        mEvaluatedDuration = mDuration;
+        mCurveEvaluated = true;
+        mDerivativesValid = false;
 
-        // unified values (range 0-1)
-        u = (double) time / (double) mDuration;
-        q = 1 - u;
+        // remember as changed
+        setChanged();
+    }
 
-        // mode?
-        switch (mCurveMode) {
-            case ModeLinear:
-                // no derivative
-                dax = 0.0;
-                break;
-            case ModeB3:
-                // derivative is fixed
-                dax = -6.0 * mBezierControl[0]
-                      + 3.0 * 6.0 * mBezierControl[1]
-                      + 3.0 * -6.0 * mBezierControl[2]
-                      + 6.0 * mBezierControl[3];
-                break;
-            case ModeB5:
-                // acceleration derivative b5
-                dax = -60.0 * q * q * mBezierControl[0]
-                      + 5.0 * (-2.0 * u + 3.0 * q) * 12.0 * q * mBezierControl[1]
-                      + 10.0 * (-u * u + 6.0 * u * q - 3.0 * q * q) * 6.0 * mBezierControl[2]
-                      + 10.0 * (3 * u * u - 6.0 * u * q + q * q) * 6.0 * mBezierControl[3]
-                      + 5.0 * (-3.0 * u + 2.0 * q) * 12.0 * u * mBezierControl[4]
-                      + 60.0 * u * u * mBezierControl[5];
-                break;
-            default:
-                Log.d(LOG_TAG, "PDEParametricCurveAnimation in bezierAccelerationDerivativeAtTime unimplemented " +
-                               "curveMode value");
-                dax = 0;
-                break;
-        }
 
-        // normalize derivative to duration
-        return dax / Math.pow(mDuration, 2.0) / mDuration;
+    /**
+     * @brief Internal. Calculate speed, acceleration and its derivative at the last evaluated position (if not done).
+     *
+     * Read mSpeed, mAcceleration and mAccelerationDerivative only after calling this.
+     */
+    protected void ensureDerivatives() {
+        double u, duration;
+
+        // anything to do?
+        if (mDerivativesValid) return;
+
+        // calculate, normalized to duration
+        u = mEvaluatedPosition;
+        duration = mEvaluatedDuration;
+        mSpeed = curveDerivativeAt(u, 1) / duration;
+        mAcceleration = curveDerivativeAt(u, 2) / Math.pow(duration, 2.0);
+        mAccelerationDerivative = curveDerivativeAt(u, 3) / Math.pow(duration, 2.0) / duration;
+        mDerivativesValid = true;
     }
 
 
@@ -1059,6 +1153,109 @@ public class PDEParametricCurveAnimation extends PDEAnimation {
     }
 
 
+    /**
+     * @brief Internal. Convert the (limited) bezier control values to power basis coefficients.
+     */
+    protected void curveInit() {
+        int degree;
+
+        // depends on mode
+        switch (mCurveMode) {
+            case ModeLinear:
+                degree = 1;
+                break;
+            case ModeB3:
+                degree = 3;
+                break;
+            case ModeB5:
+            default:
+                degree = 5;
+                break;
+        }
+
+        // convert from the start and (reversed) from the end
+        toPowerBasis(mBezierControl, degree, false, mCurveCoefficients);
+        toPowerBasis(mBezierControl, degree, true, mCurveEndCoefficients);
+        mCurveDegree = degree;
+
+        // new curve, not evaluated yet
+        mEasingTable = null;
+        mCurveEvaluated = false;
+    }
+
+
+    /**
+     * @brief Internal. Get the sampled curve for a segment starting at rest (created on first use).
+     */
+    private static EasingTable getEasingTable(PDEParametricCurveAnimationMode mode,
+                                              PDEParametricCurveAnimationEase easeIn,
+                                              PDEParametricCurveAnimationEase easeOut,
+                                              boolean limitStart, boolean limitEnd) {
+        PDEParametricCurveAnimation curve;
+        EasingTable table;
+        double u;
+        int index, i, easeCount;
+
+        // already known?
+        easeCount = PDEParametricCurveAnimationEase.values().length;
+        index = ((mode.ordinal() * easeCount + easeIn.ordinal()) * easeCount + easeOut.ordinal()) * 4
+                + (limitStart ? 2 : 0) + (limitEnd ? 1 : 0);
+        table = mEasingTables[index];
+        if (table != null) return table;
+
+        // set up the exact curve from 0 to 1 at rest (the duration doesn't change the shape)
+        curve = new PDEParametricCurveAnimation();
+        curve.mCurveMode = mode;
+        curve.mEaseInType = easeIn;
+        curve.mEaseOutType = easeOut;
+        curve.mStartValue = 0.0;
+        curve.mTarget = 1.0;
+        curve.mDuration = 1000;
+        curve.calculateEasing();
+        curve.bezierInit();
+        curve.bezierLimitedStart(limitStart, limitEnd);
+        curve.curveInit();
+
+        // sample (derivatives by normalized time)
+        table = new EasingTable();
+        for (i = 0; i <= EASING_TABLE_INTERVALS; i++) {
+            u = (double) i / EASING_TABLE_INTERVALS;
+            table.mValues[i] = curve.curveValueAt(u);
+            table.mSpeeds[i] = curve.curveDerivativeAt(u, 1);
+            table.mAccelerations[i] = curve.curveDerivativeAt(u, 2);
+            table.mAccelerationDerivatives[i] = curve.curveDerivativeAt(u, 3);
+        }
+
+        // remember
+        mEasingTables[index] = table;
+        return table;
+    }
+
+
+    /**
+     * @brief Internal. Convert bezier control values of the given degree to power basis.
+     *
+     * Bernstein form b_i (degree n) becomes a_k = C(n,k) * sum_i (-1)^(k-i) * C(k,i) * b_i, i = 0..k.
+     */
+    private static void toPowerBasis(double[] control, int degree, boolean reversed, double[] coefficients) {
+        double sum, b;
+        int i, k;
+
+        for (k = 0; k <= degree; k++) {
+            sum = 0.0;
+            for (i = 0; i <= k; i++) {
+                b = reversed ? control[degree - i] : control[i];
+                if (((k - i) & 1) == 0) {
+                    sum += BINOMIALS[k][i] * b;
+                } else {
+                    sum -= BINOMIALS[k][i] * b;
+                }
+            }
+            coefficients[k] = BINOMIALS[degree][k] * sum;
+        }
+    }
+
+
     /**
      * @brief Internal. Limit bezier values (they obey the bounding box property) to avoid overscolls.
      *
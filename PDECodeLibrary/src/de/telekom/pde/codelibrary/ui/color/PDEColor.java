@@ -13,6 +13,8 @@ import android.graphics.Color;
 import android.text.TextUtils;
 import android.util.Log;
 
+import java.lang.reflect.Field;
+import java.util.HashMap;
 import java.util.Locale;
 
 import de.telekom.pde.codelibrary.ui.PDECodeLibrary;
@@ -54,6 +56,15 @@ public class PDEColor {
     public static final String DTUIInteractive = "DTUIInteractive";
     public static final String DTUIIndicativeText = "DTUIIndicativeText";
 
+    /**
+     * @brief Cache of resolved symbolic colors (name -> ARGB color, null for unknown names).
+     *
+     * Resolving a symbolic name needs a resource identifier lookup by name, which is slow. The result only depends
+     * on the name and the dark/light style of the library, so the cache is cleared when the style changes.
+     */
+    private final static HashMap<String, Integer> mSymbolicColorCache = new HashMap<String, Integer>();
+
+
     // define parsing character sets as regular expression
     final static String PDEColorGlobal_hexCharacterSet = "[0-9a-fA-F]*";
     final static String PDEColorGlobal_digitCommaCharacterSet = "[0-9, ]*";
@@ -252,6 +263,37 @@ public class PDEColor {
      * Symbolic colors may also contain references to other colors, and expressions, so be recursive up to a given
      */
     private void resolveColorForSymbolicName(String symbolicName) {
+        Integer color;
+        boolean known;
+
+        // look into the cache first
+        synchronized (mSymbolicColorCache) {
+            color = mSymbolicColorCache.get(symbolicName);
+            known = (color != null || mSymbolicColorCache.containsKey(symbolicName));
+        }
+
+        // resolve and remember
+        if (!known) {
+            color = resolveSymbolicColor(symbolicName);
+            synchronized (mSymbolicColorCache) {
+                mSymbolicColorCache.put(symbolicName, color);
+            }
+        }
+
+        if (color != null) {
+            init(color);
+        }
+    }
+
+
+    /**
+     * @brief Uncached resolving of a symbolic color name via the resources.
+     *
+     * Package visible, so the cache can be compared with the uncached lookup.
+     *
+     * @return The ARGB color, or null if there is no color resource for the name.
+     */
+    static Integer resolveSymbolicColor(String symbolicName) {
         int resourceID;
         Context context = PDECodeLibrary.getInstance().getApplicationContext();
 
@@ -280,7 +322,62 @@ public class PDEColor {
         }
 
         if (resourceID != 0) {
-            init(context.getResources().getColor(resourceID));
+            return context.getResources().getColor(resourceID);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * @brief Fill the symbolic color cache with the complete DT color palette of the library.
+     *
+     * Called once during library initialization, so the symbolic colors used by the components never need a
+     * resource lookup by name.
+     */
+    public static void preloadColorPalette(Context context) {
+        HashMap<String, Integer> palette;
+        String name;
+
+        //security
+        if (context == null) {
+            return;
+        }
+
+        // read all DT colors of the library's color resources
+        palette = new HashMap<String, Integer>();
+        for (Field field : R.color.class.getFields()) {
+            name = field.getName();
+            if (!name.startsWith("DT")) continue;
+            try {
+                palette.put(name, context.getResources().getColor(field.getInt(null)));
+            } catch (IllegalAccessException e) {
+                // ignore this color
+            } catch (NotFoundException e) {
+                // ignore this color
+            }
+        }
+
+        // the style dependent colors
+        palette.put(DTUIText, resolveSymbolicColor(DTUIText));
+        palette.put(DTUIInteractive, resolveSymbolicColor(DTUIInteractive));
+        palette.put(DTUIBackground, resolveSymbolicColor(DTUIBackground));
+        palette.put(DTUIIndicativeText, resolveSymbolicColor(DTUIIndicativeText));
+
+        synchronized (mSymbolicColorCache) {
+            mSymbolicColorCache.putAll(palette);
+        }
+    }
+
+
+    /**
+     * @brief Forget all resolved symbolic colors.
+     *
+     * Needs to be called when the result of resolving a symbolic name changes (e.g. dark/light style changed).
+     */
+    public static void clearColorCache() {
+        synchronized (mSymbolicColorCache) {
+            mSymbolicColorCache.clear();
         }
     }
 
@@ -439,30 +536,42 @@ public class PDEColor {
     }
 
 
+    /**
+     * @brief Copy the RGBA values of another color into this one.
+     *
+     * @return This color (for chaining).
+     */
+    public PDEColor setColor(PDEColor color) {
+        init(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+        return this;
+    }
+
+
     /**
      * @brief Color conversion UIColor to 32bit unsigned int.
      *
      * Always takes alpha into account.
      */
     public int getIntegerColor() {
-        int ir, ig, ib, ia;
-
         // to int, clamp
-        ir = (int) (mRed * 255.0f);
-        if (ir < 0) ir = 0;
-        if (ir > 255) ir = 255;
-        ig = (int) (mGreen * 255.0f);
-        if (ig < 0) ig = 0;
-        if (ig > 255) ig = 255;
-        ib = (int) (mBlue * 255.0f);
-        if (ib < 0) ib = 0;
-        if (ib > 255) ib = 255;
-        ia = (int) (mAlpha * 255.0f);
-        if (ia < 0) ia = 0;
-        if (ia > 255) ia = 255;
+        return (toIntegerComponent(mAlpha) << 24) | (toIntegerComponent(mRed) << 16)
+               | (toIntegerComponent(mGreen) << 8) | toIntegerComponent(mBlue);
+    }
+
+
+    /**
+     * @brief Convert a normalized color component to 8 bit (truncated, clamped to 0..255).
+     *
+     * The one conversion rule for all integer colors (getIntegerColor and the static ARGB integer helpers).
+     */
+    private static int toIntegerComponent(float component) {
+        int value;
 
-        // make a color from this
-        return (ia << 24) | (ir << 16) | (ig << 8) | ib;
+        value = (int) (component * 255.0f);
+        if (value < 0) value = 0;
+        if (value > 255) value = 255;
+
+        return value;
     }
 
 
@@ -506,22 +615,65 @@ public class PDEColor {
      * color space. Also think about what to do with alpha -> should it really blend like this?
      */
     public PDEColor mixColors(PDEColor colorToMix, float blend) {
-        float newRed, newBlue, newGreen, newAlpha;
-
         if (colorToMix == null) return null;
 
+        // mix into a new color
+        return mixColorsInto(colorToMix, blend, new PDEColor());
+    }
+
+
+    /**
+     * @brief Mix two colors in RGB space and write the result into a caller owned color (no allocation).
+     *
+     * Same calculation as mixColors. The result may be this color or colorToMix.
+     *
+     * @return The result color.
+     */
+    public PDEColor mixColorsInto(PDEColor colorToMix, float blend, PDEColor result) {
+        float newRed, newBlue, newGreen, newAlpha;
+
         // clamp blend value
         if (blend < 0.0f) blend = 0.0f;
         if (blend > 1.0f) blend = 1.0f;
 
         // mix values
-        newRed = (float) ((colorToMix.getRed() * blend) + (getRed() * (1.0 - blend)));
-        newGreen = (float) ((colorToMix.getGreen() * blend) + (getGreen() * (1.0 - blend)));
-        newBlue = (float) ((colorToMix.getBlue() * blend) + (getBlue() * (1.0 - blend)));
-        newAlpha = (float) ((colorToMix.getAlpha() * blend) + (getAlpha() * (1.0 - blend)));
+        newRed = mixComponent(getRed(), colorToMix.getRed(), blend);
+        newGreen = mixComponent(getGreen(), colorToMix.getGreen(), blend);
+        newBlue = mixComponent(getBlue(), colorToMix.getBlue(), blend);
+        newAlpha = mixComponent(getAlpha(), colorToMix.getAlpha(), blend);
 
-        // create color from new values
-        return new PDEColor(newRed, newGreen, newBlue, newAlpha);
+        // store new values
+        result.init(newRed, newGreen, newBlue, newAlpha);
+        return result;
+    }
+
+
+    /**
+     * @brief Mix a single (normalized) color component. Blend must already be clamped.
+     */
+    public static float mixComponent(float component, float componentToMix, float blend) {
+        return (float) ((componentToMix * blend) + (component * (1.0 - blend)));
+    }
+
+
+    /**
+     * @brief Mix two ARGB integer colors in RGB space (no allocation).
+     *
+     * Same calculation and result as mixColors followed by getIntegerColor.
+     */
+    public static int mix(int color, int colorToMix, float blend) {
+        // clamp blend value
+        if (blend < 0.0f) blend = 0.0f;
+        if (blend > 1.0f) blend = 1.0f;
+
+        // mix normalized values, to int like getIntegerColor
+        return (toIntegerComponent(mixComponent(((color >> 24) & 0xff) / 255.0f,
+                                                ((colorToMix >> 24) & 0xff) / 255.0f, blend)) << 24)
+               | (toIntegerComponent(mixComponent(((color >> 16) & 0xff) / 255.0f,
+                                                  ((colorToMix >> 16) & 0xff) / 255.0f, blend)) << 16)
+               | (toIntegerComponent(mixComponent(((color >> 8) & 0xff) / 255.0f,
+                                                  ((colorToMix >> 8) & 0xff) / 255.0f, blend)) << 8)
+               | toIntegerComponent(mixComponent((color & 0xff) / 255.0f, (colorToMix & 0xff) / 255.0f, blend));
     }
 
 
@@ -603,19 +755,122 @@ public class PDEColor {
      * Alpha stays unchanged in the calculation.
      */
     public PDEColor lighterColor(float step) {
-        PDEColor newColor = new PDEColor(this);
+        return lighterColorInto(step, new PDEColor());
+    }
+
+
+    /**
+     * @brief Primitive color math. Calculate a darker color into a caller owned color (no allocation).
+     *
+     * @return The result color (may be this color).
+     */
+    public PDEColor darkerColorInto(float step, PDEColor result) {
+        return lighterColorInto(-step, result);
+    }
 
-        newColor.convertRGBToHSV();
+
+    /**
+     * @brief Primitive color math. Calculate a lighter color into a caller owned color (no allocation).
+     *
+     * Same calculation as lighterColor.
+     *
+     * @return The result color (may be this color).
+     */
+    public PDEColor lighterColorInto(float step, PDEColor result) {
+        // start with our values
+        if (result != this) {
+            result.setColor(this);
+        }
+
+        result.convertRGBToHSV();
 
         // adjust
-        newColor.setValue(newColor.getValue() + step);
-        if (newColor.getValue() < 0.0f) newColor.setValue(0.0f);
-        if (newColor.getValue() > 1.0f) newColor.setValue(1.0f);
+        result.setValue(result.getValue() + step);
+        if (result.getValue() < 0.0f) result.setValue(0.0f);
+        if (result.getValue() > 1.0f) result.setValue(1.0f);
 
-        // convert back and return the resulting color
-        newColor.convertHSVToRGB();
+        // convert back
+        result.convertHSVToRGB();
 
-        return newColor;
+        return result;
+    }
+
+
+    /**
+     * @brief Primitive color math on ARGB integer colors. Calculate a darker color (no allocation).
+     */
+    public static int darker(int color, float step) {
+        return lighter(color, -step);
+    }
+
+
+    /**
+     * @brief Primitive color math on ARGB integer colors. Calculate a lighter color (no allocation).
+     *
+     * Same calculation and result as lighterColor followed by getIntegerColor (V of the HSV model is changed, alpha
+     * stays unchanged).
+     */
+    public static int lighter(int color, float step) {
+        float red, green, blue, rgbMin, rgbMax, chroma, hue, saturation, value, white;
+
+        // extract values
+        red = ((color >> 16) & 0xff) / 255.0f;
+        green = ((color >> 8) & 0xff) / 255.0f;
+        blue = (color & 0xff) / 255.0f;
+
+        // to HSV (as convertRGBToHSV)
+        rgbMin = Math.min(Math.min(red, green), blue);
+        rgbMax = Math.max(Math.max(red, green), blue);
+        chroma = rgbMax - rgbMin;
+        if (chroma <= 0.0f) {
+            hue = 0.0f;
+            saturation = 0.0f;
+        } else {
+            if (rgbMax == red) {
+                hue = (green - blue) / chroma;
+                if (hue < 0.0f) hue += 6.0f;
+            } else if (rgbMax == green) {
+                hue = (blue - red) / chroma + 2.0f;
+            } else {
+                hue = (red - green) / chroma + 4.0f;
+            }
+            saturation = chroma / rgbMax;
+        }
+
+        // adjust
+        value = rgbMax + step;
+        if (value < 0.0f) value = 0.0f;
+        if (value > 1.0f) value = 1.0f;
+
+        // back to RGB (as convertHSVToRGB; hue is always in 0.0..6.0 here)
+        red = 0.0f;
+        green = 0.0f;
+        blue = 0.0f;
+        if (hue < 1.0f) {
+            red = 1.0f;
+            green = hue;
+        } else if (hue < 2.0f) {
+            green = 1.0f;
+            red = 2.0f - hue;
+        } else if (hue < 3.0f) {
+            green = 1.0f;
+            blue = hue - 2.0f;
+        } else if (hue < 4.0f) {
+            blue = 1.0f;
+            green = 4.0f - hue;
+        } else if (hue < 5.0f) {
+            blue = 1.0f;
+            red = hue - 4.0f;
+        } else {
+            red = 1.0f;
+            blue = 6.0f - hue;
+        }
+        chroma = value * saturation;
+        white = value - chroma;
+
+        // to int like getIntegerColor, keep alpha
+        return (color & 0xff000000) | (toIntegerComponent(red * chroma + white) << 16)
+               | (toIntegerComponent(green * chroma + white) << 8) | toIntegerComponent(blue * chroma + white);
     }
 
 
@@ -1014,6 +1269,17 @@ public class PDEColor {
     }
 
 
+    /**
+     * @param extraAlpha this value will be multiplied with the alpha value of the current color. Range 0 - 255.
+     * @param result caller owned color receiving the result (may be this color).
+     * @brief Helper function to write this color combined with a extra alpha into a given color (no allocation).
+     */
+    public PDEColor colorWithCombinedAlphaInto(int extraAlpha, PDEColor result) {
+        result.init(newIntegerColorWithCombinedAlpha(extraAlpha));
+        return result;
+    }
+
+
     /**
      * @param extraAlpha this value will be multiplied with the alpha value of the current color. Range 0 - 255.
      * @brief Helper function to get new integer color of this color combined with a extra alpha.
@@ -766,6 +766,8 @@ public class PDEButton extends PDEAbsoluteLayout implements PDEIEventSource {
     private void initAgent() {
         // create agent controller
         mAgentController = new PDEAgentController();
+        // suspended until we're attached to a window
+        mAgentController.setViewAttached(getWindowToken() != null);
 
         // link it via appropriate adapter
         mAgentAdapter = new PDEAgentControllerAdapterView();
@@ -782,6 +784,63 @@ public class PDEButton extends PDEAbsoluteLayout implements PDEIEventSource {
     }
 
 
+    /**
+     * @brief Resume the agent controller when we're attached to a window.
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        mAgentController.setViewAttached(true);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while we're detached from the window.
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        mAgentController.setViewAttached(false);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while we're temporarily detached (e.g. recycled by a list).
+     *
+     * Rows recycled by lists get no onDetachedFromWindow(), only the temporary detach.
+     */
+    @Override
+    public void onStartTemporaryDetach() {
+        super.onStartTemporaryDetach();
+
+        mAgentController.setViewAttached(false);
+    }
+
+
+    /**
+     * @brief Resume the agent controller when the temporary detach is over.
+     */
+    @Override
+    public void onFinishTemporaryDetach() {
+        super.onFinishTemporaryDetach();
+
+        mAgentController.setViewAttached(true);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while our window is not visible.
+     */
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        mAgentController.setViewVisible(visibility == VISIBLE);
+    }
+
+
     /**
      * @brief Send an agent event to a single layer.
      */
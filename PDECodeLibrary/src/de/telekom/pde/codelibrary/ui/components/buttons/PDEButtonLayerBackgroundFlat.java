@@ -20,6 +20,7 @@ import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEAgentHelper;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEButtonPadding;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEComponentHelpers;
+import de.telekom.pde.codelibrary.ui.components.helpers.PDECompiledParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameterDictionary;
 import de.telekom.pde.codelibrary.ui.elements.common.PDECornerConfigurations;
@@ -62,6 +63,13 @@ class PDEButtonLayerBackgroundFlat extends PDEAbsoluteLayout implements PDEButto
     // configuration
     private PDEColor mDefaultColor;
 
+    // helper color for allocation free per-frame interpolation
+    private final PDEColor mInterpolatedColor = new PDEColor();
+
+    // compiled color tables for per-frame interpolation (rebuilt whenever colors are prepared)
+    private final PDECompiledParameter mCompiledColor = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledBorderColor = new PDECompiledParameter();
+
     // Drawables
     private PDEDrawableShape mMainDrawable;
     private PDEDrawableBorderLine mBorderLineDrawable;
@@ -244,6 +252,10 @@ class PDEButtonLayerBackgroundFlat extends PDEAbsoluteLayout implements PDEButto
             mParamBorderColor.debugOut("Border after building");
         }
 
+        // compile the built colors for fast interpolation
+        mCompiledColor.compileColors(mParamColor, null);
+        mCompiledBorderColor.compileColors(mParamBorderColor, null);
+
         // and apply once
         updateColors();
     }
@@ -347,17 +359,17 @@ class PDEButtonLayerBackgroundFlat extends PDEAbsoluteLayout implements PDEButto
      * @brief Update colors (fully animated).
      */
     protected void updateColors() {
-        PDEColor mainColor,  borderColor;
+        int mainColor,  borderColor;
 
-        // interpolate colors by calling complex logic color interpolation helper
-        mainColor = PDEComponentHelpers.interpolateColor(mParamColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
-        borderColor = PDEComponentHelpers.interpolateColor(mParamBorderColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
+        // interpolate colors by calling complex logic color interpolation on the compiled tables (into our helper color)
+        mainColor = mCompiledColor.interpolateColor(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive, mInterpolatedColor).getIntegerColor();
+        borderColor = mCompiledBorderColor.interpolateColor(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive, mInterpolatedColor).getIntegerColor();
 
         // set the gradient and border colors
-        getMainDrawable().setElementBackgroundColor(mainColor.getIntegerColor());
-        mBorderLineDrawable.setElementBorderColor(borderColor.getIntegerColor());
+        getMainDrawable().setElementBackgroundColor(mainColor);
+        mBorderLineDrawable.setElementBorderColor(borderColor);
     }
 
 
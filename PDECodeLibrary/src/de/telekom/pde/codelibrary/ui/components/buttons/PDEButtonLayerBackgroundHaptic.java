@@ -25,6 +25,7 @@ import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEAgentHelper;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEButtonPadding;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEComponentHelpers;
+import de.telekom.pde.codelibrary.ui.components.helpers.PDECompiledParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameterDictionary;
 import de.telekom.pde.codelibrary.ui.elements.common.PDECornerConfigurations;
@@ -69,6 +70,16 @@ class PDEButtonLayerBackgroundHaptic extends PDEAbsoluteLayout implements PDEBut
     private PDEColor mDefaultColor;
     private float mInnerShadowOpacity;
 
+    // helper color for allocation free per-frame interpolation
+    private final PDEColor mInterpolatedColor = new PDEColor();
+
+    // compiled tables for per-frame interpolation (rebuilt whenever the parameters are prepared)
+    private final PDECompiledParameter mCompiledColorLighter = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledColor = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledColorDarker = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledBorderColor = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledInnerShadowStrength = new PDECompiledParameter();
+
     // drawables
     private PDEDrawableGradientShape mMainDrawable;
     private PDEDrawableBorderLine mBorderLineDrawable;
@@ -281,6 +292,12 @@ class PDEButtonLayerBackgroundHaptic extends PDEAbsoluteLayout implements PDEBut
             mParamBorderColor.debugOut("Border after building");
         }
 
+        // compile the built colors for fast interpolation
+        mCompiledColorLighter.compileColors(mParamColor, PDEButton.PDEButtonColorSuffixLighter);
+        mCompiledColor.compileColors(mParamColor, null);
+        mCompiledColorDarker.compileColors(mParamColor, PDEButton.PDEButtonColorSuffixDarker);
+        mCompiledBorderColor.compileColors(mParamBorderColor, null);
+
         // and apply once
         updateColors();
     }
@@ -314,6 +331,9 @@ class PDEButtonLayerBackgroundHaptic extends PDEAbsoluteLayout implements PDEBut
             mParamInnerShadowStrength.debugOut("Inner shadow after building");
         }
 
+        // compile the built values for fast interpolation
+        mCompiledInnerShadowStrength.compileFloats(mParamInnerShadowStrength, null);
+
         // and apply once
         updateInnerShadow();
     }
@@ -416,24 +436,21 @@ class PDEButtonLayerBackgroundHaptic extends PDEAbsoluteLayout implements PDEBut
      * @brief Update colors (fully animated).
      */
     protected void updateColors() {
-        PDEColor topColor, mainColor, bottomColor, borderColor;
-
-        // interpolate colors by calling complex logic color interpolation helper
-        topColor = PDEComponentHelpers.interpolateColor(mParamColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive,
-                PDEButton.PDEButtonColorSuffixLighter);
-        mainColor = PDEComponentHelpers.interpolateColor(mParamColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
-        bottomColor = PDEComponentHelpers.interpolateColor(mParamColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive,
-                PDEButton.PDEButtonColorSuffixDarker);
-        borderColor = PDEComponentHelpers.interpolateColor(mParamBorderColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
+        int topColor, mainColor, bottomColor, borderColor;
+
+        // interpolate colors by calling complex logic color interpolation on the compiled tables (into our helper color)
+        topColor = mCompiledColorLighter.interpolateColor(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive, mInterpolatedColor).getIntegerColor();
+        mainColor = mCompiledColor.interpolateColor(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive, mInterpolatedColor).getIntegerColor();
+        bottomColor = mCompiledColorDarker.interpolateColor(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive, mInterpolatedColor).getIntegerColor();
+        borderColor = mCompiledBorderColor.interpolateColor(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive, mInterpolatedColor).getIntegerColor();
 
         // set the gradient and border colors
-        getMainDrawable().setElementColors(topColor.getIntegerColor(), mainColor.getIntegerColor(),
-                                           bottomColor.getIntegerColor());
-        mBorderLineDrawable.setElementBorderColor(borderColor.getIntegerColor());
+        getMainDrawable().setElementColors(topColor, mainColor, bottomColor);
+        mBorderLineDrawable.setElementBorderColor(borderColor);
     }
 
 
@@ -445,8 +462,8 @@ class PDEButtonLayerBackgroundHaptic extends PDEAbsoluteLayout implements PDEBut
         float innerShadowFactor;
 
         // interpolate colors by calling complex logic color interpolation helper
-        innerShadowFactor = PDEComponentHelpers.interpolateFloat(mParamInnerShadowStrength, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationDown, null);
+        innerShadowFactor = mCompiledInnerShadowStrength.interpolateFloat(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationDown);
 
         // set opacity
         mInnerShadowDrawable.setElementShapeOpacity(innerShadowFactor * mInnerShadowOpacity);
@@ -16,6 +16,7 @@ import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEAgentHelper;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEButtonPadding;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEComponentHelpers;
+import de.telekom.pde.codelibrary.ui.components.helpers.PDECompiledParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameterDictionary;
 import de.telekom.pde.codelibrary.ui.elements.boxes.PDEDrawableArea;
@@ -46,6 +47,14 @@ class PDEButtonLayerBackgroundTextFlat extends PDEAbsoluteLayout implements PDEB
     private PDEParameter mParamBorderColor;
     private PDEParameter mParamFillColor;
 
+    // compiled color tables for per-frame interpolation (rebuilt whenever colors are prepared)
+    private final PDECompiledParameter mCompiledBorderColor = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledFillColor = new PDECompiledParameter();
+
+    // alternating result colors for per-frame interpolation (the drawable keeps the instance it gets)
+    private final PDEColor[] mFillColors = {new PDEColor(), new PDEColor()};
+    private final PDEColor[] mBorderColors = {new PDEColor(), new PDEColor()};
+
     // agent helpers
     private PDEAgentHelper mAgentHelper;
     private PDEDrawableArea mAreaDrawable;
@@ -268,6 +277,10 @@ class PDEButtonLayerBackgroundTextFlat extends PDEAbsoluteLayout implements PDEB
             mParamFillColor.debugOut("Fill after building");
         }
 
+        // compile the built colors for fast interpolation
+        mCompiledBorderColor.compileColors(mParamBorderColor, null);
+        mCompiledFillColor.compileColors(mParamFillColor, null);
+
         // and apply once
         updateColors();
     }
@@ -279,11 +292,13 @@ class PDEButtonLayerBackgroundTextFlat extends PDEAbsoluteLayout implements PDEB
     private void updateColors() {
         PDEColor mainColor,borderColor;
 
-        // interpolate colors by calling complex logic color interpolation helper
-        mainColor = PDEComponentHelpers.interpolateColor(mParamFillColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
-        borderColor = PDEComponentHelpers.interpolateColor(mParamBorderColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive,null);
+        // interpolate colors on the compiled tables (into the colors the drawable doesn't hold)
+        mainColor = mCompiledFillColor.interpolateColor(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive,
+                PDEComponentHelpers.freeColor(mAreaDrawable.getElementBackgroundColor(), mFillColors));
+        borderColor = mCompiledBorderColor.interpolateColor(mAgentHelper,
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive,
+                PDEComponentHelpers.freeColor(mAreaDrawable.getElementBorderColor(), mBorderColors));
 
         // set the gradient and border colors
         mAreaDrawable.setElementBackgroundColor(mainColor);
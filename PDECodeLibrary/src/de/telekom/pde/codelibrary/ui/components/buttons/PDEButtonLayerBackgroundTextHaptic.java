@@ -19,6 +19,7 @@ import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEAgentHelper;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEButtonPadding;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEComponentHelpers;
+import de.telekom.pde.codelibrary.ui.components.helpers.PDECompiledParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameterDictionary;
 import de.telekom.pde.codelibrary.ui.elements.boxes.PDEDrawableSunkenArea;
@@ -48,6 +49,14 @@ class PDEButtonLayerBackgroundTextHaptic extends PDEAbsoluteLayout implements PD
     private PDEParameter mParamBorderColor;
     private PDEParameter mParamFillColor;
 
+    // compiled color tables for per-frame interpolation (rebuilt whenever colors are prepared)
+    private final PDECompiledParameter mCompiledBorderColor = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledFillColor = new PDECompiledParameter();
+
+    // alternating result colors for per-frame interpolation (the drawable keeps the instance it gets)
+    private final PDEColor[] mFillColors = {new PDEColor(), new PDEColor()};
+    private final PDEColor[] mBorderColors = {new PDEColor(), new PDEColor()};
+
     // agent helpers
     private PDEAgentHelper mAgentHelper;
     private PDEDrawableSunkenArea mSunkenDrawable;
@@ -292,6 +301,10 @@ class PDEButtonLayerBackgroundTextHaptic extends PDEAbsoluteLayout implements PD
             mParamFillColor.debugOut("Fill after building");
         }
 
+        // compile the built colors for fast interpolation
+        mCompiledBorderColor.compileColors(mParamBorderColor, null);
+        mCompiledFillColor.compileColors(mParamFillColor, null);
+
         // and apply once
         updateColors();
     }
@@ -303,11 +316,17 @@ class PDEButtonLayerBackgroundTextHaptic extends PDEAbsoluteLayout implements PD
     private void updateColors() {
         PDEColor mainColor, borderColor;
 
-        // interpolate colors by calling complex logic color interpolation helper
-        mainColor = PDEComponentHelpers.interpolateColor(mParamFillColor, mAgentHelper,
-                                                         PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
-        borderColor = PDEComponentHelpers.interpolateColor(mParamBorderColor, mAgentHelper,
-                                                           PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
+        // interpolate colors on the compiled tables (into the colors the drawable doesn't hold)
+        mainColor = mCompiledFillColor.interpolateColor(mAgentHelper,
+                                                        PDEAgentHelper.PDEAgentHelperAnimationInteractive,
+                                                        PDEComponentHelpers.freeColor(
+                                                                mSunkenDrawable.getElementBackgroundColor(),
+                                                                mFillColors));
+        borderColor = mCompiledBorderColor.interpolateColor(mAgentHelper,
+                                                            PDEAgentHelper.PDEAgentHelperAnimationInteractive,
+                                                            PDEComponentHelpers.freeColor(
+                                                                    mSunkenDrawable.getElementBorderColor(),
+                                                                    mBorderColors));
 
         // set the gradient and border colors
         mSunkenDrawable.setElementBackgroundColor(mainColor);
@@ -29,6 +29,7 @@ import de.telekom.pde.codelibrary.ui.components.elementwrappers.PDEIconView;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEAgentHelper;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEButtonPadding;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEComponentHelpers;
+import de.telekom.pde.codelibrary.ui.components.helpers.PDECompiledParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameterDictionary;
 import de.telekom.pde.codelibrary.ui.elements.icon.PDEDrawableIcon;
@@ -131,6 +132,17 @@ class PDEButtonLayerForegroundIconText extends PDEAbsoluteLayout implements PDEB
     private PDEParameter mParamTitleShadowColor;
     private PDEParameter mParamTitleShadowOffset;
 
+    // compiled tables for per-frame interpolation (rebuilt whenever the title colors are prepared)
+    private final PDECompiledParameter mCompiledTitleColor = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledTitleShadowColor = new PDECompiledParameter();
+    private final PDECompiledParameter mCompiledTitleShadowOffset = new PDECompiledParameter();
+
+    // helpers for allocation free per-frame interpolation (alternating colors where the icon keeps the instance)
+    private final PDEColor[] mInterpolatedTitleColors = {new PDEColor(), new PDEColor()};
+    private final PDEColor mInterpolatedShadowColor = new PDEColor();
+    private final PDEColor[] mIconShadowColors = {new PDEColor(), new PDEColor()};
+    private final PointF mInterpolatedShadowOffset = new PointF();
+
 
     // content layers
     private PDEDrawText mTextView;
@@ -454,6 +466,11 @@ class PDEButtonLayerForegroundIconText extends PDEAbsoluteLayout implements PDEB
             mParamTitleShadowOffset.debugOut("Title shadow offset after building");
         }
 
+        // compile the built values for fast interpolation
+        mCompiledTitleColor.compileColors(mParamTitleColor, null);
+        mCompiledTitleShadowColor.compileColors(mParamTitleShadowColor, null);
+        mCompiledTitleShadowOffset.compilePositions(mParamTitleShadowOffset, null);
+
         // and apply once
         this.updateColors();
     }
@@ -844,25 +861,24 @@ class PDEButtonLayerForegroundIconText extends PDEAbsoluteLayout implements PDEB
         PointF shadowOffset;
         PDEDrawableIcon iconDrawable;
 
-        // interpolate colors by calling complex logic color interpolation helper
-        titleColor = PDEComponentHelpers.interpolateColor(mParamTitleColor,
-                                                          mAgentHelper,
+        iconDrawable = mDrawableIconWrapperView.getDrawableIcon();
+
+        // interpolate on the compiled tables; the title color goes into the color the icon doesn't hold
+        titleColor = mCompiledTitleColor.interpolateColor(mAgentHelper,
                                                           PDEAgentHelper.PDEAgentHelperAnimationStateOnly,
-                                                          null);
-        shadowColor = PDEComponentHelpers.interpolateColor(mParamTitleShadowColor,
-                                                           mAgentHelper,
-                                                           PDEAgentHelper.PDEAgentHelperAnimationStateOnly,
-                                                           null);
-        shadowOffset = PDEComponentHelpers.interpolatePosition(mParamTitleShadowOffset,
-                                                               mAgentHelper,
-                                                               PDEAgentHelper.PDEAgentHelperAnimationStateOnly,
-                                                               null);
+                                                          PDEComponentHelpers.freeColor(
+                                                                  iconDrawable.getElementIconColor(),
+                                                                  mInterpolatedTitleColors));
+        shadowColor = mCompiledTitleShadowColor.interpolateColor(mAgentHelper,
+                                                                 PDEAgentHelper.PDEAgentHelperAnimationStateOnly,
+                                                                 mInterpolatedShadowColor);
+        shadowOffset = mCompiledTitleShadowOffset.interpolatePosition(mAgentHelper,
+                                                                      PDEAgentHelper.PDEAgentHelperAnimationStateOnly,
+                                                                      mInterpolatedShadowOffset);
 
         // set text color
         mTextView.setTextColor(titleColor.getIntegerColor());
 
-        iconDrawable = mDrawableIconWrapperView.getDrawableIcon();
-
         // set Icon color if desired
         if (mIconColored && iconDrawable.hasElementIcon()) {
             iconDrawable.setElementIconColor(titleColor);
@@ -886,7 +902,9 @@ class PDEButtonLayerForegroundIconText extends PDEAbsoluteLayout implements PDEB
         if (mTextHasShadow && mIconColored && iconDrawable.hasElementIcon()) {
             iconDrawable.setElementShadowXOffset((int) shadowOffset.x);
             iconDrawable.setElementShadowYOffset((int) shadowOffset.y);
-            iconDrawable.setElementShadowColor(shadowColor.newColorWithCombinedAlpha(64));
+            iconDrawable.setElementShadowColor(
+                    shadowColor.colorWithCombinedAlphaInto(64, PDEComponentHelpers.freeColor(
+                            iconDrawable.getElementShadowColor(), mIconShadowColors)));
         }
     }
 
@@ -31,6 +31,7 @@ import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEAgentHelper;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEButtonPadding;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEComponentHelpers;
+import de.telekom.pde.codelibrary.ui.components.helpers.PDECompiledParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameterDictionary;
 import de.telekom.pde.codelibrary.ui.elements.boxes.PDEDrawableArea;
@@ -77,6 +78,15 @@ public abstract class PDEButtonLayerOverlayCheckboxBase extends PDEAbsoluteLayou
     protected PDEParameter mParamColor;
     protected PDEParameter mParamBorderColor;
     protected PDEParameter mParamState;
+
+    // compiled tables for per-frame interpolation (rebuilt whenever the parameters are prepared)
+    protected final PDECompiledParameter mCompiledColor = new PDECompiledParameter();
+    protected final PDECompiledParameter mCompiledBorderColor = new PDECompiledParameter();
+    protected final PDECompiledParameter mCompiledState = new PDECompiledParameter();
+
+    // alternating result colors for per-frame interpolation (the drawable keeps the instance it gets)
+    private final PDEColor[] mInterpolatedColors = {new PDEColor(), new PDEColor()};
+    private final PDEColor[] mInterpolatedBorderColors = {new PDEColor(), new PDEColor()};
     private int mHorizontalPadding;
 
     // content layers
@@ -274,6 +284,10 @@ public abstract class PDEButtonLayerOverlayCheckboxBase extends PDEAbsoluteLayou
             mParamBorderColor.debugOut("Border after building");
         }
 
+        // compile the built colors for fast interpolation
+        mCompiledColor.compileColors(mParamColor, null);
+        mCompiledBorderColor.compileColors(mParamBorderColor, null);
+
         // and apply once
         updateColors();
     }
@@ -307,6 +321,9 @@ public abstract class PDEButtonLayerOverlayCheckboxBase extends PDEAbsoluteLayou
             mParamState.debugOut("State after building");
         }
 
+        // compile the built values for fast interpolation
+        mCompiledState.compileFloats(mParamState, null);
+
         // apply once
         updateState();
     }
@@ -447,11 +464,15 @@ public abstract class PDEButtonLayerOverlayCheckboxBase extends PDEAbsoluteLayou
     protected void updateColors() {
         PDEColor color, border;
 
-        // interpolate colors by calling complex logic color interpolation helper
-        color = PDEComponentHelpers.interpolateColor(mParamColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
-        border = PDEComponentHelpers.interpolateColor(mParamBorderColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
+        // interpolate colors on the compiled tables (into the colors the drawable doesn't hold)
+        color = mCompiledColor.interpolateColor(mAgentHelper, PDEAgentHelper.PDEAgentHelperAnimationInteractive,
+                                                PDEComponentHelpers.freeColor(
+                                                        mAreaDrawable.getElementBackgroundColor(),
+                                                        mInterpolatedColors));
+        border = mCompiledBorderColor.interpolateColor(mAgentHelper, PDEAgentHelper.PDEAgentHelperAnimationInteractive,
+                                                       PDEComponentHelpers.freeColor(
+                                                               mAreaDrawable.getElementBorderColor(),
+                                                               mInterpolatedBorderColors));
 
         // set color
         mAreaDrawable.setElementBackgroundColor(color);
@@ -465,9 +486,8 @@ public abstract class PDEButtonLayerOverlayCheckboxBase extends PDEAbsoluteLayou
     protected void updateState() {
         float alpha;
 
-        // interpolate colors by calling complex logic color interpolation helper
-        alpha = PDEComponentHelpers.interpolateFloat(mParamState, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationStateOnly, null);
+        // interpolate on the compiled table
+        alpha = mCompiledState.interpolateFloat(mAgentHelper, PDEAgentHelper.PDEAgentHelperAnimationStateOnly);
 
         PDEUtils.setViewAlpha(mIconLayer, alpha);
     }
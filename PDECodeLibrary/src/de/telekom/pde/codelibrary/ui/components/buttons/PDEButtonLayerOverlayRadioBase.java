@@ -26,6 +26,7 @@ import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEAgentHelper;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEButtonPadding;
 import de.telekom.pde.codelibrary.ui.components.helpers.PDEComponentHelpers;
+import de.telekom.pde.codelibrary.ui.components.helpers.PDECompiledParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameter;
 import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameterDictionary;
 import de.telekom.pde.codelibrary.ui.elements.boxes.PDEDrawableArea;
@@ -63,6 +64,16 @@ public abstract class PDEButtonLayerOverlayRadioBase extends PDEAbsoluteLayout i
     protected PDEParameter mParamColor;
     protected PDEParameter mParamBorderColor;
     protected PDEParameter mParamState;
+
+    // compiled tables for per-frame interpolation (rebuilt whenever the parameters are prepared)
+    protected final PDECompiledParameter mCompiledColor = new PDECompiledParameter();
+    protected final PDECompiledParameter mCompiledBorderColor = new PDECompiledParameter();
+    protected final PDECompiledParameter mCompiledState = new PDECompiledParameter();
+
+    // alternating result colors for per-frame interpolation (the drawable keeps the instance it gets)
+    private final PDEColor[] mInterpolatedColors = {new PDEColor(), new PDEColor()};
+    private final PDEColor[] mInterpolatedBorderColors = {new PDEColor(), new PDEColor()};
+
     private int mHorizontalPadding;
 
     // content layers
@@ -262,6 +273,10 @@ public abstract class PDEButtonLayerOverlayRadioBase extends PDEAbsoluteLayout i
             mParamBorderColor.debugOut("Border after building");
         }
 
+        // compile the built colors for fast interpolation
+        mCompiledColor.compileColors(mParamColor, null);
+        mCompiledBorderColor.compileColors(mParamBorderColor, null);
+
         // and apply once
         updateColors();
     }
@@ -295,6 +310,9 @@ public abstract class PDEButtonLayerOverlayRadioBase extends PDEAbsoluteLayout i
             mParamState.debugOut("State after building");
         }
 
+        // compile the built values for fast interpolation
+        mCompiledState.compileFloats(mParamState, null);
+
         // apply once
         updateState();
     }
@@ -426,11 +444,15 @@ public abstract class PDEButtonLayerOverlayRadioBase extends PDEAbsoluteLayout i
     protected void updateColors() {
         PDEColor color, border;
 
-        // interpolate colors by calling complex logic color interpolation helper
-        color = PDEComponentHelpers.interpolateColor(mParamColor, mAgentHelper,
-                                                     PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
-        border = PDEComponentHelpers.interpolateColor(mParamBorderColor, mAgentHelper,
-                                                      PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
+        // interpolate colors on the compiled tables (into the colors the drawable doesn't hold)
+        color = mCompiledColor.interpolateColor(mAgentHelper, PDEAgentHelper.PDEAgentHelperAnimationInteractive,
+                                                PDEComponentHelpers.freeColor(
+                                                        mAreaDrawable.getElementBackgroundColor(),
+                                                        mInterpolatedColors));
+        border = mCompiledBorderColor.interpolateColor(mAgentHelper, PDEAgentHelper.PDEAgentHelperAnimationInteractive,
+                                                       PDEComponentHelpers.freeColor(
+                                                               mAreaDrawable.getElementBorderColor(),
+                                                               mInterpolatedBorderColors));
 
         // set color
         mAreaDrawable.setElementBackgroundColor(color);
@@ -444,9 +466,8 @@ public abstract class PDEButtonLayerOverlayRadioBase extends PDEAbsoluteLayout i
     protected void updateState() {
         float alpha;
 
-        // interpolate colors by calling complex logic color interpolation helper
-        alpha = PDEComponentHelpers.interpolateFloat(mParamState, mAgentHelper,
-                                                     PDEAgentHelper.PDEAgentHelperAnimationStateOnly, null);
+        // interpolate on the compiled table
+        alpha = mCompiledState.interpolateFloat(mAgentHelper, PDEAgentHelper.PDEAgentHelperAnimationStateOnly);
 
         // show/hide marker
         mMarkerDrawable.setElementShapeOpacity(alpha);
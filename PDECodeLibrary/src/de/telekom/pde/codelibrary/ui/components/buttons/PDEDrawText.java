@@ -15,6 +15,8 @@ import android.util.AttributeSet;
 import android.util.Log;
 import android.view.View;
 import de.telekom.pde.codelibrary.ui.R;
+import de.telekom.pde.codelibrary.ui.elements.text.PDETextLayout;
+import de.telekom.pde.codelibrary.ui.elements.text.PDETextLayoutCache;
 import de.telekom.pde.codelibrary.ui.helpers.PDETypeface;
 
 /// @cond INTERNAL_CLASS
@@ -26,8 +28,6 @@ public class PDEDrawText extends View {
     private final static boolean DEBUG_OUTPUT = false;
     private final static boolean SHOW_DEBUG_MEASURE_LOGS = false;
 
-    private final static String EllipsizeString = "...";
-
     private int mBackgroundColor;
     private int mTextColor;
     private String mText;
@@ -267,6 +267,7 @@ public class PDEDrawText extends View {
     private void recalculate() {
         //mPaint = new Paint();
         Paint.FontMetrics metrics;
+        PDETextLayout layout;
 
         mPaint.setTypeface(mTypeface);
         mPaint.setAntiAlias(true);
@@ -299,24 +300,13 @@ public class PDEDrawText extends View {
         metrics = mPaint.getFontMetrics();
         mMetricsTops = metrics.top;
 
-        Rect ellipsizeBounds = new Rect();
         if (mEllipsize) {
             if (DEBUG_ELLIPSIZE) Log.d(LOG_TAG, "Ellipsize on");
-            mPaint.getTextBounds(mText, 0, mText.length(), ellipsizeBounds);
+            // single line layout from the shared layout cache
+            layout = PDETextLayoutCache.getInstance().getLayout(mText, mPaint, mWidth, 1, true);
 
-            if (ellipsizeBounds.width() > mWidth) {
-                if (DEBUG_ELLIPSIZE) {
-                    Log.d(LOG_TAG, "Ellipsize needed! width: " + mWidth + " textWidth:" + mPaint.measureText(mText));
-                }
-                mShownText = TextUtils.substring(mText, 0, mText.length() - 1);
-
-                while (ellipsizeBounds.width() > mWidth
-                        && mShownText.length() - 1 > 0) {
-                    mShownText = TextUtils.substring(mShownText, 0, mShownText.length() - 1);
-                    mPaint.getTextBounds((mShownText + EllipsizeString), 0,
-                            (mShownText + EllipsizeString).length(), ellipsizeBounds);
-                }
-                mShownText = mShownText + EllipsizeString;
+            if (layout.isTruncated()) {
+                mShownText = layout.getLine(0);
                 if (DEBUG_ELLIPSIZE) {
                     Log.d(LOG_TAG, "Ellipsize orig. text: '" + mText + "' shown text: '" + mShownText + "' " + mPaint.measureText(mShownText));
                 }
@@ -32,6 +32,13 @@ public class PDEUsageEvent extends PDEEvent {
         mCurrentFillValue = 0.0f;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        mTotalValue = 0.0f;
+        mCurrentFillValue = 0.0f;
+    }
+
     public void setCurrentFillValue(double value) {
         mCurrentFillValue = value;
     }
@@ -23,6 +23,7 @@ import de.telekom.pde.codelibrary.ui.animation.PDEParametricCurveAnimation;
 import de.telekom.pde.codelibrary.ui.buildingunits.PDEBuildingUnits;
 import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.components.datavisualisation.PDEUsageEvent;
+import de.telekom.pde.codelibrary.ui.events.PDEEventRecycler;
 import de.telekom.pde.codelibrary.ui.events.PDEEventSource;
 import de.telekom.pde.codelibrary.ui.events.PDEIEventSource;
 import de.telekom.pde.codelibrary.ui.helpers.PDEFontHelpers;
@@ -104,6 +105,16 @@ public class PDEUsageBar extends RelativeLayout implements PDEIEventSource {
     private PDEEventSource mEventSource;
     protected ArrayList<Object> mStrongPDEEventListenerHolder;
 
+    /**
+     * @brief Reused usage events (sent while animating). Listeners must not keep them.
+     */
+    private final PDEEventRecycler<PDEUsageEvent> mUsageEvents = new PDEEventRecycler<PDEUsageEvent>() {
+        @Override
+        protected PDEUsageEvent createEvent() {
+            return new PDEUsageEvent();
+        }
+    };
+
 
     /**
      * @brief Constructor.
@@ -1196,12 +1207,13 @@ public class PDEUsageBar extends RelativeLayout implements PDEIEventSource {
      */
     protected void sendEvent(String type) {
         PDEUsageEvent usageEvent;
-        usageEvent = new PDEUsageEvent();
+        usageEvent = mUsageEvents.obtain();
         usageEvent.setType(type);
         usageEvent.setSender(this);
         usageEvent.setCurrentFillValue(mCurrentFillValue);
         usageEvent.setTotalValue(mTotalFillValue);
         getEventSource().sendEvent(usageEvent);
+        mUsageEvents.recycle(usageEvent);
     }
 
 //----------------------------- MultiColor Label functions ------------------------------------------------------------
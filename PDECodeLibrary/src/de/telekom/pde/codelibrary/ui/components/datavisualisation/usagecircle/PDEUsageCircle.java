@@ -22,6 +22,7 @@ import de.telekom.pde.codelibrary.ui.animation.PDEAnimationRoot;
 import de.telekom.pde.codelibrary.ui.animation.PDEParametricCurveAnimation;
 import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.components.datavisualisation.PDEUsageEvent;
+import de.telekom.pde.codelibrary.ui.events.PDEEventRecycler;
 import de.telekom.pde.codelibrary.ui.events.PDEEventSource;
 import de.telekom.pde.codelibrary.ui.events.PDEIEventSource;
 import de.telekom.pde.codelibrary.ui.helpers.PDEFontHelpers;
@@ -105,6 +106,16 @@ public class PDEUsageCircle extends View implements PDEIEventSource {
     private PDEEventSource mEventSource;
     protected ArrayList<Object> mStrongPDEEventListenerHolder;
 
+    /**
+     * @brief Reused usage events (sent while animating). Listeners must not keep them.
+     */
+    private final PDEEventRecycler<PDEUsageEvent> mUsageEvents = new PDEEventRecycler<PDEUsageEvent>() {
+        @Override
+        protected PDEUsageEvent createEvent() {
+            return new PDEUsageEvent();
+        }
+    };
+
 
     /**
      * @brief Constructor.
@@ -172,6 +183,8 @@ public class PDEUsageCircle extends View implements PDEIEventSource {
         mSecondaryPaint.setAntiAlias(true);
 
         mAnimation = new PDEParametricCurveAnimation();
+        // many circles may animate at once (dashboards) -> use the sampled curves
+        mAnimation.setEvaluation(PDEParametricCurveAnimation.PDEParametricCurveAnimationEvaluation.EvaluationTable);
         PDEAnimationRoot.addSubAnimationStatic(mAnimation);
         mAnimation.setDidChangeTarget(this, "timeAnimations");
 
@@ -1396,7 +1409,7 @@ public class PDEUsageCircle extends View implements PDEIEventSource {
      * @brief Sends an event when currentFillValue has changed.
      */
     public void sendUsageEvent(String type, float currentFillValue, float total) {
-        PDEUsageEvent event = new PDEUsageEvent();
+        PDEUsageEvent event = mUsageEvents.obtain();
         // set the information
         event.setCurrentFillValue(currentFillValue);
         event.setTotalValue(total);
@@ -1405,6 +1418,8 @@ public class PDEUsageCircle extends View implements PDEIEventSource {
 
         // send PDEUsageEvent
         getEventSource().sendEvent(event);
+        // reuse
+        mUsageEvents.recycle(event);
     }
 
 
@@ -35,6 +35,9 @@ public class PDEViewWrapper extends View {
     // class variables
     private Drawable mDrawable = null;
 
+    // the drawable was hidden because the wrapper got detached
+    private boolean mDrawableHiddenOnDetach = false;
+
 
     @SuppressWarnings("unused")
     public PDEViewWrapper(Context context) {
@@ -90,8 +93,42 @@ public class PDEViewWrapper extends View {
 
     public void setDrawable(Drawable drawable) {
         if (drawable != null) {
+            // a replaced drawable doesn't need its bitmaps anymore
+            if (mDrawable != null && mDrawable != drawable && !mDrawableHiddenOnDetach && mDrawable.isVisible()
+                && getWindowToken() != null) {
+                mDrawable.setVisible(false, false);
+            }
             mDrawable = drawable;
+            mDrawableHiddenOnDetach = false;
             PDEUtils.setViewBackgroundDrawable(this, mDrawable);
         }
     }
+
+
+    /**
+     * @brief Hide the drawable while detached, so it can give back its (shared) bitmaps.
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        if (mDrawable != null && mDrawable.isVisible()) {
+            mDrawable.setVisible(false, false);
+            mDrawableHiddenOnDetach = true;
+        }
+    }
+
+
+    /**
+     * @brief Show the drawable again if it was hidden on detach.
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (mDrawable != null && mDrawableHiddenOnDetach) {
+            mDrawable.setVisible(true, false);
+        }
+        mDrawableHiddenOnDetach = false;
+    }
 }
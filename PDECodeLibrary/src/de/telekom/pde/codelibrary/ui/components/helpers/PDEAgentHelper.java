@@ -41,7 +41,7 @@ public class PDEAgentHelper {
 
     //
     // Simple Helper class for getInterpolationInformationState1()
-    public class InterpolationStateHelper {
+    public static class InterpolationStateHelper {
         public String mState1;
         public String mState2;
         public float mStateBlend;
@@ -207,8 +207,18 @@ public class PDEAgentHelper {
      * @brief Determine parameters for interpolation from current stored agent state.
      */
     public InterpolationStateHelper getInterpolationInformationForAnimation(int animation) {
-        InterpolationStateHelper iStateHelper = new InterpolationStateHelper();
+        // fill a new helper
+        return getInterpolationInformationForAnimation(animation, new InterpolationStateHelper());
+    }
+
 
+    /**
+     * @brief Determine parameters for interpolation from current stored agent state into a caller owned helper.
+     *
+     * Allows per-frame interpolation without allocating a new helper every time.
+     */
+    public InterpolationStateHelper getInterpolationInformationForAnimation(int animation,
+                                                                            InterpolationStateHelper iStateHelper) {
         // state interpolation can be retrieved directly from values
         iStateHelper.mState1 = mCurrentState;
         iStateHelper.mState2 = mNextState;
@@ -0,0 +1,393 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.components.helpers;
+
+
+import android.graphics.PointF;
+import de.telekom.pde.codelibrary.ui.color.PDEColor;
+import de.telekom.pde.codelibrary.ui.components.buttons.PDEButton;
+import de.telekom.pde.codelibrary.ui.components.helpers.parameters.PDEParameter;
+
+import java.util.ArrayList;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDECompiledParameter
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Precompiled form of a fully built PDEParameter for fast per-frame interpolation.
+ *
+ * The values of all (state, sub-state) combinations are resolved once (after buildColors / buildValues) into a dense
+ * float table. Interpolation then is plain array arithmetic, without building key strings and dictionary lookups
+ * on every animation step. Colors are stored as four float components (red, green, blue, alpha), so the results
+ * are identical to PDEComponentHelpers.interpolateColor(); positions are stored as two components (x, y).
+ *
+ * The compiled form is a snapshot: it has to be compiled again whenever the source parameter changes.
+ */
+public class PDECompiledParameter {
+
+    // sub-state ordinals (index 0 is the state base value without sub-state)
+    public final static int PDECompiledSubStateNone = 0;
+    public final static int PDECompiledSubStateIdle = 1;
+    public final static int PDECompiledSubStateFocus = 2;
+    public final static int PDECompiledSubStateTakingInput = 3;
+    public final static int PDECompiledSubStateDown = 4;
+    private final static int PDECompiledSubStateCount = 5;
+
+    // sub-state names in ordinal order
+    private final static String[] SUB_STATES = {
+            null,
+            PDEButton.PDEButtonAgentStateIdle,
+            PDEButton.PDEButtonAgentStateFocus,
+            PDEButton.PDEButtonAgentStateTakingInput,
+            PDEButton.PDEButtonAgentStateDown
+    };
+
+    // number of floats per entry
+    private final static int STRIDE_COLOR = 4;
+    private final static int STRIDE_POSITION = 2;
+    private final static int STRIDE_FLOAT = 1;
+
+    // compiled states and their values
+    private String[] mStates;
+    private int mDefaultStateIndex;
+    private int mStride;
+    private float[] mValues;
+
+    // interpolation scratch storage
+    private final PDEAgentHelper.InterpolationStateHelper mInterpolationHelper;
+    private final float[] mResult;
+
+
+    /**
+     * @brief Constructor; creates an empty float table (every lookup returns 0.0f).
+     */
+    public PDECompiledParameter() {
+        mInterpolationHelper = new PDEAgentHelper.InterpolationStateHelper();
+        mResult = new float[STRIDE_COLOR];
+        compileFloats(new PDEParameter(), null);
+    }
+
+
+//----- compilation ----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Compile the colors of a fully built parameter.
+     *
+     * @param parameter The parameter (after PDEComponentHelpers.buildColors).
+     * @param suffix Key suffix (e.g. PDEButton.PDEButtonColorSuffixLighter) or null.
+     * @return this, for convenience.
+     */
+    public PDECompiledParameter compileColors(PDEParameter parameter, String suffix) {
+        int i, s, offset;
+        PDEColor color;
+
+        // prepare storage
+        prepareTable(parameter, STRIDE_COLOR);
+
+        // resolve all combinations once
+        for (i = 0; i < mStates.length; i++) {
+            for (s = 0; s < PDECompiledSubStateCount; s++) {
+                color = PDEComponentHelpers.getColor(parameter, mStates[i], SUB_STATES[s], suffix);
+                offset = (i * PDECompiledSubStateCount + s) * STRIDE_COLOR;
+                mValues[offset] = color.getRed();
+                mValues[offset + 1] = color.getGreen();
+                mValues[offset + 2] = color.getBlue();
+                mValues[offset + 3] = color.getAlpha();
+            }
+        }
+
+        // done
+        return this;
+    }
+
+
+    /**
+     * @brief Compile the float values of a fully built parameter.
+     *
+     * @param parameter The parameter (after PDEComponentHelpers.buildValues).
+     * @param suffix Key suffix or null.
+     * @return this, for convenience.
+     */
+    public PDECompiledParameter compileFloats(PDEParameter parameter, String suffix) {
+        int i, s;
+
+        // prepare storage
+        prepareTable(parameter, STRIDE_FLOAT);
+
+        // resolve all combinations once
+        for (i = 0; i < mStates.length; i++) {
+            for (s = 0; s < PDECompiledSubStateCount; s++) {
+                mValues[i * PDECompiledSubStateCount + s]
+                        = PDEComponentHelpers.getFloat(parameter, mStates[i], SUB_STATES[s], suffix);
+            }
+        }
+
+        // done
+        return this;
+    }
+
+
+    /**
+     * @brief Compile the positions of a fully built parameter.
+     *
+     * @param parameter The parameter (e.g. after PDEComponentHelpers.fillTitleShadowOffsets).
+     * @param suffix Key suffix or null.
+     * @return this, for convenience.
+     */
+    public PDECompiledParameter compilePositions(PDEParameter parameter, String suffix) {
+        int i, s, offset;
+        PointF position;
+
+        // prepare storage
+        prepareTable(parameter, STRIDE_POSITION);
+
+        // resolve all combinations once
+        for (i = 0; i < mStates.length; i++) {
+            for (s = 0; s < PDECompiledSubStateCount; s++) {
+                position = PDEComponentHelpers.getPosition(parameter, mStates[i], SUB_STATES[s], suffix);
+                offset = (i * PDECompiledSubStateCount + s) * STRIDE_POSITION;
+                mValues[offset] = position.x;
+                mValues[offset + 1] = position.y;
+            }
+        }
+
+        // done
+        return this;
+    }
+
+
+    /**
+     * @brief Collect the states of the parameter and allocate the value table.
+     */
+    private void prepareTable(PDEParameter parameter, int stride) {
+        ArrayList<String> states;
+
+        // take over the states; the default state must always be there, it's our fallback for unknown states
+        states = new ArrayList<String>(parameter.states());
+        if (!states.contains(PDEButton.PDEButtonStateDefault)) {
+            states.add(PDEButton.PDEButtonStateDefault);
+        }
+
+        // remember
+        mStates = states.toArray(new String[states.size()]);
+        mDefaultStateIndex = states.indexOf(PDEButton.PDEButtonStateDefault);
+        mStride = stride;
+        mValues = new float[mStates.length * PDECompiledSubStateCount * stride];
+    }
+
+
+//----- lookup ---------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get the table index of a state; unknown states fall back to the default state.
+     *
+     * States are usually the shared string constants, so the identity check mostly hits without comparing
+     * characters.
+     */
+    public int stateIndex(String state) {
+        int i;
+
+        // identity first
+        for (i = 0; i < mStates.length; i++) {
+            if (mStates[i] == state) return i;
+        }
+
+        // then by value
+        for (i = 0; i < mStates.length; i++) {
+            if (mStates[i].equals(state)) return i;
+        }
+
+        // not defined -> default state
+        return mDefaultStateIndex;
+    }
+
+
+    /**
+     * @brief Get the ordinal of a sub-state (null is the state base value).
+     *
+     * Only the agent sub-states are compiled; unknown sub-states are treated like the state base value.
+     */
+    public static int subStateIndex(String subState) {
+        int i;
+
+        // no sub-state
+        if (subState == null || subState.length() == 0) return PDECompiledSubStateNone;
+
+        // identity first
+        for (i = 1; i < PDECompiledSubStateCount; i++) {
+            if (SUB_STATES[i] == subState) return i;
+        }
+
+        // then by value
+        for (i = 1; i < PDECompiledSubStateCount; i++) {
+            if (SUB_STATES[i].equals(subState)) return i;
+        }
+
+        // unknown
+        return PDECompiledSubStateNone;
+    }
+
+
+    /**
+     * @brief Get a compiled float value.
+     */
+    public float getFloat(int stateIndex, int subStateIndex) {
+        return mValues[(stateIndex * PDECompiledSubStateCount + subStateIndex) * mStride];
+    }
+
+
+    /**
+     * @brief Get a compiled color into a caller owned color.
+     */
+    public PDEColor getColor(int stateIndex, int subStateIndex, PDEColor result) {
+        int offset;
+
+        // read components
+        offset = (stateIndex * PDECompiledSubStateCount + subStateIndex) * mStride;
+        result.setRed(mValues[offset]);
+        result.setGreen(mValues[offset + 1]);
+        result.setBlue(mValues[offset + 2]);
+        result.setAlpha(mValues[offset + 3]);
+
+        // done
+        return result;
+    }
+
+
+//----- interpolation --------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Interpolate a compiled float from the current agent state.
+     */
+    public float interpolateFloat(PDEAgentHelper agentHelper, int animation) {
+        // get states from agent helper
+        agentHelper.getInterpolationInformationForAnimation(animation, mInterpolationHelper);
+
+        // safety: do nothing if state1 is not defined
+        if (mInterpolationHelper.mState1 == null) return 0.0f;
+
+        // blend
+        interpolate(mInterpolationHelper);
+
+        // done
+        return mResult[0];
+    }
+
+
+    /**
+     * @brief Interpolate a compiled color from the current agent state into a caller owned color.
+     */
+    public PDEColor interpolateColor(PDEAgentHelper agentHelper, int animation, PDEColor result) {
+        // get states from agent helper
+        agentHelper.getInterpolationInformationForAnimation(animation, mInterpolationHelper);
+
+        // safety: do nothing if state1 is not defined
+        if (mInterpolationHelper.mState1 == null) return result.setColor(PDEColor.valueOf("DTBlack"));
+
+        // blend
+        interpolate(mInterpolationHelper);
+
+        // store
+        result.setRed(mResult[0]);
+        result.setGreen(mResult[1]);
+        result.setBlue(mResult[2]);
+        result.setAlpha(mResult[3]);
+
+        // done
+        return result;
+    }
+
+
+    /**
+     * @brief Interpolate a compiled position from the current agent state into a caller owned point.
+     */
+    public PointF interpolatePosition(PDEAgentHelper agentHelper, int animation, PointF result) {
+        // get states from agent helper
+        agentHelper.getInterpolationInformationForAnimation(animation, mInterpolationHelper);
+
+        // safety: do nothing if state1 is not defined
+        if (mInterpolationHelper.mState1 == null) {
+            result.set(0.0f, 0.0f);
+            return result;
+        }
+
+        // blend
+        interpolate(mInterpolationHelper);
+
+        // store
+        result.set(mResult[0], mResult[1]);
+
+        // done
+        return result;
+    }
+
+
+    /**
+     * @brief Blend between states and sub-states; same order of operations as PDEComponentHelpers.
+     */
+    private void interpolate(PDEAgentHelper.InterpolationStateHelper helper) {
+        int state1, state2, subState1, subState2, c;
+        float stateBlend, subStateBlend, value, value2;
+
+        // resolve indices
+        state1 = stateIndex(helper.mState1);
+        state2 = (helper.mState2 != null) ? stateIndex(helper.mState2) : -1;
+        subState1 = subStateIndex(helper.mSubState1);
+        subState2 = (helper.mSubState2 != null) ? subStateIndex(helper.mSubState2) : -1;
+
+        // limit blend factors
+        stateBlend = helper.mStateBlend;
+        if (stateBlend < 0.0f) stateBlend = 0.0f;
+        if (stateBlend > 1.0f) stateBlend = 1.0f;
+        subStateBlend = helper.mSubStateBlend;
+        if (subStateBlend < 0.0f) subStateBlend = 0.0f;
+        if (subStateBlend > 1.0f) subStateBlend = 1.0f;
+
+        // blend every component
+        for (c = 0; c < mStride; c++) {
+            // first state, sub-states mixed
+            value = blendSubStates(state1, subState1, subState2, subStateBlend, c);
+
+            // if we have a second state, also calculate this and mix states
+            if (state2 >= 0) {
+                value2 = blendSubStates(state2, subState1, subState2, subStateBlend, c);
+                value = PDEColor.mixComponent(value, value2, stateBlend);
+            }
+
+            // store
+            mResult[c] = value;
+        }
+    }
+
+
+    /**
+     * @brief Mix one component of the two sub-states of a state.
+     */
+    private float blendSubStates(int state, int subState1, int subState2, float subStateBlend, int component) {
+        int base;
+        float value;
+
+        // start with first sub-state
+        base = state * PDECompiledSubStateCount;
+        value = mValues[(base + subState1) * mStride + component];
+
+        // add in second sub-state if required
+        if (subState2 >= 0) {
+            value = PDEColor.mixComponent(value, mValues[(base + subState2) * mStride + component], subStateBlend);
+        }
+
+        // done
+        return value;
+    }
+}
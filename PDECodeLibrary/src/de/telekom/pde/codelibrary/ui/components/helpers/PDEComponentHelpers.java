@@ -798,24 +798,47 @@ public class PDEComponentHelpers {
      */
     public static PDEColor interpolateColor(PDEParameter parameter, PDEAgentHelper agentHelper, int animation,
                                             String suffix) {
-        PDEColor color;
+        // interpolate into a new color
+        return interpolateColor(parameter, agentHelper, animation, suffix, new PDEColor());
+    }
+
+
+    /**
+     * @brief Interpolation helper function, extracting the necessary parameters from a PDEAgentHelper.
+     *
+     * Writes the result into a caller owned color, so per-frame interpolation doesn't allocate colors.
+     */
+    public static PDEColor interpolateColor(PDEParameter parameter, PDEAgentHelper agentHelper, int animation,
+                                            String suffix, PDEColor result) {
         PDEAgentHelper.InterpolationStateHelper interpolationHelper;
 
         // get states from agent helper
         interpolationHelper = agentHelper.getInterpolationInformationForAnimation(animation);
 
         // interpolate colors by calling complex logic color interpolation helper
-        color = interpolateColor(parameter,
-                                 interpolationHelper.mState1,
-                                 interpolationHelper.mState2,
-                                 interpolationHelper.mStateBlend,
-                                 interpolationHelper.mSubState1,
-                                 interpolationHelper.mSubState2,
-                                 interpolationHelper.mSubStateBlend,
-                                 suffix);
+        return interpolateColor(parameter,
+                                interpolationHelper.mState1,
+                                interpolationHelper.mState2,
+                                interpolationHelper.mStateBlend,
+                                interpolationHelper.mSubState1,
+                                interpolationHelper.mSubState2,
+                                interpolationHelper.mSubStateBlend,
+                                suffix,
+                                result);
+    }
 
-        // done
-        return color;
+
+    /**
+     * @brief Pick the one of two caller owned colors which a drawable currently doesn't hold.
+     *
+     * Drawables keep the color instance they get and detect changes against it, so a per-frame color must not be
+     * written into the instance the drawable holds. Alternating between two colors avoids allocations.
+     *
+     * @param heldColor The color the drawable currently holds.
+     * @param colors Two colors owned by the caller.
+     */
+    public static PDEColor freeColor(PDEColor heldColor, PDEColor[] colors) {
+        return (heldColor == colors[0]) ? colors[1] : colors[0];
     }
 
 
@@ -824,10 +847,25 @@ public class PDEComponentHelpers {
      */
     public static PDEColor interpolateColor(PDEParameter parameter, String state1, String state2, float stateBlend,
                                             String subState1, String subState2, float subStateBlend, String suffix) {
-        PDEColor color, color2, color3;
+        // interpolate into a new color
+        return interpolateColor(parameter, state1, state2, stateBlend, subState1, subState2, subStateBlend, suffix,
+                                new PDEColor());
+    }
+
+
+    /**
+     * @brief Complex color interpolation (between states and sub-states) into a caller owned color.
+     *
+     * Mixes the components directly, so no intermediate colors are allocated.
+     */
+    public static PDEColor interpolateColor(PDEParameter parameter, String state1, String state2, float stateBlend,
+                                            String subState1, String subState2, float subStateBlend, String suffix,
+                                            PDEColor result) {
+        PDEColor color, color2;
+        float red, green, blue, alpha, red2, green2, blue2, alpha2;
 
         // safety: do nothing if state1 is not defined
-        if (state1 == null) return PDEColor.valueOf("DTBlack");
+        if (state1 == null) return result.setColor(PDEColor.valueOf("DTBlack"));
 
         // additional fallback: if a state is requested, but is not defined at all, we use the default state
         if (!parameter.hasState(state1)) {
@@ -845,28 +883,51 @@ public class PDEComponentHelpers {
 
         // start with first state and sub-state
         color = getColor(parameter, state1, subState1, suffix);
+        red = color.getRed();
+        green = color.getGreen();
+        blue = color.getBlue();
+        alpha = color.getAlpha();
 
         // add in second sub-state if required
         if (subState2 != null) {
             color2 = getColor(parameter, state1, subState2, suffix);
-            color = color.mixColors(color2, subStateBlend);
+            red = PDEColor.mixComponent(red, color2.getRed(), subStateBlend);
+            green = PDEColor.mixComponent(green, color2.getGreen(), subStateBlend);
+            blue = PDEColor.mixComponent(blue, color2.getBlue(), subStateBlend);
+            alpha = PDEColor.mixComponent(alpha, color2.getAlpha(), subStateBlend);
         }
 
         // if we have a second state, also calculate this
         if (state2 != null) {
             // second state first sub-state
             color2 = getColor(parameter, state2, subState1, suffix);
+            red2 = color2.getRed();
+            green2 = color2.getGreen();
+            blue2 = color2.getBlue();
+            alpha2 = color2.getAlpha();
             // add in second sub-state if required
             if (subState2 != null) {
-                color3 = getColor(parameter, state2, subState2, suffix);
-                color2 = color2.mixColors(color3, subStateBlend);
+                color2 = getColor(parameter, state2, subState2, suffix);
+                red2 = PDEColor.mixComponent(red2, color2.getRed(), subStateBlend);
+                green2 = PDEColor.mixComponent(green2, color2.getGreen(), subStateBlend);
+                blue2 = PDEColor.mixComponent(blue2, color2.getBlue(), subStateBlend);
+                alpha2 = PDEColor.mixComponent(alpha2, color2.getAlpha(), subStateBlend);
             }
             // now mix states
-            color = color.mixColors(color2, stateBlend);
+            red = PDEColor.mixComponent(red, red2, stateBlend);
+            green = PDEColor.mixComponent(green, green2, stateBlend);
+            blue = PDEColor.mixComponent(blue, blue2, stateBlend);
+            alpha = PDEColor.mixComponent(alpha, alpha2, stateBlend);
         }
 
+        // store
+        result.setRed(red);
+        result.setGreen(green);
+        result.setBlue(blue);
+        result.setAlpha(alpha);
+
         // done
-        return color;
+        return result;
     }
 
 
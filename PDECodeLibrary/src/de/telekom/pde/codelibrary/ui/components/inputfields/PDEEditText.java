@@ -176,6 +176,8 @@ public class PDEEditText extends EditText {
 
         // create agent controller
         mAgentController = new PDEAgentController();
+        // suspended until we're attached to a window
+        mAgentController.setViewAttached(getWindowToken() != null);
 
         // link it via appropriate adapter
         PDEAgentControllerAdapterView agentControllerAdapter = new PDEAgentControllerAdapterView();
@@ -202,6 +204,78 @@ public class PDEEditText extends EditText {
     }
 
 
+    /**
+     * @brief Resume the agent controller when we're attached to a window.
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        // security
+        if (mAgentController == null) return;
+
+        mAgentController.setViewAttached(true);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while we're detached from the window.
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        // security
+        if (mAgentController == null) return;
+
+        mAgentController.setViewAttached(false);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while we're temporarily detached (e.g. recycled by a list).
+     *
+     * Rows recycled by lists get no onDetachedFromWindow(), only the temporary detach.
+     */
+    @Override
+    public void onStartTemporaryDetach() {
+        super.onStartTemporaryDetach();
+
+        // security
+        if (mAgentController == null) return;
+
+        mAgentController.setViewAttached(false);
+    }
+
+
+    /**
+     * @brief Resume the agent controller when the temporary detach is over.
+     */
+    @Override
+    public void onFinishTemporaryDetach() {
+        super.onFinishTemporaryDetach();
+
+        // security
+        if (mAgentController == null) return;
+
+        mAgentController.setViewAttached(true);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while our window is not visible.
+     */
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        // security
+        if (mAgentController == null) return;
+
+        mAgentController.setViewVisible(visibility == VISIBLE);
+    }
+
+
     /**
      * @brief Private function - set the icon color.
      *
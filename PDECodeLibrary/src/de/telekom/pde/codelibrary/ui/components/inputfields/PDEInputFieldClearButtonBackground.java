@@ -54,6 +54,9 @@ class PDEInputFieldClearButtonBackground extends PDEAbsoluteLayout implements PD
     private PDEParameterDictionary mParameters;
     private PDEParameter mParamColor;
 
+    // helper color for allocation free per-frame interpolation
+    private final PDEColor mInterpolatedColor = new PDEColor();
+
     // drawables
     private PDEDrawableShape mMainDrawable;
 
@@ -216,9 +219,9 @@ class PDEInputFieldClearButtonBackground extends PDEAbsoluteLayout implements PD
     protected void updateColors() {
         PDEColor mainColor;
 
-        // interpolate colors by calling complex logic color interpolation helper
+        // interpolate colors by calling complex logic color interpolation helper (into our helper color)
         mainColor = PDEComponentHelpers.interpolateColor(mParamColor, mAgentHelper,
-                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
+                PDEAgentHelper.PDEAgentHelperAnimationInteractive, null, mInterpolatedColor);
 
         // set the gradient and border colors
         getMainDrawable().setElementBackgroundColor(mainColor.getIntegerColor());
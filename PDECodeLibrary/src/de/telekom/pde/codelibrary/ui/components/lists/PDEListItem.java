@@ -62,6 +62,10 @@ public class PDEListItem extends LinearLayout implements PDEIEventSource {
 
     // colors
     protected PDEParameter PDEListItemGlobalParamColor;
+
+    // helper color for allocation free per-frame interpolation
+    private final PDEColor mInterpolatedColor = new PDEColor();
+
     public static PDEDictionary PDEListItemGlobalColorDefault = null;
 
     // inflater for the list item layout
@@ -159,6 +163,8 @@ public class PDEListItem extends LinearLayout implements PDEIEventSource {
         mAgentHelper = new PDEAgentHelper();
         // create agent controller
         mAgentController = new PDEAgentController();
+        // suspended until we're attached to a window
+        mAgentController.setViewAttached(getWindowToken() != null);
 
         // link it via appropriate adapter
         mAgentAdapter = new PDEAgentControllerAdapterView();
@@ -176,6 +182,63 @@ public class PDEListItem extends LinearLayout implements PDEIEventSource {
     }
 
 
+    /**
+     * @brief Resume the agent controller when we're attached to a window.
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        mAgentController.setViewAttached(true);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while we're detached from the window.
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        mAgentController.setViewAttached(false);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while we're temporarily detached (e.g. recycled by a list).
+     *
+     * Rows recycled by lists get no onDetachedFromWindow(), only the temporary detach.
+     */
+    @Override
+    public void onStartTemporaryDetach() {
+        super.onStartTemporaryDetach();
+
+        mAgentController.setViewAttached(false);
+    }
+
+
+    /**
+     * @brief Resume the agent controller when the temporary detach is over.
+     */
+    @Override
+    public void onFinishTemporaryDetach() {
+        super.onFinishTemporaryDetach();
+
+        mAgentController.setViewAttached(true);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller while our window is not visible.
+     */
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        mAgentController.setViewVisible(visibility == VISIBLE);
+    }
+
+
     /**
      * @brief Called on changes from agentController.
      */
@@ -203,7 +266,8 @@ public class PDEListItem extends LinearLayout implements PDEIEventSource {
         PDEColor mainColor;
 
         mainColor = PDEComponentHelpers.interpolateColor(PDEListItemGlobalParamColor, mAgentHelper,
-                                                         PDEAgentHelper.PDEAgentHelperAnimationInteractive, null);
+                                                         PDEAgentHelper.PDEAgentHelperAnimationInteractive, null,
+                                                         mInterpolatedColor);
         setBackgroundColor(mainColor.getIntegerColor());
     }
 
@@ -76,6 +76,13 @@ public class PDESectionedListAdapter extends BaseAdapter {
 
     // helper adapter that holds the sections
     protected final SectionHeaderAndListAdapter mMainAdapter;
+
+    // position index (prefix sums): first list position of every section (its header, if shown) and of its first
+    // item; rebuilt lazily after sections or their data changed
+    private int[] mSectionStartPositions = new int[0];
+    private int[] mSectionItemStartPositions = new int[0];
+    private int mIndexedCount = 0;
+    private boolean mIndexValid = false;
     // type id constant of the section headers
     public final static int TYPE_SECTION_HEADER = 0;
 
@@ -129,6 +136,8 @@ public class PDESectionedListAdapter extends BaseAdapter {
         resolveViewTypeID(mMainAdapter.getItem(mMainAdapter.getCount() - 1));
         // register the data observer in order to stay in touch with data changes
         adapter.registerDataSetObserver(mInternalDataSetObserver);
+        // positions changed
+        invalidatePositionIndex();
 
         return mMainAdapter.getCount();
     }
@@ -168,6 +177,8 @@ public class PDESectionedListAdapter extends BaseAdapter {
         resolveViewTypeID(mMainAdapter.getItem(mMainAdapter.getCount() - 1));
         // register the data observer in order to stay in touch with data changes
         adapter.registerDataSetObserver(mInternalDataSetObserver);
+        // positions changed
+        invalidatePositionIndex();
 
         return mMainAdapter.getCount();
     }
@@ -194,6 +205,8 @@ public class PDESectionedListAdapter extends BaseAdapter {
         resolveViewTypeID(mMainAdapter.getItem(index));
         // register the data observer in order to stay in touch with data changes
         adapter.registerDataSetObserver(mInternalDataSetObserver);
+        // positions changed
+        invalidatePositionIndex();
 
         return mMainAdapter.getCount();
     }
@@ -235,6 +248,8 @@ public class PDESectionedListAdapter extends BaseAdapter {
         resolveViewTypeID(mMainAdapter.getItem(index));
         // register the data observer in order to stay in touch with data changes
         adapter.registerDataSetObserver(mInternalDataSetObserver);
+        // positions changed
+        invalidatePositionIndex();
 
         return mMainAdapter.getCount();
     }
@@ -267,21 +282,7 @@ public class PDESectionedListAdapter extends BaseAdapter {
      * @brief Get Section index for item (all items in all sections are counted).
      */
     public int getSectionForItem(int position) {
-        int currentPosition = 0;
-        int currentSection;
-        int itemsInSection;
-
-        for (currentSection = 0; currentSection < mMainAdapter.getCount(); currentSection++) {
-            itemsInSection = mMainAdapter.getSectionHeaderAndItemCount(currentSection);
-            if (position <= currentPosition + itemsInSection) {
-                return currentSection;
-            }
-
-            // no hit - update position
-            currentPosition += itemsInSection;
-        }
-
-        return -1;
+        return findSectionForPosition(position);
     }
 
 
@@ -302,54 +303,28 @@ public class PDESectionedListAdapter extends BaseAdapter {
      */
     @Override
     public Object getItem(int position) {
+        SectionHeaderAndListAdapter.SectionInfo info;
+        int section;
+
         // debug
         if (DEBUG) Log.d(LOG_TAG, "getItem(" + position + ")");
 
-        int currentPosition = 0;
-        int currentSection;
-        int itemsInSection;
+        // find section
+        section = findSectionForPosition(position);
+        if (section < 0) return null;
+        info = mMainAdapter.getItem(section);
 
-        for (currentSection = 0; currentSection < mMainAdapter.getCount(); currentSection++) {
-            // debug
-            if (DEBUG) Log.d(LOG_TAG, "getItem(" + position + ") currentPosition " + currentPosition + " for loop");
-            // get SectionInfo of the section
-            SectionHeaderAndListAdapter.SectionInfo info = mMainAdapter.getItem(currentSection);
-            // does the section show a header?
-            if (info.isShowHeader()) {
-                // debug
-                if (DEBUG) Log.d(LOG_TAG, "getItem(" + position + ") section " + currentSection + " has header");
-                // found?
-                if (position == currentPosition) {
-                    // the header is the item we were looking for
-                    return info;
-                }
-                currentPosition++;
-            } else {
-                // debug
-                if (DEBUG) Log.d(LOG_TAG, "getItem(" + position + ") section " + currentSection + " has NO header");
-            }
+        // the header is the item we were looking for
+        if (info.isShowHeader() && position == mSectionStartPositions[section]) return info;
 
-            // get number of items in the current section
-            itemsInSection = info.getAdapter().getCount();
-            // debug
-            if (DEBUG)
-                Log.d(LOG_TAG, "getItem(" + position + ") section " + currentSection + " has items: " + itemsInSection);
-            // is item within current section?
-            if (position - currentPosition <= itemsInSection) {
-                // debug
-                if (DEBUG) Log.d(LOG_TAG,
-                                 "getItem(" + position + ") section " + currentSection + " getItem " + (position
-                                                                                                        - currentPosition));
-                // return the item
-                return info.getAdapter().getItem(position - currentPosition);
-            }
-
-            // no hit - update position (jump to next section)
-            currentPosition += itemsInSection;
+        // debug
+        if (DEBUG) {
+            Log.d(LOG_TAG, "getItem(" + position + ") section " + section + " getItem "
+                           + (position - mSectionItemStartPositions[section]));
         }
 
-        // nothing found
-        return null;
+        // return the item
+        return info.getAdapter().getItem(position - mSectionItemStartPositions[section]);
     }
 
 
@@ -361,17 +336,12 @@ public class PDESectionedListAdapter extends BaseAdapter {
     @Override
     public int getCount() {
         // total together all sections, plus one for each section header
-        int total = 0;
-        int currentSection;
-
-        for (currentSection = 0; currentSection < mMainAdapter.getCount(); currentSection++) {
-            total += mMainAdapter.getSectionHeaderAndItemCount(currentSection);
-        }
+        ensurePositionIndex();
 
         // debug
-        if (DEBUG) Log.d(LOG_TAG, "getCount -> " + total);
+        if (DEBUG) Log.d(LOG_TAG, "getCount -> " + mIndexedCount);
 
-        return total;
+        return mIndexedCount;
     }
 
 
@@ -417,53 +387,37 @@ public class PDESectionedListAdapter extends BaseAdapter {
      */
     @Override
     public int getItemViewType(int position) {
-        int currentPosition = -1;
-        int sectionSize, currentSection;
-
-        for (currentSection = 0; currentSection < mMainAdapter.getCount(); currentSection++) {
-            // get SectionInfo of the section
-            SectionHeaderAndListAdapter.SectionInfo info = mMainAdapter.getItem(currentSection);
-            // does the section show a header?
-            if (info.isShowHeader()) {
-                currentPosition++;
-                if (position == currentPosition) {
-                    //debug
-                    if (DEBUG) {
-                        Log.d(LOG_TAG,
-                              "title " + info.getTitle() + " getItemViewType(" + position + ") -> TYPE_SECTION_HEADER");
-                    }
-                    // item is a header
-                    return TYPE_SECTION_HEADER;
-                }
-            }
+        SectionHeaderAndListAdapter.SectionInfo info;
+        int section, viewType;
 
-            // get number of section elements
-            sectionSize = info.getAdapter().getCount();
-            // is the item within the current section?
-            if (position <= currentPosition + sectionSize) {
-                if (DEBUG) {
-                    Log.d(LOG_TAG, "title " + info.getTitle() +
-                                   " getItemViewType(" + position + ") -> " +
-                                   (((uniqueTypeIDAutoAssignment) ? info.getTypeID() : 0)
-                                    + info.getAdapter().getItemViewType(position - currentPosition)));
-                }
-
-                // if auto assignment is on, deliver unique type id
-                return ((uniqueTypeIDAutoAssignment) ? info.getTypeID() : 0)
-                       + info.getAdapter().getItemViewType(position - currentPosition);
+        // find section
+        section = findSectionForPosition(position);
+        if (section < 0) {
+            // debug
+            if (DEBUG) Log.d(LOG_TAG, "getItemViewType(" + position + ") -> -1");
+            // not found
+            return -1;
+        }
+        info = mMainAdapter.getItem(section);
 
+        // item is a header
+        if (info.isShowHeader() && position == mSectionStartPositions[section]) {
+            //debug
+            if (DEBUG) {
+                Log.d(LOG_TAG,
+                      "title " + info.getTitle() + " getItemViewType(" + position + ") -> TYPE_SECTION_HEADER");
             }
-            // jump to next section
-            currentPosition += sectionSize;
+            return TYPE_SECTION_HEADER;
         }
 
+        // if auto assignment is on, deliver unique type id
+        viewType = ((uniqueTypeIDAutoAssignment) ? info.getTypeID() : 0)
+                   + info.getAdapter().getItemViewType(position - mSectionItemStartPositions[section]);
+
         // debug
-        if (DEBUG) {
-            Log.d(LOG_TAG, "getItemViewType(" + position + ") -> -1");
-        }
+        if (DEBUG) Log.d(LOG_TAG, "title " + info.getTitle() + " getItemViewType(" + position + ") -> " + viewType);
 
-        // not found
-        return -1;
+        return viewType;
     }
 
 
@@ -521,94 +475,65 @@ public class PDESectionedListAdapter extends BaseAdapter {
      */
     @Override
     public View getView(int position, View convertView, ViewGroup parent) {
+        SectionHeaderAndListAdapter.SectionInfo info;
         PDEListItem convertWrapperView;
         View contentView;
-        int size;
-        int currentPosition = 0;
-        int currentSection;
+        int section, sectionPosition;
 
         if (DEBUG) Log.d(LOG_TAG, "getView(" + position + ")");
 
-        // go through all sections
-        for (currentSection = 0; currentSection < mMainAdapter.getCount(); currentSection++) {
-            // get Section Info of current section
-            SectionHeaderAndListAdapter.SectionInfo info = mMainAdapter.getItem(currentSection);
-
-            // debug
-            if (DEBUG) {
-                Log.d(LOG_TAG, "getView(" + position + ") currentPosition: " + currentPosition + " currentSection: "
-                               + currentSection);
-            }
+        // find section
+        section = findSectionForPosition(position);
+        if (section < 0) {
+            // nothing found
+            return null;
+        }
 
-            // check if the section should show a section header
-            if (info.isShowHeader()) {
-                if (currentPosition == position) {
-                    if (DEBUG) Log.d(LOG_TAG, "getView(" + position + ") mMainAdapter.getView(" + currentSection + ")");
-                    return mMainAdapter.getView(currentSection, convertView, parent);
-                }
+        // get Section Info of the section
+        info = mMainAdapter.getItem(section);
 
-                // it is not the header
-                currentPosition++;
-            }
+        // is it the section header?
+        if (info.isShowHeader() && position == mSectionStartPositions[section]) {
+            if (DEBUG) Log.d(LOG_TAG, "getView(" + position + ") mMainAdapter.getView(" + section + ")");
+            return mMainAdapter.getView(section, convertView, parent);
+        }
 
-            // get number of items in the current section
-            size = info.getAdapter().getCount();
-
-            // check if the item we're looking for is within the current section
-            if (position < currentPosition + size) {
-                // debug
-                if (DEBUG) {
-                    Log.d(LOG_TAG,
-                          "getView(" + position + ") position is in this section " + currentPosition + " size: "
-                          + size);
-                }
-
-                // check if we have a convertView which we can recycle
-                if (convertView != null && convertView instanceof PDEListItem) {
-                    convertWrapperView = (PDEListItem) convertView;
-                    // debug
-                    if (DEBUG) {
-                        Log.d(LOG_TAG, "getView(" + position + ") section.getView(" + (position - currentPosition));
-                    }
-
-                    // get the content view (without PDEListItem wrapping)
-                    contentView = info.getAdapter().getView(position - currentPosition,
-                                                            convertWrapperView.getContentView(),
-                                                            parent);
-                    // if the content of the convertView and the fetched content are not the same, set the new content
-                    if (contentView != convertWrapperView.getContentView()) {
-                        convertWrapperView.setContentView(contentView);
-                    }
-                    // remember list position
-                    convertWrapperView.setListPosition(position);
-                    // debug
-                    if (DEBUG) Log.d(LOG_TAG, "recycled");
-                    // deliver wrapped View
-                    return convertWrapperView;
-                } else {
-                    contentView = info.getAdapter().getView(position - currentPosition, convertView, parent);
-                    // create list item
-                    PDEListItem listItem = new PDEListItem(PDECodeLibrary.getInstance().getApplicationContext());
-                    // remember list position
-                    listItem.setListPosition(position);
-                    // set content view
-                    listItem.setContentView(contentView);
-                    // add event listener
-                    listItem.addListener(parent, "onPDEListItemClicked"); // ToDo: check if already set
-                    // debug
-                    if (DEBUG) Log.d(LOG_TAG, "new view");
-                    // return list item
-                    return listItem;
-                }
+        // position within the section
+        sectionPosition = position - mSectionItemStartPositions[section];
 
+        // check if we have a convertView which we can recycle
+        if (convertView != null && convertView instanceof PDEListItem) {
+            convertWrapperView = (PDEListItem) convertView;
+            // debug
+            if (DEBUG) Log.d(LOG_TAG, "getView(" + position + ") section.getView(" + sectionPosition);
 
+            // get the content view (without PDEListItem wrapping)
+            contentView = info.getAdapter().getView(sectionPosition, convertWrapperView.getContentView(), parent);
+            // if the content of the convertView and the fetched content are not the same, set the new content
+            if (contentView != convertWrapperView.getContentView()) {
+                convertWrapperView.setContentView(contentView);
             }
-            // jump to next section
-            currentPosition += size;
+            // remember list position
+            convertWrapperView.setListPosition(position);
+            // debug
+            if (DEBUG) Log.d(LOG_TAG, "recycled");
+            // deliver wrapped View
+            return convertWrapperView;
+        } else {
+            contentView = info.getAdapter().getView(sectionPosition, convertView, parent);
+            // create list item
+            PDEListItem listItem = new PDEListItem(PDECodeLibrary.getInstance().getApplicationContext());
+            // remember list position
+            listItem.setListPosition(position);
+            // set content view
+            listItem.setContentView(contentView);
+            // add event listener
+            listItem.addListener(parent, "onPDEListItemClicked"); // ToDo: check if already set
+            // debug
+            if (DEBUG) Log.d(LOG_TAG, "new view");
+            // return list item
+            return listItem;
         }
-
-        // nothing found
-        return null;
     }
 
 
@@ -661,6 +586,102 @@ public class PDESectionedListAdapter extends BaseAdapter {
     public boolean isUniqueTypeIDAutoAssigned() {
         return uniqueTypeIDAutoAssignment;
     }
-}
 
 
+    /**
+     * @brief Notify the attached observers that the underlying data has been changed.
+     *
+     * Also call this after changing the header visibility of a section.
+     */
+    @Override
+    public void notifyDataSetChanged() {
+        // positions might have changed
+        invalidatePositionIndex();
+        super.notifyDataSetChanged();
+    }
+
+
+    /**
+     * @brief Notify the attached observers that the underlying data is no longer valid.
+     */
+    @Override
+    public void notifyDataSetInvalidated() {
+        // positions might have changed
+        invalidatePositionIndex();
+        super.notifyDataSetInvalidated();
+    }
+
+
+//----- position index -------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Mark the position index as outdated; it's rebuilt on the next access.
+     */
+    protected void invalidatePositionIndex() {
+        mIndexValid = false;
+    }
+
+
+    /**
+     * @brief Rebuild the position index if necessary.
+     */
+    private void ensurePositionIndex() {
+        int sectionCount, section, position;
+        SectionHeaderAndListAdapter.SectionInfo info;
+
+        // anything to do?
+        if (mIndexValid) return;
+
+        // get storage
+        sectionCount = mMainAdapter.getCount();
+        if (mSectionStartPositions.length != sectionCount) {
+            mSectionStartPositions = new int[sectionCount];
+            mSectionItemStartPositions = new int[sectionCount];
+        }
+
+        // sum up
+        position = 0;
+        for (section = 0; section < sectionCount; section++) {
+            info = mMainAdapter.getItem(section);
+            mSectionStartPositions[section] = position;
+            if (info.isShowHeader()) position++;
+            mSectionItemStartPositions[section] = position;
+            position += info.getAdapter().getCount();
+        }
+
+        // remember
+        mIndexedCount = position;
+        mIndexValid = true;
+    }
+
+
+    /**
+     * @brief Find the section of a list position by binary search.
+     *
+     * @return section index or -1 if the position is out of range.
+     */
+    private int findSectionForPosition(int position) {
+        int low, high, middle;
+
+        // index up to date?
+        ensurePositionIndex();
+
+        // security
+        if (position < 0 || position >= mIndexedCount) return -1;
+
+        // last section starting at or before the position (empty sections share the start of their successor)
+        low = 0;
+        high = mSectionStartPositions.length - 1;
+        while (low < high) {
+            middle = (low + high + 1) >>> 1;
+            if (mSectionStartPositions[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+}
@@ -14,12 +14,14 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import de.telekom.pde.codelibrary.ui.PDECodeLibrary;
 import de.telekom.pde.codelibrary.ui.components.elementwrappers.PDETextView;
 import de.telekom.pde.codelibrary.ui.components.lists.PDEListItem;
 import de.telekom.pde.codelibrary.ui.components.lists.internal.ClonedArrayAdapter;
+import de.telekom.pde.codelibrary.ui.components.lists.internal.ListDiffer;
 
 //----------------------------------------------------------------------------------------------------------------------
 // PDEArrayAdapter
@@ -36,6 +38,14 @@ import de.telekom.pde.codelibrary.ui.components.lists.internal.ClonedArrayAdapte
 public class PDEArrayAdapter<T> extends ClonedArrayAdapter<T> implements PDEListAdapterInterface {
     protected boolean mAutoPDEListItemWrapping = true;
 
+    // differ for submitted lists (knows which rows don't need to be bound again)
+    protected final ListDiffer<T> mDiffer = new ListDiffer<T>();
+    // true while a submitted list is applied
+    protected boolean mApplyingSubmittedList = false;
+    // the shown rows (and their data version) the last submitted list was diffed against
+    protected List<T> mSubmittedBaseObjects = null;
+    protected int mSubmittedBaseVersion = 0;
+
 
     /**
      * Constructor
@@ -269,7 +279,7 @@ public class PDEArrayAdapter<T> extends ClonedArrayAdapter<T> implements PDEList
                 // get old ContentView
                 oldContentView = convertWrapperView.getContentView();
                 // get new contentView
-                newContentView = super.getView(position, oldContentView, parent);
+                newContentView = bindContentView(position, oldContentView, parent);
                 // if new contentView differs from old contentView remember it
                 if (newContentView != oldContentView) {
                     // remember new content view
@@ -285,7 +295,7 @@ public class PDEArrayAdapter<T> extends ClonedArrayAdapter<T> implements PDEList
                 // remember list position
                 listItem.setListPosition(position);
                 // get new content view
-                newContentView = super.getView(position, null, parent);
+                newContentView = bindContentView(position, null, parent);
                 // wrap new content view into PDE list item
                 listItem.setContentView(newContentView);
                 // add event listener
@@ -295,8 +305,117 @@ public class PDEArrayAdapter<T> extends ClonedArrayAdapter<T> implements PDEList
         } else {
             // if auto PDE List Item wrapping is turned off, some parent adapter cares about the correct highlighting
             // and we don't have to do it.
-            return super.getView(position, convertView, parent);
+            return bindContentView(position, convertView, parent);
+        }
+    }
+
+
+    /**
+     * @brief Deliver the content view for a position; recycled views which still show the same item are kept as
+     * they are.
+     */
+    protected View bindContentView(int position, View convertView, ViewGroup parent) {
+        View view;
+        T item;
+
+        // unchanged by the last submitted list? -> no need to bind again
+        item = getItem(position);
+        if (mDiffer.canReuse(convertView, position, item)) return convertView;
+
+        // bind
+        view = super.getView(position, convertView, parent);
+        mDiffer.setBoundItem(view, item);
+
+        return view;
+    }
+
+
+// ---------------- Submitting Lists -------------------------------------------------------------
+
+
+    /**
+     * @brief Replace the whole data set by a new list.
+     *
+     * The new list is compared with the currently shown rows on a worker thread; afterwards the data is replaced on
+     * the main thread with one single notification (none at all if nothing changed). Rows whose items are equal
+     * (equals()) to the items they showed before are not bound again. If several lists are submitted in a row,
+     * only the last one is applied. An active filter is dropped when the new list is applied; this and any other
+     * change of the data while diffing always notifies.
+     *
+     * Must be called on the main thread. The list must not be modified after submitting it, and the item's equals()
+     * must be safe to call from a background thread.
+     *
+     * @param list The new data.
+     */
+    @SuppressWarnings("unused")
+    public void submitList(List<T> list) {
+        ArrayList<T> currentList;
+
+        // take the shown rows (filtered, if a filter is active)
+        synchronized (mLock) {
+            currentList = new ArrayList<T>(mObjects);
+            mSubmittedBaseObjects = mObjects;
+            mSubmittedBaseVersion = mDataVersion;
         }
+
+        // diff in the background, apply on the main thread
+        mDiffer.submitList(currentList, list, new ListDiffer.Callback<T>() {
+            @Override
+            public void onListDiffed(List<T> newList, boolean changed) {
+                applySubmittedList(newList, changed);
+            }
+        });
+    }
+
+
+    /**
+     * @brief Replace the data set by a diffed list and notify once.
+     */
+    protected void applySubmittedList(List<T> list, boolean changed) {
+        // replace the data (the adapter keeps its own modifiable copy)
+        synchronized (mLock) {
+            // filter dropped or rows changed since diffing? -> the diff doesn't describe the change
+            if (mOriginalValues != null || mObjects != mSubmittedBaseObjects || mDataVersion != mSubmittedBaseVersion) {
+                changed = true;
+            }
+            mSubmittedBaseObjects = null;
+            mOriginalValues = null;
+            mObjects = new ArrayList<T>(list);
+            mDataVersion++;
+        }
+
+        // nothing to show?
+        if (!changed) return;
+
+        // notify once, keeping the knowledge about unchanged rows
+        mApplyingSubmittedList = true;
+        try {
+            notifyDataSetChanged();
+        } finally {
+            mApplyingSubmittedList = false;
+        }
+    }
+
+
+    /**
+     * @brief Notify the attached observers that the underlying data has been changed.
+     */
+    @Override
+    public void notifyDataSetChanged() {
+        // changed in another way than by submitting a list? -> all rows need to be bound again
+        if (!mApplyingSubmittedList) mDiffer.reset();
+        super.notifyDataSetChanged();
+    }
+
+
+    /**
+     * @brief Notify the attached observers that the underlying data is no longer valid.
+     */
+    @Override
+    public void notifyDataSetInvalidated() {
+        // all rows need to be bound again
+        mDiffer.reset();
+        super.notifyDataSetInvalidated();
     }
 
 }
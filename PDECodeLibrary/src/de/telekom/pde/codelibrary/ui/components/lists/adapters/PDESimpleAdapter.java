@@ -11,13 +11,17 @@ package de.telekom.pde.codelibrary.ui.components.lists.adapters;
 import android.content.Context;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Filter;
 import android.widget.SimpleAdapter;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import de.telekom.pde.codelibrary.ui.PDECodeLibrary;
 import de.telekom.pde.codelibrary.ui.components.lists.PDEListItem;
+import de.telekom.pde.codelibrary.ui.components.lists.internal.ListDiffer;
 import de.telekom.pde.codelibrary.ui.components.lists.viewbinders.PDESimpleAdapterViewBinder;
 
 //----------------------------------------------------------------------------------------------------------------------
@@ -38,6 +42,56 @@ public class PDESimpleAdapter extends SimpleAdapter implements PDEListAdapterInt
     // flag for automatic PDEListItem wrapping
     protected boolean mAutoPDEListItemWrapping = true;
 
+    // the shown rows; SimpleAdapter reads its data only through this list
+    protected final Rows mRows;
+    // the unfiltered rows while a filter is active (null otherwise)
+    protected List<? extends Map<String, ?>> mUnfilteredRows = null;
+    // column names the filter looks at
+    protected final String[] mFrom;
+    // guards the row lists between the main thread and the filter thread
+    protected final Object mLock = new Object();
+    protected RowFilter mFilter = null;
+    // differ for submitted lists (knows which rows don't need to be bound again)
+    protected final ListDiffer<Map<String, ?>> mDiffer = new ListDiffer<Map<String, ?>>();
+    // true while a submitted list is applied
+    protected boolean mApplyingSubmittedList = false;
+    // the shown rows the last submitted list was diffed against
+    protected List<? extends Map<String, ?>> mSubmittedBaseRows = null;
+    protected int mSubmittedBaseCount = 0;
+
+
+    /**
+     * @brief The rows handed to SimpleAdapter; a read-only view onto an exchangeable list.
+     *
+     * SimpleAdapter keeps its data list private, so instead of exchanging that list the list behind this view is
+     * exchanged (by filtering and by submitting lists). The list given to the constructor is never modified.
+     */
+    protected static class Rows extends AbstractList<Map<String, ?>> {
+        private List<? extends Map<String, ?>> mList;
+
+        Rows(List<? extends Map<String, ?>> list) {
+            mList = list;
+        }
+
+        @Override
+        public Map<String, ?> get(int location) {
+            return mList.get(location);
+        }
+
+        @Override
+        public int size() {
+            return mList.size();
+        }
+
+        List<? extends Map<String, ?>> getList() {
+            return mList;
+        }
+
+        void setList(List<? extends Map<String, ?>> list) {
+            mList = list;
+        }
+    }
+
 
     /**
      * Constructor
@@ -56,7 +110,18 @@ public class PDESimpleAdapter extends SimpleAdapter implements PDEListAdapterInt
      */
     public PDESimpleAdapter(Context context, List<? extends Map<String, ?>> data,
                             int resource, String[] from, int[] to) {
-        super(context, data, resource, from, to);
+        this(context, new Rows(data), resource, from, to);
+    }
+
+
+    /**
+     * @brief Constructor working on the exchangeable row list.
+     */
+    private PDESimpleAdapter(Context context, Rows rows, int resource, String[] from, int[] to) {
+        super(context, rows, resource, from, to);
+        // remember the rows for filtering and submitting new lists
+        mRows = rows;
+        mFrom = from;
         // custom view binder that enables the handling of the PDE views
         setViewBinder(new PDESimpleAdapterViewBinder());
     }
@@ -108,7 +173,7 @@ public class PDESimpleAdapter extends SimpleAdapter implements PDEListAdapterInt
                 // get old ContentView
                 oldContentView = convertWrapperView.getContentView();
                 // get new contentView
-                newContentView = super.getView(position, oldContentView, parent);
+                newContentView = bindContentView(position, oldContentView, parent);
                 // if new contentView differs from old contentView remember it
                 if (newContentView != oldContentView) {
                     // remember new content view
@@ -124,7 +189,7 @@ public class PDESimpleAdapter extends SimpleAdapter implements PDEListAdapterInt
                 // remember list position
                 listItem.setListPosition(position);
                 // get new content view
-                newContentView = super.getView(position, null, parent);
+                newContentView = bindContentView(position, null, parent);
                 // wrap new content view into PDE list item
                 listItem.setContentView(newContentView);
                 // add event listener
@@ -134,7 +199,216 @@ public class PDESimpleAdapter extends SimpleAdapter implements PDEListAdapterInt
         } else {
             // if auto PDE List Item wrapping is turned off, some parent adapter cares about the correct highlighting
             // and we don't have to do it.
-            return super.getView(position, convertView, parent);
+            return bindContentView(position, convertView, parent);
+        }
+    }
+
+
+    /**
+     * @brief Deliver the content view for a position; recycled views which still show the same item are kept as
+     * they are.
+     */
+    @SuppressWarnings("unchecked")
+    protected View bindContentView(int position, View convertView, ViewGroup parent) {
+        Map<String, ?> item;
+        View view;
+
+        // unchanged by the last submitted list? -> no need to bind again
+        item = (Map<String, ?>) getItem(position);
+        if (mDiffer.canReuse(convertView, position, item)) return convertView;
+
+        // bind
+        view = super.getView(position, convertView, parent);
+        mDiffer.setBoundItem(view, item);
+
+        return view;
+    }
+
+
+// ---------------- Submitting Lists -------------------------------------------------------------
+
+
+    /**
+     * @brief Replace the whole data set by a new list.
+     *
+     * The new list is compared with the currently shown rows on a worker thread; afterwards the data is replaced on
+     * the main thread with one single notification (none at all if nothing changed). Rows whose maps are equal to
+     * the maps they showed before are not bound again. If several lists are submitted in a row, only the last one is
+     * applied. An active filter is dropped when the new list is applied; this and any other change of the shown rows
+     * while diffing always notifies (and binds all rows again).
+     *
+     * The adapter shows a copy of the new list from then on; the list given to the constructor is not modified.
+     * Must be called on the main thread.
+     *
+     * @param list The new data.
+     */
+    @SuppressWarnings("unused")
+    public void submitList(List<? extends Map<String, ?>> list) {
+        ArrayList<Map<String, ?>> currentList;
+
+        // take the shown rows (filtered, if a filter is active)
+        synchronized (mLock) {
+            currentList = new ArrayList<Map<String, ?>>(mRows);
+            mSubmittedBaseRows = mRows.getList();
+            mSubmittedBaseCount = currentList.size();
+        }
+
+        // diff in the background, apply on the main thread
+        mDiffer.submitList(currentList, new ArrayList<Map<String, ?>>(list), new ListDiffer.Callback<Map<String, ?>>() {
+            @Override
+            public void onListDiffed(List<Map<String, ?>> newList, boolean changed) {
+                applySubmittedList(newList, changed);
+            }
+        });
+    }
+
+
+    /**
+     * @brief Replace the data set by a diffed list and notify once.
+     */
+    protected void applySubmittedList(List<Map<String, ?>> list, boolean changed) {
+        boolean rowsChanged;
+
+        // replace the shown rows (the list is our own copy) and drop the filter
+        synchronized (mLock) {
+            rowsChanged = mUnfilteredRows != null || mRows.getList() != mSubmittedBaseRows
+                          || mRows.size() != mSubmittedBaseCount;
+            mSubmittedBaseRows = null;
+            mUnfilteredRows = null;
+            mRows.setList(list);
+        }
+
+        // filter dropped or rows changed since diffing? -> the diff doesn't describe the change, bind everything
+        if (rowsChanged) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        // nothing to show?
+        if (!changed) return;
+
+        // notify once, keeping the knowledge about unchanged rows
+        mApplyingSubmittedList = true;
+        try {
+            notifyDataSetChanged();
+        } finally {
+            mApplyingSubmittedList = false;
+        }
+    }
+
+
+    /**
+     * @brief Notify the attached observers that the underlying data has been changed.
+     */
+    @Override
+    public void notifyDataSetChanged() {
+        // changed in another way than by submitting a list? -> all rows need to be bound again
+        if (!mApplyingSubmittedList) mDiffer.reset();
+        super.notifyDataSetChanged();
+    }
+
+
+    /**
+     * @brief Notify the attached observers that the underlying data is no longer valid.
+     */
+    @Override
+    public void notifyDataSetInvalidated() {
+        // all rows need to be bound again
+        mDiffer.reset();
+        super.notifyDataSetInvalidated();
+    }
+
+
+// ---------------- Filtering -------------------------------------------------------------
+
+
+    /**
+     * @brief Get the filter; it works like the one of SimpleAdapter, but on our exchangeable rows.
+     */
+    @Override
+    public Filter getFilter() {
+        if (mFilter == null) {
+            mFilter = new RowFilter();
+        }
+        return mFilter;
+    }
+
+
+    /**
+     * @brief Filter for the rows; keeps the rows whose column values (of "from") contain a word starting with the
+     * prefix. An empty prefix drops the filter.
+     */
+    protected class RowFilter extends Filter {
+
+        @Override
+        protected FilterResults performFiltering(CharSequence prefix) {
+            FilterResults results = new FilterResults();
+            ArrayList<Map<String, ?>> values, newValues;
+            String prefixString;
+            Object value;
+
+            // take the unfiltered rows
+            synchronized (mLock) {
+                values = new ArrayList<Map<String, ?>>((mUnfilteredRows != null) ? mUnfilteredRows : mRows);
+            }
+
+            // no filter?
+            if (prefix == null || prefix.length() == 0) {
+                results.values = null;
+                results.count = values.size();
+                return results;
+            }
+
+            // filter
+            prefixString = prefix.toString().toLowerCase();
+            newValues = new ArrayList<Map<String, ?>>();
+            for (Map<String, ?> row : values) {
+                if (row == null) continue;
+                rowLoop:
+                for (String column : mFrom) {
+                    value = row.get(column);
+                    if (value == null) continue;
+                    for (String word : value.toString().split(" ")) {
+                        if (word.toLowerCase().startsWith(prefixString)) {
+                            newValues.add(row);
+                            break rowLoop;
+                        }
+                    }
+                }
+            }
+
+            results.values = newValues;
+            results.count = newValues.size();
+
+            return results;
+        }
+
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected void publishResults(CharSequence constraint, FilterResults results) {
+            synchronized (mLock) {
+                if (results.values == null) {
+                    // filter dropped -> show the unfiltered rows again
+                    if (mUnfilteredRows != null) {
+                        mRows.setList(mUnfilteredRows);
+                        mUnfilteredRows = null;
+                    }
+                } else {
+                    // filter -> remember the unfiltered rows once
+                    if (mUnfilteredRows == null) {
+                        mUnfilteredRows = mRows.getList();
+                    }
+                    //noinspection unchecked
+                    mRows.setList((List<Map<String, ?>>) results.values);
+                }
+            }
+
+            if (results.count > 0) {
+                notifyDataSetChanged();
+            } else {
+                notifyDataSetInvalidated();
+            }
         }
     }
 }
@@ -118,6 +118,10 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
     protected ArrayList<T> mOriginalValues;
     protected ArrayFilter mFilter;
 
+    // Counts the modifications of the array (guarded by mLock), so the filter knows when its
+    // token index is outdated.
+    protected int mDataVersion = 0;
+
     protected LayoutInflater mInflater;
 
 
@@ -212,6 +216,7 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
             } else {
                 mObjects.add(object);
             }
+            mDataVersion++;
         }
         if (mNotifyOnChange) notifyDataSetChanged();
     }
@@ -230,6 +235,7 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
             } else {
                 mObjects.addAll(collection);
             }
+            mDataVersion++;
         }
         if (mNotifyOnChange) notifyDataSetChanged();
     }
@@ -248,6 +254,7 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
             } else {
                 Collections.addAll(mObjects, items);
             }
+            mDataVersion++;
         }
         if (mNotifyOnChange) notifyDataSetChanged();
     }
@@ -266,6 +273,7 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
             } else {
                 mObjects.add(index, object);
             }
+            mDataVersion++;
         }
         if (mNotifyOnChange) notifyDataSetChanged();
     }
@@ -283,6 +291,7 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
             } else {
                 mObjects.remove(object);
             }
+            mDataVersion++;
         }
         if (mNotifyOnChange) notifyDataSetChanged();
     }
@@ -298,6 +307,7 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
             } else {
                 mObjects.clear();
             }
+            mDataVersion++;
         }
         if (mNotifyOnChange) notifyDataSetChanged();
     }
@@ -317,6 +327,7 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
             } else {
                 Collections.sort(mObjects, comparator);
             }
+            mDataVersion++;
         }
         if (mNotifyOnChange) notifyDataSetChanged();
     }
@@ -507,56 +518,46 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
      * <p>An array filter constrains the content of the array adapter with
      * a prefix. Each item that does not start with the supplied prefix
      * is removed from the list.</p>
+     *
+     * <p>The filter keeps a sorted token index of the array (see {@link PrefixFilterIndex}),
+     * which is built once per data set and answers every prefix by range lookup. The index
+     * relies on the item texts; if the toString() of items changes without a modification
+     * of the array, the index isn't rebuilt.</p>
      */
     protected class ArrayFilter extends Filter {
+        // token index of the original values and the data version it was built for
+        // (only used on the filter thread)
+        protected PrefixFilterIndex<T> mIndex = null;
+        protected int mIndexVersion = 0;
+
         @Override
         protected FilterResults performFiltering(CharSequence prefix) {
             FilterResults results = new FilterResults();
+            ArrayList<T> values = null;
+            int version;
 
-            if (mOriginalValues == null) {
-                synchronized (mLock) {
+            synchronized (mLock) {
+                if (mOriginalValues == null) {
                     mOriginalValues = new ArrayList<T>(mObjects);
                 }
+                // take a snapshot only if needed
+                version = mDataVersion;
+                if (mIndex == null || mIndexVersion != version || prefix == null || prefix.length() == 0) {
+                    values = new ArrayList<T>(mOriginalValues);
+                }
             }
 
             if (prefix == null || prefix.length() == 0) {
-                ArrayList<T> list;
-                synchronized (mLock) {
-                    list = new ArrayList<T>(mOriginalValues);
-                }
-                results.values = list;
-                results.count = list.size();
+                results.values = values;
+                results.count = values.size();
             } else {
-                String prefixString = prefix.toString().toLowerCase();
-
-                ArrayList<T> values;
-                synchronized (mLock) {
-                    values = new ArrayList<T>(mOriginalValues);
+                // (re)build the index once per data set
+                if (values != null) {
+                    mIndex = new PrefixFilterIndex<T>(values);
+                    mIndexVersion = version;
                 }
 
-                final int count = values.size();
-                final ArrayList<T> newValues = new ArrayList<T>();
-
-                for (int i = 0; i < count; i++) {
-                    final T value = values.get(i);
-                    final String valueText = value.toString().toLowerCase();
-
-                    // First match against the whole, non-splitted value
-                    if (valueText.startsWith(prefixString)) {
-                        newValues.add(value);
-                    } else {
-                        final String[] words = valueText.split(" ");
-                        final int wordCount = words.length;
-
-                        // Start at index 0, in case valueText starts with space(s)
-                        for (int k = 0; k < wordCount; k++) {
-                            if (words[k].startsWith(prefixString)) {
-                                newValues.add(value);
-                                break;
-                            }
-                        }
-                    }
-                }
+                final ArrayList<T> newValues = mIndex.filter(prefix.toString().toLowerCase());
 
                 results.values = newValues;
                 results.count = newValues.size();
@@ -580,4 +581,4 @@ public class ClonedArrayAdapter<T> extends BaseAdapter implements Filterable {
     }
 }
 
-/// @endcond INTERNAL_CLASS
\ No newline at end of file
+/// @endcond INTERNAL_CLASS
@@ -0,0 +1,263 @@
+/*
+ * Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2014. Neuland Multimedia GmbH.
+ */
+
+
+/// @cond INTERNAL_CLASS
+package de.telekom.pde.codelibrary.ui.components.lists.internal;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+//----------------------------------------------------------------------------------------------------------------------
+// ListDiffer
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Helper for adapters which get complete new lists submitted.
+ *
+ * The new list is compared with the current one on a worker thread (items are compared with equals(), so equals()
+ * must be safe to call from a background thread). The adapter then gets the result on the main thread and can
+ * apply it with one single notification. If another list is submitted while the comparison is still running, only
+ * the latest list is applied.
+ *
+ * For every item of the new list the differ remembers the equal item instance of the old list. Views which still
+ * show this old instance don't need to be bound again: the adapter asks canReuse() before binding and tells the
+ * differ about new bindings with setBoundItem(). This knowledge is only valid until the adapter changes its data in
+ * another way; the adapter has to call reset() then.
+ *
+ * Must be used from the main thread.
+ */
+public class ListDiffer<T> {
+
+    /**
+     * @brief Receives the diffed list on the main thread.
+     */
+    public interface Callback<T> {
+        /**
+         * @brief Replace the adapter's data by the new list and notify (if something changed).
+         *
+         * @param newList The submitted list.
+         * @param changed false if the new list equals the old one item by item.
+         */
+        void onListDiffed(List<T> newList, boolean changed);
+    }
+
+
+    // shared worker thread for all differs
+    private static ExecutorService mExecutor = null;
+
+    // main thread handler for delivering results
+    private final Handler mMainHandler;
+
+    // number of submitted lists; results of older submits are dropped
+    private int mGeneration;
+
+    // for every position of the current list: equal instance of the previous list (or null)
+    private Object[] mPreviousItems;
+
+    // item each content view shows
+    private final WeakHashMap<View, Object> mBoundItems;
+
+
+    /**
+     * @brief Constructor.
+     */
+    public ListDiffer() {
+        mMainHandler = new Handler(Looper.getMainLooper());
+        mGeneration = 0;
+        mPreviousItems = null;
+        mBoundItems = new WeakHashMap<View, Object>();
+    }
+
+
+//----- submitting -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Compare a new list with the current one in the background and deliver it to the callback.
+     *
+     * @param currentList The list the adapter currently shows (it's copied right away).
+     * @param newList The new list; must not be modified after submitting.
+     * @param callback Gets the new list on the main thread (unless a newer list was submitted meanwhile).
+     */
+    public void submitList(List<T> currentList, final List<T> newList, final Callback<T> callback) {
+        final ArrayList<T> oldList;
+        final int generation;
+
+        // remember
+        oldList = new ArrayList<T>(currentList);
+        generation = ++mGeneration;
+
+        getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Object[] previousItems = findPreviousItems(oldList, newList);
+                final boolean changed = hasChanges(oldList, newList, previousItems);
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        // outdated?
+                        if (generation != mGeneration) return;
+
+                        // remember which views stay valid and deliver
+                        mPreviousItems = previousItems;
+                        callback.onListDiffed(newList, changed);
+                    }
+                });
+            }
+        });
+    }
+
+
+    /**
+     * @brief Forget the knowledge about unchanged items (after the adapter's data changed in another way).
+     */
+    public void reset() {
+        mPreviousItems = null;
+    }
+
+
+//----- binding --------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Check if a recycled content view already shows (an item equal to) the item of the position.
+     *
+     * If so, the view takes over the new item and doesn't need to be bound again.
+     */
+    public boolean canReuse(View view, int position, T item) {
+        Object bound;
+
+        // anything known?
+        if (view == null || mPreviousItems == null || position < 0 || position >= mPreviousItems.length) return false;
+
+        // does the view show the old instance of this item?
+        bound = mBoundItems.get(view);
+        if (bound == null || bound != mPreviousItems[position]) return false;
+
+        // remember the new instance
+        mBoundItems.put(view, item);
+        return true;
+    }
+
+
+    /**
+     * @brief Remember that a content view was bound to an item.
+     */
+    public void setBoundItem(View view, T item) {
+        if (view != null) mBoundItems.put(view, item);
+    }
+
+
+//----- helpers --------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief For every new item find an equal, not yet used item of the old list.
+     */
+    private static Object[] findPreviousItems(List<?> oldList, List<?> newList) {
+        HashMap<Object, ArrayList<Object>> unmatched;
+        ArrayList<Object> candidates;
+        Object[] previousItems;
+        boolean[] used;
+        int i, newCount, oldCount;
+
+        // get storage
+        newCount = newList.size();
+        oldCount = oldList.size();
+        previousItems = new Object[newCount];
+        used = new boolean[oldCount];
+
+        // the common case first: same item at the same position
+        for (i = 0; i < newCount && i < oldCount; i++) {
+            if (isEqual(oldList.get(i), newList.get(i))) {
+                previousItems[i] = oldList.get(i);
+                used[i] = true;
+            }
+        }
+
+        // match the rest by hashing (items moved, inserted or removed)
+        unmatched = new HashMap<Object, ArrayList<Object>>();
+        for (i = 0; i < oldCount; i++) {
+            if (used[i] || oldList.get(i) == null) continue;
+            candidates = unmatched.get(oldList.get(i));
+            if (candidates == null) {
+                candidates = new ArrayList<Object>(1);
+                unmatched.put(oldList.get(i), candidates);
+            }
+            candidates.add(oldList.get(i));
+        }
+        if (unmatched.isEmpty()) return previousItems;
+        for (i = 0; i < newCount; i++) {
+            if (previousItems[i] != null || newList.get(i) == null) continue;
+            candidates = unmatched.get(newList.get(i));
+            if (candidates != null && !candidates.isEmpty()) {
+                previousItems[i] = candidates.remove(candidates.size() - 1);
+            }
+        }
+
+        return previousItems;
+    }
+
+
+    /**
+     * @brief Check if the new list differs from the old one at any position.
+     */
+    private static boolean hasChanges(List<?> oldList, List<?> newList, Object[] previousItems) {
+        int i;
+
+        // different size?
+        if (oldList.size() != newList.size()) return true;
+
+        // every item must have its equal at the same position
+        for (i = 0; i < previousItems.length; i++) {
+            if (previousItems[i] != oldList.get(i)) return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * @brief Null safe equals.
+     */
+    private static boolean isEqual(Object a, Object b) {
+        return (a == null) ? (b == null) : a.equals(b);
+    }
+
+
+    /**
+     * @brief Get the shared worker thread (created on first use).
+     */
+    private static synchronized ExecutorService getExecutor() {
+        if (mExecutor == null) {
+            mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "PDEListDiffer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return mExecutor;
+    }
+}
+
+/// @endcond INTERNAL_CLASS
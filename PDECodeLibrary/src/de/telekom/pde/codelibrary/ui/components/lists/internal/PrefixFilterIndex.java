@@ -0,0 +1,252 @@
+/*
+ * Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2014. Neuland Multimedia GmbH.
+ */
+
+
+/// @cond INTERNAL_CLASS
+package de.telekom.pde.codelibrary.ui.components.lists.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//----------------------------------------------------------------------------------------------------------------------
+// PrefixFilterIndex
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Sorted token index answering the prefix queries of the array filter.
+ *
+ * Built once per data set. An item matches a prefix if its lowercased text starts with the prefix, or if one of its
+ * words (text split at single spaces) starts with it - the same rule as the Android array filter. The lowercased words
+ * and the lowercased full texts are kept in sorted arrays, so all matches of a prefix form one contiguous range which
+ * is found by binary search.
+ *
+ * If a query extends the previous query, the new range lies within the previous one; the search is then narrowed to
+ * the previous range.
+ *
+ * Not thread safe; meant to be used from the filter thread only.
+ */
+public class PrefixFilterIndex<T> {
+
+    // the indexed items
+    private final List<T> mValues;
+
+    // sorted lowercased words and the item index of every word
+    private final String[] mWords;
+    private final int[] mWordItems;
+
+    // sorted lowercased texts and the item index of every text
+    private final String[] mTexts;
+    private final int[] mTextItems;
+
+    // last query and its ranges (for narrowing)
+    private String mLastPrefix;
+    private int mLastWordStart;
+    private int mLastWordEnd;
+    private int mLastTextStart;
+    private int mLastTextEnd;
+
+    // marks for collecting matches in item order (reused)
+    private final boolean[] mMatched;
+
+
+    /**
+     * @brief Helper for sorting tokens together with their item index.
+     */
+    private static class Token implements Comparable<Token> {
+        String mText;
+        int mItem;
+
+        Token(String text, int item) {
+            mText = text;
+            mItem = item;
+        }
+
+        @Override
+        public int compareTo(Token another) {
+            int result = mText.compareTo(another.mText);
+            // keep item order for equal tokens
+            return (result != 0) ? result : (mItem - another.mItem);
+        }
+    }
+
+
+    /**
+     * @brief Build the index.
+     *
+     * @param values Snapshot of the items; must not be modified afterwards.
+     */
+    public PrefixFilterIndex(List<T> values) {
+        ArrayList<Token> words;
+        Token[] texts;
+        Token[] sortedWords;
+        String text;
+        int i, start, end, count;
+
+        // remember
+        mValues = values;
+        count = values.size();
+
+        // split all texts into words
+        texts = new Token[count];
+        words = new ArrayList<Token>(count * 2);
+        for (i = 0; i < count; i++) {
+            text = values.get(i).toString().toLowerCase();
+            texts[i] = new Token(text, i);
+            start = 0;
+            do {
+                end = text.indexOf(' ', start);
+                if (end < 0) end = text.length();
+                // empty words only match the empty prefix, which is never looked up
+                if (end > start) words.add(new Token(text.substring(start, end), i));
+                start = end + 1;
+            } while (start <= text.length());
+        }
+
+        // sort
+        Arrays.sort(texts);
+        sortedWords = words.toArray(new Token[words.size()]);
+        Arrays.sort(sortedWords);
+
+        // unpack into plain arrays
+        mTexts = new String[count];
+        mTextItems = new int[count];
+        for (i = 0; i < count; i++) {
+            mTexts[i] = texts[i].mText;
+            mTextItems[i] = texts[i].mItem;
+        }
+        mWords = new String[sortedWords.length];
+        mWordItems = new int[sortedWords.length];
+        for (i = 0; i < sortedWords.length; i++) {
+            mWords[i] = sortedWords[i].mText;
+            mWordItems[i] = sortedWords[i].mItem;
+        }
+
+        // init
+        mMatched = new boolean[count];
+        mLastPrefix = null;
+    }
+
+
+    /**
+     * @brief Get the indexed items.
+     */
+    public List<T> getValues() {
+        return mValues;
+    }
+
+
+    /**
+     * @brief Get all items matching the prefix, in their original order.
+     *
+     * @param prefix Lowercased, non-empty prefix.
+     */
+    public ArrayList<T> filter(String prefix) {
+        ArrayList<T> result;
+        int wordStart, wordEnd, textStart, textEnd, i, matchCount;
+
+        // narrow the previous ranges or search everything
+        if (mLastPrefix != null && prefix.startsWith(mLastPrefix)) {
+            wordStart = mLastWordStart;
+            wordEnd = mLastWordEnd;
+            textStart = mLastTextStart;
+            textEnd = mLastTextEnd;
+        } else {
+            wordStart = 0;
+            wordEnd = mWords.length;
+            textStart = 0;
+            textEnd = mTexts.length;
+        }
+
+        // words never contain spaces, so a prefix with a space can only match full texts
+        if (prefix.indexOf(' ') >= 0) {
+            wordEnd = wordStart;
+        } else {
+            wordStart = findRangeStart(mWords, wordStart, wordEnd, prefix);
+            wordEnd = findRangeEnd(mWords, wordStart, wordEnd, prefix);
+        }
+        textStart = findRangeStart(mTexts, textStart, textEnd, prefix);
+        textEnd = findRangeEnd(mTexts, textStart, textEnd, prefix);
+
+        // remember for the next query
+        mLastPrefix = prefix;
+        mLastWordStart = wordStart;
+        mLastWordEnd = wordEnd;
+        mLastTextStart = textStart;
+        mLastTextEnd = textEnd;
+
+        // mark matching items (an item may match with several words)
+        matchCount = 0;
+        for (i = wordStart; i < wordEnd; i++) {
+            if (!mMatched[mWordItems[i]]) {
+                mMatched[mWordItems[i]] = true;
+                matchCount++;
+            }
+        }
+        for (i = textStart; i < textEnd; i++) {
+            if (!mMatched[mTextItems[i]]) {
+                mMatched[mTextItems[i]] = true;
+                matchCount++;
+            }
+        }
+
+        // collect in original order and clear the marks
+        result = new ArrayList<T>(matchCount);
+        for (i = 0; i < mMatched.length && result.size() < matchCount; i++) {
+            if (mMatched[i]) {
+                mMatched[i] = false;
+                result.add(mValues.get(i));
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * @brief Binary search for the first token (within start..end) which is not smaller than the prefix.
+     */
+    private static int findRangeStart(String[] tokens, int start, int end, String prefix) {
+        int middle;
+
+        while (start < end) {
+            middle = (start + end) >>> 1;
+            if (tokens[middle].compareTo(prefix) < 0) {
+                start = middle + 1;
+            } else {
+                end = middle;
+            }
+        }
+
+        return start;
+    }
+
+
+    /**
+     * @brief Binary search for the first token (within start..end) behind all tokens starting with the prefix.
+     *
+     * Expects start to be the result of findRangeStart.
+     */
+    private static int findRangeEnd(String[] tokens, int start, int end, String prefix) {
+        int middle;
+
+        while (start < end) {
+            middle = (start + end) >>> 1;
+            if (tokens[middle].startsWith(prefix)) {
+                start = middle + 1;
+            } else {
+                end = middle;
+            }
+        }
+
+        return start;
+    }
+}
+
+/// @endcond INTERNAL_CLASS
@@ -9,6 +9,7 @@ package de.telekom.pde.codelibrary.ui.components.sliders;
 
 import de.telekom.pde.codelibrary.ui.events.PDEEvent;
 
+import java.util.EnumSet;
 import java.util.Set;
 
 
@@ -41,6 +42,25 @@ public class PDEEventSliderControllerState extends PDEEvent {
     protected float mSliderPageSizeUserRange;
     protected PDESlider mSlider;
 
+
+    /**
+     * @brief   Reset the event (including the slider data) for reuse.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        mSliderControllerId = 0;
+        mSliderControllerChanges = null;
+        mSliderChangeFromUser = false;
+        mSliderPosition = 0.0f;
+        mSliderStartPosition = 0.0f;
+        mSliderPageSize = 0.0f;
+        mSliderPositionUserRange = 0.0f;
+        mSliderStartPositionUserRange = 0.0f;
+        mSliderPageSizeUserRange = 0.0f;
+        mSlider = null;
+    }
+
     // ----- properties -----
 
     /**
@@ -61,10 +81,21 @@ public class PDEEventSliderControllerState extends PDEEvent {
 
     /**
      * @brief Inform about what changes where made on controller.
+     *
+     * Delivers a new modifiable set on every call (the controller shares its change sets between events).
      */
     @SuppressWarnings("unused")
     public Set<PDESliderController.PDESliderControllerChanges> getSliderControllerChanges() {
-        return mSliderControllerChanges;
+        EnumSet<PDESliderController.PDESliderControllerChanges> changes;
+
+        // security
+        if (mSliderControllerChanges == null) return null;
+
+        // copy
+        changes = EnumSet.noneOf(PDESliderController.PDESliderControllerChanges.class);
+        changes.addAll(mSliderControllerChanges);
+
+        return changes;
     }
 
 
@@ -368,6 +368,8 @@ public class PDESlider extends PDEAbsoluteLayout implements PDEIEventSource {
         if (mScrollHandler != null) {
             // remove listeners
             mScrollHandler.getEventSource().removeListenersForTarget(this);
+            // not shown by us anymore
+            mScrollHandler.setViewAttached(false);
         }
 
         // store scroller
@@ -387,6 +389,10 @@ public class PDESlider extends PDEAbsoluteLayout implements PDEIEventSource {
         mScrollHandler.addListener(this.mEventReceiver, "cbScrollHandlerBase",
                                    PDEAgentController.PDE_AGENT_CONTROLLER_EVENT_MASK);
 
+        // take over our attachment and visibility
+        mScrollHandler.setViewAttached(getWindowToken() != null);
+        mScrollHandler.setViewVisible(getWindowVisibility() == VISIBLE);
+
         // we also should be focusable, since there is a scrollHandler
         setFocusable(true);
     }
@@ -925,8 +931,21 @@ public class PDESlider extends PDEAbsoluteLayout implements PDEIEventSource {
     }
 
 
+    /**
+     * @brief Resume the agent controller of the scroll handler when we're attached to a window.
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (mScrollHandler != null) mScrollHandler.setViewAttached(true);
+    }
+
+
     /**
      * @brief Release Drag Access if this View is detached from it's window
+     *
+     * The agent controller of the scroll handler is suspended while we're detached.
      */
     @Override
     protected void onDetachedFromWindow() {
@@ -934,6 +953,45 @@ public class PDESlider extends PDEAbsoluteLayout implements PDEIEventSource {
 
         // release drag access
         releaseAllDragAccesses();
+
+        // suspend animations
+        if (mScrollHandler != null) mScrollHandler.setViewAttached(false);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller of the scroll handler while we're temporarily detached (e.g. recycled by a
+     *        list).
+     *
+     * Rows recycled by lists get no onDetachedFromWindow(), only the temporary detach.
+     */
+    @Override
+    public void onStartTemporaryDetach() {
+        super.onStartTemporaryDetach();
+
+        if (mScrollHandler != null) mScrollHandler.setViewAttached(false);
+    }
+
+
+    /**
+     * @brief Resume the agent controller of the scroll handler when the temporary detach is over.
+     */
+    @Override
+    public void onFinishTemporaryDetach() {
+        super.onFinishTemporaryDetach();
+
+        if (mScrollHandler != null) mScrollHandler.setViewAttached(true);
+    }
+
+
+    /**
+     * @brief Suspend the agent controller of the scroll handler while our window is not visible.
+     */
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        if (mScrollHandler != null) mScrollHandler.setViewVisible(visibility == VISIBLE);
     }
 
 //----- layout ---------------------------------------------------------------------------------------------------------
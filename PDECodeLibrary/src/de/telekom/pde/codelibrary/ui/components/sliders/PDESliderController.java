@@ -7,12 +7,15 @@
 
 package de.telekom.pde.codelibrary.ui.components.sliders;
 
+import de.telekom.pde.codelibrary.ui.events.PDEEventRecycler;
 import de.telekom.pde.codelibrary.ui.events.PDEEventSource;
 import de.telekom.pde.codelibrary.ui.events.PDEIEventSource;
 import de.telekom.pde.codelibrary.ui.events.PDEIEventSourceDelegate;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
 
@@ -130,6 +133,15 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
                 PDESliderControllerChanged_PageSize,
     }
 
+    // shared (unmodifiable) change sets for the events
+    private final static Set<PDESliderControllerChanges> CHANGES_POSITION
+            = Collections.unmodifiableSet(EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_Position));
+    private final static Set<PDESliderControllerChanges> CHANGES_START_POSITION
+            = Collections.unmodifiableSet(
+                    EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_StartPosition));
+    private final static Set<PDESliderControllerChanges> CHANGES_PAGE_SIZE
+            = Collections.unmodifiableSet(EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_PageSize));
+
 
     //----- properties -----
 
@@ -187,6 +199,11 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
      */
     private transient PDEEventSource mEventSource;
 
+    /**
+     * @brief Reused state events (sent on every slider move). Listeners must not keep them.
+     */
+    private transient PDEEventRecycler<PDEEventSliderControllerState> mStateEvents;
+
 
     // helper variables
     private boolean mUsesTwistedRange;
@@ -222,6 +239,9 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
         mEventSource.setEventDefaultSender(this, true);
         // set ourselves as delegate (optional)
         mEventSource.setEventSourceDelegate(this);
+
+        // event reuse
+        mStateEvents = createStateEventRecycler();
     }
 
 
@@ -596,8 +616,7 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
         // send first event to listeners
         willChangeEvent = createStateEvent();
         willChangeEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_DATA_WILL_CHANGE);
-        willChangeEvent.setSliderControllerChanges(
-                                        EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_Position));
+        willChangeEvent.setSliderControllerChanges(CHANGES_POSITION);
         willChangeEvent.setSliderChangeFromUser(fromUser);
         mEventSource.sendEvent(willChangeEvent);
 
@@ -630,21 +649,24 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
 
         }
 
+        // done with the first event
+        recycleStateEvent(willChangeEvent);
+
         // send event to change parameters
         didChangeEvent = createStateEvent();
         didChangeEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_ACTION_DID_CHANGE);
-        didChangeEvent.setSliderControllerChanges(
-                                        EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_Position));
+        didChangeEvent.setSliderControllerChanges(CHANGES_POSITION);
         didChangeEvent.setSliderChangeFromUser(fromUser);
         mEventSource.sendEvent(didChangeEvent);
+        recycleStateEvent(didChangeEvent);
 
         // send final event to inform listeners
         hasChangedEvent = createStateEvent();
         hasChangedEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_DATA_HAS_CHANGED);
-        hasChangedEvent.setSliderControllerChanges(
-                                        EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_Position));
+        hasChangedEvent.setSliderControllerChanges(CHANGES_POSITION);
         hasChangedEvent.setSliderChangeFromUser(fromUser);
         mEventSource.sendEvent(hasChangedEvent);
+        recycleStateEvent(hasChangedEvent);
     }
 
 
@@ -668,8 +690,7 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
         // send first event to listeners
         willChangeEvent = createStateEvent();
         willChangeEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_DATA_WILL_CHANGE);
-        willChangeEvent.setSliderControllerChanges(
-                                    EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_StartPosition));
+        willChangeEvent.setSliderControllerChanges(CHANGES_START_POSITION);
         mEventSource.sendEvent(willChangeEvent);
 
         // check if data has been changed. if yes change our data
@@ -700,19 +721,22 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
             }
         }
 
+        // done with the first event
+        recycleStateEvent(willChangeEvent);
+
         // send event to change parameters
         didChangeEvent = createStateEvent();
         didChangeEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_ACTION_DID_CHANGE);
-        didChangeEvent.setSliderControllerChanges(
-                                    EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_StartPosition));
+        didChangeEvent.setSliderControllerChanges(CHANGES_START_POSITION);
         mEventSource.sendEvent(didChangeEvent);
+        recycleStateEvent(didChangeEvent);
 
         // send final event to inform listeners
         hasChangedEvent = createStateEvent();
         hasChangedEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_DATA_HAS_CHANGED);
-        hasChangedEvent.setSliderControllerChanges(
-                                    EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_StartPosition));
+        hasChangedEvent.setSliderControllerChanges(CHANGES_START_POSITION);
         mEventSource.sendEvent(hasChangedEvent);
+        recycleStateEvent(hasChangedEvent);
     }
 
 
@@ -736,8 +760,7 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
         // send first event to listeners
         willChangeEvent = createStateEvent();
         willChangeEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_DATA_WILL_CHANGE);
-        willChangeEvent.setSliderControllerChanges(
-                                            EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_PageSize));
+        willChangeEvent.setSliderControllerChanges(CHANGES_PAGE_SIZE);
         mEventSource.sendEvent(willChangeEvent);
 
         // check if data has been changed. if yes change our data
@@ -769,19 +792,22 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
 
         }
 
+        // done with the first event
+        recycleStateEvent(willChangeEvent);
+
         // send event to change parameters
         didChangeEvent = createStateEvent();
         didChangeEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_ACTION_DID_CHANGE);
-        didChangeEvent.setSliderControllerChanges(
-                                        EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_PageSize));
+        didChangeEvent.setSliderControllerChanges(CHANGES_PAGE_SIZE);
         mEventSource.sendEvent(didChangeEvent);
+        recycleStateEvent(didChangeEvent);
 
         // send final event to inform listeners
         hasChangedEvent = createStateEvent();
         hasChangedEvent.setType(PDE_SLIDER_CONTROLLER_EVENT_DATA_HAS_CHANGED);
-        hasChangedEvent.setSliderControllerChanges(
-                                        EnumSet.of(PDESliderControllerChanges.PDESliderControllerChanged_PageSize));
+        hasChangedEvent.setSliderControllerChanges(CHANGES_PAGE_SIZE);
         mEventSource.sendEvent(hasChangedEvent);
+        recycleStateEvent(hasChangedEvent);
     }
 
 
@@ -844,8 +870,9 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
 
          PDEEventSliderControllerState event;
 
-         // create event
-         event = new PDEEventSliderControllerState();
+         // get a (reused) event; the recycler isn't serialized
+         if (mStateEvents == null) mStateEvents = createStateEventRecycler();
+         event = mStateEvents.obtain();
 
          // fill in data
          event.setSliderControllerId(-1);
@@ -864,6 +891,27 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
      }
 
 
+    /**
+     * @brief   Give back an event created by createStateEvent() after sending it.
+     */
+    private void recycleStateEvent(PDEEventSliderControllerState event) {
+        if (mStateEvents != null) mStateEvents.recycle(event);
+    }
+
+
+    /**
+     * @brief   Create the recycler for the state events.
+     */
+    private static PDEEventRecycler<PDEEventSliderControllerState> createStateEventRecycler() {
+        return new PDEEventRecycler<PDEEventSliderControllerState>() {
+            @Override
+            protected PDEEventSliderControllerState createEvent() {
+                return new PDEEventSliderControllerState();
+            }
+        };
+    }
+
+
     /**
      * @brief   Helper to turn given user coordinates positions back into 0..1 range.
      *
@@ -984,6 +1032,7 @@ public class PDESliderController implements PDEIEventSource, PDEIEventSourceDele
         event = createStateEvent();
         event.setType(PDE_SLIDER_CONTROLLER_EVENT_ACTION_INITIALIZE);
         mEventSource.sendEvent(event,listener);
+        recycleStateEvent(event);
     }
 
 
@@ -359,6 +359,22 @@ public abstract class PDESliderScrollHandlerBase implements PDEIEventSource {
         mAgentController.removeHighlight();
     }
 
+
+    /**
+     * @brief Tell the agent controller whether the slider is attached to a window (detached it's suspended).
+     */
+    public void setViewAttached(boolean attached) {
+        mAgentController.setViewAttached(attached);
+    }
+
+
+    /**
+     * @brief Tell the agent controller whether the window of the slider is visible (invisible it's suspended).
+     */
+    public void setViewVisible(boolean visible) {
+        mAgentController.setViewVisible(visible);
+    }
+
 // ----- Helper --------------------------------------------------------------------------------------------------------
 
 
@@ -51,6 +51,8 @@ public class PDEDrawableRoundedBox extends PDEDrawableBase {
         mElementBorderWidth = 1.0f;
         mElementCornerRadius = PDEBuildingUnits.twoThirdsBU();
         mElementShadowDrawable = null;
+        // simple element: draw directly onto the canvas, no buffering needed
+        mDirectDraw = true;
 
         update(true);
     }
@@ -317,7 +319,7 @@ public class PDEDrawableRoundedBox extends PDEDrawableBase {
         RectF frame;
 
         // security
-        if (bounds.width() <= 0 || bounds.height() <= 0 || mDrawingBitmap == null) return;
+        if (bounds.width() <= 0 || bounds.height() <= 0) return;
         // normalized and pixel-shifted
         frame = new RectF(mPixelShift, mPixelShift, bounds.width() - mPixelShift, bounds.height() - mPixelShift);
         c.drawRoundRect(frame, mElementCornerRadius, mElementCornerRadius, mBackgroundPaint);
@@ -0,0 +1,292 @@
+/*
+ * Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.elements.common;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEBitmapPool
+//----------------------------------------------------------------------------------------------------------------------
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * @brief Shared pool for the drawing bitmaps of our PDE Drawables.
+ *
+ * Every PDE Drawable buffers its content in an ARGB_8888 bitmap of its own size. Instead of allocating a new bitmap
+ * (and recycling the old one) on every bounds change, drawables release their bitmap into this pool and acquire the
+ * next one from it. Lists with many equally sized elements (and rotation) then mostly reuse bitmaps.
+ *
+ * Free bitmaps are bucketed by their exact size (reconfiguring bitmaps is not available on all supported API
+ * levels). Buckets are kept in least-recently-used order; when the free bitmaps exceed the memory budget, the least
+ * recently used ones are recycled. Only free bitmaps count against the budget, bitmaps currently in use by
+ * drawables belong to the drawables.
+ *
+ * The pool is meant to be used from the UI thread; access is synchronized anyway.
+ */
+public class PDEBitmapPool {
+
+    /**
+     * @brief Global tag for log outputs.
+     */
+    private final static String LOG_TAG = PDEBitmapPool.class.getName();
+    private final static boolean DEBUG = false;
+
+    // the shared instance
+    private static PDEBitmapPool mInstance = null;
+
+    // free bitmaps, bucketed by size, in access order
+    private final LinkedHashMap<Long, ArrayList<Bitmap>> mBuckets;
+
+    // memory budget and bytes held by free bitmaps
+    private long mMaxBytes;
+    private long mBytesHeld;
+
+    // statistics
+    private long mHitCount;
+    private long mMissCount;
+    private long mEvictionCount;
+
+
+//----- init -----------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Constructor. Default budget is 1/16 of the maximum heap.
+     */
+    private PDEBitmapPool() {
+        mBuckets = new LinkedHashMap<Long, ArrayList<Bitmap>>(16, 0.75f, true);
+        mMaxBytes = Runtime.getRuntime().maxMemory() / 16;
+        mBytesHeld = 0;
+        mHitCount = 0;
+        mMissCount = 0;
+        mEvictionCount = 0;
+    }
+
+
+    /**
+     * @brief Get the shared pool.
+     */
+    public static synchronized PDEBitmapPool getInstance() {
+        if (mInstance == null) {
+            mInstance = new PDEBitmapPool();
+        }
+        return mInstance;
+    }
+
+
+//----- configuration --------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Set the memory budget for free bitmaps held by the pool.
+     *
+     * A budget of 0 disables pooling (released bitmaps are recycled directly).
+     *
+     * @param maxBytes Maximum number of bytes held by free bitmaps.
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        // remember
+        mMaxBytes = Math.max(0, maxBytes);
+
+        // shrink if necessary
+        trimToSize(mMaxBytes);
+    }
+
+
+    /**
+     * @brief Get the memory budget for free bitmaps.
+     */
+    public synchronized long getMaxBytes() {
+        return mMaxBytes;
+    }
+
+
+//----- acquire / release ----------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get an ARGB_8888 bitmap of the given size.
+     *
+     * Pooled bitmaps keep their old content; the caller has to erase them before drawing (our drawables do this in
+     * prepareDrawingBitmap anyway).
+     *
+     * @param width Bitmap width (must be > 0).
+     * @param height Bitmap height (must be > 0).
+     * @return A pooled or newly created bitmap.
+     */
+    public synchronized Bitmap acquire(int width, int height) {
+        ArrayList<Bitmap> bucket;
+        Bitmap bitmap;
+
+        // look for a free bitmap of this size
+        bucket = mBuckets.get(key(width, height));
+        while (bucket != null && !bucket.isEmpty()) {
+            bitmap = bucket.remove(bucket.size() - 1);
+            mBytesHeld -= byteCount(bitmap);
+            if (bucket.isEmpty()) mBuckets.remove(key(width, height));
+            // security: someone else might have recycled it
+            if (!bitmap.isRecycled()) {
+                mHitCount++;
+                return bitmap;
+            }
+        }
+
+        // nothing in the pool -> create
+        mMissCount++;
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+
+    /**
+     * @brief Give a bitmap back to the pool.
+     *
+     * The caller must not use the bitmap afterwards.
+     *
+     * @param bitmap The bitmap to release (null is ignored).
+     */
+    public synchronized void release(Bitmap bitmap) {
+        ArrayList<Bitmap> bucket;
+        long bytes;
+        Long key;
+
+        // security
+        if (bitmap == null || bitmap.isRecycled()) return;
+
+        // only ARGB_8888 bitmaps are pooled; too big for the budget? -> drop directly
+        bytes = byteCount(bitmap);
+        if (bitmap.getConfig() != Bitmap.Config.ARGB_8888 || !bitmap.isMutable() || bytes > mMaxBytes) {
+            bitmap.recycle();
+            return;
+        }
+
+        // add to bucket
+        key = key(bitmap.getWidth(), bitmap.getHeight());
+        bucket = mBuckets.get(key);
+        if (bucket == null) {
+            bucket = new ArrayList<Bitmap>();
+            mBuckets.put(key, bucket);
+        }
+        bucket.add(bitmap);
+        mBytesHeld += bytes;
+
+        // keep the budget
+        trimToSize(mMaxBytes);
+    }
+
+
+    /**
+     * @brief Recycle all free bitmaps.
+     */
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+
+    /**
+     * @brief Recycle least recently used free bitmaps until the pool holds at most the given number of bytes.
+     */
+    private void trimToSize(long maxBytes) {
+        Iterator<Map.Entry<Long, ArrayList<Bitmap>>> iterator;
+        ArrayList<Bitmap> bucket;
+        Bitmap bitmap;
+
+        // the iterator delivers the least recently used buckets first
+        iterator = mBuckets.entrySet().iterator();
+        while (mBytesHeld > maxBytes && iterator.hasNext()) {
+            bucket = iterator.next().getValue();
+            while (mBytesHeld > maxBytes && !bucket.isEmpty()) {
+                bitmap = bucket.remove(bucket.size() - 1);
+                mBytesHeld -= byteCount(bitmap);
+                bitmap.recycle();
+                mEvictionCount++;
+            }
+            if (bucket.isEmpty()) iterator.remove();
+        }
+
+        // debug
+        if (DEBUG) Log.d(LOG_TAG, toString());
+    }
+
+
+//----- statistics -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Number of acquisitions served from the pool.
+     */
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+
+    /**
+     * @brief Number of acquisitions that needed a new bitmap.
+     */
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+
+    /**
+     * @brief Number of free bitmaps recycled to keep the budget.
+     */
+    public synchronized long getEvictionCount() {
+        return mEvictionCount;
+    }
+
+
+    /**
+     * @brief Bytes currently held by free bitmaps.
+     */
+    public synchronized long getBytesHeld() {
+        return mBytesHeld;
+    }
+
+
+    /**
+     * @brief Reset hit, miss and eviction counters.
+     */
+    public synchronized void resetStatistics() {
+        mHitCount = 0;
+        mMissCount = 0;
+        mEvictionCount = 0;
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return "PDEBitmapPool hits=" + mHitCount + " misses=" + mMissCount + " evictions=" + mEvictionCount
+               + " bytesHeld=" + mBytesHeld + " maxBytes=" + mMaxBytes;
+    }
+
+
+//----- helpers --------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Bucket key for a size.
+     */
+    private static Long key(int width, int height) {
+        return ((long) width << 32) | (height & 0xffffffffL);
+    }
+
+
+    /**
+     * @brief Memory used by a bitmap (getByteCount() is not available on all supported API levels).
+     */
+    private static long byteCount(Bitmap bitmap) {
+        return (long) bitmap.getRowBytes() * bitmap.getHeight();
+    }
+}
@@ -49,6 +49,11 @@ import de.telekom.pde.codelibrary.ui.components.elementwrappers.PDEViewWrapper;
  * side-effect of this work-around is, that we don't have to run through possibly complex drawing code every time when
  * the draw-function is triggered. We only have to do it when the content changes in any way. So it does a kind of
  * buffering.
+ * The drawing bitmaps are taken from (and given back to) the shared PDEBitmapPool.
+ *
+ * Simple elements (which don't suffer from the acceleration bugs) can switch on direct drawing. Then
+ * updateDrawingBitmap is called with the target canvas within draw() and no drawing bitmap is held at all.
+ * Direct drawing is not used while a clip path is set.
  */
 
 
@@ -60,6 +65,10 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
     protected boolean mDither;
     protected Bitmap mDrawingBitmap;
     protected PDEViewWrapper mWrapperView;
+    // draw directly onto the target canvas instead of buffering in the drawing bitmap
+    protected boolean mDirectDraw;
+    // paint for drawing the bitmap to the canvas
+    private final Paint mBitmapPaint;
 
     // needed for correct pixel-alignment with antialias
     protected float mPixelShift;
@@ -80,6 +89,8 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
         mDither = false;
         mDrawingBitmap = null;
         mWrapperView = null;
+        mDirectDraw = false;
+        mBitmapPaint = new Paint();
         mPixelShift = 0.5f;
         mClipPath = null;
         mNeededPadding = 0;
@@ -286,6 +297,8 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
     public void setElementClipPath(Path clip){
         // remember
         mClipPath = clip;
+        // direct drawing might have changed -> get or release the drawing bitmap
+        if (mDirectDraw) createDrawingBitmap();
         // update
         update();
 
@@ -322,6 +335,46 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
     }
 
 
+    /**
+     * @brief Switch direct drawing on or off.
+     *
+     * With direct drawing the element is drawn straight onto the target canvas in every draw() instead of being
+     * buffered in a drawing bitmap. This saves the bitmap memory and the extra blit for simple elements;
+     * expensive elements (e.g. blurred shadows) should stay buffered.
+     *
+     * @param directDraw true - draw directly onto the canvas
+     */
+    public void setDirectDrawEnabled(boolean directDraw) {
+        // anything to do?
+        if (mDirectDraw == directDraw) return;
+
+        // remember
+        mDirectDraw = directDraw;
+
+        // get or release the drawing bitmap
+        createDrawingBitmap();
+
+        // update
+        update();
+    }
+
+
+    /**
+     * @brief Is direct drawing switched on?
+     */
+    public boolean isDirectDrawEnabled() {
+        return mDirectDraw;
+    }
+
+
+    /**
+     * @brief Is direct drawing currently in use? (Not while clipping, clip paths need the drawing bitmap.)
+     */
+    protected boolean isDirectDrawActive() {
+        return mDirectDraw && mClipPath == null;
+    }
+
+
 //---------------------------------------------------------------------------------------------------------------------
 // ----- Drawable overrides ----------------------------------------------------------------------------
 //---------------------------------------------------------------------------------------------------------------------
@@ -335,6 +388,18 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
     public void draw(Canvas canvas) {
         Rect bounds = getBounds();
 
+        // direct drawing?
+        if (isDirectDrawActive()) {
+            // security
+            if (bounds.width() <= 0 || bounds.height() <= 0) return;
+            // draw with relative positions straight onto the canvas
+            canvas.save();
+            canvas.translate(bounds.left, bounds.top);
+            updateDrawingBitmap(canvas, bounds);
+            canvas.restore();
+            return;
+        }
+
         // security
         if (bounds.width() <= 0 || bounds.height() <= 0  || mDrawingBitmap == null) return;
         // save canvas
@@ -365,7 +430,7 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
 //        }
 
         // draw content
-        canvas.drawBitmap(mDrawingBitmap,0,0, new Paint());
+        canvas.drawBitmap(mDrawingBitmap,0,0, mBitmapPaint);
 
         // reset canvas
         canvas.restore();
@@ -422,6 +487,36 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
     }
 
 
+    /**
+     * @brief Set whether this drawable is visible.
+     *
+     * Invisible drawables give their drawing bitmap back to the shared bitmap pool; it gets recreated and redrawn when
+     * the drawable becomes visible again.
+     *
+     * @param visible true if visible
+     * @param restart restart animations (unused)
+     * @return true if the visibility changed
+     */
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+
+        // anything to do?
+        if (!changed) return false;
+
+        if (visible) {
+            // get a new bitmap and redraw
+            createDrawingBitmap();
+            update();
+        } else {
+            // free bitmap for others
+            releaseDrawingBitmap();
+        }
+
+        return true;
+    }
+
+
     /**
      * @brief Set to true to have the drawable dither its colors when drawn to a device with fewer than 8-bits per color component.
      *
@@ -497,7 +592,8 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
     public void update(boolean paintPropertiesChanged){
         updatePaintProperties(paintPropertiesChanged);
         updateHook(paintPropertiesChanged);
-        prepareDrawingBitmap();
+        // with direct drawing the content is drawn in draw()
+        if (!isDirectDrawActive()) prepareDrawingBitmap();
         invalidateSelf();
     }
 
@@ -567,8 +663,7 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
         // security
         if (bounds.width() <= 0 || bounds.height() <= 0) return;
         // use bitmap to avoid gfx-acceleration bug
-        if (mDrawingBitmap != null) mDrawingBitmap.recycle();
-        mDrawingBitmap = Bitmap.createBitmap(bounds.width(), bounds.height(), Bitmap.Config.ARGB_8888);
+        acquireDrawingBitmap(bounds.width(), bounds.height());
 //        // expensive clipping activated?
 //        if (mAntialiasedClipping) {
 //            if (mClipOutputBitmap != null) mClipOutputBitmap.recycle();
@@ -577,6 +672,46 @@ public abstract class PDEDrawableBase extends Drawable implements PDEDrawableInt
     }
 
 
+    /**
+     * @brief Exchange the drawing bitmap for one of the given size from the shared bitmap pool.
+     *
+     * The former drawing bitmap is given back to the pool. While the drawable is invisible no bitmap is held at all;
+     * it is acquired again when the drawable becomes visible.
+     *
+     * @param width width of the new drawing bitmap
+     * @param height height of the new drawing bitmap
+     */
+    protected void acquireDrawingBitmap(int width, int height) {
+        // keep the current one if the size didn't change
+        if (!isDirectDrawActive() && mDrawingBitmap != null && !mDrawingBitmap.isRecycled()
+            && mDrawingBitmap.getWidth() == width && mDrawingBitmap.getHeight() == height) {
+            return;
+        }
+
+        // give back the old one
+        releaseDrawingBitmap();
+
+        // no bitmap needed while invisible or drawing directly
+        if (!isVisible() || isDirectDrawActive() || width <= 0 || height <= 0) return;
+
+        // get a new one
+        mDrawingBitmap = PDEBitmapPool.getInstance().acquire(width, height);
+    }
+
+
+    /**
+     * @brief Give the drawing bitmap back to the shared bitmap pool.
+     */
+    protected void releaseDrawingBitmap() {
+        // anything to do?
+        if (mDrawingBitmap == null) return;
+
+        // release
+        PDEBitmapPool.getInstance().release(mDrawingBitmap);
+        mDrawingBitmap = null;
+    }
+
+
     /**
      * @brief Updates our drawing bitmap and triggers a redraw of this element.
      *
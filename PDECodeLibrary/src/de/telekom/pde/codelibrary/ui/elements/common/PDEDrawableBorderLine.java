@@ -53,6 +53,8 @@ public class PDEDrawableBorderLine extends PDEDrawableBase {
         mShapeType = PDEAvailableShapes.SHAPE_ROUNDED_RECT;
         mElementShapePath = new Path();
         mElementBorderColor = PDEColor.valueOf("DTGrey237_Idle_Border").getIntegerColor();
+        // simple element: draw directly onto the canvas, no buffering needed
+        mDirectDraw = true;
 
         update(true);
     }
@@ -246,7 +248,7 @@ public class PDEDrawableBorderLine extends PDEDrawableBase {
         Rect normalizedBoundsRect;
 
         // security
-        if (bounds.width() <= 0 || bounds.height() <= 0 || mDrawingBitmap == null) return;
+        if (bounds.width() <= 0 || bounds.height() <= 0) return;
 
         // normalized version of the bounding rect
         normalizedBoundsRect = new Rect(0, 0, bounds.width(), bounds.height());
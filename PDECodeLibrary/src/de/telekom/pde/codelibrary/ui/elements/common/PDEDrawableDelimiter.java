@@ -41,6 +41,8 @@ public class PDEDrawableDelimiter extends PDEDrawableBase {
         super();
         mElementType = PDEDrawableDelimiterType.PDEDrawableDelimiterTypeHorizontal;
         mElementBackgroundColor = PDEColor.valueOf("DTGrey220");
+        // simple element: draw directly onto the canvas, no buffering needed
+        mDirectDraw = true;
 
         update(true);
     }
@@ -254,7 +256,7 @@ public class PDEDrawableDelimiter extends PDEDrawableBase {
      */
     protected void updateDrawingBitmap(Canvas c, Rect bounds) {
         // security
-        if (bounds.width() <= 0 || bounds.height() <= 0 || mDrawingBitmap == null) return;
+        if (bounds.width() <= 0 || bounds.height() <= 0) return;
         // draw normalized rect
         c.drawRect(0, 0, bounds.width(), bounds.height(), mBackgroundPaint);
     }
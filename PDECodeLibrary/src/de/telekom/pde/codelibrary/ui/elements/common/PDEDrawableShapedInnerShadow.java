@@ -40,6 +40,10 @@ public class PDEDrawableShapedInnerShadow extends PDEDrawableBase {
     // private helpers
     RectF mDrawRect;
     float mOffsetFactor;
+    // shared bitmap from the shadow cache (null if not cacheable)
+    private String mShadowCacheKey;
+    private Bitmap mShadowBitmap;
+    private Paint mShadowPaint;
 
 
 
@@ -65,6 +69,9 @@ public class PDEDrawableShapedInnerShadow extends PDEDrawableBase {
         mElementLightIncidenceOffset = new PointF(0,0);
         mDrawRect = null;
         mOffsetFactor = 0;
+        mShadowCacheKey = null;
+        mShadowBitmap = null;
+        mShadowPaint = new Paint();
 
         //init paints for drawing
         update(true);
@@ -229,19 +236,37 @@ public class PDEDrawableShapedInnerShadow extends PDEDrawableBase {
 
     /**
      * @brief draws the inner shadow
+     *
+     * The shadow is rendered at full opacity, the alpha of the drawable is applied here. So opacity animations
+     * (e.g. pressing a haptic button) don't need to render the blur again.
      */
     @Override
     public void draw(android.graphics.Canvas canvas){
         Rect bounds = getBounds();
+        Bitmap bitmap;
+
+        // shared or own bitmap
+        bitmap = (mShadowBitmap != null) ? mShadowBitmap : mDrawingBitmap;
 
         // security
-        if (bounds.width() <= 0 || bounds.height() <= 0 || mDrawRect == null || mDrawingBitmap == null) {
+        if (bounds.width() <= 0 || bounds.height() <= 0 || mDrawRect == null || bitmap == null) {
             return;
         }
 
         // draw the resulting bitmap on our canvas
-        canvas.drawBitmap(mDrawingBitmap, mDrawRect.left+ mElementLightIncidenceOffset.x,
-                          mDrawRect.top+ mElementLightIncidenceOffset.y, new Paint());
+        mShadowPaint.setAlpha(mAlpha);
+        canvas.drawBitmap(bitmap, mDrawRect.left+ mElementLightIncidenceOffset.x,
+                          mDrawRect.top+ mElementLightIncidenceOffset.y, mShadowPaint);
+    }
+
+
+    /**
+     * @brief Give back the shared bitmap when getting invisible.
+     */
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        if (!visible) releaseShadowBitmap();
+        return super.setVisible(visible, restart);
     }
 
 
@@ -334,7 +359,43 @@ public class PDEDrawableShapedInnerShadow extends PDEDrawableBase {
         mBackgroundPaint.setStyle(Paint.Style.FILL);
         mBackgroundPaint.setColorFilter(mColorFilter);
         mBackgroundPaint.setDither(mDither);
-        mBackgroundPaint.setColor(mElementShapeColor.newIntegerColorWithCombinedAlpha(mAlpha));
+        // rendered at full opacity; our alpha is applied when drawing the bitmap
+        mBackgroundPaint.setColor(mElementShapeColor.getIntegerColor());
+    }
+
+
+    /**
+     * @brief Can the rendered shadow be shared through the shadow cache?
+     *
+     * Custom paths can't be compared; color filters and clip paths are not part of the key.
+     */
+    private boolean isShadowCacheable() {
+        return mShapeType != PDEAvailableShapes.SHAPE_CUSTOM_PATH && mColorFilter == null && mClipPath == null;
+    }
+
+
+    /**
+     * @brief Key for the shadow cache containing everything that influences the rendering.
+     */
+    private String buildShadowCacheKey(int width, int height) {
+        return "inner|" + mShapeType + "|" + width + "x" + height + "|" + mElementBlurRadius + "|" + mOffsetFactor
+               + "|" + mElementLightIncidenceOffset.x + "," + mElementLightIncidenceOffset.y
+               + "|" + mElementCornerRadius + "|" + mElementCornerConfiguration
+               + "|" + mElementShapeColor.getIntegerColor() + "|" + mDither;
+    }
+
+
+    /**
+     * @brief Give back the shared bitmap to the shadow cache.
+     */
+    private void releaseShadowBitmap() {
+        // anything to do?
+        if (mShadowCacheKey == null) return;
+
+        // release
+        PDEShadowCache.getInstance().release(mShadowCacheKey, this);
+        mShadowCacheKey = null;
+        mShadowBitmap = null;
     }
 
 
@@ -358,10 +419,6 @@ public class PDEDrawableShapedInnerShadow extends PDEDrawableBase {
         if (bounds.width() <= 0 || bounds.height() <= 0) {
             return;
         }
-        // use bitmap to avoid gfx-acceleration bug
-        if (mDrawingBitmap != null) {
-            mDrawingBitmap.recycle();
-        }
 
         // determine offset factor
         if (Math.abs(mElementLightIncidenceOffset.x) > Math.abs(mElementLightIncidenceOffset.y)){
@@ -373,7 +430,70 @@ public class PDEDrawableShapedInnerShadow extends PDEDrawableBase {
         mDrawRect = new RectF(bounds.left - mOffsetFactor,bounds.top - mOffsetFactor,
                               bounds.right + mOffsetFactor,bounds.bottom + mOffsetFactor);
 
-        mDrawingBitmap = Bitmap.createBitmap((int)mDrawRect.width(), (int)mDrawRect.height(), Bitmap.Config.ARGB_8888);
+        // shared bitmap? -> own bitmap not needed, the shared one is fetched in prepareDrawingBitmap
+        if (isShadowCacheable()) {
+            releaseDrawingBitmap();
+            return;
+        }
+        releaseShadowBitmap();
+
+        // use bitmap to avoid gfx-acceleration bug
+        acquireDrawingBitmap((int)mDrawRect.width(), (int)mDrawRect.height());
+    }
+
+
+    /**
+     * @brief Fetch the shared shadow bitmap from the shadow cache (render it on a miss).
+     *
+     * Shadows which can't be shared are rendered into the own drawing bitmap as before.
+     */
+    @Override
+    protected void prepareDrawingBitmap() {
+        Rect bounds = getBounds();
+        int width, height;
+        String key;
+        Bitmap bitmap;
+
+        // security
+        if (bounds.width() <= 0 || bounds.height() <= 0) return;
+
+        // drawing rect not known yet? -> determine it
+        if (mDrawRect == null) createDrawingBitmap();
+        if (mDrawRect == null) return;
+
+        // not shareable -> render into own bitmap
+        if (!isShadowCacheable()) {
+            releaseShadowBitmap();
+            if (mDrawingBitmap == null) createDrawingBitmap();
+            super.prepareDrawingBitmap();
+            return;
+        }
+
+        // no bitmap needed while invisible
+        if (!isVisible()) {
+            releaseShadowBitmap();
+            return;
+        }
+
+        // anything changed?
+        width = (int)mDrawRect.width();
+        height = (int)mDrawRect.height();
+        if (width <= 0 || height <= 0) return;
+        key = buildShadowCacheKey(width, height);
+        if (key.equals(mShadowCacheKey)) return;
+
+        // switch to new shared bitmap
+        releaseShadowBitmap();
+        releaseDrawingBitmap();
+        bitmap = PDEShadowCache.getInstance().acquire(key, this);
+        if (bitmap == null) {
+            // not there yet -> render once and share
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            updateDrawingBitmap(new Canvas(bitmap), bounds);
+            bitmap = PDEShadowCache.getInstance().put(key, bitmap, this);
+        }
+        mShadowCacheKey = key;
+        mShadowBitmap = bitmap;
     }
 
 
@@ -399,7 +519,7 @@ public class PDEDrawableShapedInnerShadow extends PDEDrawableBase {
 
         // security
         if (bounds.width() <= 0 || bounds.height() <= 0 || mElementBlurRadius + mOffsetFactor <=0
-                || mDrawingBitmap == null) {
+                || mDrawRect == null) {
             return;
         }
 
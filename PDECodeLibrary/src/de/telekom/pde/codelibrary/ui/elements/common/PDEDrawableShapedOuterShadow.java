@@ -168,11 +168,7 @@ public class PDEDrawableShapedOuterShadow extends PDEDrawableBase {
         // security
         if (bounds.width() <= 0 || bounds.height() <= 0) return;
         // use bitmap to avoid gfx-acceleration bug
-        if (mDrawingBitmap != null) mDrawingBitmap.recycle();
-        // create bitmap
-        mDrawingBitmap = Bitmap.createBitmap(bounds.width(),
-                                             bounds.height(),
-                                             Bitmap.Config.ARGB_8888);
+        acquireDrawingBitmap(bounds.width(), bounds.height());
     }
 
 
@@ -37,6 +37,10 @@ public class PDEDrawableShapedShadow extends PDEDrawableBase {
     private int mElementShapeType;
     private float mElementCornerRadius;
     private Paint mBackgroundPaint = null;
+    // shared bitmap from the shadow cache (null if not cacheable)
+    private String mShadowCacheKey;
+    private Bitmap mShadowBitmap;
+    private Paint mShadowPaint;
 
 
 
@@ -51,6 +55,9 @@ public class PDEDrawableShapedShadow extends PDEDrawableBase {
         mElementCornerRadius = PDEBuildingUnits.oneThirdBU();//0.0f;
         mBackgroundPaint = new Paint();
         mElementShapePath = new Path();
+        mShadowCacheKey = null;
+        mShadowBitmap = null;
+        mShadowPaint = new Paint();
         update(true);
     }
 
@@ -192,6 +199,39 @@ public class PDEDrawableShapedShadow extends PDEDrawableBase {
 //---------------------------------------------------------------------------------------------------------------------
 
 
+    /**
+     * @brief Draws the shared or own shadow bitmap.
+     *
+     * The shadow is rendered at full opacity, the alpha of the drawable is applied here. So opacity animations
+     * don't need to render the blur again.
+     */
+    @Override
+    public void draw(Canvas canvas) {
+        Rect bounds = getBounds();
+        Bitmap bitmap;
+
+        // shared or own bitmap
+        bitmap = (mShadowBitmap != null) ? mShadowBitmap : mDrawingBitmap;
+
+        // security
+        if (bounds.width() <= 0 || bounds.height() <= 0 || bitmap == null) return;
+
+        // draw with our opacity
+        mShadowPaint.setAlpha(mAlpha);
+        canvas.drawBitmap(bitmap, bounds.left, bounds.top, mShadowPaint);
+    }
+
+
+    /**
+     * @brief Give back the shared bitmap when getting invisible.
+     */
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        if (!visible) releaseShadowBitmap();
+        return super.setVisible(visible, restart);
+    }
+
+
 //    /**
 //     * @brief draws the shadow
 //     */
@@ -230,7 +270,42 @@ public class PDEDrawableShapedShadow extends PDEDrawableBase {
         mBackgroundPaint.setStyle(Paint.Style.FILL);
         mBackgroundPaint.setColorFilter(mColorFilter);
         mBackgroundPaint.setDither(mDither);
-        mBackgroundPaint.setColor(mElementShapeColor.newIntegerColorWithCombinedAlpha(mAlpha));
+        // rendered at full opacity; our alpha is applied when drawing the bitmap
+        mBackgroundPaint.setColor(mElementShapeColor.getIntegerColor());
+    }
+
+
+    /**
+     * @brief Can the rendered shadow be shared through the shadow cache?
+     *
+     * Custom paths can't be compared; color filters and clip paths are not part of the key.
+     */
+    private boolean isShadowCacheable() {
+        return mElementShapeType != PDEAvailableShapes.SHAPE_CUSTOM_PATH && mColorFilter == null && mClipPath == null;
+    }
+
+
+    /**
+     * @brief Key for the shadow cache containing everything that influences the rendering.
+     */
+    private String buildShadowCacheKey(Rect bounds) {
+        return "shadow|" + mElementShapeType + "|" + bounds.width() + "x" + bounds.height() + "|" + mElementBlurRadius
+               + "|" + mElementCornerRadius + "|" + mElementShapeColor.getIntegerColor() + "|" + mPixelShift
+               + "|" + mDither;
+    }
+
+
+    /**
+     * @brief Give back the shared bitmap to the shadow cache.
+     */
+    private void releaseShadowBitmap() {
+        // anything to do?
+        if (mShadowCacheKey == null) return;
+
+        // release
+        PDEShadowCache.getInstance().release(mShadowCacheKey, this);
+        mShadowCacheKey = null;
+        mShadowBitmap = null;
     }
 
 
@@ -252,12 +327,61 @@ public class PDEDrawableShapedShadow extends PDEDrawableBase {
 
         // security
         if (bounds.width() <= 0 || bounds.height() <= 0) return;
+        // shared bitmap? -> own bitmap not needed, the shared one is fetched in prepareDrawingBitmap
+        if (isShadowCacheable()) {
+            releaseDrawingBitmap();
+            return;
+        }
+        releaseShadowBitmap();
         // use bitmap to avoid gfx-acceleration bug
-        if (mDrawingBitmap != null) mDrawingBitmap.recycle();
-        // create bitmap
-        mDrawingBitmap = Bitmap.createBitmap(bounds.width(),
-                                             bounds.height(),
-                                             Bitmap.Config.ARGB_8888);
+        acquireDrawingBitmap(bounds.width(), bounds.height());
+    }
+
+
+    /**
+     * @brief Fetch the shared shadow bitmap from the shadow cache (render it on a miss).
+     *
+     * Shadows which can't be shared are rendered into the own drawing bitmap as before.
+     */
+    @Override
+    protected void prepareDrawingBitmap() {
+        Rect bounds = getBounds();
+        String key;
+        Bitmap bitmap;
+
+        // security
+        if (bounds.width() <= 0 || bounds.height() <= 0) return;
+
+        // not shareable -> render into own bitmap
+        if (!isShadowCacheable()) {
+            releaseShadowBitmap();
+            if (mDrawingBitmap == null) createDrawingBitmap();
+            super.prepareDrawingBitmap();
+            return;
+        }
+
+        // no bitmap needed while invisible
+        if (!isVisible()) {
+            releaseShadowBitmap();
+            return;
+        }
+
+        // anything changed?
+        key = buildShadowCacheKey(bounds);
+        if (key.equals(mShadowCacheKey)) return;
+
+        // switch to new shared bitmap
+        releaseShadowBitmap();
+        releaseDrawingBitmap();
+        bitmap = PDEShadowCache.getInstance().acquire(key, this);
+        if (bitmap == null) {
+            // not there yet -> render once and share
+            bitmap = Bitmap.createBitmap(bounds.width(), bounds.height(), Bitmap.Config.ARGB_8888);
+            updateDrawingBitmap(new Canvas(bitmap), bounds);
+            bitmap = PDEShadowCache.getInstance().put(key, bitmap, this);
+        }
+        mShadowCacheKey = key;
+        mShadowBitmap = bitmap;
     }
 
 
@@ -274,7 +398,7 @@ public class PDEDrawableShapedShadow extends PDEDrawableBase {
         RectF normalizedBoundsRect;
 
         // security
-        if (bounds.width() <= 0 || bounds.height() <= 0 || mDrawingBitmap == null) return;
+        if (bounds.width() <= 0 || bounds.height() <= 0) return;
 
         // normalized and pixelshifted
         normalizedBoundsRect = new RectF(mPixelShift, mPixelShift, bounds.right - bounds.left - mPixelShift,
@@ -286,7 +410,7 @@ public class PDEDrawableShapedShadow extends PDEDrawableBase {
         } else {
             blur = new BlurMaskFilter(mElementBlurRadius, BlurMaskFilter.Blur.NORMAL);
             mBackgroundPaint.setMaskFilter(blur);
-            mBackgroundPaint.setColor(mElementShapeColor.newIntegerColorWithCombinedAlpha(mAlpha));
+            mBackgroundPaint.setColor(mElementShapeColor.getIntegerColor());
         }
 
         drawRect = new RectF(normalizedBoundsRect.left + mElementBlurRadius,
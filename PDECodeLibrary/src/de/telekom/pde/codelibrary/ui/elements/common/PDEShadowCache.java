@@ -0,0 +1,298 @@
+/*
+ * Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.elements.common;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEShadowCache
+//----------------------------------------------------------------------------------------------------------------------
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+
+/**
+ * @brief Process-wide cache for rendered (blurred) shadow bitmaps.
+ *
+ * Blurring is done in software and is expensive. Equally configured shadows (same shape, size, blur radius,
+ * color, ...) look exactly the same, so they can share one rendered bitmap. The shadow drawables build a key from
+ * everything that influences the rendering and ask the cache for it; only on a miss they render the shadow and hand
+ * the result over to the cache.
+ *
+ * Every user of a shared bitmap is registered as its owner. Owners are only weakly referenced: owners which are
+ * garbage collected without releasing their bitmap (e.g. a discarded list row) don't keep it alive. Bitmaps without
+ * living owners stay in the cache (in least recently used order) until the memory ceiling is exceeded; bitmaps with
+ * living owners are never evicted.
+ *
+ * Shared bitmaps must be treated as read-only by everyone.
+ */
+public class PDEShadowCache {
+
+    /**
+     * @brief Global tag for log outputs.
+     */
+    private final static String LOG_TAG = PDEShadowCache.class.getName();
+    private final static boolean DEBUG = false;
+
+    // the shared instance
+    private static PDEShadowCache mInstance = null;
+
+
+    /**
+     * @brief Cache entry.
+     */
+    private static class Entry {
+        Bitmap mBitmap;
+        ArrayList<WeakReference<Object>> mOwners;
+        long mBytes;
+    }
+
+
+    // entries by key, in access order
+    private final LinkedHashMap<String, Entry> mEntries;
+
+    // memory ceiling and bytes held by all cached bitmaps
+    private long mMaxBytes;
+    private long mBytesHeld;
+
+    // statistics
+    private long mHitCount;
+    private long mMissCount;
+
+
+//----- init -----------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Constructor. Default ceiling is 1/32 of the maximum heap.
+     */
+    private PDEShadowCache() {
+        mEntries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+        mMaxBytes = Runtime.getRuntime().maxMemory() / 32;
+        mBytesHeld = 0;
+        mHitCount = 0;
+        mMissCount = 0;
+    }
+
+
+    /**
+     * @brief Get the shared cache.
+     */
+    public static synchronized PDEShadowCache getInstance() {
+        if (mInstance == null) {
+            mInstance = new PDEShadowCache();
+        }
+        return mInstance;
+    }
+
+
+//----- configuration --------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Set the memory ceiling for cached shadow bitmaps.
+     *
+     * Unreferenced bitmaps are recycled until the cache fits. Referenced bitmaps might still exceed the ceiling.
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        // remember
+        mMaxBytes = Math.max(0, maxBytes);
+
+        // shrink if necessary
+        trimToSize(mMaxBytes);
+    }
+
+
+    /**
+     * @brief Get the memory ceiling.
+     */
+    public synchronized long getMaxBytes() {
+        return mMaxBytes;
+    }
+
+
+//----- access ---------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get a shared bitmap for the key and register the owner.
+     *
+     * @param key Key describing everything that influences the rendering.
+     * @param owner The user of the bitmap (only weakly referenced).
+     * @return The shared bitmap or null if not cached (render it and hand it over with put()).
+     */
+    public synchronized Bitmap acquire(String key, Object owner) {
+        Entry entry;
+
+        // look up
+        entry = mEntries.get(key);
+        if (entry == null || entry.mBitmap.isRecycled()) {
+            mMissCount++;
+            return null;
+        }
+
+        // reference it
+        entry.mOwners.add(new WeakReference<Object>(owner));
+        mHitCount++;
+        return entry.mBitmap;
+    }
+
+
+    /**
+     * @brief Hand over a freshly rendered bitmap for the key; the owner gets registered.
+     *
+     * If there already is a bitmap for the key, the given one is recycled and the cached one is used.
+     *
+     * @param owner The user of the bitmap (only weakly referenced).
+     * @return The shared bitmap to use from now on.
+     */
+    public synchronized Bitmap put(String key, Bitmap bitmap, Object owner) {
+        Entry entry;
+
+        // already there? -> use existing
+        entry = mEntries.get(key);
+        if (entry != null && !entry.mBitmap.isRecycled()) {
+            if (entry.mBitmap != bitmap) bitmap.recycle();
+            entry.mOwners.add(new WeakReference<Object>(owner));
+            return entry.mBitmap;
+        }
+
+        // forget a recycled one
+        if (entry != null) mBytesHeld -= entry.mBytes;
+
+        // new entry
+        entry = new Entry();
+        entry.mBitmap = bitmap;
+        entry.mOwners = new ArrayList<WeakReference<Object>>(2);
+        entry.mOwners.add(new WeakReference<Object>(owner));
+        entry.mBytes = (long) bitmap.getRowBytes() * bitmap.getHeight();
+        mEntries.put(key, entry);
+        mBytesHeld += entry.mBytes;
+
+        // keep the ceiling
+        trimToSize(mMaxBytes);
+
+        return bitmap;
+    }
+
+
+    /**
+     * @brief Unregister the owner from the shared bitmap of the key.
+     */
+    public synchronized void release(String key, Object owner) {
+        Entry entry;
+        Object current;
+        int i;
+
+        // security
+        if (key == null) return;
+
+        // look up (counts as use, so the last released bitmaps are evicted last)
+        entry = mEntries.get(key);
+        if (entry == null) return;
+
+        // unreference (once; forget owners which are gone on the way)
+        for (i = entry.mOwners.size() - 1; i >= 0; i--) {
+            current = entry.mOwners.get(i).get();
+            if (current == null) {
+                entry.mOwners.remove(i);
+            } else if (current == owner) {
+                entry.mOwners.remove(i);
+                break;
+            }
+        }
+
+        // unreferenced bitmaps can be evicted now
+        if (!isReferenced(entry)) trimToSize(mMaxBytes);
+    }
+
+
+    /**
+     * @brief Recycle all unreferenced bitmaps.
+     */
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+
+    /**
+     * @brief Check if the entry still has living owners (owners which are gone are removed).
+     */
+    private static boolean isReferenced(Entry entry) {
+        int i;
+
+        for (i = entry.mOwners.size() - 1; i >= 0; i--) {
+            if (entry.mOwners.get(i).get() == null) entry.mOwners.remove(i);
+        }
+
+        return !entry.mOwners.isEmpty();
+    }
+
+
+    /**
+     * @brief Recycle least recently used unreferenced bitmaps until the cache holds at most the given bytes.
+     *
+     * Bitmaps whose owners were all garbage collected count as unreferenced.
+     */
+    private void trimToSize(long maxBytes) {
+        Iterator<Entry> iterator;
+        Entry entry;
+
+        // the iterator delivers the least recently used entries first
+        iterator = mEntries.values().iterator();
+        while (mBytesHeld > maxBytes && iterator.hasNext()) {
+            entry = iterator.next();
+            if (isReferenced(entry)) continue;
+            entry.mBitmap.recycle();
+            mBytesHeld -= entry.mBytes;
+            iterator.remove();
+        }
+
+        // debug
+        if (DEBUG) Log.d(LOG_TAG, toString());
+    }
+
+
+//----- statistics -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Number of lookups served from the cache.
+     */
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+
+    /**
+     * @brief Number of lookups which needed rendering.
+     */
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+
+    /**
+     * @brief Bytes held by all cached bitmaps.
+     */
+    public synchronized long getBytesHeld() {
+        return mBytesHeld;
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return "PDEShadowCache entries=" + mEntries.size() + " hits=" + mHitCount + " misses=" + mMissCount
+               + " bytesHeld=" + mBytesHeld + " maxBytes=" + mMaxBytes;
+    }
+}
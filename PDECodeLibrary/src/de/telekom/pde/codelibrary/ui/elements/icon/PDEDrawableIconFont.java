@@ -10,6 +10,7 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Point;
 import android.graphics.Rect;
+import android.graphics.Typeface;
 
 import de.telekom.pde.codelibrary.ui.color.PDEColor;
 import de.telekom.pde.codelibrary.ui.elements.common.PDEDrawableBase;
@@ -44,6 +45,9 @@ public class PDEDrawableIconFont extends PDEDrawableBase {
     private float mShadowYOffset;
     private float mPadding;
 
+    // icon bounds within the drawing bounds (reused on every draw)
+    private Rect mIconBounds;
+
 //----- init -----------------------------------------------------------------------------------------------------------
 
 
@@ -72,12 +76,16 @@ public class PDEDrawableIconFont extends PDEDrawableBase {
         mBoundsHeight = 0;
         mBoundsWidth = 0;
         mPadding = 1.0f;
+        mIconBounds = new Rect();
 
         //set icon color and textstyle
         mTextStyle = PDETypeface.createByName("Tele_Iconfont.ttf");
         mIconPaint.setTypeface(mTextStyle.getTypeface());
         mShadowPaint.setTypeface(mTextStyle.getTypeface());
 
+        // the glyph atlas does the buffering; draw directly onto the canvas
+        mDirectDraw = true;
+
         calculateIconConstants();
         update(true);
     }
@@ -397,11 +405,10 @@ public class PDEDrawableIconFont extends PDEDrawableBase {
      * @brief calculates icon aspect ratio, used to make sure icon height takes all the available height
      */
     private void calculateIconConstants() {
-        Rect textbounds = new Rect();
+        Rect textbounds;
 
         if (mIconText != null) {
-            mIconPaint.setTextSize(500);
-            mIconPaint.getTextBounds(mIconText, 0, mIconText.length(), textbounds);
+            textbounds = PDEIconGlyphAtlas.getInstance().getGlyph(mTextStyle.getTypeface(), mIconText, 500).getBounds();
             mIconAspectRatio = (float) textbounds.width() / (float) textbounds.height();
         }
     }
@@ -416,28 +423,39 @@ public class PDEDrawableIconFont extends PDEDrawableBase {
      *
      * If a drawing parameter changes, we need to call this function in order to update our drawing-bitmap and
      * in order to trigger the draw of our updated bitmap to the canvas.
+     *
+     * The glyph is measured and rasterized only once by the shared glyph atlas; drawing is a blit of the atlas cell
+     * (tinted by the paint color).
      */
     @Override
     protected void updateDrawingBitmap(Canvas c, Rect bounds) {
-        Rect textbounds = new Rect();
-        float leftposition, topposition, yrelation, xrelation;
+        PDEIconGlyphAtlas atlas;
+        PDEIconGlyphAtlas.Glyph glyph;
+        Typeface typeface;
+        Rect textbounds;
+        float textsize, leftposition, topposition, yrelation, xrelation;
 
         //substract padding
         mBoundsHeight = bounds.height();
         mBoundsWidth = bounds.width();
 
-        bounds = new Rect(Math.round(mPixelShift) + Math.round(mPadding),
-                          Math.round(mPixelShift) + Math.round(mPadding),
-                          bounds.width() - Math.round(mPixelShift) - Math.round(mPadding),
-                          bounds.height() - Math.round(mPixelShift) - Math.round(mPadding));
+        // (drawn directly on every frame, so don't allocate)
+        mIconBounds.set(Math.round(mPixelShift) + Math.round(mPadding),
+                        Math.round(mPixelShift) + Math.round(mPadding),
+                        bounds.width() - Math.round(mPixelShift) - Math.round(mPadding),
+                        bounds.height() - Math.round(mPixelShift) - Math.round(mPadding));
+        bounds = mIconBounds;
 
         // security
-        if (bounds.width() <= 0 || bounds.height() <= 0 || mDrawingBitmap == null || mIconText == null) return;
+        if (bounds.width() <= 0 || bounds.height() <= 0 || mIconText == null) return;
+
+        atlas = PDEIconGlyphAtlas.getInstance();
+        typeface = mTextStyle.getTypeface();
+
         // set text size
-        mIconPaint.setTextSize(bounds.height());
-        mShadowPaint.setTextSize(bounds.height());
+        textsize = bounds.height();
         //get text size
-        mIconPaint.getTextBounds(mIconText, 0, mIconText.length(), textbounds);
+        textbounds = atlas.getGlyph(typeface, mIconText, textsize).getBounds();
 
         // if icon is stretched to size, text size relations to the bounds are calculated, to get text size from these
         if (mElementStretchToSize) {
@@ -445,23 +463,23 @@ public class PDEDrawableIconFont extends PDEDrawableBase {
             xrelation = (float) bounds.width() / (float) textbounds.width();
 
             if (xrelation < yrelation) {
-                mIconPaint.setTextSize(((float) bounds.height() * xrelation));
-                mShadowPaint.setTextSize(((float) bounds.height() * xrelation));
+                textsize = (float) bounds.height() * xrelation;
             } else {
-                mIconPaint.setTextSize(((float) bounds.height() * yrelation));
-                mShadowPaint.setTextSize(((float) bounds.height() * yrelation));
+                textsize = (float) bounds.height() * yrelation;
             }
-
-            mIconPaint.getTextBounds(mIconText, 0, mIconText.length(), textbounds);
         } else {
             //if icon is wider than high, textsize is reduced to prevent clipping on the right
             if (mIconAspectRatio > 1 && textbounds.width() > bounds.width()) {
-                mIconPaint.setTextSize((bounds.height() / mIconAspectRatio) - 1.0f);
-                mShadowPaint.setTextSize((bounds.height() / mIconAspectRatio) - 1.0f);
-                mIconPaint.getTextBounds(mIconText, 0, mIconText.length(), textbounds);
+                textsize = (bounds.height() / mIconAspectRatio) - 1.0f;
             }
         }
 
+        // get the glyph in its final size
+        glyph = atlas.getGlyph(typeface, mIconText, textsize);
+        textbounds = glyph.getBounds();
+        mIconPaint.setTextSize(textsize);
+        mShadowPaint.setTextSize(textsize);
+
         //set icon position, upper left when icon is stretched to size, or in the middle else
         //the icon "ö" is not intended to be shown in the vertical center
         if (mElementStretchToSize) {
@@ -475,12 +493,11 @@ public class PDEDrawableIconFont extends PDEDrawableBase {
             topposition = bounds.top - textbounds.top + 0.5f * (bounds.height() - textbounds.height());
         }
 
-        // get canvas of the drawing-bitmap
         //draw shadow
-        if (mShadowEnabled) c.drawText(mIconText, leftposition + mShadowXOffset,
-                                       topposition + mShadowYOffset, mShadowPaint);
+        if (mShadowEnabled) atlas.drawGlyph(c, glyph, leftposition + mShadowXOffset,
+                                            topposition + mShadowYOffset, mShadowPaint);
         //draw icon
-        c.drawText(mIconText, leftposition, topposition, mIconPaint);
+        atlas.drawGlyph(c, glyph, leftposition, topposition, mIconPaint);
     }
 
 
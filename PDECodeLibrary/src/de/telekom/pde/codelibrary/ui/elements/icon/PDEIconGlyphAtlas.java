@@ -0,0 +1,354 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.elements.icon;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEIconGlyphAtlas
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Shared atlas for rasterized icon font glyphs.
+ *
+ * Every (typeface, glyph, text size) combination is measured once and rasterized once as an alpha mask into a
+ * shared atlas page. Icon drawables then draw the glyph with a single bitmap blit of the page's sub-rect. Alpha
+ * masks take the color (and color filter) of the drawing paint, so one rasterized glyph serves all icon colors and
+ * the shadow.
+ *
+ * Pages are packed in shelves. When all pages are full, the pages are dropped and glyphs are rasterized again on
+ * demand. Pages are never recycled explicitly, since they might still be referenced by recorded (hardware) display
+ * lists. Glyphs too big for a page are drawn as text.
+ *
+ * The atlas is meant to be used from the UI thread; access is synchronized anyway.
+ */
+public class PDEIconGlyphAtlas {
+
+    /**
+     * @brief Global tag for log outputs.
+     */
+    private final static String LOG_TAG = PDEIconGlyphAtlas.class.getName();
+    private final static boolean DEBUG = false;
+
+    // page layout
+    private final static int PAGE_SIZE = 512;
+    private final static int MAX_PAGES = 4;
+    private final static int GLYPH_PADDING = 1;
+
+    // maximum number of measured glyphs
+    private final static int MAX_GLYPHS = 1024;
+
+    // the shared instance
+    private static PDEIconGlyphAtlas mInstance = null;
+
+
+    /**
+     * @brief A measured (and possibly rasterized) glyph.
+     */
+    public static class Glyph {
+        // what it is
+        private final Typeface mTypeface;
+        private final String mText;
+        private final float mTextSize;
+
+        // text bounds relative to the baseline origin (like Paint.getTextBounds)
+        private final Rect mBounds;
+
+        // atlas page and cell (page is null as long as not rasterized)
+        private Bitmap mPage;
+        private final Rect mCell;
+        private boolean mOversized;
+
+        /**
+         * @brief Constructor.
+         */
+        private Glyph(Typeface typeface, String text, float textSize) {
+            mTypeface = typeface;
+            mText = text;
+            mTextSize = textSize;
+            mBounds = new Rect();
+            mPage = null;
+            mCell = new Rect();
+            mOversized = false;
+        }
+
+        /**
+         * @brief Get the text bounds relative to the baseline origin; must not be modified.
+         */
+        public Rect getBounds() {
+            return mBounds;
+        }
+    }
+
+
+    /**
+     * @brief Glyph key.
+     */
+    private static class Key {
+        Typeface mTypeface;
+        String mText;
+        int mTextSizeBits;
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return mTypeface == other.mTypeface && mTextSizeBits == other.mTextSizeBits && mText.equals(other.mText);
+        }
+
+        @Override
+        public int hashCode() {
+            return (mText.hashCode() * 31 + System.identityHashCode(mTypeface)) * 31 + mTextSizeBits;
+        }
+    }
+
+
+    /**
+     * @brief Atlas page with its shelf packing state.
+     */
+    private static class Page {
+        Bitmap mBitmap;
+        Canvas mCanvas;
+        int mShelfX;
+        int mShelfY;
+        int mShelfHeight;
+    }
+
+
+    // measured glyphs
+    private final HashMap<Key, Glyph> mGlyphs;
+    private final Key mLookupKey;
+
+    // atlas pages
+    private final ArrayList<Page> mPages;
+
+    // paint for measuring and rasterizing
+    private final Paint mRasterPaint;
+
+    // reused destination rect
+    private final Rect mDestination;
+
+    // statistics
+    private long mRasterCount;
+    private long mResetCount;
+
+
+//----- init -----------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Constructor.
+     */
+    private PDEIconGlyphAtlas() {
+        mGlyphs = new HashMap<Key, Glyph>();
+        mLookupKey = new Key();
+        mPages = new ArrayList<Page>();
+        mRasterPaint = new Paint();
+        mRasterPaint.setAntiAlias(true);
+        mRasterPaint.setColor(0xff000000);
+        mDestination = new Rect();
+        mRasterCount = 0;
+        mResetCount = 0;
+    }
+
+
+    /**
+     * @brief Get the shared atlas.
+     */
+    public static synchronized PDEIconGlyphAtlas getInstance() {
+        if (mInstance == null) {
+            mInstance = new PDEIconGlyphAtlas();
+        }
+        return mInstance;
+    }
+
+
+//----- access ---------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get the measured glyph for typeface, text and text size.
+     *
+     * Only measures; rasterizing is done on the first draw.
+     */
+    public synchronized Glyph getGlyph(Typeface typeface, String text, float textSize) {
+        Glyph glyph;
+        Key key;
+
+        // look up with the reused key
+        mLookupKey.mTypeface = typeface;
+        mLookupKey.mText = text;
+        mLookupKey.mTextSizeBits = Float.floatToIntBits(textSize);
+        glyph = mGlyphs.get(mLookupKey);
+        mLookupKey.mTypeface = null;
+        mLookupKey.mText = null;
+        if (glyph != null) return glyph;
+
+        // keep the number of glyphs bounded
+        if (mGlyphs.size() >= MAX_GLYPHS) clear();
+
+        // measure
+        glyph = new Glyph(typeface, text, textSize);
+        mRasterPaint.setTypeface(typeface);
+        mRasterPaint.setTextSize(textSize);
+        mRasterPaint.getTextBounds(text, 0, text.length(), glyph.mBounds);
+
+        // remember
+        key = new Key();
+        key.mTypeface = typeface;
+        key.mText = text;
+        key.mTextSizeBits = Float.floatToIntBits(textSize);
+        mGlyphs.put(key, glyph);
+
+        return glyph;
+    }
+
+
+    /**
+     * @brief Draw a glyph with its baseline origin at x, y.
+     *
+     * The color, alpha and color filter are taken from the paint. If the glyph can't be placed in the atlas, it's
+     * drawn as text, so the paint should also carry the glyph's typeface and text size.
+     */
+    public synchronized void drawGlyph(Canvas canvas, Glyph glyph, float x, float y, Paint paint) {
+        int left, top;
+
+        // nothing visible?
+        if (glyph.mBounds.isEmpty()) return;
+
+        // rasterize on demand; too big? -> draw as text
+        if (glyph.mPage == null && !rasterize(glyph)) {
+            canvas.drawText(glyph.mText, x, y, paint);
+            return;
+        }
+
+        // blit the cell (on whole pixels, so the mask isn't resampled)
+        left = Math.round(x) + glyph.mBounds.left - GLYPH_PADDING;
+        top = Math.round(y) + glyph.mBounds.top - GLYPH_PADDING;
+        mDestination.set(left, top, left + glyph.mCell.width(), top + glyph.mCell.height());
+        canvas.drawBitmap(glyph.mPage, glyph.mCell, mDestination, paint);
+    }
+
+
+    /**
+     * @brief Drop all glyphs and pages.
+     */
+    public synchronized void clear() {
+        reset();
+        mGlyphs.clear();
+    }
+
+
+//----- helpers --------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Rasterize a glyph into the atlas.
+     *
+     * @return false if the glyph doesn't fit into a page.
+     */
+    private boolean rasterize(Glyph glyph) {
+        int width, height;
+        Page page;
+
+        // fits at all?
+        if (glyph.mOversized) return false;
+        width = glyph.mBounds.width() + 2 * GLYPH_PADDING;
+        height = glyph.mBounds.height() + 2 * GLYPH_PADDING;
+        if (width > PAGE_SIZE || height > PAGE_SIZE) {
+            glyph.mOversized = true;
+            return false;
+        }
+
+        // find space on the current page, else start a new page
+        page = mPages.isEmpty() ? null : mPages.get(mPages.size() - 1);
+        if (page != null && page.mShelfX + width > PAGE_SIZE) {
+            // next shelf
+            page.mShelfY += page.mShelfHeight;
+            page.mShelfX = 0;
+            page.mShelfHeight = 0;
+        }
+        if (page == null || page.mShelfY + height > PAGE_SIZE) {
+            if (mPages.size() >= MAX_PAGES) reset();
+            page = new Page();
+            page.mBitmap = Bitmap.createBitmap(PAGE_SIZE, PAGE_SIZE, Bitmap.Config.ALPHA_8);
+            page.mCanvas = new Canvas(page.mBitmap);
+            mPages.add(page);
+        }
+
+        // place
+        glyph.mCell.set(page.mShelfX, page.mShelfY, page.mShelfX + width, page.mShelfY + height);
+        page.mShelfX += width;
+        page.mShelfHeight = Math.max(page.mShelfHeight, height);
+
+        // draw the mask
+        mRasterPaint.setTypeface(glyph.mTypeface);
+        mRasterPaint.setTextSize(glyph.mTextSize);
+        page.mCanvas.drawText(glyph.mText,
+                              glyph.mCell.left + GLYPH_PADDING - glyph.mBounds.left,
+                              glyph.mCell.top + GLYPH_PADDING - glyph.mBounds.top,
+                              mRasterPaint);
+        glyph.mPage = page.mBitmap;
+        mRasterCount++;
+
+        // debug
+        if (DEBUG) Log.d(LOG_TAG, toString());
+
+        return true;
+    }
+
+
+    /**
+     * @brief Drop all pages; glyphs get rasterized again on their next draw.
+     */
+    private void reset() {
+        // forget rasterized cells
+        for (Glyph glyph : mGlyphs.values()) {
+            glyph.mPage = null;
+        }
+
+        // drop the pages (no recycling, display lists might still use them)
+        mPages.clear();
+        mResetCount++;
+    }
+
+
+//----- statistics -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Number of glyph rasterizations.
+     */
+    public synchronized long getRasterCount() {
+        return mRasterCount;
+    }
+
+
+    /**
+     * @brief Number of times the pages were dropped.
+     */
+    public synchronized long getResetCount() {
+        return mResetCount;
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return "PDEIconGlyphAtlas glyphs=" + mGlyphs.size() + " pages=" + mPages.size() + " rasterized="
+               + mRasterCount + " resets=" + mResetCount;
+    }
+}
@@ -7,7 +7,6 @@
 package de.telekom.pde.codelibrary.ui.elements.text;
 
 import android.graphics.*;
-import android.text.TextUtils;
 
 import de.telekom.pde.codelibrary.ui.PDEConstants;
 import de.telekom.pde.codelibrary.ui.buildingunits.PDEBuildingUnits;
@@ -34,8 +33,8 @@ public class PDELayerText extends PDEDrawableBase {
 
     //properties
     private String mText;
-    private final static String EllipsizeString = "...";
     private int mMaxLines = -1;
+    private PDETextLayout mTextLayout;
 
     private Paint mTextPaint;
     private PDEColor mTextColor;
@@ -89,6 +88,7 @@ public class PDELayerText extends PDEDrawableBase {
         mDither = false;
         mColorFilter = null;
         mText = text;
+        mTextLayout = null;
         mTypeface = null;
         mLineDistanceFactor = 1;
 
@@ -945,6 +945,9 @@ public class PDELayerText extends PDEDrawableBase {
     /**
      * @brief Function which draws the text in the textfield, returns height of the drawn text
      *
+     * The line layout is taken from the text layout engine; it's only computed again if text, font, available
+     * space or line limits change.
+     *
      * @param text text to be written
      * @param x x-position of the text
      * @param y y-position of the text
@@ -955,25 +958,9 @@ public class PDELayerText extends PDEDrawableBase {
     private int drawMultilineText(String text, float x, float y, Canvas canvas,
                                   Rect drawSpace, Paint paint, boolean draw) {
         if (paint == null) return 0;
-        int lineBottom, totalHeight, lineTop, lineHeight;
-        float lineWidth, lineStart;
-        int lineOffset = 0;
-        int lineCount = 1;
-
-        //horizontal alignment parameters
-        boolean left = false;
-        if (draw && mHorizontalAlignment == PDEConstants.PDEAlignment.PDEAlignmentLeft) left = true;
-        boolean center = false;
-        if (draw && mHorizontalAlignment == PDEConstants.PDEAlignment.PDEAlignmentCenter) center = true;
-        boolean right = false;
-        if (draw && mHorizontalAlignment == PDEConstants.PDEAlignment.PDEAlignmentRight) right = true;
-
-        if (text.contains("\n")) {
-            text = text.replaceAll("\n", " \n ");
-        }
-
-        //splits text in array of single words
-        String[] words = text.split(" ");
+        int lineBottom, lineTop, lineHeight, maxLines;
+        float lineStart;
+        PDETextLayout layout;
 
         // set line height
         lineHeight = Math.round(-mMetrics.ascent) + Math.round(mMetrics.descent);
@@ -989,261 +976,50 @@ public class PDELayerText extends PDEDrawableBase {
             lineTop = Math.round(-mMetrics.top) - mCapHeight;
         }
 
-        // draws text, word for word
-        String line = "";
-        for (int i = 0; i < words.length; ++i) {
-            //deletes newline and spaces, if there are any, so the line begins at the left
-            if (line.contains("\n")) {
-                line = line.replaceAll("\n", "");
-                line = line.trim();
-            }
-
-            if (i == 0) {
-                //starts at first word
-                line = words[i];
-            } else if (calculateTextWidth(line + " " + words[i], paint) <= drawSpace.width()
-                       && !TextUtils.equals(words[i], "\n")) {
-                //adds one more word if there is enough space in line
-                if (TextUtils.isEmpty(line)) {
-                    line = words[i];
-                } else {
-                    line = line + " " + words[i];
-                }
-
-            } else if (calculateTextWidth(line, paint) <= drawSpace.width()) {
-                //draws words if line is full
-                lineCount++;
-
-                //if there is no space for a another line writes line and returns
-                if ((lineHeight * lineCount) - lineBottom + mMetricsBottomDistance > drawSpace.height()
-                    || (mMaxLines != -1 && lineCount > mMaxLines)) {
-                    //adds next word, which gets ellipsized, but prevents that whole word is cut off instead of using
-                    //remaining available space
-                    line = line + " " + words[i];
-
-                    if (line.contains("\n")) {
-                        line = line.replaceAll("\n", "");
-                        line = line.trim();
-                    }
-
-                    //write
-                    if (left) canvas.drawText(getEllipsisString(line, drawSpace.width(), paint), x,
-                                              y + lineOffset, paint);
-
-                    if (center || right) {
-                        lineWidth = calculateTextWidth(getEllipsisString(line, drawSpace.width(), paint), paint);
-                        if (center) {
-                            lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                        } else {
-                            lineStart = drawSpace.width() - lineWidth;
-                        }
-                        canvas.drawText(getEllipsisString(line, drawSpace.width(), paint), x + lineStart,
-                                        y + lineOffset, paint);
-                    }
-
-                    totalHeight = (lineCount - 2) * lineHeight + mCapHeight + mMetricsBottomDistance + lineTop;
-                    return totalHeight;
-                } else {
-                    //writes line and goes to new line
-                    if (!line.equals("")) {
-                        if (left) canvas.drawText(line, x, y + lineOffset, paint);
-
-                        if (center || right) {
-                            lineWidth = calculateTextWidth(line, paint);
-                            if (center) {
-                                lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                            } else {
-                                lineStart = drawSpace.width() - lineWidth;
-                            }
-                            canvas.drawText(line, x + lineStart, y + lineOffset, paint);
-                        }
-
-                        lineOffset = lineOffset + lineHeight;
-                    }
-                    line = words[i];
-                }
-            } else {
-                // if line is too narrow for a whole word, writes single chars and linewraps inbetween word
-                String word = "";
-                for (int j = 0; j < line.length(); ++j) {
-                    //adds another char if there is enough space
-                    if (word.length() == 0 || calculateTextWidth(word + line.charAt(j), paint) <= drawSpace.width()) {
-                        word = word + line.charAt(j);
-                    } else {
-                        //writes chars
-                        lineCount++;
-
-                        if ((lineHeight * lineCount) - lineBottom + mMetricsBottomDistance > drawSpace.height()
-                            || (mMaxLines != -1 && lineCount > mMaxLines)) {
-                            //writes chars and returns if there is no space for a new line
-                            if (left) canvas.drawText(getEllipsisString(word, drawSpace.width(), paint), x,
-                                                      y + lineOffset, paint);
-
-                            if (center || right) {
-                                lineWidth = calculateTextWidth(getEllipsisString(word, drawSpace.width(), paint),
-                                                               paint);
-                                if (center) {
-                                    lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                                } else {
-                                    lineStart = drawSpace.width() - lineWidth;
-                                }
-                                canvas.drawText(getEllipsisString(word, drawSpace.width(), paint), x + lineStart,
-                                                y + lineOffset, paint);
-                            }
-
-                            totalHeight = (lineCount - 2) * lineHeight + mCapHeight + mMetricsBottomDistance + lineTop;
-                            return totalHeight;
-                        } else {
-                            //writes chars and goes to new line
-                            if (left) canvas.drawText(word, x, y + lineOffset, paint);
-
-                            if (center || right) {
-                                lineWidth = calculateTextWidth(word, paint);
-                                if (center) {
-                                    lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                                } else {
-                                    lineStart = drawSpace.width() - lineWidth;
-                                }
-                                canvas.drawText(word, x + lineStart, y + lineOffset, paint);
-                            }
-
-                            lineOffset = lineOffset + lineHeight;
-                            word = "" + line.charAt(j);
-                        }
-                    }
-                }
-
-                //add remaining chars to new line
-                if (calculateTextWidth(word + " " + words[i], paint) > drawSpace.width()) {
-                    //writes only remaining chars, if not enough space for next word is available
-                    lineCount++;
-
-                    if ((lineHeight * lineCount) - lineBottom + mMetricsBottomDistance > drawSpace.height()
-                        || (mMaxLines != -1 && lineCount > mMaxLines)) {
-                        //returns if there is no more space for another line
-                        if (left) canvas.drawText(getEllipsisString(word, drawSpace.width(), paint), x,
-                                                  y + lineOffset, paint);
-
-                        if (center || right) {
-                            lineWidth = calculateTextWidth(getEllipsisString(word, drawSpace.width(), paint), paint);
-                            if (center) {
-                                lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                            } else {
-                                lineStart = drawSpace.width() - lineWidth;
-                            }
-                            canvas.drawText(getEllipsisString(word, drawSpace.width(), paint), x + lineStart,
-                                            y + lineOffset, paint);
-                        }
-
-                        totalHeight = (lineCount - 2) * lineHeight + mCapHeight + mMetricsBottomDistance + lineTop;
-                        return totalHeight;
-                    } else {
-                        //writes chars and goes to next line
-                        if (left) canvas.drawText(word, x, y + lineOffset, paint);
-
-                        if (center || right) {
-                            lineWidth = calculateTextWidth(word, paint);
-                            if (center) {
-                                lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                            } else {
-                                lineStart = drawSpace.width() - lineWidth;
-                            }
-                            canvas.drawText(word, x + lineStart, y + lineOffset, paint);
-                        }
-
-                        lineOffset = lineOffset + lineHeight;
-                        line = words[i];
-                    }
-
-                } else {
-                    //adds next word if enough space is available
-                    line = word + " " + words[i];
-                }
-            }
+        //number of lines fitting into the available height (at least one), limited by maximum lines
+        maxLines = -1;
+        if (lineHeight > 0) {
+            maxLines = Math.max(1, (drawSpace.height() + lineBottom - mMetricsBottomDistance) / lineHeight);
         }
-
-        //draws remaining text (last word)
-        //tests if last word fits in line, else writes single chars
-        if (calculateTextWidth(line, paint) <= drawSpace.width()) {
-            //writes line
-            if (left) canvas.drawText(line, x, y + lineOffset, paint);
-
-            if (center || right) {
-                lineWidth = calculateTextWidth(line, paint);
-                if (center) {
-                    lineStart = (drawSpace.width() - lineWidth) / 2.0f;
+        if (mMaxLines != -1 && (maxLines == -1 || mMaxLines < maxLines)) maxLines = mMaxLines;
+
+        //get line layout
+        layout = getTextLayout(text, drawSpace.width(), maxLines);
+
+        //draw lines
+        if (draw) {
+            for (int i = 0; i < layout.getLineCount(); i++) {
+                if (mHorizontalAlignment == PDEConstants.PDEAlignment.PDEAlignmentCenter) {
+                    lineStart = (drawSpace.width() - layout.getLineWidth(i)) / 2.0f;
+                } else if (mHorizontalAlignment == PDEConstants.PDEAlignment.PDEAlignmentRight) {
+                    lineStart = drawSpace.width() - layout.getLineWidth(i);
                 } else {
-                    lineStart = drawSpace.width() - lineWidth;
+                    lineStart = 0.0f;
                 }
-                canvas.drawText(line, x + lineStart, y + lineOffset, paint);
+                canvas.drawText(layout.getLine(i), x + lineStart, y + i * lineHeight, paint);
             }
-        } else {
-            //if line does not fit, writes as many single chars as fit, then writes remaining chars in next lines
-            String word = "";
+        }
 
-            for (int j = 0; j < line.length(); ++j) {
-                //adds another char if there is enough space
-                if (word.length() == 0 || calculateTextWidth(word + line.charAt(j), paint) <= drawSpace.width()) {
-                    word = word + line.charAt(j);
-                } else {
-                    //writes chars
-                    lineCount++;
-
-                    if ((lineHeight * lineCount) - lineBottom + mMetricsBottomDistance > drawSpace.height()
-                        || (mMaxLines != -1 && lineCount > mMaxLines)) {
-                        //writes chars and returns if there is no space for a new line
-                        if (left) canvas.drawText(getEllipsisString(word, drawSpace.width(), paint), x,
-                                                  y + lineOffset, paint);
-
-                        if (center || right) {
-                            lineWidth = calculateTextWidth(getEllipsisString(word, drawSpace.width(), paint), paint);
-                            if (center) {
-                                lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                            } else {
-                                lineStart = drawSpace.width() - lineWidth;
-                            }
-                            canvas.drawText(getEllipsisString(word, drawSpace.width(), paint), x + lineStart,
-                                            y + lineOffset, paint);
-                        }
-
-                        totalHeight = (lineCount - 2) * lineHeight + mCapHeight + mMetricsBottomDistance + lineTop;
-                        return totalHeight;
-                    } else {
-                        //writes chars and goes to new line
-                        if (left) canvas.drawText(word, x, y + lineOffset, paint);
-
-                        if (center || right) {
-                            lineWidth = calculateTextWidth(word, paint);
-                            if (center) {
-                                lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                            } else {
-                                lineStart = drawSpace.width() - lineWidth;
-                            }
-                            canvas.drawText(word, x + lineStart, y + lineOffset, paint);
-                        }
-
-                        lineOffset = lineOffset + lineHeight;
-                        word = "" + line.charAt(j);
-                    }
-                }
-            }
+        return (layout.getLineCount() - 1) * lineHeight + mCapHeight + mMetricsBottomDistance + lineTop;
+    }
 
-            //writes remaining chars
-            if (left) canvas.drawText(word, x, y + lineOffset, paint);
 
-            if (center || right) {
-                lineWidth = calculateTextWidth(word, paint);
-                if (center) {
-                    lineStart = (drawSpace.width() - lineWidth) / 2.0f;
-                } else {
-                    lineStart = drawSpace.width() - lineWidth;
-                }
-                canvas.drawText(word, x + lineStart, y + lineOffset, paint);
-            }
+    /**
+     * @brief Get the line layout for text, width and line limit.
+     *
+     * The last layout is kept and reused as long as it matches (e.g. on color changes, for the shadow, ...).
+     * Otherwise it's taken from the shared layout cache, so equally styled texts are only laid out once.
+     */
+    private PDETextLayout getTextLayout(String text, float width, int maxLines) {
+        // still valid?
+        if (mTextLayout != null && mTextLayout.isLayoutOf(text, mTextPaint, width, maxLines, mEllipsize)) {
+            return mTextLayout;
         }
 
-        totalHeight = (lineCount - 1) * lineHeight + mCapHeight + mMetricsBottomDistance + lineTop;
-        return totalHeight;
+        // get shared layout
+        mTextLayout = PDETextLayoutCache.getInstance().getLayout(text, mTextPaint, width, maxLines, mEllipsize);
+
+        return mTextLayout;
     }
 
 
@@ -1265,40 +1041,6 @@ public class PDELayerText extends PDEDrawableBase {
     }
 
 
-    /**
-     * @brief Help function to get ellipsized string of a given text, fitting in a given width
-     *
-     * If ellipsize is enabled mEllipsize string is added to input string.
-     */
-    private String getEllipsisString(String input, float width, Paint paint) {
-        if (input.length() == 0) return "";
-        String output;
-
-        if (mEllipsize) {
-            output = input + EllipsizeString;
-            if (calculateTextWidth(output, paint) <= width) return output;
-
-            while (output.length() > 1 && calculateTextWidth(output, paint) > width) {
-                if (input.length() > 1) {
-                    input = input.substring(0, input.length() - 1);
-                    output = input + EllipsizeString;
-                } else if (input.length() == 1) {
-                    output = EllipsizeString;
-                    input = "";
-                } else {
-                    output = output.substring(0, output.length() - 1);
-                }
-            }
-        } else {
-            output = input;
-            while (output.length() > 1 && calculateTextWidth(output, paint) > width) {
-                output = output.substring(0, output.length() - 1);
-            }
-        }
-        return output;
-    }
-
-
     /**
      * @brief Returns necessary height for text, based on given width
      *
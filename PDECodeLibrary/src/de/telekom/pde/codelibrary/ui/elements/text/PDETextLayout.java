@@ -0,0 +1,421 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.elements.text;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDETextLayout
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Line layout of a text: line breaking and ellipsizing for a given width and line limit.
+ *
+ * The character widths of the text are measured only once (Paint.getTextWidths) and summed up; the width of every
+ * substring then is a simple difference. Line ends and ellipsis cut points are found by binary search on these sums.
+ *
+ * Lines are broken at spaces; a hard newline always starts a new line. Words which are wider than the available
+ * width are broken between characters. If the text needs more lines than allowed, the last line is cut (and
+ * ellipsized if requested).
+ *
+ * The layout only depends on text, typeface, text size, width, line limit and the ellipsize flag. It stays valid
+ * for all other paint changes (color, alpha, ...) and can be laid out again into the same object.
+ */
+public class PDETextLayout {
+
+    // the ellipsis appended to cut lines
+    public final static String EllipsisString = "...";
+
+    // the layout parameters
+    private String mText;
+    private Typeface mTypeface;
+    private float mTextSize;
+    private float mMaxWidth;
+    private int mMaxLines;
+    private boolean mEllipsize;
+
+    // the lines
+    private String[] mLines;
+    private float[] mLineWidths;
+    private int mLineCount;
+    private boolean mTruncated;
+
+    // measuring storage (reused between layouts)
+    private float[] mCharWidths;
+    private float[] mWidthSums;
+
+
+    /**
+     * @brief Constructor; creates an empty layout.
+     */
+    public PDETextLayout() {
+        mText = null;
+        mLines = new String[4];
+        mLineWidths = new float[4];
+        mLineCount = 0;
+        mTruncated = false;
+        mCharWidths = new float[0];
+        mWidthSums = new float[1];
+    }
+
+
+//----- layout ---------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Check if this layout was made for the given parameters.
+     *
+     * Only the typeface and the text size of the paint are relevant.
+     */
+    public boolean isLayoutOf(String text, Paint paint, float maxWidth, int maxLines, boolean ellipsize) {
+        return mText != null
+               && mTypeface == paint.getTypeface()
+               && mTextSize == paint.getTextSize()
+               && mMaxWidth == maxWidth
+               && mMaxLines == maxLines
+               && mEllipsize == ellipsize
+               && mText.equals(text);
+    }
+
+
+    /**
+     * @brief Lay out the text.
+     *
+     * @param text The text to lay out.
+     * @param paint Paint delivering typeface and text size.
+     * @param maxWidth Available width.
+     * @param maxLines Maximum number of lines (-1 for unlimited); at least one line is always laid out.
+     * @param ellipsize Append an ellipsis to the last line if the text is cut.
+     */
+    public void layout(String text, Paint paint, float maxWidth, int maxLines, boolean ellipsize) {
+        int length, pos, start, end, paragraphEnd, next;
+        boolean hardBreak;
+
+        // security
+        if (text == null) text = "";
+
+        // remember parameters
+        mText = text;
+        mTypeface = paint.getTypeface();
+        mTextSize = paint.getTextSize();
+        mMaxWidth = maxWidth;
+        mMaxLines = maxLines;
+        mEllipsize = ellipsize;
+
+        // measure all characters once
+        measure(text, paint);
+
+        // break lines
+        mLineCount = 0;
+        mTruncated = false;
+        length = text.length();
+        pos = 0;
+        do {
+            // lines never start with spaces
+            start = skipSpaces(pos, length);
+
+            // the current paragraph ends at the next hard newline
+            paragraphEnd = text.indexOf('\n', start);
+            if (paragraphEnd < 0) paragraphEnd = length;
+
+            // find the line end
+            end = findFitEnd(start, paragraphEnd, maxWidth);
+            if (end >= paragraphEnd) {
+                // rest of paragraph fits
+                end = paragraphEnd;
+                next = paragraphEnd + 1;
+            } else if (text.lastIndexOf(' ', end) > start) {
+                // break at the last space that fits
+                end = text.lastIndexOf(' ', end);
+                next = end + 1;
+            } else {
+                // single word too wide -> break between characters (but take at least one)
+                if (end <= start) end = start + 1;
+                if (end < paragraphEnd && Character.isLowSurrogate(text.charAt(end)) && end - 1 > start) end--;
+                next = end;
+            }
+
+            // last allowed line, but text remaining? -> cut the rest of the paragraph
+            if (maxLines != -1 && mLineCount == maxLines - 1 && skipSpaces(next, length) < length) {
+                addTruncatedLine(start, paragraphEnd, maxWidth, paint);
+                break;
+            }
+
+            // add line (without trailing spaces)
+            addLine(start, trimSpaces(start, end));
+            pos = next;
+
+            // a hard newline at the very end still starts an (empty) last line
+            hardBreak = (end == paragraphEnd && paragraphEnd < length);
+        } while (skipSpaces(pos, length) < length || (hardBreak && (maxLines == -1 || mLineCount < maxLines)));
+    }
+
+
+//----- access ---------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get the number of lines (at least one after layout).
+     */
+    public int getLineCount() {
+        return mLineCount;
+    }
+
+
+    /**
+     * @brief Get the text of a line (including the ellipsis on a cut last line).
+     */
+    public String getLine(int line) {
+        return mLines[line];
+    }
+
+
+    /**
+     * @brief Get the width of a line.
+     */
+    public float getLineWidth(int line) {
+        return mLineWidths[line];
+    }
+
+
+    /**
+     * @brief Get the width of the widest line.
+     */
+    public float getWidth() {
+        float width = 0.0f;
+        for (int i = 0; i < mLineCount; i++) {
+            if (mLineWidths[i] > width) width = mLineWidths[i];
+        }
+        return width;
+    }
+
+
+    /**
+     * @brief Check if the text had to be cut.
+     */
+    public boolean isTruncated() {
+        return mTruncated;
+    }
+
+
+    /**
+     * @brief Get the laid out text.
+     */
+    public String getText() {
+        return mText;
+    }
+
+
+    /**
+     * @brief Get the typeface the text was laid out with.
+     */
+    public Typeface getTypeface() {
+        return mTypeface;
+    }
+
+
+    /**
+     * @brief Get the text size the text was laid out with.
+     */
+    public float getTextSize() {
+        return mTextSize;
+    }
+
+
+    /**
+     * @brief Get the width the text was laid out for.
+     */
+    public float getMaxWidth() {
+        return mMaxWidth;
+    }
+
+
+    /**
+     * @brief Get the line limit the text was laid out for.
+     */
+    public int getMaxLines() {
+        return mMaxLines;
+    }
+
+
+    /**
+     * @brief Check if the text was laid out with ellipsis.
+     */
+    public boolean getEllipsize() {
+        return mEllipsize;
+    }
+
+
+    /**
+     * @brief Release the measuring storage and unused line storage (for layouts which are kept for long).
+     *
+     * The layout stays valid; laying out again just needs to allocate again.
+     */
+    public void compact() {
+        String[] lines;
+        float[] widths;
+
+        // measuring storage
+        mCharWidths = new float[0];
+        mWidthSums = new float[1];
+
+        // line storage
+        if (mLines.length > mLineCount) {
+            lines = new String[mLineCount];
+            widths = new float[mLineCount];
+            System.arraycopy(mLines, 0, lines, 0, mLineCount);
+            System.arraycopy(mLineWidths, 0, widths, 0, mLineCount);
+            mLines = lines;
+            mLineWidths = widths;
+        }
+    }
+
+
+//----- helpers --------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Measure the widths of all characters and build the running sums.
+     */
+    private void measure(String text, Paint paint) {
+        int i, length;
+
+        // get storage
+        length = text.length();
+        if (mCharWidths.length < length) {
+            mCharWidths = new float[length];
+            mWidthSums = new float[length + 1];
+        }
+
+        // measure once
+        if (length > 0) paint.getTextWidths(text, mCharWidths);
+
+        // sum up
+        mWidthSums[0] = 0.0f;
+        for (i = 0; i < length; i++) {
+            mWidthSums[i + 1] = mWidthSums[i] + mCharWidths[i];
+        }
+    }
+
+
+    /**
+     * @brief Width of the characters from start (inclusive) to end (exclusive).
+     */
+    private float widthOf(int start, int end) {
+        return mWidthSums[end] - mWidthSums[start];
+    }
+
+
+    /**
+     * @brief Binary search for the largest end (start <= end <= limit) whose substring fits into the width.
+     */
+    private int findFitEnd(int start, int limit, float maxWidth) {
+        int low, high, middle;
+
+        // all fits?
+        if (widthOf(start, limit) <= maxWidth) return limit;
+
+        // search; the sums are monotonic
+        low = start;
+        high = limit;
+        while (low < high) {
+            middle = (low + high + 1) >>> 1;
+            if (widthOf(start, middle) <= maxWidth) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+
+    /**
+     * @brief Skip spaces forward.
+     */
+    private int skipSpaces(int pos, int limit) {
+        while (pos < limit && mText.charAt(pos) == ' ') pos++;
+        return pos;
+    }
+
+
+    /**
+     * @brief Remove trailing spaces of a range; returns the new end.
+     */
+    private int trimSpaces(int start, int end) {
+        while (end > start && mText.charAt(end - 1) == ' ') end--;
+        return end;
+    }
+
+
+    /**
+     * @brief Add the cut last line; the remaining paragraph is cut to fit (with ellipsis if requested).
+     */
+    private void addTruncatedLine(int start, int paragraphEnd, float maxWidth, Paint paint) {
+        float ellipsisWidth;
+        int end;
+
+        // remember
+        mTruncated = true;
+
+        // no ellipsis -> as many characters as fit (at least one)
+        if (!mEllipsize) {
+            end = findFitEnd(start, paragraphEnd, maxWidth);
+            if (end <= start && paragraphEnd > start) end = start + 1;
+            addLine(start, end);
+            return;
+        }
+
+        // ellipsis alone too wide? -> as much of the ellipsis as fits
+        ellipsisWidth = paint.measureText(EllipsisString);
+        if (ellipsisWidth > maxWidth) {
+            end = Math.max(1, paint.breakText(EllipsisString, true, maxWidth, null));
+            addLine(EllipsisString.substring(0, end), paint.measureText(EllipsisString, 0, end));
+            return;
+        }
+
+        // longest prefix which still fits together with the ellipsis
+        end = trimSpaces(start, findFitEnd(start, paragraphEnd, maxWidth - ellipsisWidth));
+        addLine(mText.substring(start, end) + EllipsisString, widthOf(start, end) + ellipsisWidth);
+    }
+
+
+    /**
+     * @brief Add a line for the given range of the text.
+     */
+    private void addLine(int start, int end) {
+        addLine(mText.substring(start, end), widthOf(start, end));
+    }
+
+
+    /**
+     * @brief Add a line.
+     */
+    private void addLine(String line, float width) {
+        String[] lines;
+        float[] widths;
+
+        // grow storage
+        if (mLineCount == mLines.length) {
+            lines = new String[Math.max(4, mLineCount * 2)];
+            widths = new float[Math.max(4, mLineCount * 2)];
+            System.arraycopy(mLines, 0, lines, 0, mLineCount);
+            System.arraycopy(mLineWidths, 0, widths, 0, mLineCount);
+            mLines = lines;
+            mLineWidths = widths;
+        }
+
+        // store
+        mLines[mLineCount] = line;
+        mLineWidths[mLineCount] = width;
+        mLineCount++;
+    }
+}
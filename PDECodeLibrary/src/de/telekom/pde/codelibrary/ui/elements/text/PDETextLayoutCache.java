@@ -0,0 +1,322 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.elements.text;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.Log;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDETextLayoutCache
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Process-wide cache for text line layouts.
+ *
+ * Lists typically show the same strings (labels, units, button titles) in many text elements of the same style.
+ * Instead of measuring and wrapping them again in every element, the layouts are shared. The key consists of
+ * everything that influences line breaking: text, typeface, text size, available width, line limit and the ellipsize
+ * flag. The horizontal alignment is not part of the key, it's applied when drawing the lines.
+ *
+ * Layouts are kept in least recently used order until the memory ceiling is exceeded. Layouts handed out by the
+ * cache are shared and must not be laid out again.
+ */
+public class PDETextLayoutCache {
+
+    /**
+     * @brief Global tag for log outputs.
+     */
+    private final static String LOG_TAG = PDETextLayoutCache.class.getName();
+    private final static boolean DEBUG = false;
+
+    // estimated overhead of an entry and of a line (objects, references, array entries)
+    private final static int ENTRY_OVERHEAD_BYTES = 160;
+    private final static int LINE_OVERHEAD_BYTES = 48;
+
+    // the shared instance
+    private static PDETextLayoutCache mInstance = null;
+
+
+    /**
+     * @brief Cache key.
+     */
+    private static class Key {
+        String mText;
+        Typeface mTypeface;
+        int mTextSizeBits;
+        int mMaxWidthBits;
+        int mMaxLines;
+        boolean mEllipsize;
+
+        /**
+         * @brief Fill in all values.
+         */
+        void set(String text, Typeface typeface, float textSize, float maxWidth, int maxLines, boolean ellipsize) {
+            mText = text;
+            mTypeface = typeface;
+            mTextSizeBits = Float.floatToIntBits(textSize);
+            mMaxWidthBits = Float.floatToIntBits(maxWidth);
+            mMaxLines = maxLines;
+            mEllipsize = ellipsize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return mTypeface == other.mTypeface
+                   && mTextSizeBits == other.mTextSizeBits
+                   && mMaxWidthBits == other.mMaxWidthBits
+                   && mMaxLines == other.mMaxLines
+                   && mEllipsize == other.mEllipsize
+                   && mText.equals(other.mText);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash;
+
+            hash = mText.hashCode();
+            hash = hash * 31 + System.identityHashCode(mTypeface);
+            hash = hash * 31 + mTextSizeBits;
+            hash = hash * 31 + mMaxWidthBits;
+            hash = hash * 31 + mMaxLines;
+            hash = hash * 2 + (mEllipsize ? 1 : 0);
+            return hash;
+        }
+    }
+
+
+    /**
+     * @brief Cache entry.
+     */
+    private static class Entry {
+        PDETextLayout mLayout;
+        long mBytes;
+    }
+
+
+    // entries by key, in access order
+    private final LinkedHashMap<Key, Entry> mEntries;
+
+    // reused key for lookups (only used while holding the lock)
+    private final Key mLookupKey;
+
+    // memory ceiling and (estimated) bytes held by all layouts
+    private long mMaxBytes;
+    private long mBytesHeld;
+
+    // statistics
+    private long mHitCount;
+    private long mMissCount;
+
+
+//----- init -----------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Constructor. Default ceiling is 1/128 of the maximum heap.
+     */
+    private PDETextLayoutCache() {
+        mEntries = new LinkedHashMap<Key, Entry>(64, 0.75f, true);
+        mLookupKey = new Key();
+        mMaxBytes = Runtime.getRuntime().maxMemory() / 128;
+        mBytesHeld = 0;
+        mHitCount = 0;
+        mMissCount = 0;
+    }
+
+
+    /**
+     * @brief Get the shared cache.
+     */
+    public static synchronized PDETextLayoutCache getInstance() {
+        if (mInstance == null) {
+            mInstance = new PDETextLayoutCache();
+        }
+        return mInstance;
+    }
+
+
+//----- configuration --------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Set the memory ceiling for cached layouts.
+     *
+     * A ceiling of 0 disables caching (every request lays out).
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        // remember
+        mMaxBytes = Math.max(0, maxBytes);
+
+        // shrink if necessary
+        trimToSize(mMaxBytes);
+    }
+
+
+    /**
+     * @brief Get the memory ceiling.
+     */
+    public synchronized long getMaxBytes() {
+        return mMaxBytes;
+    }
+
+
+//----- access ---------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get the (shared) layout of a text.
+     *
+     * @param text The text to lay out.
+     * @param paint Paint delivering typeface and text size.
+     * @param maxWidth Available width.
+     * @param maxLines Maximum number of lines (-1 for unlimited).
+     * @param ellipsize Append an ellipsis to the last line if the text is cut.
+     * @return The layout; must be treated as read-only.
+     */
+    public PDETextLayout getLayout(String text, Paint paint, float maxWidth, int maxLines, boolean ellipsize) {
+        PDETextLayout layout;
+        Entry entry;
+        Key key;
+
+        // security
+        if (text == null) text = "";
+
+        // look up
+        synchronized (this) {
+            mLookupKey.set(text, paint.getTypeface(), paint.getTextSize(), maxWidth, maxLines, ellipsize);
+            entry = mEntries.get(mLookupKey);
+            mLookupKey.mText = null;
+            mLookupKey.mTypeface = null;
+            if (entry != null) {
+                mHitCount++;
+                return entry.mLayout;
+            }
+            mMissCount++;
+        }
+
+        // lay out (outside of the lock)
+        layout = new PDETextLayout();
+        layout.layout(text, paint, maxWidth, maxLines, ellipsize);
+        layout.compact();
+
+        // remember
+        synchronized (this) {
+            key = new Key();
+            key.set(text, layout.getTypeface(), layout.getTextSize(), maxWidth, maxLines, ellipsize);
+
+            // someone else was faster? -> use that one
+            entry = mEntries.get(key);
+            if (entry != null) return entry.mLayout;
+
+            // new entry
+            entry = new Entry();
+            entry.mLayout = layout;
+            entry.mBytes = estimateBytes(layout);
+            mEntries.put(key, entry);
+            mBytesHeld += entry.mBytes;
+
+            // keep the ceiling
+            trimToSize(mMaxBytes);
+        }
+
+        return layout;
+    }
+
+
+    /**
+     * @brief Remove all cached layouts.
+     */
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+
+    /**
+     * @brief Remove least recently used layouts until the cache holds at most the given bytes.
+     */
+    private void trimToSize(long maxBytes) {
+        Iterator<Map.Entry<Key, Entry>> iterator;
+
+        // the iterator delivers the least recently used entries first
+        iterator = mEntries.entrySet().iterator();
+        while (mBytesHeld > maxBytes && iterator.hasNext()) {
+            mBytesHeld -= iterator.next().getValue().mBytes;
+            iterator.remove();
+        }
+
+        // debug
+        if (DEBUG) Log.d(LOG_TAG, toString());
+    }
+
+
+    /**
+     * @brief Estimate the memory used by a layout (strings are counted with two bytes per character).
+     */
+    private static long estimateBytes(PDETextLayout layout) {
+        long bytes;
+        int i;
+
+        bytes = ENTRY_OVERHEAD_BYTES + 2L * layout.getText().length();
+        for (i = 0; i < layout.getLineCount(); i++) {
+            bytes += LINE_OVERHEAD_BYTES + 2L * layout.getLine(i).length();
+        }
+
+        return bytes;
+    }
+
+
+//----- statistics -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Number of requests served from the cache.
+     */
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+
+    /**
+     * @brief Number of requests which needed a new layout.
+     */
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+
+    /**
+     * @brief Estimated bytes held by all cached layouts.
+     */
+    public synchronized long getBytesHeld() {
+        return mBytesHeld;
+    }
+
+
+    /**
+     * @brief Reset hit and miss counters.
+     */
+    public synchronized void resetStatistics() {
+        mHitCount = 0;
+        mMissCount = 0;
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return "PDETextLayoutCache entries=" + mEntries.size() + " hits=" + mHitCount + " misses=" + mMissCount
+               + " bytesHeld=" + mBytesHeld + " maxBytes=" + mMaxBytes;
+    }
+}
@@ -115,6 +115,20 @@ public class PDEEvent {
     }
 
 
+    /**
+     * @brief Reset the event to its initial state, so it can be sent again.
+     *
+     * Used by senders which reuse their events (see PDEEventRecycler). Derived events with additional data should
+     * override this and clear their data as well.
+     */
+    public void reset() {
+        mType = "";
+        mSender = null;
+        mResult = null;
+        mFlags = FLAG_NONE;
+    }
+
+
     /**
      * @brief Check if the event type matches.
      *
@@ -127,8 +141,8 @@ public class PDEEvent {
     public boolean isType(String type) {
         // wildcard?
         if (type.charAt(type.length() - 1) == '*'){
-            // wildcard check
-            return getType().startsWith(type.substring(0, type.length()-1));
+            // wildcard check (compare prefix in place, no substring needed)
+            return mType.regionMatches(0, type, 0, type.length() - 1);
         } else {
             // direct string comparison
             return mType.equalsIgnoreCase(type);
@@ -0,0 +1,78 @@
+/*
+ * Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.events;
+
+import java.util.ArrayList;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEEventRecycler
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Small per-sender pool of reusable events.
+ *
+ * Senders which send the same kind of event very often (e.g. on every animation frame) obtain their events here and
+ * recycle them as soon as sendEvent() returned (and they have read back all results). Events which are sent while
+ * another one is still being processed (nested sends) simply get another instance, so after a short warm-up no
+ * events are allocated anymore.
+ *
+ * Ownership contract: a recycled event belongs to its sender. Listeners may read and modify an event while
+ * processing it (as before), but must not keep references to it after their handler returned - the event will be
+ * reset and sent again with different content. Listeners which need the data later have to copy it.
+ *
+ * Not thread safe; use one recycler per sender and only on the thread sending the events (usually the UI thread).
+ */
+public abstract class PDEEventRecycler<E extends PDEEvent> {
+
+    // maximum number of events kept for reuse
+    private final static int MAX_POOLED_EVENTS = 4;
+
+    // events available for reuse
+    private final ArrayList<E> mPool;
+
+
+    /**
+     * @brief Constructor.
+     */
+    public PDEEventRecycler() {
+        mPool = new ArrayList<E>(MAX_POOLED_EVENTS);
+    }
+
+
+    /**
+     * @brief Create a new event; called when no event is available for reuse.
+     */
+    protected abstract E createEvent();
+
+
+    /**
+     * @brief Get an event in its initial state.
+     */
+    public E obtain() {
+        // reuse if possible
+        if (!mPool.isEmpty()) return mPool.remove(mPool.size() - 1);
+
+        // create
+        return createEvent();
+    }
+
+
+    /**
+     * @brief Give back an event after sending it; it must not be used by anyone afterwards.
+     */
+    public void recycle(E event) {
+        // security
+        if (event == null) return;
+
+        // reset (also drops the references the event holds) and keep for reuse
+        event.reset();
+        if (mPool.size() < MAX_POOLED_EVENTS) mPool.add(event);
+    }
+}
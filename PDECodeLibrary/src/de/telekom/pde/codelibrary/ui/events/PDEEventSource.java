@@ -11,9 +11,7 @@ import android.util.Log;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ConcurrentModificationException;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.HashMap;
 
 
 //----------------------------------------------------------------------------------------------------------------------
@@ -27,6 +25,8 @@ import java.util.LinkedList;
  * The event source class manages the distribution of events. Listeners are registered here. Listeners
  * are methods of other classes getting sent the events and handling them. All
  * listeners must conform to the method signature pattern void <functionname> (PDEEvent event).
+ * Alternatively, listeners can implement PDEIEventListener and are then called directly without reflection
+ * (see addTypedListener()).
  *
  * If a class wants to send events, it should create it's own event source and expose it to other
  * classes to register their listeners. All events are then sent to the owned event source and get
@@ -40,6 +40,59 @@ public class PDEEventSource implements PDEIEventSource {
      */
     private final static String LOG_TAG = PDEEventSource.class.getName();
 
+    /**
+     * @brief Cache of resolved listener methods.
+     *
+     * Maps target class -> method name -> invoker, so the reflective method lookup is only done once per
+     * class and method name, and not every time a listener is added.
+     */
+    private final static HashMap<Class<?>, HashMap<String, MethodInvoker>> sMethodInvokerCache
+            = new HashMap<Class<?>, HashMap<String, MethodInvoker>>();
+
+
+    /**
+     * @brief Helper class holding a resolved listener method.
+     *
+     * Listener methods either conform to void <functionname> (PDEEvent event) or take no parameter at all.
+     * The kind of method is determined once when the method is resolved and not on every call.
+     */
+    private final static class MethodInvoker {
+        /**
+         * @brief The method to be called.
+         */
+        final Method mMethod;
+
+        /**
+         * @brief True if the method takes the event as parameter, false if it takes no parameter.
+         */
+        final boolean mWithEvent;
+
+
+        /**
+         * @brief Constructor
+         *
+         * @param method The method to be called.
+         * @param withEvent True if the method takes the event as parameter.
+         */
+        MethodInvoker(Method method, boolean withEvent) {
+            mMethod = method;
+            mWithEvent = withEvent;
+        }
+
+
+        /**
+         * @brief Call the method on the target.
+         */
+        void invoke(Object target, PDEEvent event) throws IllegalAccessException, InvocationTargetException {
+            if (mWithEvent) {
+                mMethod.invoke(target, event);
+            } else {
+                mMethod.invoke(target);
+            }
+        }
+    }
+
+
     /**
      * @brief Helper class for holding a listener reference (weak), the callback-method and additional data.
      */
@@ -67,9 +120,11 @@ public class PDEEventSource implements PDEIEventSource {
         WeakReference<Object> mTarget;
 
         /**
-         * @brief The method to be called.
+         * @brief The resolved method to be called.
+         *
+         * Null for typed listeners; these implement PDEIEventListener and are called directly.
          */
-        Method mMethod;
+        MethodInvoker mInvoker;
 
         /**
          * @brief An event mask against which the events get filtered.
@@ -93,13 +148,13 @@ public class PDEEventSource implements PDEIEventSource {
          * @brief Constructor
          *
          * @param target Reference to the listener class.
-         * @param method The method to be called.
+         * @param invoker The resolved method to be called, or null if the target is a PDEIEventListener.
          * @param eventMask An event mask against which the events get filtered.
          * @param source Source of this listener
          */
-        public Listener(Object target, Method method, String eventMask, PDEEventSource source) {
+        public Listener(Object target, MethodInvoker invoker, String eventMask, PDEEventSource source) {
             mTarget = new WeakReference<Object>(target);
-            mMethod = method;
+            mInvoker = invoker;
 
             // @new
             mSource = new WeakReference<PDEEventSource>(source);
@@ -116,24 +171,63 @@ public class PDEEventSource implements PDEIEventSource {
                 mWildcard = false;
             }
         }
+
+
+        /**
+         * @brief Check if the event type passes the event mask of this listener.
+         */
+        boolean matches(String type) {
+            if (mWildcard) {
+                return mEventMask.length() == 0 || type.startsWith(mEventMask);
+            } else {
+                return type.equalsIgnoreCase(mEventMask);
+            }
+        }
     }
 
 
+    /**
+     * @brief Shared empty listener array.
+     */
+    private final static Listener[] EMPTY_LISTENERS = new Listener[0];
+
+
     /**
      * @brief The array of listeners.
      *
      * Holds PDEEventSourceListener objects pointing to the listeners.
+     *
+     * The array is never modified in place (copy on write). Adding or removing listeners creates a new array, so
+     * sending events can simply iterate a snapshot of the array. Listeners can add or remove listeners re-entrantly
+     * while an event is being sent. Listeners added during sending don't get the current event, removed ones don't
+     * get it anymore (they're marked by a cleared event source).
+     */
+    private Listener[] mListeners = null;
+
+
+    /**
+     * @brief Maximum number of event types remembered in the dispatch index.
      */
-    private LinkedList<Listener> mListeners = null;
+    private final static int DISPATCH_INDEX_MAX_TYPES = 64;
+
+
+    /**
+     * @brief Dispatch index: event type -> listeners whose event mask matches this type (in listener order).
+     *
+     * Built lazily per event type on first send, so sending an event only touches the listeners actually
+     * interested in it, and the mask comparisons are done once per type instead of once per send. Since the
+     * listener array is copy on write, the index is simply dropped whenever a new listener array is set.
+     */
+    private HashMap<String, Listener[]> mDispatchIndex = null;
 
 
     // @new
     /**
      * @brief The array of listeners.
      *
-     * Holds listeners we're using to forward events from other classes.
+     * Holds listeners we're using to forward events from other classes. Copy on write like mListeners.
      */
-    private LinkedList<Listener> mForwardEventSources = null;
+    private Listener[] mForwardEventSources = null;
 
 
     /**
@@ -161,9 +255,10 @@ public class PDEEventSource implements PDEIEventSource {
      */
     public PDEEventSource() {
         // init variables
-        mListeners = new LinkedList<Listener>();
+        mListeners = EMPTY_LISTENERS;
+        mDispatchIndex = new HashMap<String, Listener[]>();
         // @new
-        mForwardEventSources = new LinkedList<Listener>();
+        mForwardEventSources = EMPTY_LISTENERS;
         mEventSourceDelegate = null;
         mEventDefaultSender = null;
         // @new
@@ -217,8 +312,8 @@ public class PDEEventSource implements PDEIEventSource {
      *         to remove the listener later.
      */
     public Object addListener(Object target, String methodName, String eventMask) {
+        MethodInvoker invoker;
 
-        Method method = null;
         //security
         if (target == null || mListeners == null) {
             Log.w(LOG_TAG, "listener array or target is null!");
@@ -226,45 +321,292 @@ public class PDEEventSource implements PDEIEventSource {
             return null;
         }
 
-        try {
-            // check if the given method really is declared for target object
+        // look up the method (cached per class)
+        invoker = getMethodInvoker(target.getClass(), methodName);
 
-            method = target.getClass().getMethod(methodName, new Class[] {PDEEvent.class});
+        if (invoker != null) {
+            return addListenerInternal(new Listener(target, invoker, eventMask, this));
+        } else {
+            Log.e(LOG_TAG, "addListener: method '"+methodName+"' for target "+target.toString( )+ " was not found!");
+            return null;
+        }
+    }
+
+
+    /**
+     * @brief Add a typed listener to the list.
+     *
+     * The listener gets called directly by the event source, no method is invoked by reflection. Only a weak
+     * reference to the listener is held, the owner has to keep it alive. (Named differently from addListener(), so
+     * a listener object is never mistaken for a target with a method name.)
+     *
+     * This function adds a listener for all events. No filtering is performed.
+     *
+     * @param listener The listener the events get sent to.
+     * @return Returns an internal class identifying the listener added. This reference can be used
+     *         to remove the listener later.
+     */
+    public Object addTypedListener(PDEIEventListener listener) {
+        // add this listener as a listener for all events
+        return addTypedListener(listener, "*");
+    }
+
+
+    /**
+     * @brief Add a typed listener to the list, with a filter for the events that should be sent.
+     *
+     * See addListener(Object, String, String) for information about event masks and listener order.
+     *
+     * @param listener The listener the events get sent to. Only a weak reference is held.
+     * @param eventMask The filter of the events that should be sent.
+     * @return Returns an internal class identifying the listener added. This reference can be used
+     *         to remove the listener later.
+     */
+    public Object addTypedListener(PDEIEventListener listener, String eventMask) {
+        //security
+        if (listener == null || mListeners == null) {
+            Log.w(LOG_TAG, "listener array or listener is null!");
+            //error
+            return null;
+        }
 
+        return addListenerInternal(new Listener(listener, null, eventMask, this));
+    }
+
+
+    /**
+     * @brief Store a newly created listener and request its initialization.
+     */
+    private Object addListenerInternal(Listener newListener) {
+        // store (copy on write)
+        setListeners(appendListener(mListeners, newListener));
+
+        // tell the delegate
+        // @new
+        /*if (mEventSourceDelegate != null && mEventSourceDelegate.get() != null
+            && mEventSourceDelegate.get() instanceof PDEIEventSourceDelegate) {
+            mEventSourceDelegate.get().eventSourceDidAddListener(newListener);
+        } */
+        requestInitializationForListener(newListener);
+        // return the internal listener object
+        return newListener;
+    }
+
+
+    /**
+     * @brief Set a new listener array and drop the dispatch index built for the old one.
+     */
+    private void setListeners(Listener[] listeners) {
+        // any change?
+        if (listeners == mListeners) {
+            return;
+        }
+
+        mListeners = listeners;
+        mDispatchIndex.clear();
+    }
+
+
+    /**
+     * @brief Get the listeners whose event mask matches the event type (from the dispatch index).
+     */
+    private Listener[] getListenersForType(String type) {
+        Listener[] listeners, matching;
+        int count, i;
+
+        // already indexed?
+        matching = mDispatchIndex.get(type);
+        if (matching != null) {
+            return matching;
+        }
+
+        // collect matching listeners
+        listeners = mListeners;
+        count = 0;
+        for (Listener listener : listeners) {
+            if (listener.matches(type)) count++;
+        }
+        if (count == listeners.length) {
+            matching = listeners;
+        } else if (count == 0) {
+            matching = EMPTY_LISTENERS;
+        } else {
+            matching = new Listener[count];
+            i = 0;
+            for (Listener listener : listeners) {
+                if (listener.matches(type)) matching[i++] = listener;
+            }
+        }
+
+        // remember (the number of types is usually small and fixed; just start over if it's not)
+        if (mDispatchIndex.size() >= DISPATCH_INDEX_MAX_TYPES) {
+            mDispatchIndex.clear();
+        }
+        mDispatchIndex.put(type, matching);
+
+        return matching;
+    }
+
+
+    /**
+     * @brief Create a copy of the listener array with the listener appended.
+     */
+    private static Listener[] appendListener(Listener[] listeners, Listener listener) {
+        Listener[] newListeners;
+
+        newListeners = new Listener[listeners.length + 1];
+        System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+        newListeners[listeners.length] = listener;
+
+        return newListeners;
+    }
+
+
+    /**
+     * @brief Check if a listener of our own listener array is still valid.
+     *
+     * Listeners are invalid if they were removed (event source cleared) or if their target no longer exists.
+     */
+    private static boolean isListenerAlive(Listener listener) {
+        return listener.mSource != null && listener.mTarget != null && listener.mTarget.get() != null;
+    }
+
+
+    /**
+     * @brief Check if a forward listener still links us to an existing event source.
+     */
+    private static boolean isForwardSourceAlive(Listener listener) {
+        return listener.mSource != null && listener.mSource.get() != null;
+    }
+
+
+    /**
+     * @brief Compaction pass for the listener array. Creates a copy without all invalid listeners.
+     *
+     * Invalid listeners get marked as such by clearing their event source. Returns the original array if
+     * nothing was removed.
+     */
+    private static Listener[] compactListeners(Listener[] listeners) {
+        Listener[] newListeners;
+        int count, i;
+
+        // count survivors
+        count = 0;
+        for (Listener listener : listeners) {
+            if (isListenerAlive(listener)) count++;
+        }
+
+        // nothing to do?
+        if (count == listeners.length) {
+            return listeners;
+        }
+        if (count == 0) {
+            for (Listener listener : listeners) listener.mSource = null;
+            return EMPTY_LISTENERS;
+        }
+
+        // copy survivors
+        newListeners = new Listener[count];
+        i = 0;
+        for (Listener listener : listeners) {
+            if (isListenerAlive(listener)) {
+                newListeners[i++] = listener;
+            } else {
+                // mark the listener as no longer valid
+                listener.mSource = null;
+            }
+        }
+
+        return newListeners;
+    }
+
+
+    /**
+     * @brief Compaction pass for the forward listener array. Creates a copy without the listeners whose event
+     * source no longer exists. Returns the original array if nothing was removed.
+     */
+    private static Listener[] compactForwardSources(Listener[] listeners) {
+        Listener[] newListeners;
+        int count, i;
+
+        // count survivors
+        count = 0;
+        for (Listener listener : listeners) {
+            if (isForwardSourceAlive(listener)) count++;
+        }
+
+        // nothing to do?
+        if (count == listeners.length) {
+            return listeners;
+        }
+        if (count == 0) {
+            return EMPTY_LISTENERS;
+        }
+
+        // copy survivors
+        newListeners = new Listener[count];
+        i = 0;
+        for (Listener listener : listeners) {
+            if (isForwardSourceAlive(listener)) {
+                newListeners[i++] = listener;
+            }
+        }
+
+        return newListeners;
+    }
+
+
+    /**
+     * @brief Resolve the listener method for the given class and method name.
+     *
+     * Methods conforming to void <methodName> (PDEEvent event) are preferred over methods without parameter.
+     * Results (also negative ones) are cached, so the reflective lookup is only done once per class and name.
+     *
+     * @return The invoker for the method, or null if no suitable method exists.
+     */
+    private static MethodInvoker getMethodInvoker(Class<?> targetClass, String methodName) {
+        HashMap<String, MethodInvoker> classInvokers;
+        MethodInvoker invoker;
+        Method method;
+
+        synchronized (sMethodInvokerCache) {
+            // already resolved?
+            classInvokers = sMethodInvokerCache.get(targetClass);
+            if (classInvokers != null && classInvokers.containsKey(methodName)) {
+                return classInvokers.get(methodName);
+            }
+        }
+
+        invoker = null;
+        try {
+            // check if the given method really is declared for target object
+            method = targetClass.getMethod(methodName, PDEEvent.class);
+            invoker = new MethodInvoker(method, true);
         } catch (NoSuchMethodException e) {
             // try to solve in the next block
         }
 
-        if (method == null) {
+        if (invoker == null) {
             try {
                 // check if the given method really is declared for target object
-                method = target.getClass().getMethod(methodName);
+                method = targetClass.getMethod(methodName);
+                invoker = new MethodInvoker(method, false);
             } catch (NoSuchMethodException e) {
-                // try to solve in the next block
+                // not found
             }
         }
 
-        if (method != null) {
-            // create listener helper structure & fill in data
-            Listener newListener = new Listener(target, method, eventMask,this);
-            if (mListeners.add(newListener)) {
-                // tell the delegate
-                // @new
-                /*if (mEventSourceDelegate != null && mEventSourceDelegate.get() != null
-                    && mEventSourceDelegate.get() instanceof PDEIEventSourceDelegate) {
-                    mEventSourceDelegate.get().eventSourceDidAddListener(newListener);
-                } */
-                requestInitializationForListener(newListener);
-                // return the internal listener object
-                return newListener;
-            } else {
-                //error
-                return null;
+        synchronized (sMethodInvokerCache) {
+            // remember result
+            classInvokers = sMethodInvokerCache.get(targetClass);
+            if (classInvokers == null) {
+                classInvokers = new HashMap<String, MethodInvoker>();
+                sMethodInvokerCache.put(targetClass, classInvokers);
             }
-        } else {
-            Log.e(LOG_TAG, "addListener: method '"+methodName+"' for target "+target.toString( )+ " was not found!");
-            return null;
+            classInvokers.put(methodName, invoker);
         }
+
+        return invoker;
     }
 
 
@@ -275,29 +617,26 @@ public class PDEEventSource implements PDEIEventSource {
      * @return Returns whether we have found & removed the listener or not
      */
     public boolean removeListener(Object listener) {
-        boolean removed = false;
-        try {
-            // iterate through list
-            for (Iterator<Listener> iterator = mListeners.iterator(); iterator.hasNext(); ) {
-                Listener element = iterator.next();
-                // check equality of references
-                if (element == listener) {
-                    // request deinitialization -> this tells our delegate, and all listeners we're forwarding from
-                    requestDeinitializationForListener(element);
-                    // mark this listener as no longer valid (other classes might use it for this purpose)
-                    element.mSource = null;
-                    // listener was found; remove it and stop further searching
-                    iterator.remove();
-                    // remember
-                    removed = true;
-                    break;
-                }
+        Listener element;
+        int i;
+
+        // search in current snapshot
+        for (i = 0; i < mListeners.length; i++) {
+            element = mListeners[i];
+            // check equality of references (and that it's not already removed re-entrantly)
+            if (element == listener && element.mSource != null) {
+                // request deinitialization -> this tells our delegate, and all listeners we're forwarding from
+                requestDeinitializationForListener(element);
+                // mark this listener as no longer valid (other classes might use it for this purpose); this
+                // also prevents delivery in any send currently in progress
+                element.mSource = null;
+                // listener was found; remove it (copy on write)
+                setListeners(compactListeners(mListeners));
+                return true;
             }
-        } catch (ConcurrentModificationException e) {
-            Log.w(LOG_TAG, "List of Listeners changed during iteration!");
         }
 
-        return removed;
+        return false;
     }
 
 
@@ -312,6 +651,7 @@ public class PDEEventSource implements PDEIEventSource {
      * @return Returns false if no listener was removed. (Otherwise true)
      */
     public boolean removeListenersForTarget(Object target) {
+        Listener[] listeners;
         boolean removed = false;
 
         // security
@@ -319,24 +659,24 @@ public class PDEEventSource implements PDEIEventSource {
             return false;
         }
 
-        try {
-            for (Iterator<Listener> iterator = mListeners.iterator(); iterator.hasNext(); ) {
-                Listener element = iterator.next();
-                // does it match?
-                if (element.mTarget.get() == target) {
-                    // @new
-                    // request deinitialization
-                    requestDeinitializationForListener(element);
-                    // mark this listener as no longer valid (other classes might use it for this purpose)
-                    element.mSource = null;
-                    iterator.remove();
-                    // remember
-                    removed = true;
-                }
+        // work on the current snapshot, deinitialization might change the listeners re-entrantly
+        listeners = mListeners;
+        for (Listener element : listeners) {
+            // does it match?
+            if (element.mSource != null && element.mTarget.get() == target) {
+                // @new
+                // request deinitialization
+                requestDeinitializationForListener(element);
+                // mark this listener as no longer valid (other classes might use it for this purpose)
+                element.mSource = null;
+                // remember
+                removed = true;
             }
+        }
 
-        } catch (ConcurrentModificationException e) {
-            Log.w(LOG_TAG, "List of Listeners changed during iteration!");
+        // remove the marked listeners (copy on write)
+        if (removed) {
+            setListeners(compactListeners(mListeners));
         }
 
         return removed;
@@ -351,9 +691,8 @@ public class PDEEventSource implements PDEIEventSource {
      * event sources are already destroyed (we're loosely coupled), they are removed in the process.
      */
     protected void requestInitializationForListener(Object listener){
-        Listener l;
+        Listener[] forwardSources;
         boolean needsCleanup;
-        int i;
         PDEEventSource source;
 
         // tell our delegate
@@ -361,34 +700,24 @@ public class PDEEventSource implements PDEIEventSource {
             getEventSourceDelegate().eventSourceDidAddListener(listener);
         }
 
-        // request from all event sources we're listening on
+        // request from all event sources we're listening on (snapshot)
         needsCleanup = false;
-        for (Listener tmpListener : mForwardEventSources) {
+        forwardSources = mForwardEventSources;
+        for (Listener tmpListener : forwardSources) {
             // still valid?
-            if (tmpListener.mSource != null){
-                source = tmpListener.mSource.get();
-                if (source != null){
-                    // request initialization from forward source
-                    source.requestInitializationForListener(listener);
-                }
+            source = (tmpListener.mSource != null) ? tmpListener.mSource.get() : null;
+            if (source != null){
+                // request initialization from forward source
+                source.requestInitializationForListener(listener);
             } else {
                 // remember that we need cleanup
                 needsCleanup = true;
             }
         }
 
-        // do cleanup if necessary
+        // do cleanup if necessary (we can forget sources which no longer exist)
         if (needsCleanup){
-            // go through all array elements backwards
-            for (i = mForwardEventSources.size()-1; i >= 0; i--){
-                // get the listener
-                l = mForwardEventSources.get(i);
-                // we can forget it if the event source we're listening on no longer exists.
-                if(!(l.mSource != null && l.mSource.get() != null) ){
-                    // forget remove it
-                    mForwardEventSources.remove(i);
-                }
-            }
+            mForwardEventSources = compactForwardSources(mForwardEventSources);
         }
     }
 
@@ -401,9 +730,8 @@ public class PDEEventSource implements PDEIEventSource {
      * event sources are already destroyed (we're loosely coupled), they are removed in the process.
      */
     protected void requestDeinitializationForListener(Object listener){
-        Listener l;
+        Listener[] forwardSources;
         boolean needsCleanup;
-        int i;
         PDEEventSource source;
 
         // tell our delegate
@@ -411,34 +739,24 @@ public class PDEEventSource implements PDEIEventSource {
             getEventSourceDelegate().eventSourceWillRemoveListener(listener);
         }
 
-        // request from all event sources we're listening on
+        // request from all event sources we're listening on (snapshot)
         needsCleanup = false;
-        for (Listener tmpListener : mForwardEventSources) {
+        forwardSources = mForwardEventSources;
+        for (Listener tmpListener : forwardSources) {
             // still valid?
-            if (tmpListener.mSource != null){
-                source = tmpListener.mSource.get();
-                if (source != null){
-                    // request initialization from forward source
-                    source.requestDeinitializationForListener(listener);
-                }
+            source = (tmpListener.mSource != null) ? tmpListener.mSource.get() : null;
+            if (source != null){
+                // request deinitialization from forward source
+                source.requestDeinitializationForListener(listener);
             } else {
                 // remember that we need cleanup
                 needsCleanup = true;
             }
         }
 
-        // do cleanup if necessary
+        // do cleanup if necessary (we can forget sources which no longer exist)
         if (needsCleanup){
-            // go through all array elements backwards
-            for (i = mForwardEventSources.size()-1; i >= 0; i--){
-                // get the listener
-                l = mForwardEventSources.get(i);
-                // we can forget it if the event source we're listening on no longer exists.
-                if(!(l.mSource != null && l.mSource.get() != null) ){
-                    // forget remove it
-                    mForwardEventSources.remove(i);
-                }
-            }
+            mForwardEventSources = compactForwardSources(mForwardEventSources);
         }
     }
 
@@ -463,6 +781,7 @@ public class PDEEventSource implements PDEIEventSource {
      * Creates a temporary listener and initializes it, but does not keep it around.
      */
     public void requestOneTimeInitialization(Object target, String methodName, String eventMask){
+        MethodInvoker invoker;
         Listener listener;
 
         //security
@@ -472,22 +791,24 @@ public class PDEEventSource implements PDEIEventSource {
             return;
         }
 
-        try {
-            // check if the given method really is declared for target object
-            Method method = target.getClass().getMethod(methodName, new Class[] {PDEEvent.class});
-            // create a listener helper structure
-            listener = new Listener(target, method, eventMask, this);
-
-            // request initialization -> this tells our delegate, and all listeners we're forwarding from
-            requestInitializationForListener(listener);
-
-            // cleanup the listener object (for safety, none should keep it around)
-            listener.mSource = null;
-        } catch (NoSuchMethodException e) {
+        // check if the given method really is declared for target object
+        invoker = getMethodInvoker(target.getClass(), methodName);
+        if (invoker == null) {
             // error handling, if method was not part of target-object
-            e.printStackTrace();
+            Log.e(LOG_TAG, "requestOneTimeInitialization: method '"+methodName+"' for target "
+                           +target.toString()+" was not found!");
             //error
+            return;
         }
+
+        // create a listener helper structure
+        listener = new Listener(target, invoker, eventMask, this);
+
+        // request initialization -> this tells our delegate, and all listeners we're forwarding from
+        requestInitializationForListener(listener);
+
+        // cleanup the listener object (for safety, none should keep it around)
+        listener.mSource = null;
     }
 
 
@@ -501,6 +822,7 @@ public class PDEEventSource implements PDEIEventSource {
 
     // @new
     protected void requestOneTimeDeinitialization(Object target, String methodName, String eventMask){
+        MethodInvoker invoker;
         Listener listener;
 
         //security
@@ -510,22 +832,24 @@ public class PDEEventSource implements PDEIEventSource {
             return;
         }
 
-        try {
-            // check if the given method really is declared for target object
-            Method method = target.getClass().getMethod(methodName, new Class[] {PDEEvent.class});
-            // create a listener helper structure
-            listener = new Listener(target,method,eventMask,this);
-
-            // request initialization -> this tells our delegate, and all listeners we're forwarding from
-            requestDeinitializationForListener(listener);
-
-            // cleanup the listener object (for safety, none should keep it around)
-            listener.mSource = null;
-        } catch (NoSuchMethodException e) {
+        // check if the given method really is declared for target object
+        invoker = getMethodInvoker(target.getClass(), methodName);
+        if (invoker == null) {
             // error handling, if method was not part of target-object
-            e.printStackTrace();
+            Log.e(LOG_TAG, "requestOneTimeDeinitialization: method '"+methodName+"' for target "
+                           +target.toString()+" was not found!");
             //error
+            return;
         }
+
+        // create a listener helper structure
+        listener = new Listener(target, invoker, eventMask, this);
+
+        // request deinitialization -> this tells our delegate, and all listeners we're forwarding from
+        requestDeinitializationForListener(listener);
+
+        // cleanup the listener object (for safety, none should keep it around)
+        listener.mSource = null;
     }
 
 
@@ -549,31 +873,35 @@ public class PDEEventSource implements PDEIEventSource {
      *         listeners without any listener setting the processed flag.
      */
     public boolean sendEvent(final PDEEvent event) {
-        try {
-            // just for debugging
-//            if (event.getType().compareTo(PDEDialog.PDE_DIALOG_EVENT_RESULT) == 0){
-//                Log.d("MyResult","sendEvent PDE_DIALOG_EVENT_RESULT");
-//            }
-            // go through all listeners and send it
-            for (Iterator<Listener> iterator = mListeners.iterator(); iterator.hasNext(); ) {
-                Listener listener = iterator.next();
-                // stop if the event is already processed and we should not distribute to all
-                if (event.isProcessed() && !event.isDistributeToAll()) {
-                    break;
-                }
-                // do we still have the the target?
-                if (listener.mTarget != null && listener.mTarget.get() != null) {
-                    // send the event to this listener
-                    sendEvent(event, listener);
-                } else {
-                    // mark the listener as no longer valid
-                    listener.mSource = null;
-                    // target doesn't exist anymore, so remove listener
-                    iterator.remove();
-                }
+        Listener[] listeners;
+        boolean needsCompaction;
+
+        // go through a snapshot of the listeners matching the event type; the listeners may add/remove listeners
+        // while we're sending, this then works on a new array
+        listeners = getListenersForType(event.getType());
+        needsCompaction = false;
+        for (Listener listener : listeners) {
+            // stop if the event is already processed and we should not distribute to all
+            if (event.isProcessed() && !event.isDistributeToAll()) {
+                break;
+            }
+            // removed in the meantime?
+            if (listener.mSource == null) {
+                continue;
+            }
+            // do we still have the the target?
+            if (listener.mTarget != null && listener.mTarget.get() != null) {
+                // send the event to this listener (mask already matched by the index)
+                deliverEvent(event, listener);
+            } else {
+                // target doesn't exist anymore, remove the listener later
+                needsCompaction = true;
             }
-        } catch (ConcurrentModificationException e) {
-            Log.w(LOG_TAG, "List of Listeners changed during iteration!");
+        }
+
+        // deferred removal of orphaned listeners
+        if (needsCompaction) {
+            setListeners(compactListeners(mListeners));
         }
 
         return event.isProcessed();
@@ -595,9 +923,7 @@ public class PDEEventSource implements PDEIEventSource {
      *         listeners without any listener setting the processed flag.
      */
     public boolean sendEvent(final PDEEvent event, Object listenerObject) {
-        Object target, originalSender;
         Listener listener;
-        boolean returnValue;
 
         //security
         if (listenerObject == null || !(listenerObject instanceof Listener)) {
@@ -607,13 +933,24 @@ public class PDEEventSource implements PDEIEventSource {
         listener = (Listener) listenerObject;
 
         // check if the wildcard matches
-        if (!((listener.mWildcard
-               && (listener.mEventMask.length() == 0 || event.getType().startsWith(listener.mEventMask)))
-              || (!listener.mWildcard) && event.getType().equalsIgnoreCase(listener.mEventMask))) {
+        if (!listener.matches(event.getType())) {
             // stop here
             return false;
         }
 
+        return deliverEvent(event, listener);
+    }
+
+
+    /**
+     * @brief Deliver the event to a listener whose event mask is already known to match.
+     *
+     * @return Processing status.
+     */
+    private boolean deliverEvent(final PDEEvent event, Listener listener) {
+        Object target, originalSender;
+        boolean returnValue;
+
         // remember the original sender
         originalSender = event.getSender();
 
@@ -641,8 +978,12 @@ public class PDEEventSource implements PDEIEventSource {
         }
 
         try {
-            // then send it
-            listener.mMethod.invoke(target, event);
+            // then send it (typed listeners directly, others through their resolved method)
+            if (listener.mInvoker == null) {
+                ((PDEIEventListener) target).onPDEEvent(event);
+            } else {
+                listener.mInvoker.invoke(target, event);
+            }
 
             // as convenience, return the processed status
             returnValue = event.isProcessed();
@@ -725,7 +1066,9 @@ public class PDEEventSource implements PDEIEventSource {
         listener = eventSource.addListener(this,"forwardEventHelper");
 
         // store listener in an array of forwarded event listeners
-        mForwardEventSources.add((Listener)listener);
+        if (listener != null) {
+            mForwardEventSources = appendListener(mForwardEventSources, (Listener) listener);
+        }
 
         return listener;
     }
@@ -750,7 +1093,9 @@ public class PDEEventSource implements PDEIEventSource {
         listener = eventSource.addListener(this, "forwardEventHelper", eventMask);
 
         // store listener in an array of forwarded event listeners
-        mForwardEventSources.add((Listener)listener);
+        if (listener != null) {
+            mForwardEventSources = appendListener(mForwardEventSources, (Listener) listener);
+        }
 
         return listener;
     }
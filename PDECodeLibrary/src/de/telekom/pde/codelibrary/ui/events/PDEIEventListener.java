@@ -0,0 +1,34 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.events;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEIEventListener
+//----------------------------------------------------------------------------------------------------------------------
+
+/**
+ * @brief Typed listener interface for PDEEventSource.
+ *
+ * Alternative to the listener form consisting of target object and method name. Listeners implementing this
+ * interface are added with PDEEventSource.addTypedListener() and get called directly, without resolving and
+ * invoking a method by reflection for every event sent.
+ *
+ * As with the target/method form, the event source only holds a weak reference to the listener. So the listener
+ * must be kept alive by its owner (e.g. by implementing the interface on the owning class itself).
+ */
+
+public interface PDEIEventListener {
+
+    /**
+     * @brief Called by the event source for every event matching the event mask of the listener.
+     *
+     * @param event PDEEvent or derived class sent by the event source.
+     */
+    public abstract void onPDEEvent(PDEEvent event);
+
+}
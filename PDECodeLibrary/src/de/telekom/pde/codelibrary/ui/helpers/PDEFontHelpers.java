@@ -171,18 +171,11 @@ public class PDEFontHelpers {
 
     /**
      * @brief Convenience function to get the font metrics.
+     *
+     * The metrics are cached and shared (see PDEFontMetricsCache), so they must not be modified.
      */
     public static Paint.FontMetrics getFontMetrics(PDETypeface font, float size) {
-        Paint paint;
-        // init
-        paint = new Paint();
-        paint.setAntiAlias(false);
-        // set font
-        paint.setTypeface(font.getTypeface());
-        // set font size
-        paint.setTextSize(size);
-        // get start values
-        return paint.getFontMetrics();
+        return PDEFontMetricsCache.getFontMetrics(font.getTypeface(), size);
     }
 
 
@@ -220,21 +213,16 @@ public class PDEFontHelpers {
      * It might be useful to add some additional pixels, since the font calculation is not always trustworthy.
      */
     public static Rect getTextViewBounds(String text, Typeface typeface, float textSize) {
-        Rect bounds = new Rect();
+        Rect bounds;
         Rect returnBounds = new Rect();
-        Paint paint = new Paint();
 
         //security
         if (typeface == null || textSize <= 0 || text == null) {
             return returnBounds;
         }
 
-        paint.setTypeface(typeface);
-        paint.setTextSize(textSize);
-        paint.setAntiAlias(true);
-
         // returns the bound aligned to the baseline
-        paint.getTextBounds(text, 0, text.length(), bounds);
+        bounds = PDEFontMetricsCache.measureTextBounds(text, typeface, textSize);
 
         // the returned bounds rect always starts at 0 , 0.
         // width plus the offset of the bound
@@ -249,20 +237,15 @@ public class PDEFontHelpers {
      * @brief Get (positive) distance from the top to the baseline.
      */
     public static int getPixelsAboveBaseLine(String text, PDETypeface font, float textSize) {
-        Rect bounds = new Rect();
-        Paint paint = new Paint();
+        Rect bounds;
 
         //security
         if (font == null || textSize <= 0 || text == null) {
             return -1;
         }
 
-        paint.setTypeface(font.getTypeface());
-        paint.setTextSize(textSize);
-        paint.setAntiAlias(true);
-
         // returns the bound aligned to the baseline
-        paint.getTextBounds(text, 0, text.length(), bounds);
+        bounds = PDEFontMetricsCache.measureTextBounds(text, font.getTypeface(), textSize);
 
         return Math.abs(bounds.top);
     }
@@ -272,21 +255,15 @@ public class PDEFontHelpers {
      * @brief Get (positive) distance from the baseline to the bottom.
      */
     public static int getPixelsBelowBaseLine(String text, PDETypeface font, float textSize) {
-        Rect bounds = new Rect();
-        Paint paint = new Paint();
+        Rect bounds;
 
         //security
         if (font == null || textSize <= 0 || text == null) {
             return -1;
         }
 
-        paint.setTypeface(font.getTypeface());
-        paint.setTextSize(textSize);
-        paint.setAntiAlias(true);
-        //paint.setSubpixelText(true);
-
         // returns the bound aligned to the baseline
-        paint.getTextBounds(text, 0, text.length(), bounds);
+        bounds = PDEFontMetricsCache.measureTextBounds(text, font.getTypeface(), textSize);
 
         return bounds.bottom;
     }
@@ -307,8 +284,10 @@ public class PDEFontHelpers {
      * If you are using a PDETypeface anyway - please query the function in PDETypeface directly because it caches!
      */
     public static float getCapHeight(Typeface font, float textSize) {
-        Rect rect = getTextViewBounds("D", font, textSize);
-        return rect.height();
+        //security
+        if (font == null || textSize <= 0) return 0.0f;
+
+        return PDEFontMetricsCache.getCapHeight(font, textSize);
     }
 
 
@@ -316,19 +295,7 @@ public class PDEFontHelpers {
      * @brief Get the metrics height for the font.
      */
     public static float getHeight(PDETypeface font, float size) {
-        Paint paint;
-        Paint.FontMetrics metrics;
-
-        paint = new Paint();
-        paint.setAntiAlias(true);
-        // set font
-        paint.setTypeface(font.getTypeface());
-        // set start size
-        paint.setTextSize(size);
-        // get start values
-        metrics = paint.getFontMetrics();
-
-        return metrics.bottom - metrics.top;
+        return PDEFontMetricsCache.getHeight(font.getTypeface(), size);
     }
 
 
@@ -336,20 +303,7 @@ public class PDEFontHelpers {
      * #brief Get the metrics (positive) top for the font.
      */
     public static float getTopHeight(PDETypeface font, float size) {
-        Paint paint;
-        Paint.FontMetrics metrics;
-
-        paint = new Paint();
-        paint.setAntiAlias(true);
-        // set font
-        paint.setTypeface(font.getTypeface());
-
-        // set start size
-        paint.setTextSize(size);
-        // get start values
-        metrics = paint.getFontMetrics();
-
-        return Math.abs(metrics.top);
+        return PDEFontMetricsCache.getTopHeight(font.getTypeface(), size);
     }
 
 
@@ -0,0 +1,220 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.helpers;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEFontMetricsCache
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Memoized font measurements, keyed by (typeface, size).
+ *
+ * Font metrics, cap height and overall heights only depend on typeface and text size, but are queried again and
+ * again by every text element during layout. They are measured once and kept in a bounded LRU cache.
+ *
+ * Measurements use a scratch Paint and Rect per thread, so measuring doesn't allocate paints anymore.
+ */
+public class PDEFontMetricsCache {
+
+    // maximum number of cached (typeface, size) combinations
+    private final static int MAX_ENTRIES = 256;
+
+
+    /**
+     * @brief Cache key.
+     */
+    private static class Key {
+        Typeface mTypeface;
+        int mSizeBits;
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return mTypeface == other.mTypeface && mSizeBits == other.mSizeBits;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(mTypeface) * 31 + mSizeBits;
+        }
+    }
+
+
+    /**
+     * @brief Cached measurements for one typeface / size.
+     */
+    private static class Entry {
+        Paint.FontMetrics mFontMetrics;
+        float mCapHeight;
+    }
+
+
+    // the cache (access ordered, bounded)
+    private final static LinkedHashMap<Key, Entry> mEntries = new LinkedHashMap<Key, Entry>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // reused key for lookups (only used while holding the lock of mEntries)
+    private final static Key mLookupKey = new Key();
+
+    // per thread scratch objects for measuring
+    private final static ThreadLocal<Paint> mScratchPaint = new ThreadLocal<Paint>() {
+        @Override
+        protected Paint initialValue() {
+            Paint paint = new Paint();
+            paint.setAntiAlias(true);
+            return paint;
+        }
+    };
+    private final static ThreadLocal<Rect> mScratchRect = new ThreadLocal<Rect>() {
+        @Override
+        protected Rect initialValue() {
+            return new Rect();
+        }
+    };
+
+
+//----- metrics --------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get the font metrics for typeface and size.
+     *
+     * The returned metrics are shared and must not be modified.
+     */
+    public static Paint.FontMetrics getFontMetrics(Typeface typeface, float size) {
+        return getEntry(typeface, size).mFontMetrics;
+    }
+
+
+    /**
+     * @brief Get the metrics height (bottom - top) for typeface and size.
+     */
+    public static float getHeight(Typeface typeface, float size) {
+        Paint.FontMetrics metrics = getFontMetrics(typeface, size);
+        return metrics.bottom - metrics.top;
+    }
+
+
+    /**
+     * @brief Get the (positive) metrics top for typeface and size.
+     */
+    public static float getTopHeight(Typeface typeface, float size) {
+        return Math.abs(getFontMetrics(typeface, size).top);
+    }
+
+
+    /**
+     * @brief Get the cap height (height of the bounding rect of a capital D) for typeface and size.
+     */
+    public static float getCapHeight(Typeface typeface, float size) {
+        Entry entry;
+
+        // get entry
+        entry = getEntry(typeface, size);
+
+        // measure on first request
+        if (Float.isNaN(entry.mCapHeight)) {
+            entry.mCapHeight = measureTextBounds("D", typeface, size).height();
+        }
+
+        return entry.mCapHeight;
+    }
+
+
+//----- measuring ------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get the scratch paint of the current thread, prepared for typeface and size.
+     *
+     * The paint is only valid until the next call on the same thread; never keep it.
+     */
+    public static Paint getScratchPaint(Typeface typeface, float size) {
+        Paint paint;
+
+        // get and prepare
+        paint = mScratchPaint.get();
+        paint.setTypeface(typeface);
+        paint.setTextSize(size);
+
+        return paint;
+    }
+
+
+    /**
+     * @brief Measure the text bounds (aligned to the baseline) into the scratch rect of the current thread.
+     *
+     * The rect is only valid until the next call on the same thread; never keep it.
+     */
+    public static Rect measureTextBounds(String text, Typeface typeface, float size) {
+        Rect bounds;
+
+        // measure
+        bounds = mScratchRect.get();
+        getScratchPaint(typeface, size).getTextBounds(text, 0, text.length(), bounds);
+
+        return bounds;
+    }
+
+
+    /**
+     * @brief Remove all cached measurements (e.g. on low memory).
+     */
+    public static void clear() {
+        synchronized (mEntries) {
+            mEntries.clear();
+        }
+    }
+
+
+//----- helpers --------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Get (or create) the cache entry for typeface and size.
+     */
+    private static Entry getEntry(Typeface typeface, float size) {
+        Entry entry;
+        Key key;
+
+        synchronized (mEntries) {
+            // look up with the reused key
+            mLookupKey.mTypeface = typeface;
+            mLookupKey.mSizeBits = Float.floatToIntBits(size);
+            entry = mEntries.get(mLookupKey);
+            mLookupKey.mTypeface = null;
+            if (entry != null) return entry;
+
+            // measure
+            entry = new Entry();
+            entry.mFontMetrics = getScratchPaint(typeface, size).getFontMetrics();
+            entry.mCapHeight = Float.NaN;
+
+            // remember
+            key = new Key();
+            key.mTypeface = typeface;
+            key.mSizeBits = Float.floatToIntBits(size);
+            mEntries.put(key, entry);
+        }
+
+        return entry;
+    }
+}
@@ -15,15 +15,23 @@ package de.telekom.pde.codelibrary.ui.helpers;
 //----------------------------------------------------------------------------------------------------------------------
 
 import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.PackageInfo;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
-import android.graphics.Rect;
 import android.graphics.Typeface;
+import android.os.Build;
 import android.text.TextUtils;
 import android.util.Log;
 import android.util.SparseArray;
 
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
 import de.telekom.pde.codelibrary.ui.PDECodeLibrary;
 import de.telekom.pde.codelibrary.ui.PDEConstants;
@@ -40,6 +48,7 @@ public class PDETypeface {
      */
     private final static String LOG_TAG = PDETypeface.class.getName();
     private final static boolean DEBUG_CACHING = false;
+    private final static boolean DEBUG_LOADING = false;
 
     private class TypefaceInfo {
         public float fontAscenderHeight;
@@ -80,7 +89,12 @@ public class PDETypeface {
 
     //variables
     private String mFilename = "";
-    private Typeface mTypeface = null;
+    private String mTableName = "";
+    private volatile Typeface mTypeface = null;
+
+    // lazy loading: the loader is dropped as soon as the typeface is there
+    private volatile FutureTask<Typeface> mLoader = null;
+    private SparseArray<Float> mLoadedCapHeightTable = null;
 
     public final static String sAssetFontFolderPath = "fonts/";
     // PDEDefaultFont is the TeleGrotesk font
@@ -97,81 +111,99 @@ public class PDETypeface {
     /** An <code>LruCache</code> for previously loaded typefaces. */
     private static final LinkedHashMap<String, PDETypeface> mTypefaceCache;
 
+    // persistent capHeight -> size table (shared preferences), survives app restarts.
+    // (no initializer: it's used from the static block below)
+    private static SharedPreferences mCapHeightTable;
+    private static boolean mCapHeightTableOpened;
+    private final static String CAP_HEIGHT_TABLE_NAME = "de.telekom.pde.codelibrary.PDETypefaceCapHeights";
+    private final static String CAP_HEIGHT_TABLE_VERSION_KEY = "version";
+    private final static String CAP_HEIGHT_TABLE_SEPARATOR = "|";
+
+    // limits of the capHeight solver (same search range as the original stepping: 50 steps of 0.1)
+    private final static int CAP_HEIGHT_SOLVER_STEPS = 50;
+    private final static float CAP_HEIGHT_SOLVER_STEP_SIZE = 0.1f;
+    private final static float CAP_HEIGHT_SOLVER_TOLERANCE = 0.1f;
+
     private SparseArray<Float> mCapHeightToSizeCache;
     private SparseArray<TypefaceInfo> mTypefaceInfoForSizeCache;
 
     private final static int TELE_GROTESK_STRINGRESOURCE_ID = R.array.tele_grotesk;
 
+    // background preloading of the library fonts (only started once)
+    private static boolean mPreloadStarted;
+
 
     // static initialize
     static {
-        // load default font
+        // the library fonts are only created as lazy handles here, they're loaded on first use
+        // (or in the background, see preloadFonts())
         Context c = PDECodeLibrary.getInstance().getApplicationContext();
         mTypefaceCache = new LinkedHashMap<String, PDETypeface>();
-        PDETypeface tempTypeface;
-
-        try {
-            // load default (TeleGrotesk) font from the assets
-            // the font must be with the right name in the asset in the "font"-folder of the "user" project
-            tempTypeface = PDETypeface.createFromAsset(PDEConstants.sPDEDefaultFontName);
-        } catch (Exception e) {
-            tempTypeface = null;
-        }
-
-        // we were not able to load the TeleGrotesk font! -> initialize with default system font
-        if (tempTypeface == null) {
-            tempTypeface = PDETypeface.createByNameAndTypeface(Typeface.DEFAULT.toString(), Typeface.DEFAULT);
-        }
 
-        sDefaultNormal = tempTypeface;
+        // default (TeleGrotesk) font; if we're not able to load it, the default system font is used
+        // the font must be with the right name in the asset in the "font"-folder of the "user" project
+        sDefaultNormal = PDETypeface.createLazyFromAsset(PDEConstants.sPDEDefaultFontName, null, Typeface.DEFAULT);
         sDefaultFont = sDefaultNormal;
-        sDefaultSemiBold = tempTypeface;
+        sDefaultSemiBold = sDefaultNormal;
 
-        try {
-            // load default (TeleGrotesk) font from the assets
-            // the font must be with the right name in the asset in the "font"-folder of the "user" project
-            tempTypeface = PDETypeface.createFromAsset(c.getResources().getString(R.string.Tele_GroteskUlt));
-        } catch (Exception e) {
-            tempTypeface = null;
-        }
-
-        // we were not able to load the TeleGrotesk font! -> initialize with default system font
-        if (tempTypeface == null) {
-            tempTypeface = PDETypeface.createByNameAndTypeface(Typeface.DEFAULT_BOLD.toString(), Typeface.DEFAULT_BOLD);
-        }
-        sDefaultUltra = tempTypeface;
-        sDefaultBold = tempTypeface;
+        // ultra (TeleGrotesk) font; if we're not able to load it, the bold system font is used
+        sDefaultUltra = PDETypeface.createLazyFromAsset(c.getResources().getString(R.string.Tele_GroteskUlt), null,
+                                                        Typeface.DEFAULT_BOLD);
+        sDefaultBold = sDefaultUltra;
 
         sTeleGroteskDefaultSize = PDECodeLibrary.getInstance().getApplicationContext().getResources().
                 getDimension(R.dimen.TeleGroteskDefaultSize);
         sOtherFontsDefaultSize = PDECodeLibrary.getInstance().getApplicationContext().getResources().
                 getDimension(R.dimen.OtherFontsDefaultSize);
 
+        // icon font; if we're not able to load it, the default font is used
+        sIconFont = PDETypeface.createLazyFromAsset(c.getResources().getString(R.string.Tele_Iconfont), sDefaultFont,
+                                                    null);
+    }
 
-        try {
-            // load default (TeleGrotesk) font from the assets
-            // the font must be with the right name in the asset in the "font"-folder of the "user" project
-            tempTypeface = PDETypeface.createFromAsset(c.getResources().getString(R.string.Tele_Iconfont));
-        } catch (Exception e) {
-            tempTypeface = null;
-        }
-
-        // we were not able to load the TeleGrotesk font! -> initialize with default system font
-        if (tempTypeface == null) {
-            tempTypeface = sDefaultFont;
-        }
-
-        sIconFont = tempTypeface;
 
-        // init the capHeight-cache with some default values
-        sDefaultFont.querySizeForCapHeight(PDEBuildingUnits.BU());
-        sDefaultFont.querySizeForCapHeight(sTeleGroteskDefaultSize);
+    /**
+     * @brief Load the library fonts on a background thread.
+     *
+     * Called by PDECodeLibrary.libraryInit() if font preloading is requested. Threads which need a font before it's
+     * ready block until it's loaded; a font whose loading didn't start yet is loaded by the requesting thread.
+     * The capHeight cache of the text fonts is prepared with some default values afterwards.
+     */
+    public static void preloadFonts() {
+        ExecutorService executor;
 
-        sDefaultSemiBold.querySizeForCapHeight(PDEBuildingUnits.BU());
-        sDefaultSemiBold.querySizeForCapHeight(sTeleGroteskDefaultSize);
+        // only once
+        synchronized (PDETypeface.class) {
+            if (mPreloadStarted) return;
+            mPreloadStarted = true;
+        }
 
-        sDefaultBold.querySizeForCapHeight(PDEBuildingUnits.BU());
-        sDefaultBold.querySizeForCapHeight(sTeleGroteskDefaultSize);
+        // single background thread, which ends when done
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "PDETypefacePreloader");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                // load in order of importance
+                sDefaultFont.getTypeface();
+                sDefaultBold.getTypeface();
+                sIconFont.getTypeface();
+
+                // init the capHeight-cache with some default values
+                sDefaultFont.querySizeForCapHeight(PDEBuildingUnits.BU());
+                sDefaultFont.querySizeForCapHeight(sTeleGroteskDefaultSize);
+
+                sDefaultBold.querySizeForCapHeight(PDEBuildingUnits.BU());
+                sDefaultBold.querySizeForCapHeight(sTeleGroteskDefaultSize);
+            }
+        });
+        executor.shutdown();
     }
 
 
@@ -195,7 +227,22 @@ public class PDETypeface {
     private void init(String filePath, Typeface typeface) throws NullPointerException {
         if (filePath == null || typeface == null) throw new NullPointerException();
         mFilename = getFilename(filePath);
+        mTableName = filePath;
         mTypeface = typeface;
+        mCapHeightToSizeCache = readCapHeightTable();
+        mTypefaceInfoForSizeCache = new SparseArray<TypefaceInfo>();
+        PDETypeface.saveTypeface(this, filePath);
+    }
+
+
+    /**
+     * @brief constructor to create a lazy PDETypeFace object; the typeface is loaded by the loader on first use.
+     * @param filePath name of the font
+     */
+    private PDETypeface(String filePath) {
+        mFilename = getFilename(filePath);
+        mTableName = filePath;
+        mTypeface = null;
         mCapHeightToSizeCache = new SparseArray<Float>();
         mTypefaceInfoForSizeCache = new SparseArray<TypefaceInfo>();
         PDETypeface.saveTypeface(this, filePath);
@@ -293,6 +340,80 @@ public class PDETypeface {
     }
 
 
+    /**
+     * @brief static function to create a lazy PDETypeFace object for a font in the "assets/fonts" folder
+     * The font is loaded on first use of the typeface (or by preloadFonts()).
+     * @param filename name of the font
+     * @param fallbackFont font to use if loading fails (or null)
+     * @param fallbackTypeface typeface to use if loading fails and there is no fallback font
+     * @return created (or already existing) PDETypeface object
+     */
+    static private PDETypeface createLazyFromAsset(String filename, final PDETypeface fallbackFont,
+                                                   final Typeface fallbackTypeface) {
+        final String filePath = sAssetFontFolderPath + filename;
+        final PDETypeface newFont;
+        PDETypeface existingFont;
+
+        // already known?
+        existingFont = PDETypeface.loadTypeface(filePath);
+        if (existingFont != null) return existingFont;
+
+        // create handle with loader
+        newFont = new PDETypeface(filePath);
+        newFont.mLoader = new FutureTask<Typeface>(new Callable<Typeface>() {
+            @Override
+            public Typeface call() {
+                return newFont.loadFromAsset(filePath, fallbackFont, fallbackTypeface);
+            }
+        });
+
+        return newFont;
+    }
+
+
+    /**
+     * @brief Load the typeface of a lazy PDETypeface (runs on the loading thread).
+     * The persistent capHeight table is read here as well; it's taken over when the typeface is published.
+     */
+    private Typeface loadFromAsset(String filePath, PDETypeface fallbackFont, Typeface fallbackTypeface) {
+        Typeface typeface;
+        long startTime = 0;
+
+        PDETrace.beginSection("PDETypeface.load");
+        try {
+            if (DEBUG_LOADING) startTime = System.nanoTime();
+
+            try {
+                typeface = Typeface.createFromAsset(PDECodeLibrary.getInstance().getApplicationContext().getAssets(),
+                                                    filePath);
+            } catch (Exception exception) {
+                Log.e(LOG_TAG, "##########################################");
+                Log.e(LOG_TAG, "Error in:loadFromAsset(" + filePath + ")");
+                Log.e(LOG_TAG, "##########################################");
+                exception.printStackTrace();
+                typeface = null;
+            }
+
+            // we were not able to load the font! -> use the fallback
+            if (typeface == null) {
+                typeface = (fallbackFont != null) ? fallbackFont.getTypeface() : fallbackTypeface;
+            }
+
+            // read persistent table
+            mLoadedCapHeightTable = readCapHeightTable();
+
+            if (DEBUG_LOADING) {
+                Log.d(LOG_TAG, "loaded " + filePath + " in " + (System.nanoTime() - startTime) / 1000000 + "ms on "
+                               + Thread.currentThread().getName());
+            }
+
+            return typeface;
+        } finally {
+            PDETrace.endSection();
+        }
+    }
+
+
     /**
      * @brief static function to create PDETypeface object, by its name and give android typeface
      * Only the filename is saved, not the complete path
@@ -356,10 +477,68 @@ public class PDETypeface {
      * @return Typeface object or null;
      */
     public Typeface getTypeface() {
+        FutureTask<Typeface> loader = mLoader;
+
+        // already loaded?
+        if (loader == null) return mTypeface;
+
+        // load now, or wait for the loading thread
+        return waitForTypeface(loader);
+    }
+
+
+    /**
+     * @brief Run the loader (if nobody else does) or wait for it, then publish the typeface.
+     */
+    private Typeface waitForTypeface(FutureTask<Typeface> loader) {
+        Typeface typeface;
+        long startTime = 0;
+
+        PDETrace.beginSection("PDETypeface.waitForTypeface");
+        try {
+            if (DEBUG_LOADING) startTime = System.nanoTime();
+
+            // does nothing if the loader is already running or done
+            loader.run();
+            try {
+                typeface = loader.get();
+            } catch (Exception exception) {
+                Log.e(LOG_TAG, "Error in:waitForTypeface() " + mTableName);
+                typeface = null;
+            }
+            if (typeface == null) typeface = Typeface.DEFAULT;
+
+            // publish (once)
+            synchronized (this) {
+                if (mLoader == loader) {
+                    if (mLoadedCapHeightTable != null) mCapHeightToSizeCache = mLoadedCapHeightTable;
+                    mLoadedCapHeightTable = null;
+                    mTypeface = typeface;
+                    mLoader = null;
+                }
+            }
+
+            if (DEBUG_LOADING) {
+                Log.d(LOG_TAG, "getTypeface " + mTableName + " waited " + (System.nanoTime() - startTime) / 1000000
+                               + "ms on " + Thread.currentThread().getName());
+            }
+        } finally {
+            PDETrace.endSection();
+        }
+
         return mTypeface;
     }
 
 
+    /**
+     * @brief Check if the typeface is loaded (getTypeface() won't block).
+     */
+    @SuppressWarnings("unused")
+    public boolean isLoaded() {
+        return mLoader == null;
+    }
+
+
     /**
      * @brief get the name of the PDETypeFace object
      * @return name or null;
@@ -458,15 +637,19 @@ public class PDETypeface {
 
     /**
      * @brief Get the font size to a for a requested capHeight.
+     *
+     * Results are cached in memory and in a persistent table, so usually no measuring is needed at all.
+     *
      * @param wantedCapHeight the capHeight you want (e.g. 1BU)
      * @return The font size for this capHeight.
      */
-    public float querySizeForCapHeight(float wantedCapHeight) {
-        float size = wantedCapHeight * 1.5f;
-        float dif;
-        float capHeight;
+    public synchronized float querySizeForCapHeight(float wantedCapHeight) {
+        float size;
         int wantedCapHeightInt = (int) Math.floor(wantedCapHeight * 100);
 
+        // the font (and its persistent table) must be loaded first
+        getTypeface();
+
         Object result = mCapHeightToSizeCache.get(wantedCapHeightInt);
 
         if (result == null) {
@@ -479,31 +662,13 @@ public class PDETypeface {
                 return 0.0f;
             }
 
-            // iterate as long as an appropriate value is found
-            for (int i = 0; i < 50; i++) {
-                // calc size
-                capHeight = getCapHeight(size);
-                // calc distance
-                dif = Math.abs(capHeight - wantedCapHeight);
-
-                // check dif getting taller
-                if (dif < 0.1f) {
-                    // we have our solution
-                    //Log.d(LOG_TAG,"calculateFontSize found");
-                    break;
-                }
-                // change size depending if the returned value was to big or to small
-                if (capHeight - wantedCapHeight > 0) {
-                    // update the tested value
-                    size -= 0.1f;
-                } else {
-                    size += 0.1f;
-                }
-
-            }
-            //Log.d(LOG_TAG,"calculateFontSize "+wantedCapHeight+" -> "+capHeight+" = size "+size);
+            // solve
+            size = solveSizeForCapHeight(wantedCapHeight);
+            //Log.d(LOG_TAG,"calculateFontSize "+wantedCapHeight+" -> size "+size);
 
+            // remember in memory and persistently
             mCapHeightToSizeCache.append(wantedCapHeightInt, size);
+            storeCapHeightTableEntry(wantedCapHeightInt, size);
         } else {
             size = (Float) result;
             if (DEBUG_CACHING) {
@@ -516,6 +681,169 @@ public class PDETypeface {
     }
 
 
+    /**
+     * @brief Find the font size for a capHeight by bisection.
+     *
+     * Delivers the same result as stepping the size in 0.1 steps from 1.5 * wantedCapHeight towards the wanted
+     * capHeight (for at most 50 steps), but needs only a handful of measurements: the measured capHeight grows
+     * monotonically with the size, so the first step which is no longer on the starting side can be searched by
+     * bisection. If no step hits the tolerance, the stepping oscillated around that boundary until the step limit;
+     * the final position of this oscillation is calculated directly.
+     *
+     * @param wantedCapHeight the capHeight you want (> 0)
+     * @return The font size for this capHeight.
+     */
+    private float solveSizeForCapHeight(float wantedCapHeight) {
+        float start, capHeight, direction;
+        int low, high, mid, boundary, finalStep;
+
+        // start value and its measurement
+        start = wantedCapHeight * 1.5f;
+        capHeight = measureCapHeight(start);
+        if (Math.abs(capHeight - wantedCapHeight) < CAP_HEIGHT_SOLVER_TOLERANCE) return start;
+
+        // stepping direction: down if too big, up if too small
+        direction = (capHeight > wantedCapHeight) ? -1.0f : 1.0f;
+
+        // bisection for the first step which is not on the starting side anymore (steps 1..49 are measured)
+        low = 1;
+        high = CAP_HEIGHT_SOLVER_STEPS;
+        while (low < high) {
+            mid = (low + high) / 2;
+            if (isCapHeightStepCrossed(measureCapHeight(sizeForCapHeightStep(start, direction, mid)),
+                                       wantedCapHeight, direction)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        boundary = low;
+
+        // never crossed -> the stepping ran to the end
+        if (boundary >= CAP_HEIGHT_SOLVER_STEPS) {
+            return sizeForCapHeightStep(start, direction, CAP_HEIGHT_SOLVER_STEPS);
+        }
+
+        // hit the tolerance -> done
+        capHeight = measureCapHeight(sizeForCapHeightStep(start, direction, boundary));
+        if (Math.abs(capHeight - wantedCapHeight) < CAP_HEIGHT_SOLVER_TOLERANCE) {
+            return sizeForCapHeightStep(start, direction, boundary);
+        }
+
+        // jumped over the tolerance -> stepping oscillated between boundary - 1 and boundary until the limit
+        finalStep = ((CAP_HEIGHT_SOLVER_STEPS - 1 - boundary) % 2 == 0) ? boundary - 1 : boundary;
+        return sizeForCapHeightStep(start, direction, finalStep);
+    }
+
+
+    /**
+     * @brief Size at a step of the capHeight solver.
+     */
+    private static float sizeForCapHeightStep(float start, float direction, int step) {
+        return start + direction * CAP_HEIGHT_SOLVER_STEP_SIZE * step;
+    }
+
+
+    /**
+     * @brief Check if a measured capHeight is no longer on the starting side of the wanted one.
+     */
+    private static boolean isCapHeightStepCrossed(float capHeight, float wantedCapHeight, float direction) {
+        if (direction < 0.0f) {
+            return capHeight - wantedCapHeight < CAP_HEIGHT_SOLVER_TOLERANCE;
+        } else {
+            return wantedCapHeight - capHeight < CAP_HEIGHT_SOLVER_TOLERANCE;
+        }
+    }
+
+
+//----- persistent capHeight table -------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Open the persistent capHeight table.
+     *
+     * The table is dropped when the app (and so maybe the fonts in the assets) or the system (system fonts) changed.
+     *
+     * @return the table or null if not available.
+     */
+    private static synchronized SharedPreferences getCapHeightTable() {
+        Context context;
+        PackageInfo packageInfo;
+        String version;
+
+        // only try once
+        if (mCapHeightTableOpened) return mCapHeightTable;
+        mCapHeightTableOpened = true;
+
+        try {
+            context = PDECodeLibrary.getInstance().getApplicationContext();
+            if (context == null) return null;
+
+            // version of everything the measurements depend on
+            packageInfo = context.getPackageManager().getPackageInfo(context.getPackageName(), 0);
+            version = packageInfo.versionCode + CAP_HEIGHT_TABLE_SEPARATOR + packageInfo.lastUpdateTime
+                      + CAP_HEIGHT_TABLE_SEPARATOR + Build.FINGERPRINT;
+
+            // open and check version
+            mCapHeightTable = context.getSharedPreferences(CAP_HEIGHT_TABLE_NAME, Context.MODE_PRIVATE);
+            if (!TextUtils.equals(mCapHeightTable.getString(CAP_HEIGHT_TABLE_VERSION_KEY, null), version)) {
+                mCapHeightTable.edit().clear().putString(CAP_HEIGHT_TABLE_VERSION_KEY, version).apply();
+            }
+        } catch (Exception exception) {
+            Log.e(LOG_TAG, "Error in:getCapHeightTable()");
+            mCapHeightTable = null;
+        }
+
+        return mCapHeightTable;
+    }
+
+
+    /**
+     * @brief Read our entries of the persistent table into a new in-memory capHeight cache.
+     */
+    private SparseArray<Float> readCapHeightTable() {
+        SparseArray<Float> capHeightToSize;
+        SharedPreferences table;
+        String prefix, key;
+
+        // get table
+        capHeightToSize = new SparseArray<Float>();
+        table = getCapHeightTable();
+        if (table == null) return capHeightToSize;
+
+        // take over our entries
+        prefix = mTableName + CAP_HEIGHT_TABLE_SEPARATOR;
+        for (Map.Entry<String, ?> entry : table.getAll().entrySet()) {
+            key = entry.getKey();
+            if (key.startsWith(prefix) && entry.getValue() instanceof Float) {
+                try {
+                    capHeightToSize.put(Integer.parseInt(key.substring(prefix.length())),
+                                        (Float) entry.getValue());
+                } catch (NumberFormatException exception) {
+                    // ignore broken entry
+                }
+            }
+        }
+
+        return capHeightToSize;
+    }
+
+
+    /**
+     * @brief Add a solved size to the persistent table.
+     */
+    private void storeCapHeightTableEntry(int wantedCapHeightInt, float size) {
+        SharedPreferences table;
+
+        // get table
+        table = getCapHeightTable();
+        if (table == null) return;
+
+        // store asynchronously
+        table.edit().putFloat(mTableName + CAP_HEIGHT_TABLE_SEPARATOR + wantedCapHeightInt, size).apply();
+    }
+
+
     /**
      * @brief Get the height of the bounding rect for a caption D - equals CapHeight.
      * The result will be cached and reused.
@@ -557,13 +885,16 @@ public class PDETypeface {
 
 
 
-    private TypefaceInfo getTypefaceInfo(float fontSize) {
+    private synchronized TypefaceInfo getTypefaceInfo(float fontSize) {
         if (fontSize == 0f) {
             return null;
         }
         TypefaceInfo result;
         int key;
 
+        // the font must be loaded first
+        getTypeface();
+
         key = (int) Math.floor(fontSize * 100);
         result = mTypefaceInfoForSizeCache.get(key);
 
@@ -589,8 +920,7 @@ public class PDETypeface {
      * @return the size of CapHeight of size font-size.
      */
     private float measureCapHeight(float textSize) {
-        Rect rect = PDEFontHelpers.getTextViewBounds("D", mTypeface, textSize);
-        return rect.height();
+        return PDEFontHelpers.getCapHeight(getTypeface(), textSize);
     }
 
 }
@@ -10,11 +10,11 @@ package de.telekom.pde.codelibrary.ui.timing;
 
 import android.os.Handler;
 import android.os.Looper;
-import android.text.TextUtils;
 import android.util.Log;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -47,9 +47,12 @@ public abstract class PDEFrameTiming {
     protected boolean mLoopLocked;
     protected Handler mHandler;
 
-    protected LinkedList<PDEFrameTimingListener> mListener = null;
+    protected ArrayList<PDEFrameTimingListener> mListener = null;
     protected LinkedList<PostExecuteFunctionHolder> mRunnableList = null;
 
+    // explicitly installed time source (replaces the platform timing, e.g. for headless runs)
+    private static volatile PDEFrameTiming mInstalledInstance = null;
+
 //----- Private helper classes -----------------------------------------------------------------------------------------
 
     private static class SingletonHolder {
@@ -98,9 +101,16 @@ public abstract class PDEFrameTiming {
 
         /**
          * @brief The method to be called.
+         *
+         * Null for typed listeners; these implement PDEIFrameTimingListener and are called directly.
          */
         Method mMethod;
 
+        /**
+         * @brief True if the method takes the frame time as parameter (determined once when adding).
+         */
+        boolean mMethodWithTime;
+
         /**
          * @brief Helper for removal during timing.
          */
@@ -110,11 +120,12 @@ public abstract class PDEFrameTiming {
          * @brief Constructor
          *
          * @param target Reference to the listener class.
-         * @param method The method to be called.
+         * @param method The method to be called, or null if the target is a PDEIFrameTimingListener.
          */
         PDEFrameTimingListener(Object target, Method method, boolean strongReference) {
             mNeedsRemoval = false;
             mMethod = method;
+            mMethodWithTime = (method != null && method.getParameterTypes().length == 1);
 
             if (strongReference) {
                 mStrongTarget = target;
@@ -189,11 +200,32 @@ public abstract class PDEFrameTiming {
      * #brief getInstance of frame timing - singleton pattern.
      * @return static PDEFrameTiming object
      */
-    @SuppressWarnings("SameReturnValue")
     public static PDEFrameTiming getInstance() {
+        PDEFrameTiming installed;
+
+        // explicitly installed time source?
+        installed = mInstalledInstance;
+        if (installed != null) {
+            return installed;
+        }
+
         return SingletonHolder.INSTANCE;
     }
 
+
+    /**
+     * @brief Install a different time source (e.g. PDEFrameTimingManual for headless runs and tests).
+     *
+     * Must be called before anything uses the frame timing: the animation root takes over the time base of the
+     * timing which is installed when it's created, and registered listeners are not moved to the new timing.
+     * Pass null to go back to the platform timing.
+     *
+     * @param timing The time source to use from now on.
+     */
+    public static void setInstance(PDEFrameTiming timing) {
+        mInstalledInstance = timing;
+    }
+
 //----- Constructor ----------------------------------------------------------------------------------------------------
 
     /**
@@ -209,7 +241,7 @@ public abstract class PDEFrameTiming {
      * @brief Initialization of member variables.
      */
     protected void init() {
-        mListener = new LinkedList<PDEFrameTimingListener>();
+        mListener = new ArrayList<PDEFrameTimingListener>();
         mRunnableList = new LinkedList<PostExecuteFunctionHolder>();
 
         mLoopLocked = false;
@@ -222,7 +254,27 @@ public abstract class PDEFrameTiming {
 
         mLoopLocked = false;
 
-        mHandler = new Handler(Looper.getMainLooper());
+        mHandler = createHandler();
+    }
+
+
+    /**
+     * @brief Create the handler used for posting to the runloop.
+     *
+     * Time sources which don't run on the Android main looper return null and override postRunnable().
+     */
+    protected Handler createHandler() {
+        return new Handler(Looper.getMainLooper());
+    }
+
+
+    /**
+     * @brief Post a runnable to the end of the runloop.
+     *
+     * @return true if the runnable was posted.
+     */
+    protected boolean postRunnable(Runnable runnable) {
+        return mHandler.post(runnable);
     }
 
 
@@ -274,7 +326,7 @@ public abstract class PDEFrameTiming {
         PDEFrameTimingListener newListener;
 
         //security
-        if (target == null || mListener == null || TextUtils.isEmpty(methodName)) {
+        if (target == null || mListener == null || methodName == null || methodName.length() == 0) {
             Log.w(LOG_TAG, "listener array or target is null!");
             //error
             return null;
@@ -288,26 +340,68 @@ public abstract class PDEFrameTiming {
             // create listener helper structure & fill in data
             newListener = new PDEFrameTimingListener(target, method, !weakReferenceOnly);
 
-            if (mListener.add(newListener)) {
-                if(DEBUGPARAMS){
-                    Log.d(LOG_TAG, "ADDED Listener "+mFrameTime+ " "+target.toString()+" method: "+methodName);
-                }
-                // tell the delegate
+            return addListenerInternal(newListener);
+
+        } catch (NoSuchMethodException e) {
+            // error handling, if method was not part of target-object
+            e.printStackTrace();
+            //error
+            return null;
+        }
+    }
 
-                // we now have at least one listener, start timing
-                setActive(true);
 
-                // return the internal listener object
-                return newListener;
+    /**
+     * @brief Add a typed listener which gets called with the primitive frame time on every frame.
+     *
+     * Only a weak reference to the listener is held.
+     *
+     * @param listener The listener to be called.
+     * @return Returns an internal class identifying the listener added.
+     */
+    public Object addListener(PDEIFrameTimingListener listener) {
+        return addListener(listener, true);
+    }
 
-            } else {
-                //error
-                return null;
+
+    /**
+     * @brief Add a typed listener which gets called with the primitive frame time on every frame.
+     *
+     * Typed listeners are called directly, so sending timings to them neither uses reflection nor allocates.
+     *
+     * @param listener The listener to be called.
+     * @param weakReferenceOnly Hold only a weak reference to the listener.
+     * @return Returns an internal class identifying the listener added.
+     */
+    public Object addListener(PDEIFrameTimingListener listener, boolean weakReferenceOnly) {
+        //security
+        if (listener == null || mListener == null) {
+            Log.w(LOG_TAG, "listener array or listener is null!");
+            //error
+            return null;
+        }
+
+        return addListenerInternal(new PDEFrameTimingListener(listener, null, !weakReferenceOnly));
+    }
+
+
+    /**
+     * @brief Store a newly created listener and start timing.
+     */
+    private Object addListenerInternal(PDEFrameTimingListener newListener) {
+        if (mListener.add(newListener)) {
+            if(DEBUGPARAMS){
+                Log.d(LOG_TAG, "ADDED Listener "+mFrameTime+ " "+newListener.getTarget().toString());
             }
+            // tell the delegate
 
-        } catch (NoSuchMethodException e) {
-            // error handling, if method was not part of target-object
-            e.printStackTrace();
+            // we now have at least one listener, start timing
+            setActive(true);
+
+            // return the internal listener object
+            return newListener;
+
+        } else {
             //error
             return null;
         }
@@ -332,14 +426,14 @@ public abstract class PDEFrameTiming {
                 // do we still have the target?
                 if (!listener.mNeedsRemoval){
                     if (listener.mStrongTarget != null ){
-                        sendTiming(listener.mStrongTarget, listener.mMethod);
+                        sendTiming(listener.mStrongTarget, listener);
                     } else {
                         Object target;
                         //weak
                         if (listener.mWeakTarget != null){
                             target = listener.mWeakTarget.get();
                             if (target!= null) {
-                                sendTiming(target, listener.mMethod);
+                                sendTiming(target, listener);
                             }
                         } else {
                             // mark ourself for later cleanup
@@ -378,16 +472,28 @@ public abstract class PDEFrameTiming {
     /**
      * @brief Send individual timing to the object.
      *
+     * Typed listeners are called directly with the primitive frame time, all others via their method.
+     *
      * @param target object to call
-     * @param method method to invoke
+     * @param listener listener helper structure holding the method to invoke
      */
-    private void sendTiming(Object target, Method method) {
+    private void sendTiming(Object target, PDEFrameTimingListener listener) {
+        Method method;
+
         if(DEBUGPARAMS){
-            Log.d(LOG_TAG, "sendTiming start "+mFrameTime+ " "+target.toString()+" method: "+method.getName());
+            Log.d(LOG_TAG, "sendTiming start "+mFrameTime+ " "+target.toString());
         }
+
+        // typed listener? -> no reflection, no boxing
+        method = listener.mMethod;
+        if (method == null) {
+            ((PDEIFrameTimingListener) target).onFrame(mFrameTime);
+            return;
+        }
+
         try {
             // then send it
-            if (method.getGenericParameterTypes().length == 1) {
+            if (listener.mMethodWithTime) {
                 method.invoke(target, mFrameTime);
             } else {
                 method.invoke(target);
@@ -431,7 +537,9 @@ public abstract class PDEFrameTiming {
                        // mark all listener for removal, throw away reference immediately
                         l.mNeedsRemoval = true;
                         l.mStrongTarget = null;
-                        l.mWeakTarget.clear();
+                        if (l.mWeakTarget != null) {
+                            l.mWeakTarget.clear();
+                        }
                         // remember to actually do a cleanup step
                         mNeedsCleanup = true;
                     } else {
@@ -488,7 +596,7 @@ public abstract class PDEFrameTiming {
     public boolean postExecuteFunction(final Object target, String methodName, Class<?>[] params) {
         try {
             //security
-            if (target == null || TextUtils.isEmpty(methodName)) {
+            if (target == null || methodName == null || methodName.length() == 0) {
                 return false;
             }
 
@@ -517,7 +625,7 @@ public abstract class PDEFrameTiming {
 
 
             // post runnable at end of queue
-            if (mHandler.post(runnable)) {
+            if (postRunnable(runnable)) {
                 mRunnableList.add(holder);
                 return true;
             } else {
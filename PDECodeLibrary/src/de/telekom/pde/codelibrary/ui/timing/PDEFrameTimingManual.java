@@ -0,0 +1,137 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.timing;
+
+
+import android.os.Handler;
+
+import java.util.LinkedList;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEFrameTimingManual
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Deterministic frame timing with a virtual clock.
+ *
+ * Time only moves when advanceFrame() is called; every call is one frame: the frame time is advanced, the timings
+ * are sent and the functions posted to the runloop are executed. No Android looper or handler is used, so the
+ * animation system can run on a plain JVM (tests, benchmarks).
+ *
+ * Install with PDEFrameTiming.setInstance() before anything uses the frame timing. Not thread safe; use from one
+ * thread only.
+ */
+public class PDEFrameTimingManual extends PDEFrameTiming {
+
+    // functions posted to the runloop
+    private final LinkedList<Runnable> mPostedRunnables;
+
+
+    /**
+     * @brief Constructor; the virtual clock starts at zero.
+     */
+    public PDEFrameTimingManual() {
+        this(0);
+    }
+
+
+    /**
+     * @brief Constructor.
+     *
+     * @param startTime Initial frame time in milliseconds.
+     */
+    public PDEFrameTimingManual(long startTime) {
+        super();
+        mFrameTime = startTime;
+        mLastFrameTime = startTime;
+        mPostedRunnables = new LinkedList<Runnable>();
+    }
+
+
+    /**
+     * @brief No looper: runnables are kept until the next frame.
+     */
+    @Override
+    protected Handler createHandler() {
+        return null;
+    }
+
+
+    /**
+     * @brief Remember the runnable for the end of the current (or next) frame.
+     */
+    @Override
+    protected boolean postRunnable(Runnable runnable) {
+        return mPostedRunnables.add(runnable);
+    }
+
+
+    /**
+     * @brief Activation only controls whether timings are sent; time is never advanced automatically.
+     */
+    @Override
+    public void setActive(boolean active) {
+        mActive = active;
+    }
+
+
+    @Override
+    public long getFrameTime() {
+        return mFrameTime;
+    }
+
+
+    /**
+     * @brief Run one frame.
+     *
+     * Functions still pending from outside of a frame are executed first, then the clock is advanced and the timings
+     * are sent (if active), then the functions posted during the frame are executed.
+     *
+     * @param deltaMillis Time to advance the virtual clock, in milliseconds.
+     */
+    public void advanceFrame(long deltaMillis) {
+        // finish the previous runloop
+        runPostedFunctions();
+
+        // advance the clock
+        mLastFrameTime = mFrameTime;
+        mFrameTime += deltaMillis;
+
+        // send timings
+        if (isActive()) {
+            sendTimings();
+        }
+
+        // end of runloop
+        runPostedFunctions();
+    }
+
+
+    /**
+     * @brief Execute the functions posted so far (functions posted meanwhile wait for the next call).
+     */
+    public void runPostedFunctions() {
+        int count;
+
+        count = mPostedRunnables.size();
+        while (count > 0 && !mPostedRunnables.isEmpty()) {
+            mPostedRunnables.removeFirst().run();
+            count--;
+        }
+    }
+
+
+    /**
+     * @brief Check if there's anything left to do (listeners to be timed or posted functions).
+     */
+    public boolean hasPendingWork() {
+        return isActive() || !mPostedRunnables.isEmpty();
+    }
+}
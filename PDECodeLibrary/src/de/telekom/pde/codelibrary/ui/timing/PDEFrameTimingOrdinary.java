@@ -17,6 +17,30 @@ public class PDEFrameTimingOrdinary extends PDEFrameTiming {
     protected boolean mPostiesRunning = false;
 
 
+    /**
+     * @brief Frame runnable, created once and re-posted for every frame.
+     */
+    private final Runnable mPosty = new Runnable() {
+        @Override
+        public void run() {
+            if (isActive()) {
+
+                sendTimings();
+
+                updateFrameTime();
+
+                if (mFrameTime - mLastFrameTime > FRAME_TIME_DELTA_THRESHOLD) {
+                    newPosty(0);
+                } else {
+                    newPosty(FRAME_IDLE_DELAY);
+                }
+            } else {
+                mPostiesRunning = false;
+            }
+        }
+    };
+
+
     protected PDEFrameTimingOrdinary() {
         super();
         mPostiesRunning = false;
@@ -55,30 +79,10 @@ public class PDEFrameTimingOrdinary extends PDEFrameTiming {
     private void newPosty(long delay) {
         mPostiesRunning = true;
 
-        Runnable runnable = new Runnable() {
-            @Override
-            public void run() {
-                if (isActive()) {
-
-                    sendTimings();
-
-                    updateFrameTime();
-
-                    if (mFrameTime - mLastFrameTime > FRAME_TIME_DELTA_THRESHOLD) {
-                        newPosty(0);
-                    } else {
-                        newPosty(FRAME_IDLE_DELAY);
-                    }
-                } else {
-                    mPostiesRunning = false;
-                }
-            }
-        };
-
         if (delay == 0) {
-            mHandler.post(runnable);
+            mHandler.post(mPosty);
         } else {
-            mHandler.postDelayed(runnable, delay);
+            mHandler.postDelayed(mPosty, delay);
         }
     }
 
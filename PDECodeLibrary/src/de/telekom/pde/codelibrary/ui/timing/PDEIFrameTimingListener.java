@@ -0,0 +1,31 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.timing;
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEIFrameTimingListener
+//----------------------------------------------------------------------------------------------------------------------
+
+/**
+ * @brief Typed listener interface for PDEFrameTiming.
+ *
+ * Listeners implementing this interface get the frame time delivered as primitive value and are called directly.
+ * In contrast to the target/method name form no reflection is involved and no boxed Long is created per frame, so
+ * the per-frame tick path stays free of heap allocations.
+ */
+
+public interface PDEIFrameTimingListener {
+
+    /**
+     * @brief Called once per frame while frame timing is active.
+     *
+     * @param frameTimeMillis The current frame time in milliseconds.
+     */
+    public abstract void onFrame(long frameTimeMillis);
+
+}
@@ -0,0 +1,404 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.animation;
+
+
+import de.telekom.pde.codelibrary.ui.agents.PDEAgentController;
+import de.telekom.pde.codelibrary.ui.agents.PDEEventAgentControllerState;
+import de.telekom.pde.codelibrary.ui.events.PDEEvent;
+import de.telekom.pde.codelibrary.ui.timing.PDEFrameTiming;
+import junit.framework.TestCase;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEComponentAnimationBenchmark
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Throughput benchmark of the component animations for 10, 100 and 1000 components.
+ *
+ * Drives the animations the way the components do, without their views:
+ * - agent: a PDEAgentController per button, highlighted, tapped (press down and up) and unhighlighted by turns
+ * - usage bar: a PDEParametricCurveAnimation per bar in PDEAnimationRoot, configured like PDEUsageBar and filled and
+ *   emptied by turns
+ * - slider: a PDEAgentController per slider handle, with the interactions of PDESliderScrollHandlerBase (highlight,
+ *   drag start with focus and press, drag end, unhighlight)
+ *
+ * Every component interacts every INTERACTION_FRAMES frames, so animations keep starting and running. The listeners
+ * read the animation values like the components do. The frames run headless on a virtual clock
+ * (PDEHeadlessAnimationRunner); the wall clock time per frame (interactions included) is reported.
+ *
+ * Run as test (results go to standard output) or directly with main().
+ */
+public class PDEComponentAnimationBenchmark extends TestCase {
+
+    // component counts measured
+    private final static int[] COMPONENT_COUNTS = {10, 100, 1000};
+
+    // frames between two interactions of a component
+    private final static int INTERACTION_FRAMES = 15;
+
+    // interactions per measurement (and for warming up)
+    private final static int WARMUP_INTERACTIONS = 40;
+    private final static int MEASURED_INTERACTIONS = 120;
+
+    // usage bar configuration (as PDEUsageBar defaults)
+    private final static long USAGE_BAR_DURATION = 2000;
+    private final static double USAGE_BAR_TOTAL = 10.0;
+
+    // frames to let everything come to rest after a measurement
+    private final static int IDLE_FRAMES = 10000;
+
+
+    /**
+     * @brief Listener of a component; reads the animation values and counts the changes.
+     */
+    public static class AnimationListener {
+        public int mChanges;
+        public double mValues;
+        public PDEParametricCurveAnimation mAnimation;
+
+        @SuppressWarnings("unused")
+        public void cbAgentController(PDEEvent event) {
+            PDEEventAgentControllerState state;
+
+            if (!(event instanceof PDEEventAgentControllerState)) return;
+
+            // read what the components read for their colors
+            state = (PDEEventAgentControllerState) event;
+            mValues += state.getAgentAnimationCombinedFocusAndHighlight() + state.getAgentAnimationPress()
+                       + state.getAgentAnimationDown();
+            mChanges++;
+        }
+
+        @SuppressWarnings("unused")
+        public void timeAnimations() {
+            mValues += mAnimation.getValue();
+            mChanges++;
+        }
+    }
+
+
+    /**
+     * @brief One kind of component animation.
+     */
+    private abstract static class Scenario {
+        protected AnimationListener[] mListeners;
+
+        // create and start count components
+        abstract void setUp(int count);
+
+        // interaction number step of all components
+        abstract void interact(int step);
+
+        // stop all components
+        abstract void tearDown();
+
+        // phase (0..3) of a component in a step; the components start one after another, each with phase 0, so
+        // adds and removes stay balanced (-1 if the component hasn't started yet)
+        static int phase(int step, int component) {
+            if (step < component % 4) return -1;
+            return (step - component % 4) % 4;
+        }
+    }
+
+
+    /**
+     * @brief Buttons: highlight, press down, press up, unhighlight.
+     */
+    private static class AgentScenario extends Scenario {
+        private PDEAgentController[] mControllers;
+
+        @Override
+        void setUp(int count) {
+            mControllers = createControllers(count);
+            mListeners = createListeners(mControllers);
+        }
+
+        @Override
+        void interact(int step) {
+            int i;
+
+            for (i = 0; i < mControllers.length; i++) {
+                // spread the phases over the components
+                switch (phase(step, i)) {
+                    case 0:
+                        mControllers[i].addHighlight();
+                        break;
+                    case 1:
+                        mControllers[i].addPress();
+                        break;
+                    case 2:
+                        mControllers[i].doPress();
+                        break;
+                    case 3:
+                        mControllers[i].removeHighlight();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        @Override
+        void tearDown() {
+            detachControllers(mControllers);
+        }
+    }
+
+
+    /**
+     * @brief Usage bars: fill and empty by turns (a running animation isn't restarted, as in PDEUsageBar).
+     */
+    private static class UsageBarScenario extends Scenario {
+        private PDEParametricCurveAnimation[] mAnimations;
+
+        @Override
+        void setUp(int count) {
+            int i;
+
+            mAnimations = new PDEParametricCurveAnimation[count];
+            mListeners = new AnimationListener[count];
+            for (i = 0; i < count; i++) {
+                mAnimations[i] = new PDEParametricCurveAnimation();
+                mListeners[i] = new AnimationListener();
+                mListeners[i].mAnimation = mAnimations[i];
+                PDEAnimationRoot.addSubAnimationStatic(mAnimations[i]);
+                mAnimations[i].setDidChangeTarget(mListeners[i], "timeAnimations");
+            }
+        }
+
+        @Override
+        void interact(int step) {
+            PDEParametricCurveAnimation animation;
+            int i;
+
+            for (i = 0; i < mAnimations.length; i++) {
+                animation = mAnimations[i];
+                if (animation.isRunning()) continue;
+
+                // go to the other end
+                animation.setBaseTime(USAGE_BAR_DURATION);
+                animation.setBaseDistance(USAGE_BAR_TOTAL);
+                animation.goToValue((animation.getValue() < USAGE_BAR_TOTAL / 2) ? USAGE_BAR_TOTAL : 0.0);
+            }
+        }
+
+        @Override
+        void tearDown() {
+            for (PDEParametricCurveAnimation animation : mAnimations) {
+                animation.stopAnimation();
+                PDEAnimationRoot.removeSubAnimationStatic(animation);
+            }
+        }
+    }
+
+
+    /**
+     * @brief Slider handles: highlight, drag start, drag end, unhighlight (as PDESliderScrollHandlerBase).
+     */
+    private static class SliderScenario extends Scenario {
+        private PDEAgentController[] mControllers;
+
+        @Override
+        void setUp(int count) {
+            mControllers = createControllers(count);
+            mListeners = createListeners(mControllers);
+        }
+
+        @Override
+        void interact(int step) {
+            int i;
+
+            for (i = 0; i < mControllers.length; i++) {
+                // spread the phases over the components
+                switch (phase(step, i)) {
+                    case 0:
+                        mControllers[i].addHighlight();
+                        break;
+                    case 1:
+                        mControllers[i].addFocus();
+                        mControllers[i].addPress();
+                        break;
+                    case 2:
+                        mControllers[i].cancelPress();
+                        mControllers[i].removeFocus();
+                        break;
+                    case 3:
+                        mControllers[i].removeHighlight();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        @Override
+        void tearDown() {
+            detachControllers(mControllers);
+        }
+    }
+
+
+    // headless frame loop
+    private PDEHeadlessAnimationRunner mRunner;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        mRunner = new PDEHeadlessAnimationRunner();
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        PDEFrameTiming.setInstance(null);
+
+        super.tearDown();
+    }
+
+
+    /**
+     * @brief Run the benchmark and check that every component animated.
+     */
+    public void testFrameTimes() {
+        System.out.println(run());
+    }
+
+
+    /**
+     * @brief Run the benchmark from the command line.
+     */
+    public static void main(String[] args) throws Exception {
+        PDEComponentAnimationBenchmark benchmark;
+
+        benchmark = new PDEComponentAnimationBenchmark();
+        benchmark.setUp();
+        try {
+            System.out.println(benchmark.run());
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+
+    /**
+     * @brief Measure all counts for all components and return a result table.
+     */
+    public String run() {
+        StringBuilder result;
+
+        // one unreported pass, so all paths are compiled before measuring
+        for (int count : COMPONENT_COUNTS) {
+            measure(new AgentScenario(), count);
+            measure(new UsageBarScenario(), count);
+            measure(new SliderScenario(), count);
+        }
+
+        result = new StringBuilder();
+        result.append(String.format("%12s %16s %20s %18s\n", "components", "agent ns/frame", "usage bar ns/frame",
+                                    "slider ns/frame"));
+        for (int count : COMPONENT_COUNTS) {
+            result.append(String.format("%12d %16d %20d %18d\n", count,
+                                        measure(new AgentScenario(), count),
+                                        measure(new UsageBarScenario(), count),
+                                        measure(new SliderScenario(), count)));
+        }
+
+        return result.toString();
+    }
+
+
+    /**
+     * @brief Wall clock time per frame of a scenario; checks that every component animated while measuring.
+     */
+    private long measure(Scenario scenario, int count) {
+        long start, nanos;
+        int step;
+
+        // set up and warm up (the measurement continues the interactions)
+        scenario.setUp(count);
+        for (step = 0; step < WARMUP_INTERACTIONS; step++) {
+            scenario.interact(step);
+            mRunner.runFrames(INTERACTION_FRAMES);
+        }
+        for (AnimationListener listener : scenario.mListeners) {
+            listener.mChanges = 0;
+        }
+
+        // don't measure the garbage of the previous run
+        System.gc();
+
+        // measure
+        start = System.nanoTime();
+        for (step = WARMUP_INTERACTIONS; step < WARMUP_INTERACTIONS + MEASURED_INTERACTIONS; step++) {
+            scenario.interact(step);
+            mRunner.runFrames(INTERACTION_FRAMES);
+        }
+        nanos = (System.nanoTime() - start) / (MEASURED_INTERACTIONS * INTERACTION_FRAMES);
+
+        // check
+        for (AnimationListener listener : scenario.mListeners) {
+            assertTrue(listener.mChanges > 0);
+        }
+
+        // clean up
+        scenario.tearDown();
+        mRunner.runUntilIdle(IDLE_FRAMES);
+
+        return nanos;
+    }
+
+
+    /**
+     * @brief Create agent controllers (they start resumed, like those of attached views).
+     */
+    private static PDEAgentController[] createControllers(int count) {
+        PDEAgentController[] controllers;
+        int i;
+
+        controllers = new PDEAgentController[count];
+        for (i = 0; i < count; i++) {
+            controllers[i] = new PDEAgentController();
+            assertFalse(controllers[i].isSuspended());
+        }
+
+        return controllers;
+    }
+
+
+    /**
+     * @brief Listen to the animation events of the controllers (as the components do).
+     */
+    private static AnimationListener[] createListeners(PDEAgentController[] controllers) {
+        AnimationListener[] listeners;
+        int i;
+
+        listeners = new AnimationListener[controllers.length];
+        for (i = 0; i < controllers.length; i++) {
+            listeners[i] = new AnimationListener();
+            controllers[i].addListener(listeners[i], "cbAgentController",
+                                       PDEAgentController.PDE_AGENT_CONTROLLER_EVENT_MASK_ANIMATION);
+        }
+
+        return listeners;
+    }
+
+
+    /**
+     * @brief Detach the controllers (as the components do when they leave the window), which stops their animations.
+     */
+    private static void detachControllers(PDEAgentController[] controllers) {
+        for (PDEAgentController controller : controllers) {
+            controller.setViewAttached(false);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.animation;
+
+
+import de.telekom.pde.codelibrary.ui.timing.PDEFrameTiming;
+import junit.framework.TestCase;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDELinearAnimationEngineBenchmark
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Benchmark of the frame loop for 100, 1000 and 10000 running linear animations.
+ *
+ * Compares the two ways of running linear animations:
+ * - tree: one PDELinearAnimation per animation, grouped in a PDEAnimationGroup per owner which is linked into
+ *   PDEAnimationRoot and reports changes by method name (as the agent controller did before the engine)
+ * - engine: one PDELinearAnimationHandle per animation in the shared PDELinearAnimationEngine, changes reported to
+ *   the owner's listener
+ *
+ * Every owner has up to 8 animations (like an agent controller). The frames run headless on a virtual clock
+ * (PDEHeadlessAnimationRunner); the wall clock time per frame is reported.
+ *
+ * Run as test (results go to standard output) or directly with main().
+ */
+public class PDELinearAnimationEngineBenchmark extends TestCase {
+
+    // animation counts measured
+    private final static int[] ANIMATION_COUNTS = {100, 1000, 10000};
+
+    // animations per owner
+    private final static int ANIMATIONS_PER_OWNER = 8;
+
+    // frames per measurement (and for warming up)
+    private final static int WARMUP_FRAMES = 300;
+    private final static int MEASURED_FRAMES = 1000;
+
+    // the animations must not finish while measuring
+    private final static long DURATION = 1000000;
+
+
+    /**
+     * @brief Owner of animations; counts its change notifications.
+     */
+    public static class CountingOwner implements PDELinearAnimationEngine.Listener {
+        public int mChanges;
+
+        @Override
+        public void linearAnimationsDidChange() {
+            mChanges++;
+        }
+
+        @SuppressWarnings("unused")
+        public void changed() {
+            mChanges++;
+        }
+    }
+
+
+    // headless frame loop
+    private PDEHeadlessAnimationRunner mRunner;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        mRunner = new PDEHeadlessAnimationRunner();
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        PDEFrameTiming.setInstance(null);
+
+        super.tearDown();
+    }
+
+
+    /**
+     * @brief Run the benchmark and check that every owner got changes.
+     */
+    public void testFrameTimes() {
+        System.out.println(run());
+    }
+
+
+    /**
+     * @brief Run the benchmark from the command line.
+     */
+    public static void main(String[] args) throws Exception {
+        PDELinearAnimationEngineBenchmark benchmark;
+
+        benchmark = new PDELinearAnimationEngineBenchmark();
+        benchmark.setUp();
+        try {
+            System.out.println(benchmark.run());
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+
+    /**
+     * @brief Measure all counts in both modes and return a result table.
+     */
+    public String run() {
+        StringBuilder result;
+        long treeNanos, engineNanos;
+
+        // one unreported pass, so all paths are compiled before measuring
+        for (int count : ANIMATION_COUNTS) {
+            measureTree(count);
+            measureEngine(count);
+        }
+
+        result = new StringBuilder();
+        result.append(String.format("%12s %16s %16s %10s\n", "animations", "tree ns/frame", "engine ns/frame",
+                                    "speedup"));
+        for (int count : ANIMATION_COUNTS) {
+            treeNanos = measureTree(count);
+            engineNanos = measureEngine(count);
+            result.append(String.format("%12d %16d %16d %9.1fx\n", count, treeNanos, engineNanos,
+                                        (double) treeNanos / Math.max(engineNanos, 1)));
+        }
+
+        return result.toString();
+    }
+
+
+    /**
+     * @brief Wall clock time per frame for animations in the animation tree.
+     */
+    private long measureTree(int count) {
+        CountingOwner[] owners;
+        PDEAnimationGroup[] groups;
+        PDELinearAnimation animation;
+        long nanos;
+        int owner, i;
+
+        // set up
+        owners = createOwners(count);
+        groups = new PDEAnimationGroup[owners.length];
+        for (owner = 0; owner < owners.length; owner++) {
+            groups[owner] = new PDEAnimationGroup();
+            groups[owner].setDidChangeTarget(owners[owner], "changed");
+            PDEAnimationRoot.addSubAnimationStatic(groups[owner]);
+        }
+
+        // start
+        for (i = 0; i < count; i++) {
+            animation = new PDELinearAnimation();
+            groups[i / ANIMATIONS_PER_OWNER].addSubAnimation(animation, true);
+            animation.goToValueWithDuration(1.0, DURATION);
+        }
+
+        // measure
+        nanos = measure(owners);
+
+        // clean up
+        for (owner = 0; owner < owners.length; owner++) {
+            PDEAnimationRoot.removeSubAnimationStatic(groups[owner]);
+        }
+        mRunner.runUntilIdle(WARMUP_FRAMES);
+
+        return nanos;
+    }
+
+
+    /**
+     * @brief Wall clock time per frame for animations in the engine.
+     */
+    private long measureEngine(int count) {
+        CountingOwner[] owners;
+        PDELinearAnimationHandle[] handles;
+        long nanos;
+        int i;
+
+        // set up and start
+        owners = createOwners(count);
+        handles = new PDELinearAnimationHandle[count];
+        for (i = 0; i < count; i++) {
+            handles[i] = new PDELinearAnimationHandle(owners[i / ANIMATIONS_PER_OWNER]);
+            handles[i].goToValueWithDuration(1.0, DURATION);
+        }
+        assertEquals(count, PDELinearAnimationEngine.getSharedInstance().getRunningAnimationCount());
+
+        // measure
+        nanos = measure(owners);
+
+        // clean up
+        for (PDELinearAnimationHandle handle : handles) {
+            handle.release();
+        }
+        mRunner.runUntilIdle(WARMUP_FRAMES);
+
+        return nanos;
+    }
+
+
+    /**
+     * @brief Create the owners for the given number of animations.
+     */
+    private static CountingOwner[] createOwners(int animationCount) {
+        CountingOwner[] owners;
+        int i;
+
+        owners = new CountingOwner[(animationCount + ANIMATIONS_PER_OWNER - 1) / ANIMATIONS_PER_OWNER];
+        for (i = 0; i < owners.length; i++) {
+            owners[i] = new CountingOwner();
+        }
+
+        return owners;
+    }
+
+
+    /**
+     * @brief Warm up, run the measured frames and check that every owner got every frame's change.
+     */
+    private long measure(CountingOwner[] owners) {
+        long nanos;
+
+        // don't measure the garbage of the previous run
+        System.gc();
+
+        mRunner.runFrames(WARMUP_FRAMES);
+        nanos = mRunner.runFrames(MEASURED_FRAMES);
+
+        for (CountingOwner owner : owners) {
+            assertTrue(owner.mChanges >= MEASURED_FRAMES);
+        }
+
+        return nanos;
+    }
+}
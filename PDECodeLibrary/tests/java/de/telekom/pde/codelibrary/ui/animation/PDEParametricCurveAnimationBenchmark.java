@@ -0,0 +1,272 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.animation;
+
+
+import de.telekom.pde.codelibrary.ui.animation.PDEParametricCurveAnimation.PDEParametricCurveAnimationEase;
+import de.telekom.pde.codelibrary.ui.animation.PDEParametricCurveAnimation.PDEParametricCurveAnimationEvaluation;
+import de.telekom.pde.codelibrary.ui.animation.PDEParametricCurveAnimation.PDEParametricCurveAnimationMode;
+import de.telekom.pde.codelibrary.ui.timing.PDEFrameTiming;
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEParametricCurveAnimationBenchmark
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Accuracy and throughput of the table evaluation of PDEParametricCurveAnimation against the exact one.
+ *
+ * Accuracy: pairs of animations (exact and table) with random curve modes, easing types, flags, distances and
+ * durations are run side by side through the animation tree on a virtual clock (PDEHeadlessAnimationRunner). Their
+ * values are compared on every frame; the error relative to the distance must stay below 1e-4 and both must end
+ * exactly on the target.
+ *
+ * Throughput: time of goToValue() (the segment set-up, which the tables replace) and wall clock time per frame
+ * for many running animations, for both evaluations.
+ *
+ * Run as test (results go to standard output) or directly with main().
+ */
+public class PDEParametricCurveAnimationBenchmark extends TestCase {
+
+    // accuracy: number of random animation pairs and allowed error (relative to the distance)
+    private final static int ACCURACY_RUNS = 2000;
+    private final static double MAX_RELATIVE_ERROR = 1e-4;
+
+    // throughput: set-up calls, animations per frame measurement and frames
+    private final static int SETUP_CALLS = 1000000;
+    private final static int FRAME_ANIMATIONS = 1000;
+    private final static int FRAMES = 300;
+
+
+    // headless frame loop
+    private PDEHeadlessAnimationRunner mRunner;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        mRunner = new PDEHeadlessAnimationRunner();
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        PDEFrameTiming.setInstance(null);
+
+        super.tearDown();
+    }
+
+
+    /**
+     * @brief Table evaluation follows the exact evaluation closely and ends exactly on the target.
+     */
+    public void testTableAccuracy() {
+        System.out.println(String.format("max value error / distance: %.2e", measureMaxError()));
+    }
+
+
+    /**
+     * @brief Print set-up time and frame time of both evaluations.
+     */
+    public void testThroughput() {
+        System.out.println(measureThroughput());
+    }
+
+
+    /**
+     * @brief Run the benchmark from the command line.
+     */
+    public static void main(String[] args) throws Exception {
+        PDEParametricCurveAnimationBenchmark benchmark;
+
+        benchmark = new PDEParametricCurveAnimationBenchmark();
+        benchmark.setUp();
+        try {
+            System.out.println(String.format("max value error / distance: %.2e", benchmark.measureMaxError()));
+            System.out.println(benchmark.measureThroughput());
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+
+//----- accuracy -------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Run random animation pairs and return the largest value error relative to the distance.
+     */
+    public double measureMaxError() {
+        PDEParametricCurveAnimation exact, table;
+        double start, target, distance, error, maxError;
+        Random random;
+        long duration;
+        int run, frames;
+
+        random = new Random(2);
+        maxError = 0.0;
+        for (run = 0; run < ACCURACY_RUNS; run++) {
+            // same random set-up for both
+            exact = new PDEParametricCurveAnimation();
+            table = new PDEParametricCurveAnimation();
+            table.setEvaluation(PDEParametricCurveAnimationEvaluation.EvaluationTable);
+            configure(random, exact, table);
+            PDEAnimationRoot.addSubAnimationStatic(exact);
+            PDEAnimationRoot.addSubAnimationStatic(table);
+
+            // start together
+            start = random.nextDouble() * 100.0 - 50.0;
+            target = random.nextDouble() * 100.0 - 50.0;
+            distance = Math.max(Math.abs(target - start), 1e-12);
+            duration = 50 + random.nextInt(1000);
+            exact.setValueImmediate(start);
+            table.setValueImmediate(start);
+            exact.goToValue(target, duration);
+            table.goToValue(target, duration);
+
+            // compare frame by frame
+            frames = 0;
+            while (exact.isRunning() || table.isRunning()) {
+                mRunner.step();
+                error = Math.abs(exact.getValue() - table.getValue()) / distance;
+                assertTrue("run " + run + " frame " + frames + ": error " + error, error < MAX_RELATIVE_ERROR);
+                maxError = Math.max(maxError, error);
+                frames++;
+            }
+
+            // same end
+            assertEquals(target, exact.getValue());
+            assertEquals(target, table.getValue());
+
+            // clean up
+            PDEAnimationRoot.removeSubAnimationStatic(exact);
+            PDEAnimationRoot.removeSubAnimationStatic(table);
+        }
+
+        return maxError;
+    }
+
+
+    /**
+     * @brief Set the same random curve mode, easing types and flags on all animations.
+     */
+    private static void configure(Random random, PDEParametricCurveAnimation... animations) {
+        PDEParametricCurveAnimationMode[] modes;
+        PDEParametricCurveAnimationEase[] eases;
+        PDEParametricCurveAnimationMode mode;
+        PDEParametricCurveAnimationEase easeIn, easeOut;
+        int flags;
+
+        modes = PDEParametricCurveAnimationMode.values();
+        eases = PDEParametricCurveAnimationEase.values();
+        mode = modes[random.nextInt(modes.length)];
+        easeIn = eases[random.nextInt(eases.length)];
+        easeOut = eases[random.nextInt(eases.length)];
+        flags = random.nextInt(128);
+
+        for (PDEParametricCurveAnimation animation : animations) {
+            animation.setCurveMode(mode);
+            animation.setEaseInType(easeIn);
+            animation.setEaseOutType(easeOut);
+            animation.setFlags(flags);
+        }
+    }
+
+
+//----- throughput -----------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Measure both evaluations and return a result table.
+     */
+    public String measureThroughput() {
+        PDEParametricCurveAnimationEvaluation[] evaluations;
+        StringBuilder result;
+
+        // one unreported pass, so all paths are compiled before measuring
+        evaluations = PDEParametricCurveAnimationEvaluation.values();
+        for (PDEParametricCurveAnimationEvaluation evaluation : evaluations) {
+            measureSetUp(evaluation, SETUP_CALLS / 10);
+            measureFrames(evaluation, FRAMES / 10);
+        }
+
+        result = new StringBuilder();
+        result.append(String.format("%20s %18s %20s\n", "evaluation", "goToValue() ns",
+                                    FRAME_ANIMATIONS + " anim. ns/frame"));
+        for (PDEParametricCurveAnimationEvaluation evaluation : evaluations) {
+            result.append(String.format("%20s %18.1f %20d\n", evaluation,
+                                        measureSetUp(evaluation, SETUP_CALLS),
+                                        measureFrames(evaluation, FRAMES)));
+        }
+
+        return result.toString();
+    }
+
+
+    /**
+     * @brief Average time of a goToValue() call from rest.
+     */
+    private static double measureSetUp(PDEParametricCurveAnimationEvaluation evaluation, int calls) {
+        PDEParametricCurveAnimation animation;
+        double sink;
+        long start;
+        int i;
+
+        animation = new PDEParametricCurveAnimation();
+        animation.setEvaluation(evaluation);
+
+        sink = 0.0;
+        start = System.nanoTime();
+        for (i = 0; i < calls; i++) {
+            animation.setValueImmediate(i & 1);
+            animation.goToValue(((i & 1) ^ 1) * 10.0, 300);
+            sink += animation.getValue();
+        }
+
+        // use the result, so the loop isn't optimized away
+        assertTrue(sink >= 0.0);
+
+        return (double) (System.nanoTime() - start) / calls;
+    }
+
+
+    /**
+     * @brief Wall clock time per frame for many running animations in the animation tree.
+     */
+    private long measureFrames(PDEParametricCurveAnimationEvaluation evaluation, int frames) {
+        PDEParametricCurveAnimation[] animations;
+        long nanos;
+        int i;
+
+        // set up and start (the animations must not finish while measuring)
+        animations = new PDEParametricCurveAnimation[FRAME_ANIMATIONS];
+        for (i = 0; i < FRAME_ANIMATIONS; i++) {
+            animations[i] = new PDEParametricCurveAnimation();
+            animations[i].setEvaluation(evaluation);
+            PDEAnimationRoot.addSubAnimationStatic(animations[i]);
+            animations[i].goToValue(100.0, (frames + 1) * mRunner.getFrameInterval() * 2);
+        }
+
+        // measure
+        System.gc();
+        nanos = mRunner.runFrames(frames);
+
+        // clean up
+        for (i = 0; i < FRAME_ANIMATIONS; i++) {
+            PDEAnimationRoot.removeSubAnimationStatic(animations[i]);
+        }
+        mRunner.runUntilIdle(frames);
+
+        return nanos;
+    }
+}
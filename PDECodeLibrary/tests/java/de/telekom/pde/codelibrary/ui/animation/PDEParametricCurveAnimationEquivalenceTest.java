@@ -0,0 +1,400 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.animation;
+
+
+import de.telekom.pde.codelibrary.ui.animation.PDEParametricCurveAnimation.PDEParametricCurveAnimationEase;
+import de.telekom.pde.codelibrary.ui.animation.PDEParametricCurveAnimation.PDEParametricCurveAnimationMode;
+import de.telekom.pde.codelibrary.ui.timing.PDEFrameTiming;
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEParametricCurveAnimationEquivalenceTest
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief The power basis evaluation of PDEParametricCurveAnimation against the Bernstein formulas it replaced.
+ *
+ * The reference formulas below are the bezier value, speed, acceleration and acceleration derivative calculations
+ * PDEParametricCurveAnimation used before it converted its curves to power basis (and calculated the derivatives
+ * lazily). They are compared with the animation:
+ * - curves: random control values of all curve modes, evaluated at random times
+ * - frames: random animations (curve modes, easing types, flags, distances, durations), partly redirected while
+ *   running, driven through the animation tree on a virtual clock (PDEHeadlessAnimationRunner); value, speed,
+ *   acceleration and acceleration derivative are compared on every frame, including the last one of a segment
+ *
+ * The error must stay below 1e-9, relative to the size of the control values (scaled to the duration).
+ */
+public class PDEParametricCurveAnimationEquivalenceTest extends TestCase {
+
+    // number of random curves and times per curve
+    private final static int CURVE_RUNS = 5000;
+    private final static int TIMES_PER_CURVE = 50;
+
+    // number of random animations
+    private final static int FRAME_RUNS = 2000;
+
+    // allowed error (relative to the control values)
+    private final static double MAX_RELATIVE_ERROR = 1e-9;
+
+
+    // headless frame loop
+    private PDEHeadlessAnimationRunner mRunner;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        mRunner = new PDEHeadlessAnimationRunner();
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        PDEFrameTiming.setInstance(null);
+
+        super.tearDown();
+    }
+
+
+    /**
+     * @brief Random curves of all modes give the same values, speeds and accelerations at random times.
+     */
+    public void testCurves() {
+        PDEParametricCurveAnimationMode[] modes;
+        PDEParametricCurveAnimation animation;
+        Random random;
+        long time;
+        int run, i, n;
+
+        random = new Random(23);
+        modes = PDEParametricCurveAnimationMode.values();
+        animation = new PDEParametricCurveAnimation();
+        for (run = 0; run < CURVE_RUNS; run++) {
+            // random curve (not necessarily one the animation would build)
+            animation.mCurveMode = modes[run % modes.length];
+            animation.mDuration = 1 + random.nextInt(5000);
+            for (i = 0; i < 6; i++) {
+                animation.mBezierControl[i] = random.nextDouble() * 200.0 - 100.0;
+            }
+            animation.curveInit();
+
+            // random times, the ends included
+            for (n = 0; n < TIMES_PER_CURVE; n++) {
+                if (n == 0) {
+                    time = 0;
+                } else if (n == 1) {
+                    time = animation.mDuration;
+                } else {
+                    time = random.nextInt((int) animation.mDuration + 1);
+                }
+
+                assertClose("value", run, referenceValue(animation, time), animation.bezierValueAtTime(time),
+                            scale(animation, 0));
+                assertClose("speed", run, referenceSpeed(animation, time), animation.bezierSpeedAtTime(time),
+                            scale(animation, 1));
+                assertClose("acceleration", run, referenceAcceleration(animation, time),
+                            animation.bezierAccelerationAtTime(time), scale(animation, 2));
+            }
+        }
+    }
+
+
+    /**
+     * @brief Running animations show the same values, speeds, accelerations and derivatives on every frame.
+     */
+    public void testFrames() {
+        PDEParametricCurveAnimation animation;
+        double speedSum;
+        Random random;
+        long duration, time;
+        int run, frame, redirectFrame;
+
+        random = new Random(24);
+        speedSum = 0.0;
+        for (run = 0; run < FRAME_RUNS; run++) {
+            // random set-up
+            animation = new PDEParametricCurveAnimation();
+            configure(random, animation);
+            PDEAnimationRoot.addSubAnimationStatic(animation);
+
+            // start, and redirect every second animation while running (starts with speed and acceleration)
+            animation.setValueImmediate(random.nextDouble() * 100.0 - 50.0);
+            animation.goToValue(random.nextDouble() * 100.0 - 50.0, 50 + random.nextInt(1000));
+            redirectFrame = ((run & 1) == 0) ? 1 + random.nextInt(30) : -1;
+
+            // compare frame by frame
+            frame = 0;
+            while (animation.isRunning()) {
+                if (frame == redirectFrame) {
+                    animation.goToValue(random.nextDouble() * 100.0 - 50.0, 50 + random.nextInt(1000));
+                }
+
+                // the last frame of a segment is evaluated at its end, then the duration is reset
+                duration = animation.mDuration;
+                mRunner.step();
+                if (duration > 0 && animation.mDuration == 0) {
+                    animation.mDuration = duration;
+                    compare(animation, duration, run);
+                    animation.mDuration = 0;
+                } else if (animation.mDuration > 0) {
+                    time = animation.getTime();
+                    assertClose("value", run, referenceValue(animation, time), animation.getValue(),
+                                scale(animation, 0));
+                    compare(animation, time, run);
+                }
+                speedSum += Math.abs(animation.getSpeed());
+                frame++;
+            }
+
+            // clean up
+            PDEAnimationRoot.removeSubAnimationStatic(animation);
+        }
+
+        // the animations did move
+        assertTrue(speedSum > 0.0);
+    }
+
+
+    /**
+     * @brief Compare speed, acceleration and acceleration derivative of the animation with the reference at a time.
+     */
+    private static void compare(PDEParametricCurveAnimation animation, long time, int run) {
+        assertClose("speed", run, referenceSpeed(animation, time), animation.getSpeed(), scale(animation, 1));
+        assertClose("acceleration", run, referenceAcceleration(animation, time), animation.getAcceleration(),
+                    scale(animation, 2));
+        assertClose("acceleration derivative", run, referenceAccelerationDerivative(animation, time),
+                    animation.getAccelerationDerivative(), scale(animation, 3));
+    }
+
+
+    /**
+     * @brief Set a random curve mode, easing types and flags.
+     */
+    private static void configure(Random random, PDEParametricCurveAnimation animation) {
+        PDEParametricCurveAnimationMode[] modes;
+        PDEParametricCurveAnimationEase[] eases;
+
+        modes = PDEParametricCurveAnimationMode.values();
+        eases = PDEParametricCurveAnimationEase.values();
+        animation.setCurveMode(modes[random.nextInt(modes.length)]);
+        animation.setEaseInType(eases[random.nextInt(eases.length)]);
+        animation.setEaseOutType(eases[random.nextInt(eases.length)]);
+        animation.setFlags(random.nextInt(128));
+    }
+
+
+    /**
+     * @brief Size of the given derivative for the current control values (the base of the allowed error).
+     */
+    private static double scale(PDEParametricCurveAnimation animation, int order) {
+        double max;
+        int i;
+
+        // largest control value
+        max = 0.0;
+        for (i = 0; i < 6; i++) {
+            max = Math.max(max, Math.abs(animation.mBezierControl[i]));
+        }
+
+        // derivatives of a degree 5 curve are at most 2^order * 5! / (5 - order)! as large, normalized to duration
+        return Math.max(max, 1e-12) * Math.pow(2.0 * 5.0, order) / Math.pow(animation.mDuration, order);
+    }
+
+
+    /**
+     * @brief Assert that the value matches the reference.
+     */
+    private static void assertClose(String what, int run, double reference, double value, double scale) {
+        double error;
+
+        error = Math.abs(value - reference) / scale;
+        assertTrue("run " + run + ": " + what + " " + value + " instead of " + reference,
+                   error < MAX_RELATIVE_ERROR);
+    }
+
+
+//----- reference ------------------------------------------------------------------------------------------------------
+
+
+    /**
+     * @brief Reference. Bezier value (Bernstein form).
+     */
+    private static double referenceValue(PDEParametricCurveAnimation animation, long time) {
+        double[] b;
+        double q, u, x;
+
+        // limit value
+        if (time < 0) time = 0;
+        if (time > animation.mDuration) time = animation.mDuration;
+
+        // unified values (range 0-1)
+        u = (double) time / (double) animation.mDuration;
+        q = 1 - u;
+        b = animation.mBezierControl;
+
+        // mode?
+        switch (animation.mCurveMode) {
+            case ModeLinear:
+                x = q * b[0]
+                    + u * b[1];
+                break;
+            case ModeB3:
+                x = q * q * q * b[0]
+                    + 3.0 * u * q * q * b[1]
+                    + 3.0 * u * u * q * b[2]
+                    + u * u * u * b[3];
+                break;
+            case ModeB5:
+            default:
+                x = q * q * q * q * q * b[0]
+                    + 5.0 * u * q * q * q * q * b[1]
+                    + 10.0 * u * u * q * q * q * b[2]
+                    + 10.0 * u * u * u * q * q * b[3]
+                    + 5.0 * u * u * u * u * q * b[4]
+                    + u * u * u * u * u * b[5];
+                break;
+        }
+
+        return x;
+    }
+
+
+    /**
+     * @brief Reference. Bezier speed (Bernstein form).
+     */
+    private static double referenceSpeed(PDEParametricCurveAnimation animation, long time) {
+        double[] b;
+        double vx, q, u;
+
+        // limit time
+        if (time < 0) time = 0;
+        if (time > animation.mDuration) time = animation.mDuration;
+
+        // unified values (range 0-1)
+        u = (double) time / (double) animation.mDuration;
+        q = 1 - u;
+        b = animation.mBezierControl;
+
+        // mode?
+        switch (animation.mCurveMode) {
+            case ModeLinear:
+                vx = b[1] - b[0];
+                break;
+            case ModeB3:
+                vx = -3.0 * q * q * b[0]
+                     + 3.0 * (-2.0 * u + q) * q * b[1]
+                     + 3.0 * (-u + 2.0 * q) * u * b[2]
+                     + 3.0 * u * u * b[3];
+                break;
+            case ModeB5:
+            default:
+                vx = -5.0 * q * q * q * q * b[0]
+                     + 5.0 * (-4.0 * u + q) * q * q * q * b[1]
+                     + 10.0 * (-3.0 * u + 2.0 * q) * u * q * q * b[2]
+                     + 10.0 * (-2.0 * u + 3.0 * q) * u * u * q * b[3]
+                     + 5.0 * (-u + 4.0 * q) * u * u * u * b[4]
+                     + 5.0 * u * u * u * u * b[5];
+                break;
+        }
+
+        // normalize speed to duration
+        return vx / animation.mDuration;
+    }
+
+
+    /**
+     * @brief Reference. Bezier acceleration (Bernstein form).
+     */
+    private static double referenceAcceleration(PDEParametricCurveAnimation animation, long time) {
+        double[] b;
+        double ax, q, u;
+
+        // limit time
+        if (time < 0) time = 0;
+        if (time > animation.mDuration) time = animation.mDuration;
+
+        // unified values (range 0-1)
+        u = (double) time / (double) animation.mDuration;
+        q = 1 - u;
+        b = animation.mBezierControl;
+
+        // mode?
+        switch (animation.mCurveMode) {
+            case ModeLinear:
+                ax = 0.0;
+                break;
+            case ModeB3:
+                ax = 6.0 * q * b[0]
+                     + 3.0 * (u - 2.0 * q) * 2.0 * b[1]
+                     + 3.0 * (-2.0 * u + q) * 2.0 * b[2]
+                     + 6.0 * u * b[3];
+                break;
+            case ModeB5:
+            default:
+                ax = 20.0 * q * q * q * b[0]
+                     + 5.0 * (3.0 * u - 2.0 * q) * 4.0 * q * q * b[1]
+                     + 10.0 * (3.0 * u * u - 6.0 * u * q + q * q) * 2.0 * q * b[2]
+                     + 10.0 * (u * u - 6.0 * u * q + 3.0 * q * q) * 2.0 * u * b[3]
+                     + 5.0 * (-2.0 * u + 3.0 * q) * 4.0 * u * u * b[4]
+                     + 20.0 * u * u * u * b[5];
+                break;
+        }
+
+        // normalize acceleration to duration
+        return ax / Math.pow(animation.mDuration, 2.0);
+    }
+
+
+    /**
+     * @brief Reference. Bezier acceleration derivative (Bernstein form).
+     */
+    private static double referenceAccelerationDerivative(PDEParametricCurveAnimation animation, long time) {
+        double[] b;
+        double dax, q, u;
+
+        // limit time
+        if (time < 0) time = 0;
+        if (time > animation.mDuration) time = animation.mDuration;
+
+        // unified values (range 0-1)
+        u = (double) time / (double) animation.mDuration;
+        q = 1 - u;
+        b = animation.mBezierControl;
+
+        // mode?
+        switch (animation.mCurveMode) {
+            case ModeLinear:
+                dax = 0.0;
+                break;
+            case ModeB3:
+                dax = -6.0 * b[0]
+                      + 3.0 * 6.0 * b[1]
+                      + 3.0 * -6.0 * b[2]
+                      + 6.0 * b[3];
+                break;
+            case ModeB5:
+            default:
+                dax = -60.0 * q * q * b[0]
+                      + 5.0 * (-2.0 * u + 3.0 * q) * 12.0 * q * b[1]
+                      + 10.0 * (-u * u + 6.0 * u * q - 3.0 * q * q) * 6.0 * b[2]
+                      + 10.0 * (3 * u * u - 6.0 * u * q + q * q) * 6.0 * b[3]
+                      + 5.0 * (-3.0 * u + 2.0 * q) * 12.0 * u * b[4]
+                      + 60.0 * u * u * b[5];
+                break;
+        }
+
+        // normalize derivative to duration
+        return dax / Math.pow(animation.mDuration, 2.0) / animation.mDuration;
+    }
+}
@@ -0,0 +1,146 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.color;
+
+
+import android.test.AndroidTestCase;
+
+import de.telekom.pde.codelibrary.ui.PDECodeLibrary;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEColorCacheBenchmark
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Benchmark of resolving symbolic colors with and without the symbolic color cache.
+ *
+ * Resolves "DTBlack" and "DTGrey237" (and the style dependent "DTUIText") by name, once through PDEColor.valueOf()
+ * (cache on) and once through the resource lookup by name the cache replaces (cache off). The dark/light style is
+ * flipped between the runs, which clears and reloads the cache; the flip time is reported too. Both ways have to
+ * deliver the same colors in both styles.
+ *
+ * Results go to standard output.
+ */
+public class PDEColorCacheBenchmark extends AndroidTestCase {
+
+    // the resolved names
+    private final static String[] COLOR_NAMES = {"DTBlack", "DTGrey237", PDEColor.DTUIText};
+
+    // lookups per run and runs (the style flips after every run)
+    private final static int LOOKUPS_PER_RUN = 100000;
+    private final static int RUNS = 10;
+
+
+    // style before the benchmark
+    private boolean mDarkStyle;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        PDECodeLibrary.getInstance().libraryInit(getContext());
+        mDarkStyle = PDECodeLibrary.getInstance().isDarkStyle();
+    }
+
+
+    @SuppressWarnings("deprecation")
+    @Override
+    protected void tearDown() throws Exception {
+        PDECodeLibrary.getInstance().setDarkStyle(mDarkStyle);
+
+        super.tearDown();
+    }
+
+
+    /**
+     * @brief Cached and uncached lookups agree in both styles, also after flipping the style.
+     */
+    @SuppressWarnings("deprecation")
+    public void testCachedMatchesUncached() {
+        int run;
+
+        for (run = 0; run < 4; run++) {
+            for (String name : COLOR_NAMES) {
+                assertEquals(name, PDEColor.resolveSymbolicColor(name).intValue(),
+                             PDEColor.valueOf(name).getIntegerColor());
+            }
+            PDECodeLibrary.getInstance().setDarkStyle(!PDECodeLibrary.getInstance().isDarkStyle());
+        }
+    }
+
+
+    /**
+     * @brief Print the lookups per second with and without cache and the time of a style flip.
+     */
+    @SuppressWarnings("deprecation")
+    public void testLookupsPerSecond() {
+        long cachedNanos, uncachedNanos, flipNanos, start;
+        int run, sink;
+
+        // warm up
+        sink = runCached(LOOKUPS_PER_RUN / 10) + runUncached(LOOKUPS_PER_RUN / 10);
+
+        // measure, flipping the style between the runs
+        cachedNanos = 0;
+        uncachedNanos = 0;
+        flipNanos = 0;
+        for (run = 0; run < RUNS; run++) {
+            start = System.nanoTime();
+            sink += runCached(LOOKUPS_PER_RUN);
+            cachedNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += runUncached(LOOKUPS_PER_RUN);
+            uncachedNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            PDECodeLibrary.getInstance().setDarkStyle(!PDECodeLibrary.getInstance().isDarkStyle());
+            flipNanos += System.nanoTime() - start;
+        }
+
+        System.out.println(String.format("cache on %.0f lookups/s, cache off %.0f lookups/s, "
+                                         + "style flip (cache reload) %.2f ms (checksum %d)",
+                                         RUNS * LOOKUPS_PER_RUN * 1e9 / Math.max(cachedNanos, 1),
+                                         RUNS * LOOKUPS_PER_RUN * 1e9 / Math.max(uncachedNanos, 1),
+                                         flipNanos / 1e6 / RUNS, sink));
+    }
+
+
+    /**
+     * @brief Resolve the names through the cache.
+     */
+    private static int runCached(int lookups) {
+        int i, sum;
+
+        sum = 0;
+        for (i = 0; i < lookups; i++) {
+            sum += PDEColor.valueOf(COLOR_NAMES[i % COLOR_NAMES.length]).getIntegerColor();
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * @brief Resolve the names through the resources, as PDEColor did before the cache.
+     */
+    private static int runUncached(int lookups) {
+        int i, sum;
+
+        sum = 0;
+        for (i = 0; i < lookups; i++) {
+            sum += PDEColor.valueOf(PDEColor.resolveSymbolicColor(COLOR_NAMES[i % COLOR_NAMES.length]))
+                           .getIntegerColor();
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,149 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2014. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.components.lists;
+
+
+import android.test.AndroidTestCase;
+import android.widget.ArrayAdapter;
+
+import java.util.ArrayList;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDESectionedListAdapterBenchmark
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Benchmark of the position to section lookup of a list with 10000 rows in 500 sections.
+ *
+ * Compares the binary search on the position index with the walk over all sections the adapter did before (one
+ * header and item count per section until the position is reached). Both have to deliver the same sections.
+ *
+ * Results go to standard output.
+ */
+public class PDESectionedListAdapterBenchmark extends AndroidTestCase {
+
+    // list dimensions
+    private final static int SECTION_COUNT = 500;
+    private final static int ROWS_PER_SECTION = 20;
+
+    // lookups per measurement
+    private final static int LOOKUPS_PER_RUN = 1000000;
+
+
+    // the adapter to measure
+    private PDESectionedListAdapter mAdapter;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        ArrayList<String> items;
+        int section, row;
+
+        super.setUp();
+
+        // 500 sections with header and 20 rows each
+        mAdapter = new PDESectionedListAdapter(getContext());
+        for (section = 0; section < SECTION_COUNT; section++) {
+            items = new ArrayList<String>();
+            for (row = 0; row < ROWS_PER_SECTION; row++) {
+                items.add(section + "/" + row);
+            }
+            mAdapter.addSection("Section " + section,
+                                new ArrayAdapter<String>(getContext(), android.R.layout.simple_list_item_1, items),
+                                false);
+        }
+    }
+
+
+    /**
+     * @brief Both lookups agree; print the lookups per second of both.
+     */
+    public void testLookupsPerSecond() {
+        int position, count, sink;
+        long indexedNanos, linearNanos;
+
+        // same result everywhere
+        count = mAdapter.getCount();
+        assertEquals(SECTION_COUNT * (ROWS_PER_SECTION + 1), count);
+        for (position = 0; position < count; position++) {
+            assertEquals(linearSectionForItem(position), mAdapter.getSectionForItem(position));
+        }
+
+        // warm up
+        sink = runIndexed(LOOKUPS_PER_RUN / 10) + runLinear(LOOKUPS_PER_RUN / 100);
+
+        // measure
+        indexedNanos = System.nanoTime();
+        sink += runIndexed(LOOKUPS_PER_RUN);
+        indexedNanos = System.nanoTime() - indexedNanos;
+        linearNanos = System.nanoTime();
+        sink += runLinear(LOOKUPS_PER_RUN / 10);
+        linearNanos = (System.nanoTime() - linearNanos) * 10;
+
+        System.out.println(String.format("%d rows, %d sections: binary search %.0f lookups/s, "
+                                         + "section walk %.0f lookups/s (checksum %d)",
+                                         count, SECTION_COUNT,
+                                         LOOKUPS_PER_RUN * 1e9 / Math.max(indexedNanos, 1),
+                                         LOOKUPS_PER_RUN * 1e9 / Math.max(linearNanos, 1), sink));
+    }
+
+
+    /**
+     * @brief Look up positions spread over the whole list with the adapter.
+     */
+    private int runIndexed(int lookups) {
+        int i, count, sum;
+
+        count = mAdapter.getCount();
+        sum = 0;
+        for (i = 0; i < lookups; i++) {
+            sum += mAdapter.getSectionForItem((int) ((i * 7919L) % count));
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * @brief Look up positions spread over the whole list by walking the sections.
+     */
+    private int runLinear(int lookups) {
+        int i, count, sum;
+
+        count = mAdapter.getCount();
+        sum = 0;
+        for (i = 0; i < lookups; i++) {
+            sum += linearSectionForItem((int) ((i * 7919L) % count));
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * @brief Section lookup as the adapter did it before the position index (for comparison only).
+     */
+    private int linearSectionForItem(int position) {
+        int currentPosition, currentSection, itemsInSection;
+
+        currentPosition = 0;
+        for (currentSection = 0; currentSection < mAdapter.mMainAdapter.getCount(); currentSection++) {
+            itemsInSection = mAdapter.mMainAdapter.getSectionHeaderAndItemCount(currentSection);
+            if (position < currentPosition + itemsInSection) {
+                return currentSection;
+            }
+
+            // no hit - update position
+            currentPosition += itemsInSection;
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,185 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2014. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.components.lists;
+
+
+import android.test.AndroidTestCase;
+import android.widget.ArrayAdapter;
+
+import de.telekom.pde.codelibrary.ui.components.lists.internal.SectionHeaderAndListAdapter;
+
+import java.util.ArrayList;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDESectionedListAdapterTest
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Checks the mapping of list positions to sections, headers and section items.
+ */
+public class PDESectionedListAdapterTest extends AndroidTestCase {
+
+    // the adapter under test
+    private PDESectionedListAdapter mAdapter;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        mAdapter = new PDESectionedListAdapter(getContext());
+    }
+
+
+    /**
+     * @brief Create a section adapter with the given number of items ("<prefix>0", "<prefix>1"...).
+     */
+    private ArrayAdapter<String> createSectionAdapter(String prefix, int count) {
+        ArrayList<String> items;
+        int i;
+
+        items = new ArrayList<String>();
+        for (i = 0; i < count; i++) {
+            items.add(prefix + i);
+        }
+
+        return new ArrayAdapter<String>(getContext(), android.R.layout.simple_list_item_1, items);
+    }
+
+
+    /**
+     * @brief Without sections there are no positions.
+     */
+    public void testNoSections() {
+        assertEquals(0, mAdapter.getCount());
+        assertEquals(-1, mAdapter.getSectionForItem(0));
+        assertNull(mAdapter.getItem(0));
+    }
+
+
+    /**
+     * @brief First and last row and the positions just outside.
+     */
+    public void testFirstAndLastRow() {
+        mAdapter.addSection("A", createSectionAdapter("a", 3), false);
+        mAdapter.addSection("B", createSectionAdapter("b", 2), false);
+
+        // A header, a0..a2, B header, b0, b1
+        assertEquals(7, mAdapter.getCount());
+
+        assertEquals(0, mAdapter.getSectionForItem(0));
+        assertEquals("a0", mAdapter.getItem(1));
+        assertEquals(1, mAdapter.getSectionForItem(6));
+        assertEquals("b1", mAdapter.getItem(6));
+
+        assertEquals(-1, mAdapter.getSectionForItem(-1));
+        assertEquals(-1, mAdapter.getSectionForItem(7));
+        assertNull(mAdapter.getItem(7));
+    }
+
+
+    /**
+     * @brief Header positions deliver the section info and can't be selected; the last item of a section is no
+     *        header.
+     */
+    public void testHeaderPositions() {
+        Object item;
+
+        mAdapter.addSection("A", createSectionAdapter("a", 3), false);
+        mAdapter.addSection("B", createSectionAdapter("b", 2), false);
+
+        item = mAdapter.getItem(0);
+        assertTrue(item instanceof SectionHeaderAndListAdapter.SectionInfo);
+        assertEquals("A", ((SectionHeaderAndListAdapter.SectionInfo) item).getTitle());
+        assertEquals(PDESectionedListAdapter.TYPE_SECTION_HEADER, mAdapter.getItemViewType(0));
+        assertFalse(mAdapter.isEnabled(0));
+
+        assertEquals("a2", mAdapter.getItem(3));
+        assertTrue(mAdapter.isEnabled(3));
+
+        item = mAdapter.getItem(4);
+        assertTrue(item instanceof SectionHeaderAndListAdapter.SectionInfo);
+        assertEquals("B", ((SectionHeaderAndListAdapter.SectionInfo) item).getTitle());
+        assertEquals(1, mAdapter.getSectionForItem(4));
+        assertEquals(PDESectionedListAdapter.TYPE_SECTION_HEADER, mAdapter.getItemViewType(4));
+        assertFalse(mAdapter.isEnabled(4));
+    }
+
+
+    /**
+     * @brief Empty sections without header take no position; empty sections with header only their header.
+     */
+    public void testEmptySections() {
+        mAdapter.addSection("A", createSectionAdapter("a", 0), false);
+        mAdapter.addSection(createSectionAdapter("x", 0));
+        mAdapter.addSection("B", createSectionAdapter("b", 1), false);
+        mAdapter.addSection(createSectionAdapter("y", 0));
+        mAdapter.addSection("C", createSectionAdapter("c", 0), false);
+        mAdapter.addSection(createSectionAdapter("z", 0));
+
+        // A header, B header, b0, C header
+        assertEquals(4, mAdapter.getCount());
+
+        assertEquals(0, mAdapter.getSectionForItem(0));
+        assertEquals(2, mAdapter.getSectionForItem(1));
+        assertEquals(2, mAdapter.getSectionForItem(2));
+        assertEquals("b0", mAdapter.getItem(2));
+        assertEquals(4, mAdapter.getSectionForItem(3));
+        assertEquals(PDESectionedListAdapter.TYPE_SECTION_HEADER, mAdapter.getItemViewType(3));
+        assertEquals(-1, mAdapter.getSectionForItem(4));
+    }
+
+
+    /**
+     * @brief Sections without headers map their items directly.
+     */
+    public void testSectionsWithoutHeaders() {
+        mAdapter.addSection(createSectionAdapter("a", 2));
+        mAdapter.addSection(createSectionAdapter("b", 2));
+
+        assertEquals(4, mAdapter.getCount());
+        assertEquals("a0", mAdapter.getItem(0));
+        assertEquals("a1", mAdapter.getItem(1));
+        assertEquals(1, mAdapter.getSectionForItem(2));
+        assertEquals("b0", mAdapter.getItem(2));
+        assertTrue(mAdapter.isEnabled(0));
+    }
+
+
+    /**
+     * @brief The mapping follows changes of the sections and of their data.
+     */
+    public void testMappingFollowsChanges() {
+        ArrayAdapter<String> first;
+
+        first = createSectionAdapter("a", 1);
+        mAdapter.addSection("A", first, false);
+        mAdapter.addSection("B", createSectionAdapter("b", 1), false);
+        assertEquals(4, mAdapter.getCount());
+        assertEquals(1, mAdapter.getSectionForItem(2));
+
+        // data of a section changed (the section adapter notifies)
+        first.add("a1");
+        assertEquals(5, mAdapter.getCount());
+        assertEquals("a1", mAdapter.getItem(2));
+        assertEquals(1, mAdapter.getSectionForItem(3));
+
+        // section inserted in front
+        mAdapter.insertSection("C", createSectionAdapter("c", 2), false, 0);
+        assertEquals(8, mAdapter.getCount());
+        assertEquals(0, mAdapter.getSectionForItem(2));
+        assertEquals("a0", mAdapter.getItem(4));
+
+        // section removed
+        mAdapter.removeSection(0);
+        assertEquals(5, mAdapter.getCount());
+        assertEquals("a0", mAdapter.getItem(1));
+    }
+}
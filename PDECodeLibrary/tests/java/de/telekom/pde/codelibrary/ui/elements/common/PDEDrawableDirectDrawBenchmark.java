@@ -0,0 +1,179 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.elements.common;
+
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.test.AndroidTestCase;
+
+import de.telekom.pde.codelibrary.ui.PDECodeLibrary;
+import de.telekom.pde.codelibrary.ui.color.PDEColor;
+import de.telekom.pde.codelibrary.ui.elements.boxes.PDEDrawableRoundedBox;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEDrawableDirectDrawBenchmark
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Frame time benchmark of direct drawing against the buffered drawing bitmap.
+ *
+ * A frame draws a list-like screen of rows, each with a PDEDrawableRoundedBox, a PDEDrawableDelimiter and a
+ * PDEDrawableBorderLine, onto a bitmap canvas. It is measured with direct drawing on (the default of these elements)
+ * and off (buffered in a drawing bitmap), for a static screen and for a screen whose colors change in every frame
+ * (as during agent animations).
+ *
+ * Needs a device (drawing and bitmaps); results go to standard output.
+ */
+public class PDEDrawableDirectDrawBenchmark extends AndroidTestCase {
+
+    // screen dimensions
+    private final static int SCREEN_WIDTH = 480;
+    private final static int ROW_HEIGHT = 80;
+    private final static int ROWS = 12;
+
+    // frames per measurement
+    private final static int WARMUP_FRAMES = 100;
+    private final static int MEASURED_FRAMES = 500;
+
+
+    // the elements of all rows
+    private PDEDrawableRoundedBox[] mBoxes;
+    private PDEDrawableDelimiter[] mDelimiters;
+    private PDEDrawableBorderLine[] mBorderLines;
+
+    // alternating colors for the animated frames (separate instances, the elements keep the ones they get)
+    private PDEColor[] mBackgroundColors;
+
+    // the screen
+    private Bitmap mScreenBitmap;
+    private Canvas mScreen;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        int row;
+
+        super.setUp();
+
+        PDECodeLibrary.getInstance().libraryInit(getContext());
+
+        // rows
+        mBoxes = new PDEDrawableRoundedBox[ROWS];
+        mDelimiters = new PDEDrawableDelimiter[ROWS];
+        mBorderLines = new PDEDrawableBorderLine[ROWS];
+        for (row = 0; row < ROWS; row++) {
+            mBoxes[row] = new PDEDrawableRoundedBox();
+            mBoxes[row].setLayoutOffset(8, row * ROW_HEIGHT + 4);
+            mBoxes[row].setLayoutSize(SCREEN_WIDTH - 16, ROW_HEIGHT - 8);
+
+            mDelimiters[row] = new PDEDrawableDelimiter();
+            mDelimiters[row].setLayoutOffset(0, (row + 1) * ROW_HEIGHT - 1);
+            mDelimiters[row].setLayoutSize(SCREEN_WIDTH, 1);
+
+            mBorderLines[row] = new PDEDrawableBorderLine();
+            mBorderLines[row].setLayoutOffset(4, row * ROW_HEIGHT + 2);
+            mBorderLines[row].setLayoutSize(SCREEN_WIDTH - 8, ROW_HEIGHT - 4);
+        }
+
+        mBackgroundColors = new PDEColor[] {PDEColor.valueOf(0xffffffff), PDEColor.valueOf(0xffededed)};
+
+        // screen
+        mScreenBitmap = Bitmap.createBitmap(SCREEN_WIDTH, ROWS * ROW_HEIGHT, Bitmap.Config.ARGB_8888);
+        mScreen = new Canvas(mScreenBitmap);
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        mScreenBitmap.recycle();
+
+        super.tearDown();
+    }
+
+
+    /**
+     * @brief Print the time per frame with direct drawing on and off, for static and animated screens.
+     */
+    public void testFrameTimes() {
+        long directStatic, directAnimated, bufferedStatic, bufferedAnimated;
+
+        // the elements draw directly by default
+        for (int row = 0; row < ROWS; row++) {
+            assertTrue(mBoxes[row].isDirectDrawEnabled());
+            assertTrue(mDelimiters[row].isDirectDrawEnabled());
+            assertTrue(mBorderLines[row].isDirectDrawEnabled());
+        }
+
+        // warm up both modes, then measure
+        setDirectDraw(true);
+        measure(false, WARMUP_FRAMES);
+        measure(true, WARMUP_FRAMES);
+        setDirectDraw(false);
+        measure(false, WARMUP_FRAMES);
+        measure(true, WARMUP_FRAMES);
+
+        setDirectDraw(true);
+        directStatic = measure(false, MEASURED_FRAMES);
+        directAnimated = measure(true, MEASURED_FRAMES);
+        setDirectDraw(false);
+        bufferedStatic = measure(false, MEASURED_FRAMES);
+        bufferedAnimated = measure(true, MEASURED_FRAMES);
+
+        System.out.println(String.format("%d rows: direct %d ns/frame static, %d ns/frame animated; "
+                                         + "buffered %d ns/frame static, %d ns/frame animated",
+                                         ROWS, directStatic, directAnimated, bufferedStatic, bufferedAnimated));
+    }
+
+
+    /**
+     * @brief Switch direct drawing of all elements.
+     */
+    private void setDirectDraw(boolean directDraw) {
+        for (int row = 0; row < ROWS; row++) {
+            mBoxes[row].setDirectDrawEnabled(directDraw);
+            mDelimiters[row].setDirectDrawEnabled(directDraw);
+            mBorderLines[row].setDirectDrawEnabled(directDraw);
+        }
+    }
+
+
+    /**
+     * @brief Wall clock time per frame; animated frames change the colors of all elements first.
+     */
+    private long measure(boolean animated, int frames) {
+        PDEColor color;
+        long start;
+        int frame, row;
+
+        start = System.nanoTime();
+        for (frame = 0; frame < frames; frame++) {
+            // change colors
+            if (animated) {
+                color = mBackgroundColors[frame & 1];
+                for (row = 0; row < ROWS; row++) {
+                    mBoxes[row].setElementBackgroundColor(color);
+                    mDelimiters[row].setElementBackgroundColor(color);
+                    mBorderLines[row].setElementBorderColor(color.getIntegerColor());
+                }
+            }
+
+            // draw the screen
+            mScreen.drawColor(0xffffffff);
+            for (row = 0; row < ROWS; row++) {
+                mBoxes[row].draw(mScreen);
+                mDelimiters[row].draw(mScreen);
+                mBorderLines[row].draw(mScreen);
+            }
+        }
+
+        return (System.nanoTime() - start) / frames;
+    }
+}
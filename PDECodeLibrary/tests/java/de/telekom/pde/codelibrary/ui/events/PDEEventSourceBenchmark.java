@@ -0,0 +1,293 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.events;
+
+
+import junit.framework.TestCase;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEEventSourceBenchmark
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Microbenchmark of event distribution: events per second for 1, 10 and 100 listeners.
+ *
+ * Compares three ways of calling the listeners:
+ * - typed: listeners implementing PDEIEventListener, called directly
+ * - cached invoker: target/method name listeners, method resolved once and invoked by reflection
+ * - old reflection: the distribution loop of the event source before the typed listeners and the listener index
+ *   were introduced (linked list walked with an iterator, mask compared per listener, Method.invoke per call)
+ *
+ * Run as test (results go to standard output) or directly with main().
+ */
+public class PDEEventSourceBenchmark extends TestCase {
+
+    // event type sent
+    private final static String EVENT_TYPE = "PDEEventSourceBenchmark.tick";
+
+    // listener counts measured
+    private final static int[] LISTENER_COUNTS = {1, 10, 100};
+
+    // listener calls per measurement (the number of events is adapted to the listener count)
+    private final static int CALLS_PER_RUN = 2000000;
+
+
+    /**
+     * @brief Listener target; typed and by method name.
+     */
+    public static class CountingTarget implements PDEIEventListener {
+        public int mCount;
+
+        @Override
+        public void onPDEEvent(PDEEvent event) {
+            mCount++;
+        }
+
+        @SuppressWarnings("unused")
+        public void onEvent(PDEEvent event) {
+            mCount++;
+        }
+    }
+
+
+    /**
+     * @brief Distribution loop of the event source as it was before the typed listeners (for comparison only).
+     */
+    private static class LegacyEventSource {
+
+        private static class Listener {
+            WeakReference<Object> mTarget;
+            Method mMethod;
+            String mEventMask;
+            boolean mWildcard;
+        }
+
+        private final LinkedList<Listener> mListeners = new LinkedList<Listener>();
+        private final WeakReference<Object> mEventDefaultSender;
+
+
+        LegacyEventSource(Object defaultSender) {
+            mEventDefaultSender = new WeakReference<Object>(defaultSender);
+        }
+
+
+        void addListener(Object target, String methodName, String eventMask) throws NoSuchMethodException {
+            Listener listener;
+
+            listener = new Listener();
+            listener.mTarget = new WeakReference<Object>(target);
+            listener.mMethod = target.getClass().getMethod(methodName, new Class[] {PDEEvent.class});
+            listener.mEventMask = eventMask;
+            listener.mWildcard = false;
+            mListeners.add(listener);
+        }
+
+
+        boolean sendEvent(PDEEvent event) throws Exception {
+            Object target, originalSender;
+            Listener listener;
+
+            for (Iterator<Listener> iterator = mListeners.iterator(); iterator.hasNext(); ) {
+                listener = iterator.next();
+                if (event.isProcessed() && !event.isDistributeToAll()) {
+                    break;
+                }
+                if (listener.mTarget.get() == null) {
+                    iterator.remove();
+                    continue;
+                }
+                if (!((listener.mWildcard
+                       && (listener.mEventMask.length() == 0 || event.getType().startsWith(listener.mEventMask)))
+                      || (!listener.mWildcard) && event.getType().equalsIgnoreCase(listener.mEventMask))) {
+                    continue;
+                }
+                originalSender = event.getSender();
+                if (event.getSender() == null) {
+                    event.setSender(mEventDefaultSender.get());
+                }
+                target = listener.mTarget.get();
+                if (target == null) {
+                    continue;
+                }
+                listener.mMethod.invoke(target, event);
+                event.setSender(originalSender);
+            }
+
+            return event.isProcessed();
+        }
+    }
+
+
+    // keeps the targets alive (sources only hold them weakly)
+    private CountingTarget[] mTargets;
+
+
+    /**
+     * @brief Run the benchmark and check that every listener got all events.
+     */
+    public void testEventsPerSecond() throws Exception {
+        System.out.println(run());
+    }
+
+
+    /**
+     * @brief Run the benchmark from the command line.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println(new PDEEventSourceBenchmark().run());
+    }
+
+
+    /**
+     * @brief Measure all combinations and return a result table.
+     */
+    public String run() throws Exception {
+        StringBuilder result;
+        int events;
+
+        // one unreported pass, so all paths are compiled before measuring
+        for (int count : LISTENER_COUNTS) {
+            events = CALLS_PER_RUN / count;
+            measureTyped(count, events);
+            measureInvoker(count, events);
+            measureLegacy(count, events);
+        }
+
+        result = new StringBuilder();
+        result.append(String.format("%10s %16s %16s %16s\n", "listeners", "typed ev/s", "invoker ev/s",
+                                    "old refl. ev/s"));
+        for (int count : LISTENER_COUNTS) {
+            events = CALLS_PER_RUN / count;
+            result.append(String.format("%10d %16.0f %16.0f %16.0f\n", count,
+                                        measureTyped(count, events),
+                                        measureInvoker(count, events),
+                                        measureLegacy(count, events)));
+        }
+
+        return result.toString();
+    }
+
+
+    /**
+     * @brief Events per second for typed listeners.
+     */
+    private double measureTyped(int listenerCount, int events) {
+        PDEEventSource source;
+        int i;
+
+        source = new PDEEventSource();
+        createTargets(listenerCount);
+        for (i = 0; i < listenerCount; i++) {
+            source.addTypedListener(mTargets[i], EVENT_TYPE);
+        }
+
+        return measure(source, null, events);
+    }
+
+
+    /**
+     * @brief Events per second for target/method name listeners.
+     */
+    private double measureInvoker(int listenerCount, int events) {
+        PDEEventSource source;
+        int i;
+
+        source = new PDEEventSource();
+        createTargets(listenerCount);
+        for (i = 0; i < listenerCount; i++) {
+            source.addListener(mTargets[i], "onEvent", EVENT_TYPE);
+        }
+
+        return measure(source, null, events);
+    }
+
+
+    /**
+     * @brief Events per second for the old distribution loop.
+     */
+    private double measureLegacy(int listenerCount, int events) throws Exception {
+        LegacyEventSource source;
+        int i;
+
+        source = new LegacyEventSource(this);
+        createTargets(listenerCount);
+        for (i = 0; i < listenerCount; i++) {
+            source.addListener(mTargets[i], "onEvent", EVENT_TYPE);
+        }
+
+        return measure(null, source, events);
+    }
+
+
+    /**
+     * @brief Create the listener targets.
+     */
+    private void createTargets(int count) {
+        int i;
+
+        mTargets = new CountingTarget[count];
+        for (i = 0; i < count; i++) {
+            mTargets[i] = new CountingTarget();
+        }
+    }
+
+
+    /**
+     * @brief Warm up, then send the events and return the events per second.
+     */
+    private double measure(PDEEventSource source, LegacyEventSource legacySource, int events) {
+        PDEEvent event;
+        long start, nanos;
+        int i;
+
+        event = new PDEEvent();
+        event.setType(EVENT_TYPE);
+
+        try {
+            // warm up
+            for (i = 0; i < events / 10; i++) {
+                send(source, legacySource, event);
+            }
+            // measure
+            start = System.nanoTime();
+            for (i = 0; i < events; i++) {
+                send(source, legacySource, event);
+            }
+            nanos = System.nanoTime() - start;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        // everybody must have got everything
+        for (CountingTarget target : mTargets) {
+            assertEquals(events + events / 10, target.mCount);
+        }
+
+        return events * 1e9 / Math.max(nanos, 1);
+    }
+
+
+    /**
+     * @brief Send one event through the source to measure.
+     */
+    private static void send(PDEEventSource source, LegacyEventSource legacySource, PDEEvent event)
+            throws Exception {
+        if (source != null) {
+            source.sendEvent(event);
+        } else {
+            legacySource.sendEvent(event);
+        }
+    }
+}
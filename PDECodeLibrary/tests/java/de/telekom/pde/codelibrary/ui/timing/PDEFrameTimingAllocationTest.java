@@ -0,0 +1,144 @@
+/* Deutsche Telekom AG owns the right of use concerning the following code taken from the Deutsche Telekom
+ * Experience Toolbox. You can obtain a copy of the terms and conditions of the Experience Toolbox at
+ * https://www.design.telekom.com/myaccount/terms-of-use/
+ *
+ * Copyright (c) 2012. Neuland Multimedia GmbH.
+ */
+
+package de.telekom.pde.codelibrary.ui.timing;
+
+
+import android.os.Debug;
+import junit.framework.TestCase;
+
+
+//----------------------------------------------------------------------------------------------------------------------
+//  PDEFrameTimingAllocationTest
+//----------------------------------------------------------------------------------------------------------------------
+
+
+/**
+ * @brief Checks that sending timings to typed listeners doesn't allocate.
+ *
+ * The frame timing is driven by a PDEFrameTimingManual with many PDEIFrameTimingListener listeners. The allocations
+ * of a short and of a long run are counted; if the tick path allocates anything per frame, the long run allocates
+ * more than the short one.
+ */
+public class PDEFrameTimingAllocationTest extends TestCase {
+
+    // number of listeners
+    private final static int LISTENER_COUNT = 64;
+
+    // frames of the warm up, the short and the long run
+    private final static int WARMUP_FRAMES = 2000;
+    private final static int SHORT_FRAMES = 100;
+    private final static int LONG_FRAMES = 10000;
+
+
+    /**
+     * @brief Typed listener counting its frames.
+     */
+    private static class CountingListener implements PDEIFrameTimingListener {
+        int mFrames;
+        long mLastFrameTime;
+
+        @Override
+        public void onFrame(long frameTimeMillis) {
+            mFrames++;
+            mLastFrameTime = frameTimeMillis;
+        }
+    }
+
+
+    // the virtual clock
+    private PDEFrameTimingManual mTiming;
+
+    // the listeners (the timing only holds them weakly)
+    private CountingListener[] mListeners;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        int i;
+
+        super.setUp();
+
+        // install the clock and add the listeners
+        mTiming = new PDEFrameTimingManual();
+        PDEFrameTiming.setInstance(mTiming);
+        mListeners = new CountingListener[LISTENER_COUNT];
+        for (i = 0; i < LISTENER_COUNT; i++) {
+            mListeners[i] = new CountingListener();
+            mTiming.addListener(mListeners[i]);
+        }
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        PDEFrameTiming.setInstance(null);
+
+        super.tearDown();
+    }
+
+
+    /**
+     * @brief All listeners get every frame with the current frame time.
+     */
+    public void testListenersGetEveryFrame() {
+        int i;
+
+        runFrames(SHORT_FRAMES);
+
+        for (i = 0; i < LISTENER_COUNT; i++) {
+            assertEquals(SHORT_FRAMES, mListeners[i].mFrames);
+            assertEquals(mTiming.getFrameTime(), mListeners[i].mLastFrameTime);
+        }
+    }
+
+
+    /**
+     * @brief The number of allocations doesn't grow with the number of frames.
+     */
+    public void testNoAllocationPerFrame() {
+        int shortCount, longCount;
+
+        // warm up (class loading, compilation)
+        runFrames(WARMUP_FRAMES);
+
+        // count
+        shortCount = countAllocations(SHORT_FRAMES);
+        longCount = countAllocations(LONG_FRAMES);
+
+        assertTrue("allocations grow with frames: " + shortCount + " for " + SHORT_FRAMES + " frames, "
+                   + longCount + " for " + LONG_FRAMES + " frames", longCount <= shortCount);
+    }
+
+
+    /**
+     * @brief Run frames and count the allocations of this thread.
+     */
+    private int countAllocations(int frames) {
+        int count;
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        runFrames(frames);
+        Debug.stopAllocCounting();
+        count = Debug.getThreadAllocCount();
+
+        return count;
+    }
+
+
+    /**
+     * @brief Run frames on the virtual clock.
+     */
+    private void runFrames(int frames) {
+        int i;
+
+        for (i = 0; i < frames; i++) {
+            mTiming.advanceFrame(16);
+        }
+    }
+}